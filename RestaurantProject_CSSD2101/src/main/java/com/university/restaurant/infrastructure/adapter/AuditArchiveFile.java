@@ -0,0 +1,240 @@
+package com.university.restaurant.infrastructure.adapter;
+
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressed, column-oriented file holding one sealed range of audit_logs.
+ *
+ * <p>
+ * An uncompressed header carries the boundary of the range: first and last
+ * id, entry count, the hash the range links back to, its last hash and its
+ * Merkle root. Chain verification only reads this header. The body is
+ * gzipped and stored column by column: ids and timestamps as deltas,
+ * low-cardinality columns (user, role, action, entity type) dictionary
+ * encoded, and prevHash dropped entirely since it is the previous row's
+ * hash.
+ * </p>
+ *
+ * @author Mahdis (Infrastructure Layer)
+ */
+public final class AuditArchiveFile {
+
+    private static final int MAGIC = 0x41554441; // "AUDA"
+    private static final short VERSION = 1;
+
+    /**
+     * Boundary of an archived range.
+     */
+    public record Header(long firstEntryId, long lastEntryId, int entryCount,
+                         String prevHash, String lastHash, String merkleRoot) {
+    }
+
+    private AuditArchiveFile() {
+    }
+
+    /**
+     * Writes the rows, which must be a contiguous chain in id order, to
+     * {@code path}. The file is written next to the target, forced to disk
+     * and then moved into place, so a crash never leaves a partial archive.
+     */
+    public static void write(Path path, List<AuditLogEntity> rows, String merkleRoot) throws IOException {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Cannot archive an empty range");
+        }
+        AuditLogEntity first = rows.get(0);
+        AuditLogEntity last = rows.get(rows.size() - 1);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(tmp);
+             DataOutputStream head = new DataOutputStream(new BufferedOutputStream(file))) {
+            head.writeInt(MAGIC);
+            head.writeShort(VERSION);
+            head.writeLong(first.getId());
+            head.writeLong(last.getId());
+            head.writeInt(rows.size());
+            head.writeUTF(first.getPrevHash());
+            head.writeUTF(last.getHash());
+            head.writeUTF(merkleRoot);
+            head.flush();
+
+            GZIPOutputStream gzip = new GZIPOutputStream(file, 64 * 1024);
+            DataOutputStream body = new DataOutputStream(new BufferedOutputStream(gzip, 64 * 1024));
+            long prevId = first.getId();
+            long prevSecond = 0;
+            for (AuditLogEntity row : rows) {
+                body.writeInt((int) (row.getId() - prevId));
+                prevId = row.getId();
+            }
+            for (AuditLogEntity row : rows) {
+                long second = row.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+                body.writeLong(second - prevSecond);
+                body.writeInt(row.getTimestamp().getNano());
+                prevSecond = second;
+            }
+            writeDictionary(body, rows, AuditLogEntity::getUserId);
+            writeDictionary(body, rows, AuditLogEntity::getRole);
+            writeDictionary(body, rows, AuditLogEntity::getAction);
+            writeDictionary(body, rows, AuditLogEntity::getEntityType);
+            writePlain(body, rows, AuditLogEntity::getEntityId);
+            writePlain(body, rows, AuditLogEntity::getDetails);
+            writePlain(body, rows, AuditLogEntity::getHash);
+            body.close();
+        }
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads only the header of an archive.
+     */
+    public static Header readHeader(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 512))) {
+            return header(in);
+        }
+    }
+
+    /**
+     * Reads every row of an archive, rebuilding prevHash from the header and
+     * the preceding row.
+     */
+    public static List<AuditLogEntity> read(Path path) throws IOException {
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path))) {
+            Header header = header(new DataInputStream(file));
+            try (DataInputStream body = new DataInputStream(
+                    new BufferedInputStream(new GZIPInputStream(file, 64 * 1024)))) {
+                return rows(header, body);
+            }
+        }
+    }
+
+    private static List<AuditLogEntity> rows(Header header, DataInputStream body) throws IOException {
+        int n = header.entryCount();
+        long[] ids = new long[n];
+        long id = header.firstEntryId();
+        for (int i = 0; i < n; i++) {
+            id += body.readInt();
+            ids[i] = id;
+        }
+        LocalDateTime[] timestamps = new LocalDateTime[n];
+        long second = 0;
+        for (int i = 0; i < n; i++) {
+            second += body.readLong();
+            timestamps[i] = LocalDateTime.ofEpochSecond(second, body.readInt(), ZoneOffset.UTC);
+        }
+        String[] userIds = readDictionary(body, n);
+        String[] roles = readDictionary(body, n);
+        String[] actions = readDictionary(body, n);
+        String[] entityTypes = readDictionary(body, n);
+        String[] entityIds = readPlain(body, n);
+        String[] details = readPlain(body, n);
+        String[] hashes = readPlain(body, n);
+
+        List<AuditLogEntity> rows = new ArrayList<>(n);
+        String prev = header.prevHash();
+        for (int i = 0; i < n; i++) {
+            AuditLogEntity row = new AuditLogEntity(userIds[i], roles[i], actions[i], entityTypes[i],
+                    entityIds[i], details[i], prev, hashes[i]);
+            row.setId(ids[i]);
+            row.setTimestamp(timestamps[i]);
+            rows.add(row);
+            prev = hashes[i];
+        }
+        return rows;
+    }
+
+    private static Header header(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an audit archive");
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported audit archive version " + version);
+        }
+        return new Header(in.readLong(), in.readLong(), in.readInt(), in.readUTF(), in.readUTF(), in.readUTF());
+    }
+
+    private static void writeDictionary(DataOutputStream out, List<AuditLogEntity> rows,
+                                        Function<AuditLogEntity, String> column) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> values = new ArrayList<>();
+        int[] encoded = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String value = column.apply(rows.get(i));
+            if (value == null) {
+                encoded[i] = -1;
+                continue;
+            }
+            encoded[i] = codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+        for (int code : encoded) {
+            out.writeInt(code);
+        }
+    }
+
+    private static String[] readDictionary(DataInputStream in, int n) throws IOException {
+        String[] values = new String[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(in);
+        }
+        String[] column = new String[n];
+        for (int i = 0; i < n; i++) {
+            int code = in.readInt();
+            column[i] = code < 0 ? null : values[code];
+        }
+        return column;
+    }
+
+    private static void writePlain(DataOutputStream out, List<AuditLogEntity> rows,
+                                   Function<AuditLogEntity, String> column) throws IOException {
+        for (AuditLogEntity row : rows) {
+            writeString(out, column.apply(row));
+        }
+    }
+
+    private static String[] readPlain(DataInputStream in, int n) throws IOException {
+        String[] column = new String[n];
+        for (int i = 0; i < n; i++) {
+            column[i] = readString(in);
+        }
+        return column;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,230 @@
+package com.university.restaurant.infrastructure.adapter;
+
+import com.university.restaurant.infrastructure.entity.AuditCheckpointEntity;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.infrastructure.jpa.AuditCheckpointJpaRepository;
+import com.university.restaurant.infrastructure.jpa.AuditLogJpaRepository;
+import com.university.restaurant.repository.AuditMerkleTree;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Moves sealed ranges of audit_logs out of the hot table into archive files.
+ *
+ * Only ranges already sealed by a checkpoint are archived, oldest first, and
+ * only once their newest entry is older than the retention window. The range
+ * holding the chain head always stays in the table so the adapter can load
+ * its tail hash. Each range is re-verified against its checkpoint before it is
+ * written to an {@link AuditArchiveFile}, the checkpoint is marked archived,
+ * and only then are the rows deleted.
+ *
+ * Verification bridges the archive by reading file headers only: each archive
+ * must link to the previous one and match its checkpoint. {@link #restore(long)}
+ * gives auditors the full entries back.
+ *
+ * @author Mahdis (Infrastructure Layer)
+ */
+public class AuditArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditArchiver.class);
+
+    private final AuditLogJpaRepository logRepo;
+    private final AuditCheckpointJpaRepository checkpointRepo;
+    private final Path directory;
+    private final Duration retention;
+
+    public AuditArchiver(AuditLogJpaRepository logRepo, AuditCheckpointJpaRepository checkpointRepo,
+                         Path directory, Duration retention) {
+        if (retention.isNegative()) {
+            throw new IllegalArgumentException("retention must not be negative");
+        }
+        this.logRepo = logRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.directory = directory;
+        this.retention = retention;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create audit archive directory " + directory, e);
+        }
+    }
+
+    /**
+     * Archives every eligible checkpointed range.
+     *
+     * @return the number of ranges archived
+     * @throws IllegalStateException if a range no longer matches its checkpoint
+     */
+    public synchronized int archive() {
+        List<AuditCheckpointEntity> archived = checkpointRepo.findByArchiveFileIsNotNullOrderByLastEntryIdAsc();
+        String prevHash = archived.isEmpty() ? "GENESIS" : archived.get(archived.size() - 1).getLastHash();
+        if (!archived.isEmpty()) {
+            purgeLeftovers(archived.get(archived.size() - 1));
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Long maxId = logRepo.findMaxId();
+        int count = 0;
+        for (AuditCheckpointEntity checkpoint : checkpointRepo.findByArchiveFileIsNullOrderByLastEntryIdAsc()) {
+            if (maxId == null || checkpoint.getLastEntryId() >= maxId) break;
+
+            List<AuditLogEntity> rows = logRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                    checkpoint.getFirstEntryId() - 1, checkpoint.getLastEntryId(),
+                    PageRequest.of(0, checkpoint.getEntryCount()));
+            if (rows.isEmpty() || rows.get(rows.size() - 1).getTimestamp().isAfter(cutoff)) break;
+
+            checkRange(checkpoint, rows, prevHash);
+            String fileName = String.format("%020d-%020d.audit", checkpoint.getFirstEntryId(), checkpoint.getLastEntryId());
+            try {
+                AuditArchiveFile.write(directory.resolve(fileName), rows, checkpoint.getMerkleRoot());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write audit archive " + fileName, e);
+            }
+            checkpoint.setArchiveFile(fileName);
+            checkpoint.setArchivedAt(LocalDateTime.now());
+            checkpointRepo.save(checkpoint);
+            logRepo.deleteAllByIdInBatch(rows.stream().map(AuditLogEntity::getId).toList());
+
+            prevHash = checkpoint.getLastHash();
+            count++;
+        }
+        if (count > 0) {
+            log.info("Archived {} audit range(s) to {}", count, directory);
+        }
+        return count;
+    }
+
+    /**
+     * Checks that the archived ranges form an unbroken chain from GENESIS,
+     * reading only each file's header.
+     */
+    public AuditChainVerifier.Result verifyBoundaries() {
+        String prevHash = "GENESIS";
+        for (AuditCheckpointEntity checkpoint : checkpointRepo.findByArchiveFileIsNotNullOrderByLastEntryIdAsc()) {
+            AuditArchiveFile.Header header;
+            try {
+                header = AuditArchiveFile.readHeader(directory.resolve(checkpoint.getArchiveFile()));
+            } catch (IOException e) {
+                return broken(checkpoint, "archive " + checkpoint.getArchiveFile() + " unreadable: " + e.getMessage());
+            }
+            if (!header.prevHash().equals(prevHash)) {
+                return broken(checkpoint, "archive does not link to the previous range");
+            }
+            if (header.firstEntryId() != checkpoint.getFirstEntryId()
+                    || header.lastEntryId() != checkpoint.getLastEntryId()
+                    || header.entryCount() != checkpoint.getEntryCount()
+                    || !header.lastHash().equals(checkpoint.getLastHash())
+                    || !header.merkleRoot().equals(checkpoint.getMerkleRoot())) {
+                return broken(checkpoint, "archive header does not match its checkpoint");
+            }
+            prevHash = header.lastHash();
+        }
+        return AuditChainVerifier.Result.ok(0);
+    }
+
+    /**
+     * Returns the newest archived checkpoint, if any. Hot-table verification
+     * continues from its last hash.
+     */
+    public Optional<AuditCheckpointEntity> lastArchived() {
+        List<AuditCheckpointEntity> archived = checkpointRepo.findByArchiveFileIsNotNullOrderByLastEntryIdAsc();
+        return archived.isEmpty() ? Optional.empty() : Optional.of(archived.get(archived.size() - 1));
+    }
+
+    /**
+     * Reads an archived range back for auditing. Every hash is recomputed and
+     * the Merkle root checked against the checkpoint.
+     *
+     * @throws IllegalArgumentException if the checkpoint is unknown or not archived
+     * @throws IllegalStateException if the archive does not match its checkpoint
+     */
+    public List<RestaurantAuditEntry> restore(long checkpointId) {
+        AuditCheckpointEntity checkpoint = checkpointRepo.findById(checkpointId)
+                .orElseThrow(() -> new IllegalArgumentException("Checkpoint not found: " + checkpointId));
+        if (checkpoint.getArchiveFile() == null) {
+            throw new IllegalArgumentException("Checkpoint " + checkpointId + " has not been archived");
+        }
+        return restore(checkpoint);
+    }
+
+    /**
+     * Streams every archived entry in id order, reading one archive file at a
+     * time.
+     */
+    public Stream<RestaurantAuditEntry> stream() {
+        return checkpointRepo.findByArchiveFileIsNotNullOrderByLastEntryIdAsc().stream()
+                .flatMap(checkpoint -> restore(checkpoint).stream());
+    }
+
+    /**
+     * Reads the rows of an archived range as stored, without checking them
+     * against the checkpoint.
+     */
+    public List<AuditLogEntity> archivedRows(AuditCheckpointEntity checkpoint) {
+        try {
+            return AuditArchiveFile.read(directory.resolve(checkpoint.getArchiveFile()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read audit archive " + checkpoint.getArchiveFile(), e);
+        }
+    }
+
+    private List<RestaurantAuditEntry> restore(AuditCheckpointEntity checkpoint) {
+        List<AuditLogEntity> rows = archivedRows(checkpoint);
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("Audit archive " + checkpoint.getArchiveFile() + " of checkpoint "
+                    + checkpoint.getId() + " holds no entries, checkpoint sealed " + checkpoint.getEntryCount());
+        }
+        checkRange(checkpoint, rows, rows.get(0).getPrevHash());
+        return rows.stream()
+                .map(r -> RestaurantAuditEntry.restore(r.getUserId(), r.getRole(), r.getAction(), r.getEntityType(),
+                        r.getEntityId(), r.getDetails(), r.getTimestamp(), r.getPrevHash(), r.getHash()))
+                .toList();
+    }
+
+    /**
+     * Deletes rows left in the table when a previous run stopped between
+     * marking a checkpoint archived and deleting its rows.
+     */
+    private void purgeLeftovers(AuditCheckpointEntity lastArchived) {
+        Long minId = logRepo.findMinId();
+        if (minId == null || minId > lastArchived.getLastEntryId()) return;
+        List<AuditLogEntity> leftovers = logRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                minId - 1, lastArchived.getLastEntryId(), PageRequest.of(0, lastArchived.getEntryCount()));
+        logRepo.deleteAllByIdInBatch(leftovers.stream().map(AuditLogEntity::getId).toList());
+    }
+
+    private static void checkRange(AuditCheckpointEntity checkpoint, List<AuditLogEntity> rows, String prevHash) {
+        if (rows.size() != checkpoint.getEntryCount()) {
+            throw new IllegalStateException("Audit range " + checkpoint.getId() + " has " + rows.size()
+                    + " entries, checkpoint sealed " + checkpoint.getEntryCount());
+        }
+        String prev = prevHash;
+        for (AuditLogEntity row : rows) {
+            String expected = RestaurantAuditEntry.computeHash(row.getUserId(), row.getRole(), row.getAction(),
+                    row.getEntityType(), row.getEntityId(), row.getDetails(), row.getTimestamp(), prev);
+            if (!row.getPrevHash().equals(prev) || !expected.equals(row.getHash())) {
+                throw new IllegalStateException("Audit chain broken at id " + row.getId());
+            }
+            prev = row.getHash();
+        }
+        if (!AuditMerkleTree.root(rows.stream().map(AuditLogEntity::getHash).toList()).equals(checkpoint.getMerkleRoot())) {
+            throw new IllegalStateException("Audit range " + checkpoint.getId() + " does not match its Merkle root");
+        }
+    }
+
+    private static AuditChainVerifier.Result broken(AuditCheckpointEntity checkpoint, String reason) {
+        return new AuditChainVerifier.Result(false, 0, checkpoint.getFirstEntryId(), reason);
+    }
+}
@@ -0,0 +1,181 @@
+package com.university.restaurant.infrastructure.adapter;
+
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Verifies the audit hash chain without loading the table into memory.
+ *
+ * The id range is split into segments that are scanned in parallel, each one
+ * streaming keyset pages ({@code id > lastSeen ORDER BY id LIMIT pageSize}).
+ * Every row's hash is recomputed from its fields and checked against the
+ * previous row; segment boundaries are stitched afterwards by comparing the
+ * first prevHash of each segment with the last hash of the one before it.
+ *
+ * @author Mahdis (Infrastructure Layer)
+ */
+public final class AuditChainVerifier {
+
+    /**
+     * Source of audit rows in id order.
+     */
+    public interface PageSource {
+        /** Smallest id, or null when there are no rows. */
+        Long minId();
+
+        /** Largest id, or null when there are no rows. */
+        Long maxId();
+
+        /** Up to {@code size} rows with {@code afterId < id <= upToId}, ordered by id. */
+        List<AuditLogEntity> page(long afterId, long upToId, int size);
+    }
+
+    /**
+     * Outcome of a verification run. {@code firstBrokenId} is the id of the
+     * earliest row that failed, or null when the chain is valid.
+     */
+    public record Result(boolean valid, long entriesChecked, Long firstBrokenId, String reason) {
+        static Result ok(long entriesChecked) {
+            return new Result(true, entriesChecked, null, null);
+        }
+    }
+
+    private record Segment(long count, Long firstId, String firstPrevHash, String lastHash,
+                           Long brokenId, String reason) {
+    }
+
+    private final PageSource source;
+    private final int pageSize;
+    private final int parallelism;
+
+    public AuditChainVerifier(PageSource source, int pageSize, int parallelism) {
+        if (pageSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("pageSize and parallelism must be positive");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Verifies the whole chain starting from GENESIS.
+     */
+    public Result verify() {
+        return verify("GENESIS");
+    }
+
+    /**
+     * Verifies the whole chain, expecting the first row to link to {@code expectedFirstPrevHash}.
+     */
+    public Result verify(String expectedFirstPrevHash) {
+        return verifyAfter(Long.MIN_VALUE, expectedFirstPrevHash);
+    }
+
+    /**
+     * Verifies only entries with {@code id > afterId}, expecting the first of
+     * them to link to {@code expectedFirstPrevHash}. Used to resume from a
+     * trusted checkpoint.
+     */
+    public Result verifyAfter(long afterId, String expectedFirstPrevHash) {
+        Long min = source.minId();
+        Long max = source.maxId();
+        if (min == null || max == null) {
+            return Result.ok(0);
+        }
+        long from = Math.max(min - 1, afterId);
+        if (from >= max) {
+            return Result.ok(0);
+        }
+
+        List<long[]> ranges = split(from, max, parallelism * 4);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, ranges.size()));
+        try {
+            List<Future<Segment>> futures = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                futures.add(pool.submit(() -> scan(range[0], range[1])));
+            }
+
+            long checked = 0;
+            String previousHash = expectedFirstPrevHash;
+            for (Future<Segment> future : futures) {
+                Segment segment = future.get();
+                if (segment.count() == 0) continue;
+                checked += segment.count();
+                if (!segment.firstPrevHash().equals(previousHash)) {
+                    return new Result(false, checked, segment.firstId(), "prevHash does not link to previous entry");
+                }
+                if (segment.brokenId() != null) {
+                    return new Result(false, checked, segment.brokenId(), segment.reason());
+                }
+                previousHash = segment.lastHash();
+            }
+            return Result.ok(checked);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Audit chain verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Audit chain verification failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Streams one id range page by page, stopping at the first bad row.
+     */
+    private Segment scan(long afterId, long upToId) {
+        long count = 0;
+        Long firstId = null;
+        String firstPrevHash = null;
+        String lastHash = null;
+        long cursor = afterId;
+
+        while (true) {
+            List<AuditLogEntity> page = source.page(cursor, upToId, pageSize);
+            for (AuditLogEntity row : page) {
+                count++;
+                if (firstId == null) {
+                    firstId = row.getId();
+                    firstPrevHash = row.getPrevHash();
+                } else if (!lastHash.equals(row.getPrevHash())) {
+                    return new Segment(count, firstId, firstPrevHash, lastHash, row.getId(),
+                            "prevHash does not link to previous entry");
+                }
+                if (!recompute(row).equals(row.getHash())) {
+                    return new Segment(count, firstId, firstPrevHash, lastHash, row.getId(),
+                            "stored hash does not match entry contents");
+                }
+                lastHash = row.getHash();
+            }
+            if (page.size() < pageSize) {
+                return new Segment(count, firstId, firstPrevHash, lastHash, null, null);
+            }
+            cursor = page.get(page.size() - 1).getId();
+        }
+    }
+
+    private static String recompute(AuditLogEntity row) {
+        return RestaurantAuditEntry.computeHash(row.getUserId(), row.getRole(), row.getAction(),
+                row.getEntityType(), row.getEntityId(), row.getDetails(), row.getTimestamp(), row.getPrevHash());
+    }
+
+    /**
+     * Splits (from, to] into at most {@code parts} contiguous ranges.
+     */
+    private static List<long[]> split(long from, long to, int parts) {
+        long span = to - from;
+        long step = Math.max(1, (span + parts - 1) / parts);
+        List<long[]> ranges = new ArrayList<>();
+        for (long start = from; start < to; start += step) {
+            ranges.add(new long[]{start, Math.min(to, start + step)});
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,193 @@
+package com.university.restaurant.infrastructure.adapter;
+
+import com.university.restaurant.infrastructure.entity.AuditCheckpointEntity;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.infrastructure.jpa.AuditCheckpointJpaRepository;
+import com.university.restaurant.infrastructure.jpa.AuditLogJpaRepository;
+import com.university.restaurant.repository.AuditMerkleTree;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Seals audit_logs into Merkle-root checkpoints stored in audit_checkpoints.
+ *
+ * Each run picks up the entries written since the last checkpoint, verifies
+ * them against that checkpoint's last hash, and stores one checkpoint per
+ * block of at most {@code blockSize} entries. Verification can then start at
+ * the newest checkpoint instead of GENESIS, and any sealed entry can be proven
+ * included with a path of O(log blockSize) hashes.
+ *
+ * Rows that can no longer be verified, e.g. ones hashed by an older
+ * hasher, are left unsealed by starting after their ids: the first
+ * checkpoint then anchors on the stored hash of the last row skipped. When a
+ * run meets a broken row it still seals the valid rows before it, then
+ * refuses to go further.
+ *
+ * @author Mahdis (Infrastructure Layer)
+ */
+public class AuditCheckpointer {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditCheckpointer.class);
+
+    /**
+     * Proof that an audit entry is covered by a checkpoint's Merkle root.
+     */
+    public record InclusionProof(long entryId, String entryHash, long checkpointId,
+                                 String merkleRoot, List<AuditMerkleTree.Step> path) {
+        public boolean verify() {
+            return AuditMerkleTree.verify(entryHash, path, merkleRoot);
+        }
+    }
+
+    private final AuditLogJpaRepository logRepo;
+    private final AuditCheckpointJpaRepository checkpointRepo;
+    private final int blockSize;
+    private final long startAfterId;
+    private final AuditArchiver archiver;
+
+    public AuditCheckpointer(AuditLogJpaRepository logRepo, AuditCheckpointJpaRepository checkpointRepo, int blockSize) {
+        this(logRepo, checkpointRepo, blockSize, 0L, null);
+    }
+
+    /**
+     * @param startAfterId rows with this id or lower are never sealed (0 seals from GENESIS)
+     * @param archiver     archive holding ranges no longer in audit_logs, or null
+     */
+    public AuditCheckpointer(AuditLogJpaRepository logRepo, AuditCheckpointJpaRepository checkpointRepo, int blockSize,
+                             long startAfterId, AuditArchiver archiver) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        if (startAfterId < 0) {
+            throw new IllegalArgumentException("startAfterId must not be negative");
+        }
+        this.logRepo = logRepo;
+        this.checkpointRepo = checkpointRepo;
+        this.blockSize = blockSize;
+        this.startAfterId = startAfterId;
+        this.archiver = archiver;
+    }
+
+    /**
+     * Seals every entry written since the last checkpoint.
+     *
+     * @return the number of checkpoints created
+     * @throws IllegalStateException if the unsealed entries do not form a valid chain; the
+     *                               entries before the broken one are sealed first
+     */
+    public synchronized int checkpoint() {
+        Optional<AuditCheckpointEntity> latest = checkpointRepo.findTopByOrderByLastEntryIdDesc();
+        long afterId = latest.map(AuditCheckpointEntity::getLastEntryId).orElse(0L);
+        String prevHash = latest.map(AuditCheckpointEntity::getLastHash).orElse("GENESIS");
+        if (startAfterId > afterId) {
+            afterId = startAfterId;
+            prevHash = logRepo.findFirstByIdLessThanEqualOrderByIdDesc(startAfterId)
+                    .map(AuditLogEntity::getHash)
+                    .orElse("GENESIS");
+        }
+
+        int created = 0;
+        Long brokenId = null;
+        while (true) {
+            List<AuditLogEntity> block = logRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                    afterId, Long.MAX_VALUE, PageRequest.of(0, blockSize));
+            if (block.isEmpty()) break;
+
+            int valid = 0;
+            for (AuditLogEntity row : block) {
+                if (!row.getPrevHash().equals(prevHash) || !recompute(row).equals(row.getHash())) break;
+                prevHash = row.getHash();
+                valid++;
+            }
+            if (valid > 0) {
+                seal(block.subList(0, valid));
+                created++;
+                afterId = block.get(valid - 1).getId();
+            }
+            if (valid < block.size()) {
+                brokenId = block.get(valid).getId();
+                break;
+            }
+
+            if (block.size() < blockSize) break;
+        }
+        if (created > 0) {
+            log.info("Created {} audit checkpoint(s) up to id {}", created, afterId);
+        }
+        if (brokenId != null) {
+            throw new IllegalStateException("Refusing to checkpoint: audit chain broken at id " + brokenId);
+        }
+        return created;
+    }
+
+    /**
+     * Returns the newest checkpoint, if any.
+     */
+    public Optional<AuditCheckpointEntity> latest() {
+        return checkpointRepo.findTopByOrderByLastEntryIdDesc();
+    }
+
+    /**
+     * Builds an inclusion proof for the audit entry with the given id. Ranges
+     * already moved out of audit_logs are read from their archive file.
+     *
+     * @throws IllegalArgumentException if the entry has not been sealed by a checkpoint
+     */
+    public InclusionProof proveInclusion(long entryId) {
+        AuditCheckpointEntity checkpoint = checkpointRepo
+                .findFirstByFirstEntryIdLessThanEqualAndLastEntryIdGreaterThanEqual(entryId, entryId)
+                .orElseThrow(() -> new IllegalArgumentException("No checkpoint covers audit entry " + entryId));
+
+        List<AuditLogEntity> block;
+        if (checkpoint.getArchiveFile() != null) {
+            if (archiver == null) {
+                throw new IllegalStateException("Checkpoint " + checkpoint.getId() + " is archived to "
+                        + checkpoint.getArchiveFile() + " but no archive is configured");
+            }
+            block = archiver.archivedRows(checkpoint);
+        } else {
+            block = logRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                    checkpoint.getFirstEntryId() - 1, checkpoint.getLastEntryId(),
+                    PageRequest.of(0, checkpoint.getEntryCount()));
+        }
+        List<String> hashes = hashes(block);
+
+        int index = -1;
+        for (int i = 0; i < block.size(); i++) {
+            if (block.get(i).getId() == entryId) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Audit entry not found: " + entryId);
+        }
+        if (!AuditMerkleTree.root(hashes).equals(checkpoint.getMerkleRoot())) {
+            throw new IllegalStateException("Audit entries under checkpoint " + checkpoint.getId() + " were modified");
+        }
+
+        return new InclusionProof(entryId, hashes.get(index), checkpoint.getId(),
+                checkpoint.getMerkleRoot(), AuditMerkleTree.proof(hashes, index));
+    }
+
+    private void seal(List<AuditLogEntity> block) {
+        AuditLogEntity first = block.get(0);
+        AuditLogEntity last = block.get(block.size() - 1);
+        checkpointRepo.save(new AuditCheckpointEntity(first.getId(), last.getId(), block.size(),
+                AuditMerkleTree.root(hashes(block)), last.getHash()));
+    }
+
+    private static List<String> hashes(List<AuditLogEntity> block) {
+        return block.stream().map(AuditLogEntity::getHash).toList();
+    }
+
+    private static String recompute(AuditLogEntity row) {
+        return RestaurantAuditEntry.computeHash(row.getUserId(), row.getRole(), row.getAction(),
+                row.getEntityType(), row.getEntityId(), row.getDetails(), row.getTimestamp(), row.getPrevHash());
+    }
+}
@@ -1,74 +1,367 @@
 package com.university.restaurant.infrastructure.adapter;
 
+import com.university.restaurant.infrastructure.entity.AuditCheckpointEntity;
 import com.university.restaurant.infrastructure.entity.AuditLogEntity;
 import com.university.restaurant.infrastructure.jpa.AuditLogJpaRepository;
+import com.university.restaurant.repository.AuditPage;
+import com.university.restaurant.repository.AuditQuery;
 import com.university.restaurant.repository.RestaurantAuditEntry;
 import com.university.restaurant.repository.RestaurantAuditLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * JPA Adapter implementing RestaurantAuditLogRepository port.
  * Bridges Alice's audit log repository with Spring Data JPA.
  *
+ * The chain head (hash of the newest row) is loaded once at construction and
+ * advanced in memory on every successful write, so tailHash() never queries
+ * the table. An optional background check compares it with the database and
+ * reports (and resyncs on) divergence caused by other writers.
+ *
+ * With an {@link AuditCheckpointer}, verifyChain() only re-verifies entries
+ * written after the newest Merkle checkpoint, and checkpoints can be sealed
+ * on a schedule.
+ *
  * @author Mahdis (Infrastructure Layer)
  */
 public class AuditLogJpaAdapter implements RestaurantAuditLogRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(AuditLogJpaAdapter.class);
+
+    private static final int VERIFY_PAGE_SIZE = 1000;
+    private static final int STREAM_FETCH_SIZE = 1000;
+
     private final AuditLogJpaRepository jpaRepo;
+    private final AuditChainVerifier verifier;
+    private final AuditCheckpointer checkpointer;
+    private final AuditArchiver archiver;
+    private final AtomicReference<String> head = new AtomicReference<>();
+    private final AtomicLong divergences = new AtomicLong();
+    private final Object writeLock = new Object();
+    private ScheduledExecutorService maintenance;
 
     public AuditLogJpaAdapter(AuditLogJpaRepository jpaRepo) {
+        this(jpaRepo, null);
+    }
+
+    /**
+     * @param checkpointer checkpoint store used for incremental verification, or null
+     */
+    public AuditLogJpaAdapter(AuditLogJpaRepository jpaRepo, AuditCheckpointer checkpointer) {
+        this(jpaRepo, checkpointer, null);
+    }
+
+    /**
+     * @param checkpointer checkpoint store used for incremental verification, or null
+     * @param archiver     archive of sealed ranges no longer in the table, or null
+     */
+    public AuditLogJpaAdapter(AuditLogJpaRepository jpaRepo, AuditCheckpointer checkpointer, AuditArchiver archiver) {
         this.jpaRepo = jpaRepo;
+        this.checkpointer = checkpointer;
+        this.archiver = archiver;
+        this.verifier = new AuditChainVerifier(new AuditChainVerifier.PageSource() {
+            @Override
+            public Long minId() {
+                return jpaRepo.findMinId();
+            }
+
+            @Override
+            public Long maxId() {
+                return jpaRepo.findMaxId();
+            }
+
+            @Override
+            public List<AuditLogEntity> page(long afterId, long upToId, int size) {
+                return jpaRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(afterId, upToId, PageRequest.of(0, size));
+            }
+        }, VERIFY_PAGE_SIZE, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        this.head.set(loadTailHash());
+    }
+
+    /**
+     * Creates the adapter and starts background maintenance: the cached chain
+     * head is validated against the database every {@code validationInterval}
+     * and new entries are sealed into checkpoints every {@code checkpointInterval}.
+     * A zero interval disables the corresponding job.
+     */
+    public AuditLogJpaAdapter(AuditLogJpaRepository jpaRepo, AuditCheckpointer checkpointer,
+                              Duration validationInterval, Duration checkpointInterval) {
+        this(jpaRepo, checkpointer, null, validationInterval, checkpointInterval, Duration.ZERO);
+    }
+
+    /**
+     * As above, and additionally moves old sealed ranges to the archive every
+     * {@code archiveInterval}.
+     */
+    public AuditLogJpaAdapter(AuditLogJpaRepository jpaRepo, AuditCheckpointer checkpointer, AuditArchiver archiver,
+                              Duration validationInterval, Duration checkpointInterval, Duration archiveInterval) {
+        this(jpaRepo, checkpointer, archiver);
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "audit-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        schedule(this::validateTailHash, validationInterval, "Audit chain head validation");
+        if (checkpointer != null) {
+            schedule(checkpointer::checkpoint, checkpointInterval, "Audit checkpoint");
+        }
+        if (archiver != null) {
+            schedule(archiver::archive, archiveInterval, "Audit archival");
+        }
     }
 
     @Override
     public void append(RestaurantAuditEntry entry) {
-        // Use getters instead of direct field access
-        AuditLogEntity entity = new AuditLogEntity(
-                entry.getUserId(),
-                entry.getRole(),
-                entry.getAction(),
-                entry.getEntityType(),
-                entry.getEntityId(),
-                entry.getDetails(),
-                entry.getPrevHash(),
-                entry.getHash()
-        );
-        jpaRepo.save(entity);
+        synchronized (writeLock) {
+            checkLinksToHead(entry);
+            jpaRepo.save(toEntity(entry));
+            head.set(entry.getHash());
+        }
+    }
+
+    /**
+     * Saves a whole batch in one transaction. With sequence-generated ids
+     * Hibernate groups the inserts into JDBC batches (hibernate.jdbc.batch_size).
+     */
+    @Override
+    public void appendAll(List<RestaurantAuditEntry> entries) {
+        if (entries.isEmpty()) return;
+        synchronized (writeLock) {
+            checkLinksToHead(entries.get(0));
+            jpaRepo.saveAll(entries.stream().map(this::toEntity).toList());
+            head.set(entries.get(entries.size() - 1).getHash());
+        }
     }
 
+    /**
+     * Loads the whole log, archived ranges included. Prefer {@link #stream()}
+     * for large logs.
+     */
     @Override
     public List<RestaurantAuditEntry> all() {
-        // Note: Cannot fully reconstruct RestaurantAuditEntry from entity
-        // because RestaurantAuditEntry fields are final
-        throw new UnsupportedOperationException(
-                "Cannot retrieve audit entries due to RestaurantAuditEntry design. " +
-                        "Consider using entity directly or creating a DTO."
-        );
+        return stream().toList();
     }
 
     @Override
-    public boolean verifyChain() {
-        List<AuditLogEntity> logs = jpaRepo.findAllByOrderByTimestampDesc();
+    public Stream<RestaurantAuditEntry> stream() {
+        return stream(STREAM_FETCH_SIZE);
+    }
+
+    /**
+     * Streams the log in id order: archived ranges first, one file at a time,
+     * then the table in keyset pages of {@code fetchSize} rows. Pages are
+     * fetched lazily as the stream is consumed and no connection is held
+     * between them.
+     */
+    public Stream<RestaurantAuditEntry> stream(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive");
+        }
+        long afterId = archiver == null ? 0L
+                : archiver.lastArchived().map(AuditCheckpointEntity::getLastEntryId).orElse(0L);
+        Stream<RestaurantAuditEntry> archived = archiver == null ? Stream.empty() : archiver.stream();
+        Stream<RestaurantAuditEntry> hot = StreamSupport.stream(new PageSpliterator(afterId, fetchSize), false)
+                .map(AuditLogJpaAdapter::toEntry);
+        return Stream.concat(archived, hot);
+    }
+
+    /**
+     * Pushes the filters down as a WHERE clause served by the audit_logs
+     * indexes and pages by id (keyset), fetching one extra row to tell whether
+     * another page exists. The cursor is the row id.
+     */
+    @Override
+    public AuditPage query(AuditQuery query) {
+        List<Specification<AuditLogEntity>> filters = new ArrayList<>();
+        if (query.getAfter() != null) filters.add((r, q, cb) -> cb.greaterThan(r.get("id"), query.getAfter()));
+        if (query.getUserId() != null) filters.add((r, q, cb) -> cb.equal(r.get("userId"), query.getUserId()));
+        if (query.getAction() != null) filters.add((r, q, cb) -> cb.equal(r.get("action"), query.getAction()));
+        if (query.getEntityType() != null) filters.add((r, q, cb) -> cb.equal(r.get("entityType"), query.getEntityType()));
+        if (query.getEntityId() != null) filters.add((r, q, cb) -> cb.equal(r.get("entityId"), query.getEntityId()));
+        if (query.getFrom() != null) filters.add((r, q, cb) -> cb.greaterThanOrEqualTo(r.get("timestamp"), query.getFrom()));
+        if (query.getTo() != null) filters.add((r, q, cb) -> cb.lessThan(r.get("timestamp"), query.getTo()));
+
+        List<AuditLogEntity> rows = jpaRepo.findBy(Specification.allOf(filters),
+                q -> q.sortBy(Sort.by("id")).limit(query.getLimit() + 1).all());
+        boolean more = rows.size() > query.getLimit();
+        List<AuditLogEntity> page = more ? rows.subList(0, query.getLimit()) : rows;
+        return new AuditPage(page.stream().map(AuditLogJpaAdapter::toEntry).toList(),
+                more ? page.get(page.size() - 1).getId() : null);
+    }
 
-        for (int i = 1; i < logs.size(); i++) {
-            AuditLogEntity current = logs.get(i);
-            AuditLogEntity previous = logs.get(i - 1);
+    @Override
+    public boolean verifyChain() {
+        return verifyChainReport().valid();
+    }
 
-            if (!current.getPrevHash().equals(previous.getHash())) {
-                return false;
+    /**
+     * Streams the table in id order, recomputing every hash, and reports the
+     * first broken link instead of a bare boolean. Archived ranges are checked
+     * by their boundary hashes only.
+     */
+    public AuditChainVerifier.Result verifyChainReport() {
+        if (archiver != null) {
+            AuditChainVerifier.Result archived = archiver.verifyBoundaries();
+            if (!archived.valid()) {
+                log.error("Audit archive broken at id {}: {}", archived.firstBrokenId(), archived.reason());
+                return archived;
             }
         }
-
-        return true;
+        Optional<AuditCheckpointEntity> trusted = checkpointer != null ? checkpointer.latest() : Optional.empty();
+        if (trusted.isEmpty() && archiver != null) {
+            trusted = archiver.lastArchived();
+        }
+        AuditChainVerifier.Result result = trusted
+                .map(cp -> verifier.verifyAfter(cp.getLastEntryId(), cp.getLastHash()))
+                .orElseGet(verifier::verify);
+        if (!result.valid()) {
+            log.error("Audit chain broken at id {}: {}", result.firstBrokenId(), result.reason());
+        }
+        return result;
     }
 
     @Override
     public String tailHash() {
+        return head.get();
+    }
+
+    /**
+     * Compares the cached chain head with the newest row in the database.
+     * On mismatch the divergence is logged and counted, and the cache is
+     * resynced to the database so later entries link to the real tail.
+     *
+     * @return true if the cache matched the database
+     */
+    public boolean validateTailHash() {
+        synchronized (writeLock) {
+            String cached = head.get();
+            String actual = loadTailHash();
+            if (cached.equals(actual)) {
+                return true;
+            }
+            divergences.incrementAndGet();
+            log.error("Audit chain head diverged from database: cached={} actual={}; resyncing", cached, actual);
+            head.set(actual);
+            return false;
+        }
+    }
+
+    /**
+     * Number of divergences detected by {@link #validateTailHash()} or by
+     * writes whose prevHash did not match the cached head.
+     */
+    public long divergenceCount() {
+        return divergences.get();
+    }
+
+    /**
+     * Stops the background maintenance jobs, if they were started.
+     */
+    public void shutdown() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+    }
+
+    private void schedule(Runnable job, Duration interval, String name) {
+        if (interval.isZero() || interval.isNegative()) return;
+        long millis = interval.toMillis();
+        maintenance.scheduleWithFixedDelay(() -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                log.warn("{} failed", name, e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkLinksToHead(RestaurantAuditEntry first) {
+        String current = head.get();
+        if (!current.equals(first.getPrevHash())) {
+            divergences.incrementAndGet();
+            log.warn("Audit entry links to {} but chain head is {}", first.getPrevHash(), current);
+        }
+    }
+
+    private String loadTailHash() {
         AuditLogEntity mostRecent = jpaRepo.findMostRecent();
         return mostRecent != null ? mostRecent.getHash() : "GENESIS";
     }
+
+    /**
+     * Walks audit_logs by id, one page per fetch.
+     */
+    private final class PageSpliterator extends Spliterators.AbstractSpliterator<AuditLogEntity> {
+        private final int fetchSize;
+        private long afterId;
+        private Iterator<AuditLogEntity> page = Collections.emptyIterator();
+        private boolean lastPage;
+
+        PageSpliterator(long afterId, int fetchSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.afterId = afterId;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super AuditLogEntity> action) {
+            if (!page.hasNext()) {
+                if (lastPage) return false;
+                List<AuditLogEntity> rows = jpaRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                        afterId, Long.MAX_VALUE, PageRequest.of(0, fetchSize));
+                lastPage = rows.size() < fetchSize;
+                if (rows.isEmpty()) return false;
+                afterId = rows.get(rows.size() - 1).getId();
+                page = rows.iterator();
+            }
+            action.accept(page.next());
+            return true;
+        }
+    }
+
+    private static RestaurantAuditEntry toEntry(AuditLogEntity e) {
+        return RestaurantAuditEntry.restore(e.getUserId(), e.getRole(), e.getAction(), e.getEntityType(),
+                e.getEntityId(), e.getDetails(), e.getTimestamp(), e.getPrevHash(), e.getHash());
+    }
+
+    private AuditLogEntity toEntity(RestaurantAuditEntry entry) {
+        // Use getters instead of direct field access
+        AuditLogEntity entity = new AuditLogEntity(
+                entry.getUserId(),
+                entry.getRole(),
+                entry.getAction(),
+                entry.getEntityType(),
+                entry.getEntityId(),
+                entry.getDetails(),
+                entry.getPrevHash(),
+                entry.getHash()
+        );
+        // Persist the hashed timestamp so the hash can be recomputed on verification
+        entity.setTimestamp(entry.getTimestamp());
+        return entity;
+    }
 }
 
 
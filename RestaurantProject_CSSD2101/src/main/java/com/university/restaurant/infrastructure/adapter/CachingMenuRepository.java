@@ -0,0 +1,270 @@
+package com.university.restaurant.infrastructure.adapter;
+
+import com.university.restaurant.infrastructure.dto.DTOMapper;
+import com.university.restaurant.infrastructure.dto.MenuItemDTO;
+import com.university.restaurant.model.menu.MenuCategory;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.repository.MenuQuery;
+import com.university.restaurant.repository.MenuRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Read-through cache in front of another {@link MenuRepository}.
+ *
+ * <p>
+ * The menu is read on every order but changes a few times a day, so each
+ * item is loaded once, mapped once to its domain object and its DTO, and
+ * then served from memory. The list of available items is cached the same
+ * way. Every {@link #save} goes through the delegate and then bumps a
+ * version number; an entry stamped with an older version is treated as a
+ * miss. A load records the version it started under, so a load that races
+ * with a save is never served afterwards.
+ * </p>
+ *
+ * <p>
+ * MenuService and InventoryService write through this repository, so price
+ * changes and availability flips invalidate the cache with no extra wiring.
+ * Cached items are shared, not copied: callers that change one must save it.
+ * Other queries are passed through to the delegate.
+ * </p>
+ *
+ * <p>
+ * Only items that exist are cached, so lookups of unknown ids cannot grow
+ * the cache. Items are read through a {@link Loader}, which may return a
+ * DTO without a domain item for rows the domain cannot represent yet
+ * (combos): those are served by the DTO methods and left out of the
+ * available listing, and reading them as domain items throws
+ * {@link UnsupportedOperationException} as the delegate would.
+ * </p>
+ */
+public class CachingMenuRepository implements MenuRepository {
+
+    /** Snapshot of cache behaviour since startup. */
+    public record Stats(long version, long hits, long misses, long invalidations, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    /**
+     * An item read together with its DTO. {@code item} is null for rows with
+     * no domain mapping.
+     */
+    public record Loaded(MenuItem item, MenuItemDTO dto) {
+    }
+
+    /**
+     * Reads items together with their DTOs.
+     */
+    public interface Loader {
+        Optional<Loaded> loadById(String id);
+
+        /** The ids that exist, in any order. */
+        List<Loaded> loadAllById(Collection<String> ids);
+
+        List<Loaded> loadAvailable();
+    }
+
+    /** One cached item; {@code item} is null for rows with no domain mapping. */
+    private record Entry(long version, MenuItem item, MenuItemDTO dto) {
+    }
+
+    private record Listing(long version, List<MenuItem> items, List<MenuItemDTO> dtos) {
+    }
+
+    private final MenuRepository delegate;
+    private final Loader loader;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Listing available;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Reads items from the delegate and maps their DTOs from the domain items.
+     */
+    public CachingMenuRepository(MenuRepository delegate, DTOMapper dtoMapper) {
+        this(delegate, new Loader() {
+            @Override
+            public Optional<Loaded> loadById(String id) {
+                return delegate.findById(id).map(item -> new Loaded(item, dtoMapper.toMenuItemDTO(item)));
+            }
+
+            @Override
+            public List<Loaded> loadAllById(Collection<String> ids) {
+                return delegate.findAllById(ids).stream()
+                        .map(item -> new Loaded(item, dtoMapper.toMenuItemDTO(item)))
+                        .toList();
+            }
+
+            @Override
+            public List<Loaded> loadAvailable() {
+                return delegate.query(MenuQuery.availableItems()).stream()
+                        .map(item -> new Loaded(item, dtoMapper.toMenuItemDTO(item)))
+                        .toList();
+            }
+        });
+    }
+
+    /**
+     * @param delegate handles writes and the queries that are not cached
+     * @param loader   reads the items that are cached
+     */
+    public CachingMenuRepository(MenuRepository delegate, Loader loader) {
+        this.delegate = delegate;
+        this.loader = loader;
+    }
+
+    @Override
+    public Optional<MenuItem> findById(String id) {
+        Entry e = entry(id);
+        return e == null ? Optional.empty() : Optional.of(domainItem(id, e));
+    }
+
+    /**
+     * The item's DTO, mapped when the item was loaded.
+     */
+    public Optional<MenuItemDTO> findDtoById(String id) {
+        Entry e = entry(id);
+        return e == null ? Optional.empty() : Optional.of(e.dto());
+    }
+
+    /**
+     * Serves cached ids from memory and loads the rest with one call to the
+     * delegate.
+     */
+    @Override
+    public List<MenuItem> findAllById(Collection<String> ids) {
+        long v = version.get();
+        List<MenuItem> found = new ArrayList<>(ids.size());
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Entry e = entries.get(id);
+            if (e != null && e.version() == v) {
+                hits.increment();
+                found.add(domainItem(id, e));
+            } else {
+                misses.increment();
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) return found;
+
+        Map<String, Entry> loaded = new HashMap<>();
+        for (Loaded l : loader.loadAllById(missing)) {
+            loaded.put(l.dto().getId(), new Entry(v, l.item(), l.dto()));
+        }
+        for (String id : missing) {
+            Entry e = loaded.get(id);
+            if (e == null) continue;
+            if (version.get() == v) entries.put(id, e);
+            found.add(domainItem(id, e));
+        }
+        return found;
+    }
+
+    @Override
+    public List<MenuItem> findByCategory(MenuCategory category) {
+        return delegate.findByCategory(category);
+    }
+
+    @Override
+    public List<MenuItem> search(Predicate<MenuItem> filter) {
+        return delegate.search(filter);
+    }
+
+    @Override
+    public List<MenuItem> query(MenuQuery query) {
+        return isAvailableListing(query) ? listing().items() : delegate.query(query);
+    }
+
+    /**
+     * DTOs of every available item, mapped when the listing was loaded.
+     */
+    public List<MenuItemDTO> availableDtos() {
+        return listing().dtos();
+    }
+
+    @Override
+    public void save(MenuItem item) {
+        try {
+            delegate.save(item);
+        } finally {
+            invalidate();
+        }
+    }
+
+    /**
+     * Drops every cached entry, for changes made behind this repository's back.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        invalidations.increment();
+        entries.clear();
+        available = null;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public Stats stats() {
+        return new Stats(version.get(), hits.sum(), misses.sum(), invalidations.sum(), entries.size());
+    }
+
+    /**
+     * The cached entry for {@code id}, or null if there is no such item.
+     */
+    private Entry entry(String id) {
+        long v = version.get();
+        Entry e = entries.get(id);
+        if (e != null && e.version() == v) {
+            hits.increment();
+            return e;
+        }
+        misses.increment();
+        Optional<Loaded> l = loader.loadById(id);
+        if (l.isEmpty()) return null;
+        Entry loaded = new Entry(v, l.get().item(), l.get().dto());
+        if (version.get() == v) entries.put(id, loaded);
+        return loaded;
+    }
+
+    private static MenuItem domainItem(String id, Entry e) {
+        if (e.item() == null) {
+            throw new UnsupportedOperationException("Menu item " + id + " has no domain mapping");
+        }
+        return e.item();
+    }
+
+    private Listing listing() {
+        long v = version.get();
+        Listing l = available;
+        if (l != null && l.version() == v) {
+            hits.increment();
+            return l;
+        }
+        misses.increment();
+        List<Loaded> rows = loader.loadAvailable();
+        Listing loaded = new Listing(v,
+                rows.stream().map(Loaded::item).filter(Objects::nonNull).toList(),
+                rows.stream().map(Loaded::dto).toList());
+        if (version.get() == v) available = loaded;
+        return loaded;
+    }
+
+    private static boolean isAvailableListing(MenuQuery q) {
+        return Boolean.TRUE.equals(q.getAvailable())
+                && q.getCategory() == null && q.getDietaryType() == null
+                && q.getMinPrice() == null && q.getNamePrefix() == null
+                && q.getResidual() == null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.university.restaurant.infrastructure.adapter;
+
+import com.university.restaurant.infrastructure.adapter.mapper.MenuItemMapper;
+import com.university.restaurant.infrastructure.dto.DTOMapper;
+import com.university.restaurant.infrastructure.entity.ComboEntity;
+import com.university.restaurant.infrastructure.entity.MenuItemEntity;
+import com.university.restaurant.infrastructure.jpa.MenuJpaRepository;
+import com.university.restaurant.model.menu.MenuItem;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Loads menu rows for CachingMenuRepository, mapping each entity once to
+ * both its domain item and its DTO.
+ *
+ * DTOs are mapped from the entity, so combos, which MenuItemMapper cannot
+ * turn into domain items yet, are still served to the menu endpoints.
+ *
+ * @author Mahdis (Infrastructure Layer)
+ */
+public class MenuEntityLoader implements CachingMenuRepository.Loader {
+
+    private final MenuJpaRepository jpaRepo;
+    private final MenuItemMapper mapper;
+    private final DTOMapper dtoMapper;
+
+    public MenuEntityLoader(MenuJpaRepository jpaRepo, MenuItemMapper mapper, DTOMapper dtoMapper) {
+        this.jpaRepo = jpaRepo;
+        this.mapper = mapper;
+        this.dtoMapper = dtoMapper;
+    }
+
+    @Override
+    public Optional<CachingMenuRepository.Loaded> loadById(String id) {
+        return jpaRepo.findById(id).map(this::load);
+    }
+
+    @Override
+    public List<CachingMenuRepository.Loaded> loadAllById(Collection<String> ids) {
+        return jpaRepo.findAllById(ids).stream().map(this::load).toList();
+    }
+
+    @Override
+    public List<CachingMenuRepository.Loaded> loadAvailable() {
+        return jpaRepo.findByAvailableTrue().stream().map(this::load).toList();
+    }
+
+    private CachingMenuRepository.Loaded load(MenuItemEntity entity) {
+        MenuItem item = entity instanceof ComboEntity ? null : mapper.toDomain(entity);
+        return new CachingMenuRepository.Loaded(item, dtoMapper.toMenuItemDTO(entity));
+    }
+}
@@ -4,11 +4,16 @@ import com.university.restaurant.infrastructure.adapter.mapper.MenuItemMapper;
 import com.university.restaurant.infrastructure.entity.MenuItemEntity;
 import com.university.restaurant.infrastructure.jpa.MenuJpaRepository;
 import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.repository.MenuQuery;
 import com.university.restaurant.repository.MenuRepository;
 import com.university.restaurant.model.menu.MenuCategory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -52,6 +57,41 @@ public class MenuJpaAdapter implements MenuRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<MenuItem> findAllById(Collection<String> ids) {
+        return jpaRepo.findAllById(ids).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Pushes the structured criteria down as a WHERE clause served by the
+     * menu_items indexes. Only matching rows are mapped; the residual
+     * predicate, and the query as a whole, are then checked in Java.
+     */
+    @Override
+    public List<MenuItem> query(MenuQuery query) {
+        List<Specification<MenuItemEntity>> filters = new ArrayList<>();
+        if (query.getCategory() != null) filters.add((r, q, cb) -> cb.equal(r.get("category"), query.getCategory()));
+        if (query.getAvailable() != null) filters.add((r, q, cb) -> cb.equal(r.get("available"), query.getAvailable()));
+        if (query.getDietaryType() != null) filters.add((r, q, cb) -> cb.equal(r.get("dietaryType"), query.getDietaryType()));
+        if (query.getMinPrice() != null) filters.add((r, q, cb) -> cb.between(r.<Double>get("price"), query.getMinPrice(), query.getMaxPrice()));
+        if (query.getNamePrefix() != null) filters.add((r, q, cb) ->
+                cb.like(cb.lower(r.<String>get("name")), likePrefix(query.getNamePrefix()), '\\'));
+
+        return jpaRepo.findAll(Specification.allOf(filters)).stream()
+                .map(mapper::toDomain)
+                .filter(query::matches)
+                .collect(Collectors.toList());
+    }
+
+    private static String likePrefix(String prefix) {
+        return prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
     @Override
     public void save(MenuItem item) {
         MenuItemEntity entity = mapper.toEntity(item);
@@ -0,0 +1,52 @@
+package com.university.restaurant.infrastructure.adapter;
+
+import com.university.restaurant.infrastructure.jpa.OrderJpaRepository;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.repository.OrderAnalyticsRepository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JPA Adapter implementing OrderAnalyticsRepository port.
+ * Sales are grouped by menu_item_id over order_items and revenue is summed
+ * over orders.total_amount, so each call returns a few aggregated rows
+ * instead of the order history.
+ */
+public class OrderAnalyticsJpaAdapter implements OrderAnalyticsRepository {
+
+    private final OrderJpaRepository jpaRepo;
+
+    public OrderAnalyticsJpaAdapter(OrderJpaRepository jpaRepo) {
+        this.jpaRepo = jpaRepo;
+    }
+
+    @Override
+    public List<ItemSales> itemSales(Set<OrderStatus> statuses) {
+        if (statuses.isEmpty()) return List.of();
+        return jpaRepo.sumItemQuantities(statuses).stream()
+                .map(row -> new ItemSales((String) row[0], (String) row[1], ((Number) row[2]).longValue()))
+                .toList();
+    }
+
+    @Override
+    public List<TimedItemSales> itemSalesSince(Set<OrderStatus> statuses, OffsetDateTime since) {
+        if (statuses.isEmpty()) return List.of();
+        return jpaRepo.sumItemQuantitiesPerOrderSince(statuses, since).stream()
+                .map(row -> new TimedItemSales((String) row[0], (OffsetDateTime) row[1], ((Number) row[2]).longValue()))
+                .toList();
+    }
+
+    @Override
+    public double revenueBetween(OrderStatus status, OffsetDateTime from, OffsetDateTime to) {
+        return jpaRepo.sumTotalAmount(status, from, to);
+    }
+
+    @Override
+    public List<OrderTotal> orderTotals(OrderStatus status) {
+        return jpaRepo.findCreatedAtAndTotalByStatus(status).stream()
+                .map(row -> new OrderTotal((OffsetDateTime) row[0], row[1] == null ? 0.0 : (Double) row[1]))
+                .toList();
+    }
+}
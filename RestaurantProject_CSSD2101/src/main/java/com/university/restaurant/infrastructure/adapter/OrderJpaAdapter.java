@@ -1,12 +1,14 @@
 package com.university.restaurant.infrastructure.adapter;
 
 import com.university.restaurant.infrastructure.adapter.mapper.OrderMapper;
+import com.university.restaurant.infrastructure.entity.OrderEntity;
 import com.university.restaurant.infrastructure.jpa.OrderJpaRepository;
 import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
 import com.university.restaurant.repository.OrderRepository;
 import org.springframework.stereotype.Component;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,9 +17,8 @@ import java.util.UUID;
  * JPA Adapter implementing OrderRepository port.
  * Bridges Alice's OrderRepository interface with Spring Data JPA.
  *
- * Note: This implementation has limitations due to domain model constraints.
- * The Order domain class doesn't support reconstruction from persistence,
- * so we can only save Orders, not fully retrieve them as domain objects.
+ * Every read fetches the orders together with their items and payments in
+ * one query, so mapping them back to domain Orders issues no lazy loads.
  *
  * @author Mahdis (Infrastructure Layer)
  */
@@ -33,34 +34,46 @@ public class OrderJpaAdapter implements OrderRepository {
 
     @Override
     public Optional<Order> findById(UUID id) {
-        // Note: Cannot fully convert entity back to domain Order
-        // This is a design limitation that would need to be addressed
-        // by modifying the domain Order class
-        throw new UnsupportedOperationException(
-                "Order retrieval not supported due to domain model constraints. " +
-                        "Consider using a DTO approach or modifying Order domain class."
-        );
+        return jpaRepo.findWithItemsById(id)
+                .map(mapper::toDomain);
     }
 
     @Override
     public List<Order> findByStatus(OrderStatus status) {
-        // Same limitation as findById
-        throw new UnsupportedOperationException(
-                "Order retrieval not supported due to domain model constraints."
-        );
+        return toDomain(jpaRepo.findWithItemsByStatus(status));
     }
 
     @Override
     public List<Order> findByTable(int tableNumber) {
-        // Same limitation
-        throw new UnsupportedOperationException(
-                "Order retrieval not supported due to domain model constraints."
-        );
+        return toDomain(jpaRepo.findWithItemsByTableNumber(tableNumber));
+    }
+
+    @Override
+    public List<Order> findCreatedBetween(OffsetDateTime from, OffsetDateTime to) {
+        return toDomain(jpaRepo.findWithItemsCreatedBetween(from, to));
     }
 
     @Override
     public void save(Order order) {
-        // Saving works fine - we can convert domain to entity
         jpaRepo.save(mapper.toEntity(order));
     }
+
+    /**
+     * Inserts all orders in one transaction. The entities are marked new so
+     * Hibernate persists them without a SELECT per order, and order_items
+     * ids come from a sequence, so both tables are written in JDBC batches.
+     */
+    @Override
+    public void insertAll(List<Order> orders) {
+        jpaRepo.saveAll(orders.stream()
+                .map(mapper::toEntity)
+                .map(OrderEntity::markNew)
+                .toList());
+    }
+
+    private List<Order> toDomain(List<OrderEntity> entities) {
+        return entities.stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
 }
\ No newline at end of file
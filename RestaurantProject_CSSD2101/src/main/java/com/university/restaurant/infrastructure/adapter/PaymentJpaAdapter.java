@@ -1,6 +1,7 @@
 package com.university.restaurant.infrastructure.adapter;
 
 import com.university.restaurant.infrastructure.adapter.mapper.PaymentMapper;
+import com.university.restaurant.infrastructure.entity.PaymentEntity;
 import com.university.restaurant.infrastructure.jpa.PaymentJpaRepository;
 import com.university.restaurant.model.payment.Payment;
 import com.university.restaurant.repository.PaymentRepository;
@@ -27,9 +28,16 @@ public class PaymentJpaAdapter implements PaymentRepository {
         this.mapper = mapper;
     }
 
+    /**
+     * Payments are written with their order, which owns the order_id link;
+     * saving one again keeps the link of the stored row.
+     */
     @Override
     public void save(Payment payment) {
-        jpaRepo.save(mapper.toEntity(payment));
+        PaymentEntity entity = mapper.toEntity(payment);
+        jpaRepo.findById(payment.getTransactionId())
+                .ifPresent(stored -> entity.setOrder(stored.getOrder()));
+        jpaRepo.save(entity);
     }
 
     @Override
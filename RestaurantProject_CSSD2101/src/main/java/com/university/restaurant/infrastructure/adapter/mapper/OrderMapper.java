@@ -2,10 +2,16 @@ package com.university.restaurant.infrastructure.adapter.mapper;
 
 import com.university.restaurant.infrastructure.entity.OrderEntity;
 import com.university.restaurant.infrastructure.entity.OrderItemEntity;
+import com.university.restaurant.infrastructure.entity.PaymentEntity;
+import com.university.restaurant.model.menu.MenuCategory;
 import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.menu.OrderedItem;
 import com.university.restaurant.model.order.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Mapper for converting between Order domain models and OrderEntity JPA entities.
  *
@@ -14,6 +20,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class OrderMapper {
 
+    private final PaymentMapper paymentMapper;
+
+    public OrderMapper(PaymentMapper paymentMapper) {
+        this.paymentMapper = paymentMapper;
+    }
+
     /**
      * Convert domain Order to JPA entity.
      * Note: This creates a new entity but doesn't handle the full conversion
@@ -38,31 +50,52 @@ public class OrderMapper {
                     item.calculatePrice(),
                     1 // Quantity - domain Order doesn't track quantities per item
             );
+            itemEntity.setCategory(item.getCategory());
+            itemEntity.setRequiresKitchenPrep(item.requiresKitchenPrep());
             entity.addItem(itemEntity);
         }
 
+        if (domain.getPayment() != null) {
+            PaymentEntity payment = paymentMapper.toEntity(domain.getPayment());
+            payment.setOrder(entity);
+            entity.setPayment(payment);
+        }
+
         return entity;
     }
 
     /**
      * Convert JPA entity to domain Order.
-     * Note: This is a simplified conversion. In reality, you'd need to
-     * reconstruct MenuItem objects from OrderItemEntity data.
+     * Line items come back as {@link OrderedItem}s carrying the price charged
+     * at the time, one per unit of quantity. The entity's items and payment
+     * should already be fetched, or each access here costs a query.
      */
     public Order toDomain(OrderEntity entity) {
-        // Note: Domain Order constructor requires waiter ID
-        Order domain = new Order(
+        List<MenuItem> items = new ArrayList<>();
+        for (OrderItemEntity line : entity.getItems()) {
+            MenuItem item = toDomain(line);
+            for (int i = 0; i < line.getQuantity(); i++) {
+                items.add(item);
+            }
+        }
+
+        return Order.restore(
+                entity.getId(),
                 entity.getTableNumber(),
-                entity.getAssignedWaiterId()
+                entity.getAssignedWaiterId(),
+                entity.getCreatedAt(),
+                entity.getStatus(),
+                items,
+                entity.getPayment() == null ? null : paymentMapper.toDomain(entity.getPayment())
         );
+    }
 
-        // We can't fully reconstruct the Order's internal state here
-        // because the domain Order uses UUID internally
-        // This would require reflection or a different approach
-
-        throw new UnsupportedOperationException(
-                "Cannot fully convert OrderEntity to Order domain model. " +
-                        "Order domain class needs modification to support reconstruction."
-        );
+    // Rows written before category was recorded are treated as kitchen items,
+    // so nothing is silently skipped by the kitchen
+    private static MenuItem toDomain(OrderItemEntity line) {
+        MenuCategory category = line.getCategory() == null ? MenuCategory.ENTREE : line.getCategory();
+        boolean kitchenPrep = line.getRequiresKitchenPrep() == null || line.getRequiresKitchenPrep();
+        return new OrderedItem(line.getMenuItemId(), line.getMenuItemName(),
+                line.getPriceAtOrder(), category, kitchenPrep);
     }
 }
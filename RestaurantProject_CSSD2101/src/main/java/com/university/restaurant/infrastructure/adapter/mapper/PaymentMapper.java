@@ -28,9 +28,11 @@ public class PaymentMapper {
      * Convert JPA entity to domain Payment.
      */
     public Payment toDomain(PaymentEntity entity) {
-        return new Payment(
+        return Payment.restore(
                 entity.getMethod(),
-                entity.getAmount()
+                entity.getAmount(),
+                entity.getTimestamp(),
+                entity.getTransactionId()
         );
     }
 }
@@ -2,13 +2,24 @@ package com.university.restaurant.infrastructure.config;
 
 import com.university.restaurant.infrastructure.adapter.*;
 import com.university.restaurant.infrastructure.adapter.mapper.*;
+import com.university.restaurant.infrastructure.dto.DTOMapper;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.infrastructure.entity.OrderItemEntity;
 import com.university.restaurant.infrastructure.jpa.*;
 import com.university.restaurant.port.*;
 import com.university.restaurant.repository.*;
 import com.university.restaurant.service.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
 /**
  * Spring Configuration for wiring the Hexagonal Architecture layers.
  *
@@ -25,8 +36,9 @@ public class RestaurantConfig {
     // ========== ADAPTERS (Infrastructure → Application) ==========
 
     @Bean
-    public MenuRepository menuRepository(MenuJpaRepository jpaRepo, MenuItemMapper mapper) {
-        return new MenuJpaAdapter(jpaRepo, mapper);
+    public CachingMenuRepository menuRepository(MenuJpaRepository jpaRepo, MenuItemMapper mapper, DTOMapper dtoMapper) {
+        return new CachingMenuRepository(new MenuJpaAdapter(jpaRepo, mapper),
+                new MenuEntityLoader(jpaRepo, mapper, dtoMapper));
     }
 
     @Bean
@@ -35,10 +47,29 @@ public class RestaurantConfig {
     }
 
     @Bean
-    public OrderRepository orderRepository(OrderJpaRepository jpaRepo, OrderMapper mapper) {
+    public OrderRepository orderRepository(SequenceAligner sequences, OrderJpaRepository jpaRepo, OrderMapper mapper) {
+        sequences.alignPastMaxId("order_items_seq", "order_items", OrderItemEntity.ID_ALLOCATION_SIZE);
         return new OrderJpaAdapter(jpaRepo, mapper);
     }
 
+    @Bean
+    public MaterializedOrderAnalyticsRepository orderAnalyticsRepository(
+            OrderJpaRepository jpaRepo,
+            @Value("${restaurant.analytics.consistency-check-interval:10m}") Duration checkInterval) {
+        return new MaterializedOrderAnalyticsRepository(new OrderAnalyticsJpaAdapter(jpaRepo), checkInterval);
+    }
+
+    @Bean
+    public WindowedTopItems topItems(
+            MaterializedOrderAnalyticsRepository analytics,
+            @Value("${restaurant.analytics.top-k.epsilon:0.001}") double epsilon,
+            @Value("${restaurant.analytics.top-k.delta:0.01}") double delta) {
+        WindowedTopItems topItems = new WindowedTopItems(epsilon, delta);
+        // Seeded before the order and payment services exist to feed it
+        topItems.seed(analytics, LocalDateTime.now().atOffset(ZoneOffset.UTC));
+        return topItems;
+    }
+
     @Bean
     public ReservationRepository reservationRepository(ReservationJpaRepository jpaRepo, ReservationMapper mapper) {
         return new ReservationJpaAdapter(jpaRepo, mapper);
@@ -50,8 +81,32 @@ public class RestaurantConfig {
     }
 
     @Bean
-    public RestaurantAuditLogRepository auditLogRepository(AuditLogJpaRepository jpaRepo) {
-        return new AuditLogJpaAdapter(jpaRepo);
+    public SequenceAligner sequenceAligner(DataSource dataSource, EntityManagerFactory emf) {
+        return new SequenceAligner(dataSource, emf);
+    }
+
+    @Bean
+    public RestaurantAuditLogRepository auditLogRepository(
+            SequenceAligner sequences,
+            AuditLogJpaRepository jpaRepo,
+            AuditCheckpointJpaRepository checkpointRepo,
+            @Value("${restaurant.audit.max-batch-size:256}") int maxBatchSize,
+            @Value("${restaurant.audit.head-validation-interval:60s}") Duration headValidationInterval,
+            @Value("${restaurant.audit.checkpoint-block-size:1024}") int checkpointBlockSize,
+            @Value("${restaurant.audit.checkpoint-interval:60s}") Duration checkpointInterval,
+            @Value("${restaurant.audit.checkpoint-start-after-id:0}") long checkpointStartAfterId,
+            @Value("${restaurant.audit.archive-dir:./audit-archive}") Path archiveDir,
+            @Value("${restaurant.audit.archive-retention:30d}") Duration archiveRetention,
+            @Value("${restaurant.audit.archive-interval:1h}") Duration archiveInterval) {
+        // audit_logs ids were IDENTITY-generated before audit_logs_seq existed
+        sequences.alignPastMaxId("audit_logs_seq", "audit_logs", AuditLogEntity.ID_ALLOCATION_SIZE);
+        AuditArchiver archiver = new AuditArchiver(jpaRepo, checkpointRepo, archiveDir, archiveRetention);
+        AuditCheckpointer checkpointer = new AuditCheckpointer(jpaRepo, checkpointRepo, checkpointBlockSize,
+                checkpointStartAfterId, archiver);
+        return new GroupCommitAuditLogRepository(
+                new AuditLogJpaAdapter(jpaRepo, checkpointer, archiver,
+                        headValidationInterval, checkpointInterval, archiveInterval),
+                maxBatchSize);
     }
 
     // ========== SERVICES (Application Layer) ==========
@@ -69,8 +124,10 @@ public class RestaurantConfig {
     }
 
     @Bean
-    public OrderServicePort orderService(OrderRepository orderRepo, RestaurantAuditLogRepository audits) {
-        return new OrderService(orderRepo, audits);
+    public OrderServicePort orderService(OrderRepository orderRepo, RestaurantAuditLogRepository audits,
+                                         MaterializedOrderAnalyticsRepository analytics,
+                                         WindowedTopItems topItems) {
+        return new OrderService(orderRepo, audits, analytics.andThen(topItems));
     }
 
     @Bean
@@ -82,12 +139,14 @@ public class RestaurantConfig {
     @Bean
     public PaymentServicePort paymentService(OrderRepository orders,
                                              PaymentRepository payments,
-                                             RestaurantAuditLogRepository audits) {
-        return new PaymentService(orders, payments, audits);
+                                             RestaurantAuditLogRepository audits,
+                                             MaterializedOrderAnalyticsRepository analytics,
+                                             WindowedTopItems topItems) {
+        return new PaymentService(orders, payments, audits, analytics.andThen(topItems));
     }
 
     @Bean
-    public AnalyticsServicePort analyticsService(OrderRepository orders) {
-        return new AnalyticsService(orders);
+    public AnalyticsServicePort analyticsService(OrderAnalyticsRepository analytics, WindowedTopItems topItems) {
+        return new AnalyticsService(analytics, topItems);
     }
 }
\ No newline at end of file
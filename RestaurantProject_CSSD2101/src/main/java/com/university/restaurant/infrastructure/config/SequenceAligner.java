@@ -0,0 +1,58 @@
+package com.university.restaurant.infrastructure.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Moves id sequences past the ids already stored in their tables.
+ *
+ * Tables whose ids were IDENTITY-generated before they switched to a
+ * sequence keep their rows, but ddl-auto=update creates the new sequence
+ * starting at 1, so the first inserts would collide with existing primary
+ * keys. Run at startup, before the first insert; a sequence is only ever
+ * moved forwards.
+ *
+ * @author Mahdis (Infrastructure Layer)
+ */
+public class SequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceAligner.class);
+
+    private final JdbcTemplate jdbc;
+    private final Dialect dialect;
+
+    public SequenceAligner(DataSource dataSource, EntityManagerFactory emf) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.dialect = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    /**
+     * Restarts {@code sequence} above {@code MAX(id)} of {@code table} if a
+     * block of {@code allocationSize} ids taken from it could reach an
+     * existing id. Consumes one sequence value to read its position.
+     *
+     * @return true if the sequence was restarted
+     */
+    public boolean alignPastMaxId(String sequence, String table, int allocationSize) {
+        Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return false;
+        }
+        Long next = jdbc.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        // Hibernate's pooled optimizer hands out up to allocationSize ids below the value it reads
+        if (next != null && next > maxId + allocationSize) {
+            return false;
+        }
+        long restart = maxId + allocationSize + 1;
+        jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+        log.warn("Sequence {} was at {} but {} already holds ids up to {}; restarted at {}",
+                sequence, next, table, maxId, restart);
+        return true;
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -45,6 +47,34 @@ public class AnalyticsController {
         }
     }
 
+    /**
+     * GET /analytics/top-selling/approximate?staffId=m1&staffName=Alice&window=WEEKS&periods=12&limit=10
+     * Get estimated top-selling menu items over the last few hours, days or weeks
+     */
+    @GetMapping("/top-selling/approximate")
+    public ResponseEntity<?> getApproximateTopSellingItems(
+            @RequestParam String staffId,
+            @RequestParam String staffName,
+            @RequestParam(defaultValue = "WEEKS") ChronoUnit window,
+            @RequestParam(defaultValue = "1") int periods,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            Manager manager = new Manager(staffId, staffName);
+            List<AnalyticsServicePort.ItemEstimate> top =
+                    analyticsService.approximateTopSellingItems(manager, window, periods, limit);
+            return ResponseEntity.ok(top);
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * GET /analytics/revenue/today?staffId=m1&staffName=Alice
      * Get total revenue for today
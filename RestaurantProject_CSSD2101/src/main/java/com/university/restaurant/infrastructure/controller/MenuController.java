@@ -1,5 +1,6 @@
 package com.university.restaurant.infrastructure.controller;
 
+import com.university.restaurant.infrastructure.adapter.CachingMenuRepository;
 import com.university.restaurant.infrastructure.dto.DTOMapper;
 import com.university.restaurant.infrastructure.dto.MenuItemDTO;
 import com.university.restaurant.infrastructure.entity.MenuItemEntity;
@@ -28,13 +29,16 @@ public class MenuController {
     private final MenuServicePort menuService;
     private final MenuJpaRepository menuRepo;
     private final DTOMapper dtoMapper;
+    private final CachingMenuRepository menuCache;
 
     public MenuController(MenuServicePort menuService,
                           MenuJpaRepository menuRepo,
-                          DTOMapper dtoMapper) {
+                          DTOMapper dtoMapper,
+                          CachingMenuRepository menuCache) {
         this.menuService = menuService;
         this.menuRepo = menuRepo;
         this.dtoMapper = dtoMapper;
+        this.menuCache = menuCache;
     }
 
     /**
@@ -54,11 +58,7 @@ public class MenuController {
      */
     @GetMapping("/available")
     public ResponseEntity<List<MenuItemDTO>> getAvailableMenuItems() {
-        List<MenuItemEntity> entities = menuRepo.findByAvailableTrue();
-        List<MenuItemDTO> dtos = entities.stream()
-                .map(dtoMapper::toMenuItemDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(menuCache.availableDtos());
     }
 
     /**
@@ -66,8 +66,7 @@ public class MenuController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<MenuItemDTO> getMenuItemById(@PathVariable String id) {
-        return menuRepo.findById(id)
-                .map(dtoMapper::toMenuItemDTO)
+        return menuCache.findDtoById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -85,6 +84,14 @@ public class MenuController {
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * GET /menu/cache/stats - Menu cache version and hit/miss counters
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CachingMenuRepository.Stats> getCacheStats() {
+        return ResponseEntity.ok(menuCache.stats());
+    }
+
     /**
      * POST /menu - Add new menu item
      * Request Body: { "staffId": "m1", "staffName": "Alice", "item": {...} }
@@ -3,21 +3,25 @@ package com.university.restaurant.infrastructure.controller;
 import com.university.restaurant.infrastructure.dto.DTOMapper;
 import com.university.restaurant.infrastructure.dto.OrderDTO;
 import com.university.restaurant.infrastructure.entity.OrderEntity;
-import com.university.restaurant.infrastructure.jpa.MenuJpaRepository;
 import com.university.restaurant.infrastructure.jpa.OrderJpaRepository;
 import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
 import com.university.restaurant.model.staff.Manager;
 import com.university.restaurant.model.staff.StaffRole;
 import com.university.restaurant.model.staff.Waiter;
 import com.university.restaurant.port.OrderServicePort;
-import com.university.restaurant.infrastructure.adapter.mapper.MenuItemMapper;
+import com.university.restaurant.port.OrderServicePort.PendingOrder;
+import com.university.restaurant.repository.MenuRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,19 +37,16 @@ public class OrderController {
 
     private final OrderServicePort orderService;
     private final OrderJpaRepository orderRepo;
-    private final MenuJpaRepository menuRepo;
-    private final MenuItemMapper menuMapper;
+    private final MenuRepository menuRepo;
     private final DTOMapper dtoMapper;
 
     public OrderController(OrderServicePort orderService,
                            OrderJpaRepository orderRepo,
-                           MenuJpaRepository menuRepo,
-                           MenuItemMapper menuMapper,
+                           MenuRepository menuRepo,
                            DTOMapper dtoMapper) {
         this.orderService = orderService;
         this.orderRepo = orderRepo;
         this.menuRepo = menuRepo;
-        this.menuMapper = menuMapper;
         this.dtoMapper = dtoMapper;
     }
 
@@ -121,10 +122,9 @@ public class OrderController {
             @SuppressWarnings("unchecked")
             List<String> itemIds = (List<String>) request.get("itemIds");
 
-            // Fetch menu items
+            // Fetch menu items (served from the menu cache)
             List<MenuItem> items = itemIds.stream()
                     .map(id -> menuRepo.findById(id)
-                            .map(menuMapper::toDomain)
                             .orElseThrow(() -> new IllegalArgumentException("Menu item not found: " + id)))
                     .collect(Collectors.toList());
 
@@ -142,6 +142,67 @@ public class OrderController {
         }
     }
 
+    /**
+     * POST /orders/bulk - Place many orders in one call (offline terminal sync)
+     * Request Body: {
+     *   "staffId": "w1",
+     *   "staffName": "Bob",
+     *   "staffRole": "WAITER",
+     *   "orders": [
+     *     { "tableId": "5", "itemIds": ["item1", "item2"] },
+     *     { "tableId": "7", "itemIds": ["item1"] }
+     *   ]
+     * }
+     * All menu ids across the batch are resolved with one lookup. If any id
+     * is unknown, nothing is placed.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Map<String, Object>> placeOrders(@RequestBody Map<String, Object> request) {
+        try {
+            String staffId = (String) request.get("staffId");
+            String staffName = (String) request.get("staffName");
+            String roleStr = (String) request.get("staffRole");
+
+            StaffRole staff = createStaffRole(staffId, staffName, roleStr);
+
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> orders = (List<Map<String, Object>>) request.get("orders");
+
+            Set<String> ids = new LinkedHashSet<>();
+            for (Map<String, Object> o : orders) {
+                @SuppressWarnings("unchecked")
+                List<String> itemIds = (List<String>) o.get("itemIds");
+                ids.addAll(itemIds);
+            }
+            Map<String, MenuItem> menu = menuRepo.findAllById(ids).stream()
+                    .collect(Collectors.toMap(MenuItem::getId, item -> item));
+            ids.removeAll(menu.keySet());
+            if (!ids.isEmpty()) {
+                throw new IllegalArgumentException("Menu items not found: " + ids);
+            }
+
+            List<PendingOrder> pending = new ArrayList<>(orders.size());
+            for (Map<String, Object> o : orders) {
+                @SuppressWarnings("unchecked")
+                List<String> itemIds = (List<String>) o.get("itemIds");
+                pending.add(new PendingOrder((String) o.get("tableId"),
+                        itemIds.stream().map(menu::get).collect(Collectors.toList())));
+            }
+
+            List<Order> placed = orderService.placeOrders(staff, pending);
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(Map.of("message", "Orders placed successfully",
+                            "orderIds", placed.stream().map(order -> order.getId().toString()).toList()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
     /**
      * PUT /orders/{id}/status - Update order status
      * Request Body: {
@@ -6,6 +6,7 @@ import com.university.restaurant.infrastructure.entity.EntreeEntity;
 import com.university.restaurant.infrastructure.entity.DrinkEntity;
 import com.university.restaurant.infrastructure.entity.DessertEntity;
 import com.university.restaurant.infrastructure.entity.ComboEntity;
+import com.university.restaurant.model.menu.*;
 
 import java.util.Arrays;
 import java.util.List;
@@ -83,6 +84,58 @@ public class DTOMapper {
         throw new IllegalArgumentException("Unknown entity type: " + entity.getClass());
     }
 
+    /**
+     * Convert a domain MenuItem to MenuItemDTO (polymorphic).
+     */
+    public MenuItemDTO toMenuItemDTO(MenuItem item) {
+        if (item instanceof Entree entree) {
+            return new EntreeDTO(
+                    entree.getId(),
+                    entree.getName(),
+                    entree.getDescription(),
+                    entree.calculatePrice(),
+                    entree.getDietaryType(),
+                    entree.isAvailable(),
+                    entree.getRequiredIngredients(),
+                    entree.getPrepTimeMinutes()
+            );
+
+        } else if (item instanceof Drink drink) {
+            return new DrinkDTO(
+                    drink.getId(),
+                    drink.getName(),
+                    drink.getDescription(),
+                    drink.calculatePrice(),
+                    drink.isAvailable(),
+                    drink.requiresAgeVerification()
+            );
+
+        } else if (item instanceof Dessert dessert) {
+            return new DessertDTO(
+                    dessert.getId(),
+                    dessert.getName(),
+                    dessert.getDescription(),
+                    dessert.calculatePrice(),
+                    dessert.getDietaryType(),
+                    dessert.isAvailable(),
+                    dessert.getAllergens()
+            );
+
+        } else if (item instanceof Combo combo) {
+            return new ComboDTO(
+                    combo.getId(),
+                    combo.getName(),
+                    combo.getDescription(),
+                    combo.calculatePrice(),
+                    combo.isAvailable(),
+                    combo.getItems().stream().map(MenuItem::getId).toList(),
+                    null // Discount percent is not exposed by Combo
+            );
+        }
+
+        throw new IllegalArgumentException("Unknown menu item type: " + item.getClass());
+    }
+
     /**
      * Convert OrderEntity to OrderDTO.
      */
@@ -0,0 +1,135 @@
+package com.university.restaurant.infrastructure.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for audit log checkpoints.
+ * Each checkpoint seals a contiguous id range of audit_logs under a Merkle root,
+ * so verification can resume from it and single entries can be proven included.
+ * Once its rows are moved to an archive file, archiveFile names that file.
+ *
+ * @author Mahdis (Infrastructure Layer)
+ */
+@Entity
+@Table(name = "audit_checkpoints")
+public class AuditCheckpointEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "first_entry_id", nullable = false)
+    private Long firstEntryId;
+
+    @Column(name = "last_entry_id", nullable = false, unique = true)
+    private Long lastEntryId;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+
+    @Column(name = "merkle_root", nullable = false, length = 64)
+    private String merkleRoot;
+
+    @Column(name = "last_hash", nullable = false, length = 64)
+    private String lastHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archive_file", length = 255)
+    private String archiveFile;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Default constructor for JPA
+    public AuditCheckpointEntity() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Constructor
+    public AuditCheckpointEntity(Long firstEntryId, Long lastEntryId, Integer entryCount,
+                                 String merkleRoot, String lastHash) {
+        this.firstEntryId = firstEntryId;
+        this.lastEntryId = lastEntryId;
+        this.entryCount = entryCount;
+        this.merkleRoot = merkleRoot;
+        this.lastHash = lastHash;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getFirstEntryId() {
+        return firstEntryId;
+    }
+
+    public void setFirstEntryId(Long firstEntryId) {
+        this.firstEntryId = firstEntryId;
+    }
+
+    public Long getLastEntryId() {
+        return lastEntryId;
+    }
+
+    public void setLastEntryId(Long lastEntryId) {
+        this.lastEntryId = lastEntryId;
+    }
+
+    public Integer getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(Integer entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public String getMerkleRoot() {
+        return merkleRoot;
+    }
+
+    public void setMerkleRoot(String merkleRoot) {
+        this.merkleRoot = merkleRoot;
+    }
+
+    public String getLastHash() {
+        return lastHash;
+    }
+
+    public void setLastHash(String lastHash) {
+        this.lastHash = lastHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getArchiveFile() {
+        return archiveFile;
+    }
+
+    public void setArchiveFile(String archiveFile) {
+        this.archiveFile = archiveFile;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -10,11 +10,22 @@ import java.time.LocalDateTime;
  * @author Mahdis (Infrastructure Layer)
  */
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        // Composite with id so filtered queries can page by id straight off the index
+        @Index(name = "idx_audit_user", columnList = "user_id, id"),
+        @Index(name = "idx_audit_action", columnList = "action, id"),
+        @Index(name = "idx_audit_entity", columnList = "entity_type, entity_id, id"),
+        @Index(name = "idx_audit_timestamp", columnList = "timestamp")
+})
 public class AuditLogEntity {
 
+    /** Ids taken from audit_logs_seq per round trip; see SequenceAligner for databases created with IDENTITY ids. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // SEQUENCE rather than IDENTITY so batched audit writes can use JDBC batching
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq")
+    @SequenceGenerator(name = "audit_logs_seq", sequenceName = "audit_logs_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
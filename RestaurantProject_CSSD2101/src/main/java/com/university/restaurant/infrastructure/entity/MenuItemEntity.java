@@ -11,7 +11,11 @@ import jakarta.persistence.*;
  * @author Mahdis Baradaran
  */
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", indexes = {
+        @Index(name = "idx_menu_available_category", columnList = "available, category"),
+        @Index(name = "idx_menu_name", columnList = "name"),
+        @Index(name = "idx_menu_price", columnList = "price")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "item_type", discriminatorType = DiscriminatorType.STRING)
 public abstract class MenuItemEntity {
@@ -2,6 +2,7 @@ package com.university.restaurant.infrastructure.entity;
 
 import com.university.restaurant.model.order.OrderStatus;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,7 +16,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "orders")
-public class OrderEntity {
+public class OrderEntity implements Persistable<UUID> {
 
     @Id
     @Column(name = "id", nullable = false)
@@ -39,12 +40,18 @@ public class OrderEntity {
 
     // One order has many order items
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
     private List<OrderItemEntity> items = new ArrayList<>();
 
     // One order has one payment (nullable - payment happens later)
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
     private PaymentEntity payment;
 
+    // Ids are assigned by the domain, so Spring Data cannot tell new rows from
+    // existing ones; without this flag every save is a merge (SELECT first)
+    @Transient
+    private boolean isNew = false;
+
     // Default constructor for JPA
     public OrderEntity() {}
 
@@ -58,6 +65,25 @@ public class OrderEntity {
         this.createdAt = createdAt;
     }
 
+    /**
+     * Marks this entity as not yet stored, so saving it persists it directly.
+     */
+    public OrderEntity markNew() {
+        this.isNew = true;
+        return this;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markStored() {
+        this.isNew = false;
+    }
+
     // Helper method to add item
     public void addItem(OrderItemEntity item) {
         items.add(item);
@@ -1,5 +1,6 @@
 package com.university.restaurant.infrastructure.entity;
 
+import com.university.restaurant.model.menu.MenuCategory;
 import jakarta.persistence.*;
 
 /**
@@ -12,8 +13,13 @@ import jakarta.persistence.*;
 @Table(name = "order_items")
 public class OrderItemEntity {
 
+    /** Ids taken from order_items_seq per round trip; see SequenceAligner for databases created with IDENTITY ids. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence rather than IDENTITY so Hibernate can batch the inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -35,6 +41,15 @@ public class OrderItemEntity {
     @Column(name = "quantity", nullable = false)
     private Integer quantity = 1;
 
+    // Recorded so an order read back keeps its kitchen routing; null on rows
+    // written before these columns existed
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", length = 20)
+    private MenuCategory category;
+
+    @Column(name = "requires_kitchen_prep")
+    private Boolean requiresKitchenPrep;
+
     // Default constructor for JPA
     public OrderItemEntity() {}
 
@@ -94,4 +109,20 @@ public class OrderItemEntity {
     public void setQuantity(Integer quantity) {
         this.quantity = quantity;
     }
+
+    public MenuCategory getCategory() {
+        return category;
+    }
+
+    public void setCategory(MenuCategory category) {
+        this.category = category;
+    }
+
+    public Boolean getRequiresKitchenPrep() {
+        return requiresKitchenPrep;
+    }
+
+    public void setRequiresKitchenPrep(Boolean requiresKitchenPrep) {
+        this.requiresKitchenPrep = requiresKitchenPrep;
+    }
 }
\ No newline at end of file
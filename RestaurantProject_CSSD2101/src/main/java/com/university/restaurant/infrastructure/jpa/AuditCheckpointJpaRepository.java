@@ -0,0 +1,38 @@
+package com.university.restaurant.infrastructure.jpa;
+
+import com.university.restaurant.infrastructure.entity.AuditCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA Repository for AuditCheckpointEntity.
+ *
+ * @author Mahdis (Infrastructure Layer)
+ */
+@Repository
+public interface AuditCheckpointJpaRepository extends JpaRepository<AuditCheckpointEntity, Long> {
+
+    /**
+     * Get the checkpoint covering the newest sealed entries.
+     */
+    Optional<AuditCheckpointEntity> findTopByOrderByLastEntryIdDesc();
+
+    /**
+     * Find the checkpoint whose id range contains the given audit log id.
+     */
+    Optional<AuditCheckpointEntity> findFirstByFirstEntryIdLessThanEqualAndLastEntryIdGreaterThanEqual(
+            Long entryId, Long sameEntryId);
+
+    /**
+     * Checkpoints whose entries are still in audit_logs, oldest first.
+     */
+    List<AuditCheckpointEntity> findByArchiveFileIsNullOrderByLastEntryIdAsc();
+
+    /**
+     * Checkpoints whose entries were moved to archive files, oldest first.
+     */
+    List<AuditCheckpointEntity> findByArchiveFileIsNotNullOrderByLastEntryIdAsc();
+}
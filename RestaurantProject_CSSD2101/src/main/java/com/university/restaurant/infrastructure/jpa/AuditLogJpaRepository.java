@@ -1,12 +1,15 @@
 package com.university.restaurant.infrastructure.jpa;
 
 import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA Repository for AuditLogEntity.
@@ -15,7 +18,8 @@ import java.util.List;
  * @author Mahdis (Infrastructure Layer)
  */
 @Repository
-public interface AuditLogJpaRepository extends JpaRepository<AuditLogEntity, Long> {
+public interface AuditLogJpaRepository extends JpaRepository<AuditLogEntity, Long>,
+        JpaSpecificationExecutor<AuditLogEntity> {
 
     /**
      * Find audit logs by user ID.
@@ -58,6 +62,28 @@ public interface AuditLogJpaRepository extends JpaRepository<AuditLogEntity, Lon
     @Query("SELECT a FROM AuditLogEntity a ORDER BY a.id DESC LIMIT 1")
     AuditLogEntity findMostRecent();
 
+    /**
+     * Keyset page of audit logs with {@code afterId < id <= upToId}, in id order.
+     */
+    List<AuditLogEntity> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long upToId, Pageable page);
+
+    /**
+     * The audit log with the largest id not above {@code id}.
+     */
+    Optional<AuditLogEntity> findFirstByIdLessThanEqualOrderByIdDesc(Long id);
+
+    /**
+     * Smallest audit log id, or null if the table is empty.
+     */
+    @Query("SELECT MIN(a.id) FROM AuditLogEntity a")
+    Long findMinId();
+
+    /**
+     * Largest audit log id, or null if the table is empty.
+     */
+    @Query("SELECT MAX(a.id) FROM AuditLogEntity a")
+    Long findMaxId();
+
     /**
      * Verify audit log chain integrity.
      */
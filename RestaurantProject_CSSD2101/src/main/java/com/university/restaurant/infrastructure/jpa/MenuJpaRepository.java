@@ -3,6 +3,7 @@ package com.university.restaurant.infrastructure.jpa;
 import com.university.restaurant.infrastructure.entity.MenuItemEntity;
 import com.university.restaurant.model.menu.MenuCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -16,7 +17,8 @@ import java.util.Optional;
  * @author Mahdis (Infrastructure Layer)
  */
 @Repository
-public interface MenuJpaRepository extends JpaRepository<MenuItemEntity, String> {
+public interface MenuJpaRepository extends JpaRepository<MenuItemEntity, String>,
+        JpaSpecificationExecutor<MenuItemEntity> {
 
     /**
      * Find menu items by category (ENTREE, DRINK, DESSERT, COMBO).
@@ -8,6 +8,8 @@ import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -24,6 +26,31 @@ public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
      */
     List<OrderEntity> findByStatus(OrderStatus status);
 
+    /**
+     * Find one order with its items and payment, in a single query.
+     */
+    @Query("SELECT o FROM OrderEntity o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.payment WHERE o.id = :id")
+    Optional<OrderEntity> findWithItemsById(UUID id);
+
+    /**
+     * Find orders by status with their items and payments, in a single query.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.payment WHERE o.status = :status")
+    List<OrderEntity> findWithItemsByStatus(OrderStatus status);
+
+    /**
+     * Find orders by table number with their items and payments, in a single query.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.payment WHERE o.tableNumber = :tableNumber")
+    List<OrderEntity> findWithItemsByTableNumber(Integer tableNumber);
+
+    /**
+     * Find orders created in [from, to), oldest first, with their items and payments.
+     */
+    @Query("SELECT DISTINCT o FROM OrderEntity o LEFT JOIN FETCH o.items LEFT JOIN FETCH o.payment " +
+            "WHERE o.createdAt >= :from AND o.createdAt < :to ORDER BY o.createdAt")
+    List<OrderEntity> findWithItemsCreatedBetween(OffsetDateTime from, OffsetDateTime to);
+
     /**
      * Find orders by table number.
      */
@@ -56,6 +83,36 @@ public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
     @Query("SELECT SUM(o.totalAmount) FROM OrderEntity o WHERE o.status = 'PAID' AND o.createdAt >= :startDate")
     Double getTotalRevenueSince(OffsetDateTime startDate);
 
+    /**
+     * Units sold per menu item over orders in the given statuses, as
+     * [menuItemId, name, quantity] rows. The name is the greatest one the
+     * item was ordered under, so a renamed item still yields one row.
+     */
+    @Query("SELECT i.menuItemId, MAX(i.menuItemName), SUM(i.quantity) FROM OrderItemEntity i " +
+            "WHERE i.order.status IN :statuses GROUP BY i.menuItemId")
+    List<Object[]> sumItemQuantities(Collection<OrderStatus> statuses);
+
+    /**
+     * Units sold per item name and order over orders in the given statuses
+     * created at or after {@code since}, as [name, createdAt, quantity] rows.
+     */
+    @Query("SELECT i.menuItemName, o.createdAt, SUM(i.quantity) FROM OrderItemEntity i JOIN i.order o " +
+            "WHERE o.status IN :statuses AND o.createdAt >= :since GROUP BY o.id, o.createdAt, i.menuItemName")
+    List<Object[]> sumItemQuantitiesPerOrderSince(Collection<OrderStatus> statuses, OffsetDateTime since);
+
+    /**
+     * Sum of total amounts for orders in a status created in [from, to); 0 when there are none.
+     */
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0.0) FROM OrderEntity o " +
+            "WHERE o.status = :status AND o.createdAt >= :from AND o.createdAt < :to")
+    double sumTotalAmount(OrderStatus status, OffsetDateTime from, OffsetDateTime to);
+
+    /**
+     * Creation time and total amount of every order in a status, as [createdAt, totalAmount] rows.
+     */
+    @Query("SELECT o.createdAt, o.totalAmount FROM OrderEntity o WHERE o.status = :status")
+    List<Object[]> findCreatedAtAndTotalByStatus(OrderStatus status);
+
     /**
      * Count orders by status.
      */
@@ -61,6 +61,10 @@ public abstract class MenuItem {
         return category;
     }
 
+    public DietaryType getDietaryType() {
+        return dietaryType;
+    }
+
     public void setAvailable(boolean available) {
         this.available = available;
     }
@@ -0,0 +1,31 @@
+package com.university.restaurant.model.menu;
+
+import java.util.List;
+
+/**
+ * A menu item as it was recorded on an order line: its id, name, category
+ * and the price charged at the time. Used when an order is read back from
+ * storage, so its total and kitchen routing do not change when the menu does.
+ * Ingredients are not recorded; they were consumed when the order was placed.
+ */
+public final class OrderedItem extends MenuItem {
+    private final boolean kitchenPrep;
+
+    public OrderedItem(String id, String name, double priceAtOrder,
+                       MenuCategory category, boolean kitchenPrep){
+        super(id, name, "", priceAtOrder, category, DietaryType.REGULAR);
+        this.kitchenPrep = kitchenPrep;
+    }
+
+    @Override
+    public double calculatePrice(){ return price;}
+    @Override
+    public boolean requiresKitchenPrep(){ return kitchenPrep;}
+    @Override
+    List<String> getRequiredIngredients(){ return List.of();}
+
+    @Override
+    public MenuItem copyWithPrice(double newPrice) {
+        return new OrderedItem(id, name, newPrice, category, kitchenPrep);
+    }
+}
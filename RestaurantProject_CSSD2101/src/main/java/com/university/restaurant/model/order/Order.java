@@ -7,6 +7,7 @@ import com.university.restaurant.model.menu.MenuItem;
 import java.time.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class Order {
     private final UUID id;
@@ -16,6 +17,7 @@ public final class Order {
     private OrderStatus status;
     private Payment payment;
     private String assignedWaiterId;
+    private final CopyOnWriteArrayList<OrderStatusListener> statusListeners = new CopyOnWriteArrayList<>();
 
     public Order(int tableNumber, String waiterId){
         this.id = UUID.randomUUID();
@@ -26,6 +28,29 @@ public final class Order {
         this.assignedWaiterId = waiterId;
     }
 
+    private Order(UUID id, int tableNumber, String waiterId, LocalDateTime createdAt,
+                  OrderStatus status, List<MenuItem> items, Payment payment){
+        this.id = id;
+        this.items = new ArrayList<>(items);
+        this.tableNumber = tableNumber;
+        this.createdAt = createdAt;
+        this.status = status;
+        this.payment = payment;
+        this.assignedWaiterId = waiterId;
+    }
+
+    /**
+     * Rebuilds an order that was already placed, e.g. from a database row.
+     * Items are taken as recorded, without the availability check of
+     * {@link #addItem}, and no status listener is notified.
+     */
+    public static Order restore(UUID id, int tableNumber, String waiterId, OffsetDateTime createdAt,
+                                OrderStatus status, List<MenuItem> items, Payment payment){
+        return new Order(id, tableNumber, waiterId,
+                createdAt.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime(),
+                status, items, payment);
+    }
+
     public void addItem(MenuItem item) {
         if (!item.isAvailable())
             throw new IllegalStateException("Item not available: " + item.getName());
@@ -37,7 +62,7 @@ public final class Order {
     }
 
     public void updateStatus(OrderStatus newStatus){
-        this.status = newStatus;
+        setStatus(newStatus);
     }
 
     public void processPayment(PaymentMethod method){
@@ -45,7 +70,26 @@ public final class Order {
             throw new IllegalArgumentException("Order must be served before payment");
 
         this.payment = new Payment(method, calculateTotal());
-        this.status = OrderStatus.PAID;
+        setStatus(OrderStatus.PAID);
+    }
+
+    /**
+     * Registers a listener called after every status change. Adding the same
+     * listener twice has no effect.
+     */
+    public void addStatusListener(OrderStatusListener listener){
+        statusListeners.addIfAbsent(listener);
+    }
+
+    public void removeStatusListener(OrderStatusListener listener){
+        statusListeners.remove(listener);
+    }
+
+    private void setStatus(OrderStatus newStatus){
+        OrderStatus old = this.status;
+        this.status = newStatus;
+        if (old != newStatus)
+            statusListeners.forEach(l -> l.statusChanged(this, old, newStatus));
     }
 
     public boolean requiresKitchenPrep(){
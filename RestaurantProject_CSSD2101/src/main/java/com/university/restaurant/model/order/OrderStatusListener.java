@@ -0,0 +1,18 @@
+package com.university.restaurant.model.order;
+
+/**
+ * Notified after an order's status changes, so holders of the order (such as
+ * repository indexes) can stay in sync with in-place updates.
+ */
+@FunctionalInterface
+public interface OrderStatusListener {
+    void statusChanged(Order order, OrderStatus from, OrderStatus to);
+
+    /** A listener that notifies this one, then {@code next}. */
+    default OrderStatusListener andThen(OrderStatusListener next) {
+        return (order, from, to) -> {
+            statusChanged(order, from, to);
+            next.statusChanged(order, from, to);
+        };
+    }
+}
@@ -16,6 +16,21 @@ public final class Payment{
         this.transactionId = "TXN-" + UUID.randomUUID().toString().substring(0,8);
     }
 
+    private Payment(PaymentMethod method, double amount, LocalDateTime timestamp, String transactionId){
+        this.method = method;
+        this.amount = amount;
+        this.timestamp = timestamp;
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * Rebuilds a payment that was already taken, keeping its timestamp and
+     * transaction id.
+     */
+    public static Payment restore(PaymentMethod method, double amount, LocalDateTime timestamp, String transactionId){
+        return new Payment(method, amount, timestamp, transactionId);
+    }
+
     public double getAmount() {return amount;}
 
     public String getTransactionId() {
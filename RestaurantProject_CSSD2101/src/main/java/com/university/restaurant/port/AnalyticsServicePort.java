@@ -2,6 +2,8 @@ package com.university.restaurant.port;
 
 import com.university.restaurant.model.staff.StaffRole;
 
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,6 +23,13 @@ import java.util.Map;
  */
 public interface AnalyticsServicePort {
 
+    /**
+     * Estimated sales of one menu item. The true count lies in
+     * [{@code count - maxError}, {@code count}].
+     */
+    record ItemEstimate(String itemName, long count, long maxError) {
+    }
+
     /**
      * Returns a frequency map of top-selling menu items based on completed orders.
      * <p>
@@ -54,4 +63,27 @@ public interface AnalyticsServicePort {
      * @throws SecurityException if the role is not authorized to view revenue analytics
      */
     double totalRevenueToday(StaffRole actor);
+
+    /**
+     * Returns the best-selling menu items over a long window, estimated from
+     * fixed-size sketches rather than counted exactly.
+     * <p>
+     * Implementations typically:
+     * </p>
+     * <ul>
+     *     <li>Count items of orders as they are served or paid</li>
+     *     <li>Cover the last {@code periods} hours, days or weeks, the current one included</li>
+     *     <li>Overestimate each count by at most a configured fraction of the items sold in the window</li>
+     * </ul>
+     *
+     * @param actor   the staff role requesting analytics access; used to validate permissions
+     * @param window  {@link ChronoUnit#HOURS}, {@link ChronoUnit#DAYS} or {@link ChronoUnit#WEEKS}
+     * @param periods how many windows to cover, at least 1
+     * @param limit   maximum number of items to return, at least 1
+     * @return estimates ordered from best seller down
+     *
+     * @throws SecurityException        if the role is not authorized to view analytics
+     * @throws IllegalArgumentException if the window, periods or limit is invalid
+     */
+    List<ItemEstimate> approximateTopSellingItems(StaffRole actor, ChronoUnit window, int periods, int limit);
 }
@@ -39,6 +39,36 @@ public interface OrderServicePort {
      */
     Order placeOrder(StaffRole actor, String tableId, List<MenuItem> items);
 
+    /**
+     * One order in a {@link #placeOrders} batch.
+     *
+     * @param tableId the identifier of the table (string form, typically numeric)
+     * @param items   the menu items included in the order
+     */
+    record PendingOrder(String tableId, List<MenuItem> items) {
+    }
+
+    /**
+     * <p>
+     * Places many orders at once, as when a terminal syncs orders taken
+     * offline. This default places them one by one; implementations override
+     * it to validate the whole batch first, then save the orders and write
+     * their audit entries in one batch each.
+     * </p>
+     *
+     * @param actor  the staff member submitting the batch
+     * @param orders the orders to place, in the order they were taken
+     * @return the created {@link Order} instances, in the same order
+     *
+     * @throws SecurityException        if the staff role is not authorized
+     * @throws IllegalArgumentException if any tableId is invalid
+     */
+    default List<Order> placeOrders(StaffRole actor, List<PendingOrder> orders) {
+        return orders.stream()
+                .map(o -> placeOrder(actor, o.tableId(), o.items()))
+                .toList();
+    }
+
     /**
      * <p>
      * Updates the status of an existing order (e.g., PENDING → SERVED).
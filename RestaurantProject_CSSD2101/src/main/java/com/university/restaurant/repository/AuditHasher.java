@@ -0,0 +1,152 @@
+package com.university.restaurant.repository;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+
+/**
+ * SHA-256 hashing for audit entries without per-call garbage.
+ *
+ * <p>
+ * Each thread keeps its own {@link MessageDigest}, UTF-8 scratch buffer and
+ * output arrays. Entry fields are encoded straight into the scratch buffer and
+ * fed to the digest with a 4-byte length prefix (-1 for null), so
+ * {@code ("ab", "c")} and {@code ("a", "bc")} hash differently and no
+ * concatenated String is built. Timestamps are hashed to the microsecond,
+ * the precision database timestamp columns keep, so a hash can be rebuilt
+ * from the stored row. The digest is hex-encoded via a lookup table;
+ * the returned String is the only allocation on the hot path.
+ * </p>
+ */
+final class AuditHasher {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<AuditHasher> LOCAL = ThreadLocal.withInitial(AuditHasher::new);
+
+    private final MessageDigest digest;
+    private final byte[] out = new byte[32];
+    private final char[] hex = new char[64];
+    private final byte[] prefix = new byte[4];
+    private byte[] scratch = new byte[256];
+
+    private AuditHasher() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Hashes the audit entry fields, each length-prefixed, in declaration order.
+     */
+    static String hashEntry(String userId, String role, String action, String entityType,
+                            String entityId, String details, LocalDateTime timestamp, String prevHash) {
+        AuditHasher h = LOCAL.get();
+        h.digest.reset();
+        h.field(userId);
+        h.field(role);
+        h.field(action);
+        h.field(entityType);
+        h.field(entityId);
+        h.field(details);
+        h.timestamp(timestamp);
+        h.field(prevHash);
+        return h.finish();
+    }
+
+    /**
+     * Plain SHA-256 of the UTF-8 bytes of {@code data}, hex encoded.
+     */
+    static String sha256(String data) {
+        AuditHasher h = LOCAL.get();
+        h.digest.reset();
+        int len = h.encode(data);
+        h.digest.update(h.scratch, 0, len);
+        return h.finish();
+    }
+
+    private void field(String value) {
+        if (value == null) {
+            length(-1);
+            return;
+        }
+        int len = encode(value);
+        length(len);
+        digest.update(scratch, 0, len);
+    }
+
+    private void timestamp(LocalDateTime ts) {
+        if (ts == null) {
+            length(-1);
+            return;
+        }
+        length(28);
+        length(ts.getYear());
+        length(ts.getMonthValue());
+        length(ts.getDayOfMonth());
+        length(ts.getHour());
+        length(ts.getMinute());
+        length(ts.getSecond());
+        // Whole microseconds, in nanos, so already-truncated timestamps hash as before
+        length(ts.getNano() / 1000 * 1000);
+    }
+
+    private void length(int value) {
+        prefix[0] = (byte) (value >>> 24);
+        prefix[1] = (byte) (value >>> 16);
+        prefix[2] = (byte) (value >>> 8);
+        prefix[3] = (byte) value;
+        digest.update(prefix, 0, 4);
+    }
+
+    /**
+     * Encodes {@code s} as UTF-8 into the scratch buffer, matching
+     * {@code String.getBytes(UTF_8)} (unpaired surrogates become '?').
+     */
+    private int encode(String s) {
+        int n = s.length();
+        if (scratch.length < n * 3) {
+            scratch = new byte[Math.max(n * 3, scratch.length * 2)];
+        }
+        byte[] b = scratch;
+        int p = 0;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                b[p++] = (byte) c;
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[p++] = (byte) (0xF0 | (cp >> 18));
+                b[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = (byte) '?';
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return p;
+    }
+
+    private String finish() {
+        try {
+            digest.digest(out, 0, out.length);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+        for (int i = 0; i < out.length; i++) {
+            hex[i * 2] = HEX[(out[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[out[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,158 @@
+package com.university.restaurant.repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+
+/**
+ * Inverted indexes over an append-only audit log addressed by sequence number.
+ *
+ * <p>
+ * Keeps one ascending posting list of sequence numbers per actor, action,
+ * entity type and entity, plus minute buckets mapping to the lowest and
+ * highest sequence seen in that minute. A query walks the shortest posting
+ * list that applies, bounded to the sequence range implied by its time
+ * filter, and checks the remaining criteria on each candidate. Not thread-safe;
+ * owners guard it with their own lock.
+ * </p>
+ */
+final class AuditIndex {
+
+    private final Map<String, LongList> byUser = new HashMap<>();
+    private final Map<String, LongList> byAction = new HashMap<>();
+    private final Map<String, LongList> byEntityType = new HashMap<>();
+    private final Map<String, LongList> byEntity = new HashMap<>();
+    private final TreeMap<Long, long[]> minuteBuckets = new TreeMap<>();
+    private long size = 0;
+
+    void add(long sequence, RestaurantAuditEntry e) {
+        post(byUser, e.userId, sequence);
+        post(byAction, e.action, sequence);
+        post(byEntityType, e.entityType, sequence);
+        if (e.entityType != null && e.entityId != null) {
+            post(byEntity, entityKey(e.entityType, e.entityId), sequence);
+        }
+        long[] range = minuteBuckets.computeIfAbsent(minute(e.timestamp), k -> new long[]{sequence, sequence});
+        range[0] = Math.min(range[0], sequence);
+        range[1] = Math.max(range[1], sequence);
+        size = Math.max(size, sequence + 1);
+    }
+
+    /**
+     * Runs the query against entries fetched by sequence number.
+     */
+    AuditPage query(AuditQuery q, LongFunction<RestaurantAuditEntry> fetch) {
+        long lo = q.getAfter() == null ? 0 : q.getAfter() + 1;
+        long hi = size - 1;
+        if (q.getFrom() != null || q.getTo() != null) {
+            long[] bounds = timeBounds(q.getFrom(), q.getTo());
+            if (bounds == null) return new AuditPage(List.of(), null);
+            lo = Math.max(lo, bounds[0]);
+            hi = Math.min(hi, bounds[1]);
+        }
+
+        LongList postings = shortest(
+                q.getUserId() == null ? null : byUser.getOrDefault(q.getUserId(), LongList.EMPTY),
+                q.getAction() == null ? null : byAction.getOrDefault(q.getAction(), LongList.EMPTY),
+                q.getEntityId() != null
+                        ? byEntity.getOrDefault(entityKey(q.getEntityType(), q.getEntityId()), LongList.EMPTY)
+                        : q.getEntityType() == null ? null : byEntityType.getOrDefault(q.getEntityType(), LongList.EMPTY));
+
+        List<RestaurantAuditEntry> results = new ArrayList<>(Math.min(q.getLimit(), 64));
+        long last = -1;
+        if (postings != null) {
+            for (int i = postings.firstAtLeast(lo); i < postings.size && postings.get(i) <= hi; i++) {
+                long seq = postings.get(i);
+                RestaurantAuditEntry e = fetch.apply(seq);
+                if (!q.matches(e)) continue;
+                if (results.size() == q.getLimit()) return new AuditPage(results, last);
+                results.add(e);
+                last = seq;
+            }
+        } else {
+            for (long seq = lo; seq <= hi; seq++) {
+                RestaurantAuditEntry e = fetch.apply(seq);
+                if (!q.matches(e)) continue;
+                if (results.size() == q.getLimit()) return new AuditPage(results, last);
+                results.add(e);
+                last = seq;
+            }
+        }
+        return new AuditPage(results, null);
+    }
+
+    /**
+     * Lowest and highest sequence with a timestamp in a minute overlapping [from, to),
+     * or null if no bucket overlaps.
+     */
+    private long[] timeBounds(LocalDateTime from, LocalDateTime to) {
+        Long fromKey = from == null ? minuteBuckets.isEmpty() ? null : minuteBuckets.firstKey() : minute(from);
+        Long toKey = to == null ? minuteBuckets.isEmpty() ? null : minuteBuckets.lastKey() : minute(to);
+        if (fromKey == null || toKey == null || fromKey > toKey) return null;
+        NavigableMap<Long, long[]> buckets = minuteBuckets.subMap(fromKey, true, toKey, true);
+        if (buckets.isEmpty()) return null;
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        for (long[] range : buckets.values()) {
+            lo = Math.min(lo, range[0]);
+            hi = Math.max(hi, range[1]);
+        }
+        return new long[]{lo, hi};
+    }
+
+    private static LongList shortest(LongList... lists) {
+        LongList best = null;
+        for (LongList list : lists) {
+            if (list != null && (best == null || list.size < best.size)) best = list;
+        }
+        return best;
+    }
+
+    private static void post(Map<String, LongList> index, String key, long sequence) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new LongList()).add(sequence);
+        }
+    }
+
+    private static String entityKey(String type, String id) {
+        return type + '\u0000' + id;
+    }
+
+    private static long minute(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /** Growable ascending list of longs. */
+    private static final class LongList {
+        static final LongList EMPTY = new LongList();
+
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long get(int i) {
+            return values[i];
+        }
+
+        int firstAtLeast(long value) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < value) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.university.restaurant.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merkle tree over audit entry hashes, used for checkpoints and inclusion proofs.
+ *
+ * <p>
+ * Leaves and inner nodes are hashed with different prefixes so a leaf can never
+ * be passed off as an inner node. When a level has an odd number of nodes the
+ * last one is promoted unchanged rather than duplicated.
+ * </p>
+ */
+public final class AuditMerkleTree {
+
+    /** One step of an inclusion proof: the sibling hash and which side it sits on. */
+    public record Step(String sibling, boolean siblingOnLeft) {
+    }
+
+    private AuditMerkleTree() {
+    }
+
+    /**
+     * Computes the root over the given entry hashes, in order.
+     */
+    public static String root(List<String> entryHashes) {
+        if (entryHashes.isEmpty()) {
+            throw new IllegalArgumentException("Cannot build a Merkle tree with no entries");
+        }
+        List<String> level = leaves(entryHashes);
+        while (level.size() > 1) {
+            level = parents(level);
+        }
+        return level.get(0);
+    }
+
+    /**
+     * Builds the O(log n) path proving that {@code entryHashes.get(index)} is under the root.
+     */
+    public static List<Step> proof(List<String> entryHashes, int index) {
+        if (index < 0 || index >= entryHashes.size()) {
+            throw new IllegalArgumentException("Index out of range: " + index);
+        }
+        List<Step> path = new ArrayList<>();
+        List<String> level = leaves(entryHashes);
+        int i = index;
+        while (level.size() > 1) {
+            int sibling = i ^ 1;
+            if (sibling < level.size()) {
+                path.add(new Step(level.get(sibling), sibling < i));
+            }
+            level = parents(level);
+            i >>= 1;
+        }
+        return path;
+    }
+
+    /**
+     * Checks that {@code entryHash} together with {@code path} hashes up to {@code root}.
+     */
+    public static boolean verify(String entryHash, List<Step> path, String root) {
+        String current = leaf(entryHash);
+        for (Step step : path) {
+            current = step.siblingOnLeft() ? node(step.sibling(), current) : node(current, step.sibling());
+        }
+        return current.equals(root);
+    }
+
+    private static List<String> leaves(List<String> entryHashes) {
+        List<String> level = new ArrayList<>(entryHashes.size());
+        for (String hash : entryHashes) {
+            level.add(leaf(hash));
+        }
+        return level;
+    }
+
+    private static List<String> parents(List<String> level) {
+        List<String> next = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            next.add(i + 1 < level.size() ? node(level.get(i), level.get(i + 1)) : level.get(i));
+        }
+        return next;
+    }
+
+    private static String leaf(String entryHash) {
+        return RestaurantAuditEntry.sha256("L" + entryHash);
+    }
+
+    private static String node(String left, String right) {
+        return RestaurantAuditEntry.sha256("N" + left + right);
+    }
+}
@@ -0,0 +1,10 @@
+package com.university.restaurant.repository;
+
+import java.util.List;
+
+/**
+ * One page of audit query results. {@code nextCursor} is null when there are
+ * no further matches; otherwise pass it to {@link AuditQuery.Builder#after}.
+ */
+public record AuditPage(List<RestaurantAuditEntry> entries, Long nextCursor) {
+}
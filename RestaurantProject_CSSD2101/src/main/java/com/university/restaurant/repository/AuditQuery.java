@@ -0,0 +1,150 @@
+package com.university.restaurant.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter for audit log queries. Every criterion is optional and criteria are
+ * combined with AND. Results come back in append order, {@code limit} at a
+ * time; pass the previous page's {@link AuditPage#nextCursor()} as
+ * {@code after} to continue.
+ */
+public final class AuditQuery {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private final String userId;
+    private final String action;
+    private final String entityType;
+    private final String entityId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Long after;
+    private final int limit;
+
+    private AuditQuery(Builder b) {
+        this.userId = b.userId;
+        this.action = b.action;
+        this.entityType = b.entityType;
+        this.entityId = b.entityId;
+        this.from = b.from;
+        this.to = b.to;
+        this.after = b.after;
+        this.limit = b.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    /** Inclusive lower bound on the entry timestamp, or null. */
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    /** Exclusive upper bound on the entry timestamp, or null. */
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    /** Cursor of the last entry already seen, or null to start from the beginning. */
+    public Long getAfter() {
+        return after;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns true if the entry satisfies every criterion except the cursor.
+     */
+    public boolean matches(RestaurantAuditEntry e) {
+        return (userId == null || userId.equals(e.userId))
+                && (action == null || action.equals(e.action))
+                && (entityType == null || entityType.equals(e.entityType))
+                && (entityId == null || entityId.equals(e.entityId))
+                && (from == null || !e.timestamp.isBefore(from))
+                && (to == null || e.timestamp.isBefore(to));
+    }
+
+    public static final class Builder {
+        private String userId;
+        private String action;
+        private String entityType;
+        private String entityId;
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private Long after;
+        private int limit = DEFAULT_LIMIT;
+
+        private Builder() {
+        }
+
+        public Builder actor(String userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        public Builder action(String action) {
+            this.action = action;
+            return this;
+        }
+
+        public Builder entityType(String entityType) {
+            this.entityType = entityType;
+            return this;
+        }
+
+        public Builder entity(String entityType, String entityId) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+            return this;
+        }
+
+        public Builder between(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+
+        public Builder after(Long cursor) {
+            this.after = cursor;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public AuditQuery build() {
+            if (limit < 1 || limit > MAX_LIMIT) {
+                throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+            }
+            if (entityId != null && entityType == null) {
+                throw new IllegalArgumentException("entityId requires entityType");
+            }
+            if (from != null && to != null && !from.isBefore(to)) {
+                throw new IllegalArgumentException("from must be before to");
+            }
+            return new AuditQuery(this);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.inventory.InventoryItem;
+import com.university.restaurant.model.inventory.StockStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Thread-safe inventory store. Lookups by name and status run lock-free over a
+ * point-in-time snapshot (see {@link VersionedMap}). The snapshot fixes which
+ * instance is stored per id; stock changes made in place on an instance are
+ * visible immediately, as with {@link InMemoryInventoryRepo}.
+ */
+public final class ConcurrentInventoryRepo implements InventoryRepository {
+    private final VersionedMap<String, InventoryItem> store = new VersionedMap<>();
+
+    @Override
+    public Optional<InventoryItem> findById(String id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public Optional<InventoryItem> findByName(String name) {
+        return store.read(s -> s.values()
+                .filter(item -> item.getName().equalsIgnoreCase(name))
+                .findFirst());
+    }
+
+    @Override
+    public List<InventoryItem> findByStatus(StockStatus status) {
+        return store.read(s -> s.values()
+                .filter(item -> item.getStatus() == status)
+                .toList());
+    }
+
+    @Override
+    public void save(InventoryItem item) {
+        store.put(item.getId(), item);
+    }
+}
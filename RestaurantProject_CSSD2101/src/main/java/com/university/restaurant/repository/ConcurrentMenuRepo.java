@@ -0,0 +1,38 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.menu.MenuCategory;
+import com.university.restaurant.model.menu.MenuItem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe menu store. Searches run lock-free over a point-in-time
+ * snapshot of the menu (see {@link VersionedMap}) while writers proceed.
+ */
+public final class ConcurrentMenuRepo implements MenuRepository {
+    private final VersionedMap<String, MenuItem> store = new VersionedMap<>();
+
+    @Override
+    public Optional<MenuItem> findById(String id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public List<MenuItem> findByCategory(MenuCategory category) {
+        return store.read(s -> s.values()
+                .filter(item -> item.getCategory() == category)
+                .toList());
+    }
+
+    @Override
+    public List<MenuItem> search(Predicate<MenuItem> filter) {
+        return store.read(s -> s.values().filter(filter).toList());
+    }
+
+    @Override
+    public void save(MenuItem item) {
+        store.put(item.getId(), item);
+    }
+}
@@ -0,0 +1,97 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.order.OrderStatusListener;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe order store with the same status, table and creation-time
+ * indexes as {@link InMemoryOrderRepo}.
+ *
+ * Orders live in a {@link VersionedMap}; lookups walk an index and resolve
+ * each id against one snapshot, without locks. Index entries are added
+ * before an order is published, so every order a snapshot can see is
+ * indexed. Entries may briefly point at orders a snapshot cannot see yet,
+ * or that have since moved on, so each candidate is re-checked against the
+ * snapshot's instance. Status changes made in place on a stored order move
+ * it between buckets through {@link OrderStatusListener}.
+ */
+public final class ConcurrentOrderRepo implements OrderRepository {
+    private final VersionedMap<UUID, Order> store = new VersionedMap<>();
+    private final Map<OrderStatus, Set<UUID>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<Integer, Set<UUID>> byTable = new ConcurrentHashMap<>();
+    private final NavigableMap<OffsetDateTime, Set<UUID>> byCreated = new ConcurrentSkipListMap<>();
+    private final OrderStatusListener statusIndexer = this::moveStatus;
+
+    public ConcurrentOrderRepo() {
+        for (OrderStatus status : OrderStatus.values())
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+    }
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return resolve(byStatus.get(status), order -> order.getStatus() == status);
+    }
+
+    @Override
+    public List<Order> findByTable(int tableNumber) {
+        Set<UUID> ids = byTable.get(tableNumber);
+        return ids == null ? List.of() : resolve(ids, order -> order.getTableNumber() == tableNumber);
+    }
+
+    @Override
+    public List<Order> findCreatedBetween(OffsetDateTime from, OffsetDateTime to) {
+        if (!from.isBefore(to)) return List.of();
+        Set<Map.Entry<OffsetDateTime, Set<UUID>>> buckets = byCreated.subMap(from, true, to, false).entrySet();
+        return store.read(s -> {
+            List<Order> result = new ArrayList<>();
+            for (Map.Entry<OffsetDateTime, Set<UUID>> bucket : buckets)
+                for (UUID id : bucket.getValue()) {
+                    Order order = s.get(id);
+                    if (order != null && order.getCreatedAt().equals(bucket.getKey())) result.add(order);
+                }
+            return result;
+        });
+    }
+
+    @Override
+    public synchronized void save(Order order) {
+        Order previous = store.get(order.getId());
+        if (previous == order) return;
+        if (previous != null) previous.removeStatusListener(statusIndexer);
+
+        byStatus.get(order.getStatus()).add(order.getId());
+        byTable.computeIfAbsent(order.getTableNumber(), t -> ConcurrentHashMap.newKeySet()).add(order.getId());
+        byCreated.computeIfAbsent(order.getCreatedAt(), t -> ConcurrentHashMap.newKeySet()).add(order.getId());
+        order.addStatusListener(statusIndexer);
+        store.put(order.getId(), order);
+    }
+
+    private void moveStatus(Order order, OrderStatus from, OrderStatus to) {
+        if (store.get(order.getId()) != order) return;
+        byStatus.get(to).add(order.getId());
+        byStatus.get(from).remove(order.getId());
+    }
+
+    private List<Order> resolve(Set<UUID> ids, Predicate<Order> stillMatches) {
+        return store.read(s -> {
+            List<Order> result = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                Order order = s.get(id);
+                if (order != null && stillMatches.test(order)) result.add(order);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.reservation.Reservation;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Thread-safe reservation store. Date and active-reservation lookups run
+ * lock-free over a point-in-time snapshot (see {@link VersionedMap}).
+ */
+public final class ConcurrentReservationRepo implements ReservationRepository {
+    private final VersionedMap<UUID, Reservation> store = new VersionedMap<>();
+
+    @Override
+    public Optional<Reservation> findById(UUID id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public List<Reservation> findByDate(LocalDate date) {
+        return store.read(s -> s.values()
+                .filter(r -> r.getReservationTime().toLocalDate().equals(date))
+                .toList());
+    }
+
+    @Override
+    public List<Reservation> findActive() {
+        return store.read(s -> s.values()
+                .filter(Reservation::isActive)
+                .toList());
+    }
+
+    @Override
+    public void save(Reservation reservation) {
+        store.put(reservation.getId(), reservation);
+    }
+}
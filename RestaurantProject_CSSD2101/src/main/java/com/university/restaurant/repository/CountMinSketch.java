@@ -0,0 +1,98 @@
+package com.university.restaurant.repository;
+
+/**
+ * Count-Min sketch (Cormode and Muthukrishnan): {@code depth} rows of
+ * {@code width} counters, each key hashed to one counter per row. An
+ * estimate is the smallest of its counters, so it never underestimates and,
+ * with probability at least 1 - delta, overestimates by at most
+ * epsilon * total. Memory is fixed at construction. Not thread-safe.
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] counts;
+    private long total;
+
+    /**
+     * @param epsilon maximum overestimate as a fraction of the total count
+     * @param delta   probability that an estimate exceeds that bound
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        this(width(epsilon), depth(delta));
+    }
+
+    private CountMinSketch(int width, int depth) {
+        this.width = width;
+        this.depth = depth;
+        this.counts = new long[width * depth];
+    }
+
+    private static int width(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("epsilon must be in (0, 1)");
+        }
+        return (int) Math.ceil(Math.E / epsilon);
+    }
+
+    private static int depth(double delta) {
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("delta must be in (0, 1)");
+        }
+        return Math.max(1, (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    public void add(String key, long count) {
+        total += count;
+        long h = mix(key.hashCode());
+        for (int row = 0; row < depth; row++) {
+            counts[row * width + index(h, row)] += count;
+        }
+    }
+
+    public long estimate(String key) {
+        long h = mix(key.hashCode());
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts[row * width + index(h, row)]);
+        }
+        return min;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /** Bytes held by the counter table. */
+    public long sizeInBytes() {
+        return (long) counts.length * Long.BYTES;
+    }
+
+    /**
+     * Sketch of both streams; only sketches built with the same bounds can
+     * be merged.
+     */
+    public static CountMinSketch merge(CountMinSketch a, CountMinSketch b) {
+        if (a.width != b.width || a.depth != b.depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+        }
+        CountMinSketch merged = new CountMinSketch(a.width, a.depth);
+        for (int i = 0; i < merged.counts.length; i++) {
+            merged.counts[i] = a.counts[i] + b.counts[i];
+        }
+        merged.total = a.total + b.total;
+        return merged;
+    }
+
+    // Row hashes derived from one 64-bit mix (Kirsch and Mitzenmacher)
+    private int index(long h, int row) {
+        int combined = (int) h + row * (int) (h >>> 32);
+        return Math.floorMod(combined, width);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,283 @@
+package com.university.restaurant.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Group-commit writer in front of another {@link RestaurantAuditLogRepository}.
+ *
+ * <p>
+ * Callers only enqueue entries. A single sequencer thread drains the queue,
+ * links every entry to the hash of the one before it (ignoring the
+ * {@code prevHash} the caller read, which may be stale under concurrency) and
+ * hands the whole batch to {@link RestaurantAuditLogRepository#appendAll}, so
+ * the chain can never fork and the delegate sees one write per batch instead
+ * of one per business operation.
+ * </p>
+ *
+ * <p>
+ * {@link #append} and {@link #appendAll} wait until their entries are written
+ * and rethrow the batch failure if they were not; {@link #appendAsync} returns
+ * a future that completes with the sealed entry once its batch has been
+ * written. Concurrent callers still share batches.
+ * </p>
+ */
+public final class GroupCommitAuditLogRepository implements RestaurantAuditLogRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitAuditLogRepository.class);
+
+    // How often a flush waiting on its barrier checks that the sequencer is still running
+    private static final long FLUSH_CHECK_MILLIS = 50;
+
+    /** Snapshot of batching behaviour since startup. */
+    public record Stats(long batches, long entries, long failedBatches, int maxBatchSize,
+                        double averageBatchSize, double averageFlushMillis, double maxFlushMillis) {
+    }
+
+    /** A queued entry, or a flush barrier when {@code entry} is null. */
+    private record Pending(RestaurantAuditEntry entry, CompletableFuture<RestaurantAuditEntry> done) {
+    }
+
+    private final RestaurantAuditLogRepository delegate;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final int maxBatchSize;
+    private final Thread sequencer;
+    private volatile String head;
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile int largestBatch;
+
+    /**
+     * @param delegate     the repository that durably stores sealed entries
+     * @param maxBatchSize upper bound on entries handed to the delegate per flush
+     */
+    public GroupCommitAuditLogRepository(RestaurantAuditLogRepository delegate, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.head = delegate.tailHash();
+        this.sequencer = new Thread(this::runSequencer, "audit-sequencer");
+        this.sequencer.setDaemon(true);
+        this.sequencer.start();
+    }
+
+    @Override
+    public void append(RestaurantAuditEntry entry) {
+        await(appendAsync(entry));
+    }
+
+    /**
+     * Enqueues an entry for the next batch.
+     *
+     * @return a future completed with the chained entry once it is durable,
+     *         or exceptionally if the batch could not be written
+     */
+    public CompletableFuture<RestaurantAuditEntry> appendAsync(RestaurantAuditEntry entry) {
+        if (shutdown) {
+            throw new IllegalStateException("Audit writer is shut down");
+        }
+        Pending pending = new Pending(entry, new CompletableFuture<>());
+        queue.add(pending);
+        // shutdown() may have run since the check above. If the sequencer has
+        // not taken the entry, it may already have stopped, so withdraw it
+        if (shutdown && queue.remove(pending)) {
+            throw new IllegalStateException("Audit writer is shut down");
+        }
+        return pending.done();
+    }
+
+    /**
+     * Enqueues every entry before waiting, so they share batches.
+     */
+    @Override
+    public void appendAll(List<RestaurantAuditEntry> entries) {
+        List<CompletableFuture<RestaurantAuditEntry>> written = new ArrayList<>(entries.size());
+        for (RestaurantAuditEntry entry : entries) {
+            written.add(appendAsync(entry));
+        }
+        written.forEach(GroupCommitAuditLogRepository::await);
+    }
+
+    /**
+     * Blocks until every entry enqueued before this call has been written.
+     * Returns at once after {@link #shutdown()}, which wrote everything
+     * queued before the sequencer stopped.
+     */
+    public void flush() {
+        if (Thread.currentThread() == sequencer || !sequencer.isAlive()) return;
+        Pending barrier = new Pending(null, new CompletableFuture<>());
+        queue.add(barrier);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    barrier.done().get(FLUSH_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    // A shut down sequencer may stop before it takes the barrier
+                    if (!sequencer.isAlive()) {
+                        queue.remove(barrier);
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // Barriers are only ever completed normally
+                    return;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public List<RestaurantAuditEntry> all() {
+        flush();
+        return delegate.all();
+    }
+
+    @Override
+    public Stream<RestaurantAuditEntry> stream() {
+        flush();
+        return delegate.stream();
+    }
+
+    @Override
+    public boolean verifyChain() {
+        flush();
+        return delegate.verifyChain();
+    }
+
+    @Override
+    public AuditPage query(AuditQuery query) {
+        flush();
+        return delegate.query(query);
+    }
+
+    /**
+     * Returns the hash of the last sequenced entry. Entries are re-linked by the
+     * sequencer, so callers no longer depend on this value being current.
+     */
+    @Override
+    public String tailHash() {
+        return head;
+    }
+
+    public Stats stats() {
+        long b = batches.get();
+        long e = entries.get();
+        return new Stats(b, e, failedBatches.get(), largestBatch,
+                b == 0 ? 0 : (double) e / b,
+                b == 0 ? 0 : flushNanos.get() / 1e6 / b,
+                maxFlushNanos.get() / 1e6);
+    }
+
+    /**
+     * Writes whatever is still queued and stops the sequencer thread.
+     */
+    public void shutdown() {
+        if (shutdown) return;
+        shutdown = true;
+        flush();
+        sequencer.interrupt();
+        try {
+            sequencer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Audit sequencer stopped: {}", stats());
+    }
+
+    private static void await(CompletableFuture<RestaurantAuditEntry> written) {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Audit entry was not written", e.getCause());
+        }
+    }
+
+    private void runSequencer() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                if (shutdown && queue.isEmpty()) return;
+                continue;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<Pending> batch) {
+        String start = head;
+        List<RestaurantAuditEntry> sealed = new ArrayList<>(batch.size());
+        Throwable failure = null;
+        long t0 = System.nanoTime();
+        try {
+            // Ask the delegate each batch so a head it resynced is picked up
+            start = delegate.tailHash();
+            String prev = start;
+            for (Pending p : batch) {
+                if (p.entry() == null) continue;
+                RestaurantAuditEntry chained = p.entry().chainedTo(prev);
+                sealed.add(chained);
+                prev = chained.hash;
+            }
+            if (!sealed.isEmpty()) {
+                delegate.appendAll(sealed);
+                head = prev;
+            }
+        } catch (Throwable e) {
+            // Errors too: a dead sequencer would leave every later append waiting forever
+            failure = e;
+            head = start;
+            failedBatches.incrementAndGet();
+            log.error("Audit batch of {} entries failed; chain head kept at {}", batch.size(), start, e);
+        }
+        if (!sealed.isEmpty()) {
+            recordFlush(sealed.size(), System.nanoTime() - t0);
+        }
+
+        int i = 0;
+        for (Pending p : batch) {
+            if (p.entry() == null) {
+                p.done().complete(null);
+            } else if (failure != null) {
+                p.done().completeExceptionally(failure);
+            } else {
+                p.done().complete(sealed.get(i++));
+            }
+        }
+    }
+
+    private void recordFlush(int size, long nanos) {
+        batches.incrementAndGet();
+        entries.addAndGet(size);
+        flushNanos.addAndGet(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+        if (size > largestBatch) largestBatch = size;
+    }
+}
@@ -1,16 +1,32 @@
 package com.university.restaurant.repository;
 
+import com.university.restaurant.model.menu.DietaryType;
 import com.university.restaurant.model.menu.MenuCategory;
 import com.university.restaurant.model.menu.MenuItem;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 import java.util.function.Predicate;
 
+/**
+ * In-memory menu store with secondary indexes by category, dietary type,
+ * name and price. {@link #query} starts from the smallest index the query
+ * can use and tests only those items. Availability is changed in place
+ * through {@link MenuItem#setAvailable}, so it is never indexed and always
+ * checked per item.
+ */
 public final class InMemoryMenuRepo implements MenuRepository {
     private final Map<String, MenuItem> store = new HashMap<>();
+    private final Map<MenuCategory, Map<String, MenuItem>> byCategory = new EnumMap<>(MenuCategory.class);
+    private final Map<DietaryType, Map<String, MenuItem>> byDietaryType = new EnumMap<>(DietaryType.class);
+    private final NavigableMap<String, Map<String, MenuItem>> byName = new TreeMap<>();
+    private final NavigableMap<Double, Map<String, MenuItem>> byPrice = new TreeMap<>();
+
+    public InMemoryMenuRepo() {
+        for (MenuCategory category : MenuCategory.values())
+            byCategory.put(category, new LinkedHashMap<>());
+        for (DietaryType type : DietaryType.values())
+            byDietaryType.put(type, new LinkedHashMap<>());
+    }
 
     @Override
     public Optional<MenuItem> findById(String id) {
@@ -19,9 +35,7 @@ public final class InMemoryMenuRepo implements MenuRepository {
 
     @Override
     public List<MenuItem> findByCategory(MenuCategory category) {
-        return store.values().stream()
-                .filter(item -> item.getCategory() == category)
-                .toList();
+        return List.copyOf(byCategory.get(category).values());
     }
 
     @Override
@@ -29,8 +43,57 @@ public final class InMemoryMenuRepo implements MenuRepository {
         return store.values().stream().filter(filter).toList();
     }
 
+    @Override
+    public List<MenuItem> query(MenuQuery query) {
+        Collection<MenuItem> candidates = store.values();
+        if (query.getCategory() != null)
+            candidates = smaller(candidates, byCategory.get(query.getCategory()).values());
+        if (query.getDietaryType() != null)
+            candidates = smaller(candidates, byDietaryType.get(query.getDietaryType()).values());
+        if (query.getNamePrefix() != null)
+            candidates = smaller(candidates, flatten(byName.subMap(
+                    query.getNamePrefix(), true, query.getNamePrefix() + Character.MAX_VALUE, false)));
+        if (query.getMinPrice() != null)
+            candidates = smaller(candidates, flatten(byPrice.subMap(
+                    query.getMinPrice(), true, query.getMaxPrice(), true)));
+        return candidates.stream().filter(query::matches).toList();
+    }
+
     @Override
     public void save(MenuItem item) {
-        store.put(item.getId(), item);
+        MenuItem previous = store.put(item.getId(), item);
+        if (previous != null) unindex(previous);
+        byCategory.get(item.getCategory()).put(item.getId(), item);
+        byDietaryType.get(item.getDietaryType()).put(item.getId(), item);
+        byName.computeIfAbsent(nameKey(item), k -> new LinkedHashMap<>()).put(item.getId(), item);
+        byPrice.computeIfAbsent(item.calculatePrice(), k -> new LinkedHashMap<>()).put(item.getId(), item);
+    }
+
+    private void unindex(MenuItem item) {
+        byCategory.get(item.getCategory()).remove(item.getId());
+        byDietaryType.get(item.getDietaryType()).remove(item.getId());
+        removeFrom(byName, nameKey(item), item);
+        removeFrom(byPrice, item.calculatePrice(), item);
+    }
+
+    private static String nameKey(MenuItem item) {
+        return item.getName().toLowerCase(Locale.ROOT);
+    }
+
+    private static Collection<MenuItem> smaller(Collection<MenuItem> a, Collection<MenuItem> b) {
+        return b.size() < a.size() ? b : a;
+    }
+
+    private static Collection<MenuItem> flatten(Map<?, Map<String, MenuItem>> buckets) {
+        List<MenuItem> items = new ArrayList<>();
+        buckets.values().forEach(bucket -> items.addAll(bucket.values()));
+        return items;
+    }
+
+    private static <K> void removeFrom(Map<K, Map<String, MenuItem>> index, K key, MenuItem item) {
+        Map<String, MenuItem> items = index.get(key);
+        if (items == null) return;
+        items.remove(item.getId());
+        if (items.isEmpty()) index.remove(key);
     }
 }
@@ -0,0 +1,69 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Order analytics computed in memory from an {@link OrderRepository}, for
+ * the in-memory stores. Each call reads the orders in the requested
+ * statuses and aggregates them here.
+ */
+public final class InMemoryOrderAnalyticsRepo implements OrderAnalyticsRepository {
+    private final OrderRepository orders;
+
+    public InMemoryOrderAnalyticsRepo(OrderRepository orders) {
+        this.orders = orders;
+    }
+
+    @Override
+    public List<ItemSales> itemSales(Set<OrderStatus> statuses) {
+        Map<String, String> names = new LinkedHashMap<>();
+        Map<String, Long> quantities = new HashMap<>();
+        for (OrderStatus status : statuses) {
+            for (Order order : orders.findByStatus(status)) {
+                for (MenuItem item : order.getItems()) {
+                    names.put(item.getId(), item.getName());
+                    quantities.merge(item.getId(), 1L, Long::sum);
+                }
+            }
+        }
+        List<ItemSales> sales = new ArrayList<>(names.size());
+        names.forEach((id, name) -> sales.add(new ItemSales(id, name, quantities.get(id))));
+        return sales;
+    }
+
+    @Override
+    public List<TimedItemSales> itemSalesSince(Set<OrderStatus> statuses, OffsetDateTime since) {
+        List<TimedItemSales> sales = new ArrayList<>();
+        for (OrderStatus status : statuses) {
+            for (Order order : orders.findByStatus(status)) {
+                if (order.getCreatedAt().isBefore(since)) continue;
+                Map<String, Long> units = new LinkedHashMap<>();
+                for (MenuItem item : order.getItems()) {
+                    units.merge(item.getName(), 1L, Long::sum);
+                }
+                units.forEach((name, quantity) -> sales.add(new TimedItemSales(name, order.getCreatedAt(), quantity)));
+            }
+        }
+        return sales;
+    }
+
+    @Override
+    public double revenueBetween(OrderStatus status, OffsetDateTime from, OffsetDateTime to) {
+        return orders.findByStatus(status).stream()
+                .filter(o -> !o.getCreatedAt().isBefore(from) && o.getCreatedAt().isBefore(to))
+                .mapToDouble(Order::calculateTotal)
+                .sum();
+    }
+
+    @Override
+    public List<OrderTotal> orderTotals(OrderStatus status) {
+        return orders.findByStatus(status).stream()
+                .map(o -> new OrderTotal(o.getCreatedAt(), o.calculateTotal()))
+                .toList();
+    }
+}
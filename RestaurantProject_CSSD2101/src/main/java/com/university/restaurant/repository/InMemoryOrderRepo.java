@@ -2,11 +2,30 @@ package com.university.restaurant.repository;
 
 import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.order.OrderStatusListener;
 
+import java.time.OffsetDateTime;
 import java.util.*;
 
+/**
+ * In-memory order store with secondary indexes by status, table and creation
+ * time, so lookups cost O(result) rather than a scan of every order.
+ *
+ * Saved orders are watched through {@link OrderStatusListener}, so calling
+ * {@link Order#updateStatus} on a stored instance moves it to the right
+ * status bucket without another save.
+ */
 public final class InMemoryOrderRepo implements OrderRepository {
     private final Map<UUID, Order> store = new HashMap<>();
+    private final Map<OrderStatus, Map<UUID, Order>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<Integer, Map<UUID, Order>> byTable = new HashMap<>();
+    private final NavigableMap<OffsetDateTime, Map<UUID, Order>> byCreated = new TreeMap<>();
+    private final OrderStatusListener statusIndexer = this::moveStatus;
+
+    public InMemoryOrderRepo() {
+        for (OrderStatus status : OrderStatus.values())
+            byStatus.put(status, new LinkedHashMap<>());
+    }
 
     @Override
     public Optional<Order> findById(UUID id) {
@@ -15,20 +34,57 @@ public final class InMemoryOrderRepo implements OrderRepository {
 
     @Override
     public List<Order> findByStatus(OrderStatus status) {
-        return store.values().stream()
-                .filter(order -> order.getStatus() == status)
-                .toList();
+        return List.copyOf(byStatus.get(status).values());
     }
 
     @Override
     public List<Order> findByTable(int tableNumber) {
-        return store.values().stream()
-                .filter(order -> order.getTableNumber() == tableNumber)
-                .toList();
+        Map<UUID, Order> orders = byTable.get(tableNumber);
+        return orders == null ? List.of() : List.copyOf(orders.values());
+    }
+
+    @Override
+    public List<Order> findCreatedBetween(OffsetDateTime from, OffsetDateTime to) {
+        if (!from.isBefore(to)) return List.of();
+        List<Order> result = new ArrayList<>();
+        byCreated.subMap(from, true, to, false).values().forEach(orders -> result.addAll(orders.values()));
+        return result;
     }
 
     @Override
     public void save(Order order) {
-        store.put(order.getId(), order);
+        Order previous = store.put(order.getId(), order);
+        if (previous == order) return;
+        if (previous != null) {
+            previous.removeStatusListener(statusIndexer);
+            unindex(previous);
+        }
+        index(order);
+        order.addStatusListener(statusIndexer);
+    }
+
+    private void moveStatus(Order order, OrderStatus from, OrderStatus to) {
+        if (store.get(order.getId()) != order) return;
+        byStatus.get(from).remove(order.getId());
+        byStatus.get(to).put(order.getId(), order);
+    }
+
+    private void index(Order order) {
+        byStatus.get(order.getStatus()).put(order.getId(), order);
+        byTable.computeIfAbsent(order.getTableNumber(), t -> new LinkedHashMap<>()).put(order.getId(), order);
+        byCreated.computeIfAbsent(order.getCreatedAt(), t -> new LinkedHashMap<>()).put(order.getId(), order);
+    }
+
+    private void unindex(Order order) {
+        byStatus.get(order.getStatus()).remove(order.getId());
+        removeFrom(byTable, order.getTableNumber(), order);
+        removeFrom(byCreated, order.getCreatedAt(), order);
+    }
+
+    private static <K> void removeFrom(Map<K, Map<UUID, Order>> index, K key, Order order) {
+        Map<UUID, Order> orders = index.get(key);
+        if (orders == null) return;
+        orders.remove(order.getId());
+        if (orders.isEmpty()) index.remove(key);
     }
 }
@@ -1,23 +1,82 @@
 package com.university.restaurant.repository;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
 
+/**
+ * Thread-safe in-memory audit log.
+ *
+ * <p>
+ * Entries live in fixed-size chunks that are never copied or resized, so a
+ * slot, once written, never changes. Appends run in one short critical
+ * section that links the entry to the current tail (recomputing its hash if
+ * the caller's prevHash is stale), stores it and then publishes the new size
+ * through a volatile write. The chain stays linear however many threads
+ * append. Readers take no lock: they read the published size and see a
+ * consistent prefix. {@link #all()} returns a read-only view of that prefix
+ * instead of a copy.
+ * </p>
+ */
 public final class InMemoryRestaurantAuditRepo implements RestaurantAuditLogRepository {
-    private final List<RestaurantAuditEntry> log = new ArrayList<>();
 
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final Object appendLock = new Object();
+    private final AuditIndex index = new AuditIndex();
+    private volatile RestaurantAuditEntry[][] chunks = new RestaurantAuditEntry[16][];
+    private volatile int size = 0;
+    private volatile String tail = "GENESIS";
+
+    /**
+     * Appends the entry, relinking it to the current tail if another thread
+     * appended since the caller read {@link #tailHash()}.
+     */
     @Override
     public void append(RestaurantAuditEntry entry) {
-        log.add(entry);
+        synchronized (appendLock) {
+            write(entry);
+        }
+    }
+
+    @Override
+    public void appendAll(List<RestaurantAuditEntry> entries) {
+        synchronized (appendLock) {
+            for (RestaurantAuditEntry entry : entries) {
+                write(entry);
+            }
+        }
     }
 
+    @Override
+    public AuditPage query(AuditQuery query) {
+        synchronized (appendLock) {
+            return index.query(query, seq -> get((int) seq));
+        }
+    }
+
+    /**
+     * Read-only view of every entry published so far. Later appends are not
+     * visible through it.
+     */
     @Override
     public List<RestaurantAuditEntry> all() {
-        return List.copyOf(log);
+        int published = size; // read size before chunks so the directory covers it
+        return new Snapshot(chunks, published);
+    }
+
+    @Override
+    public Stream<RestaurantAuditEntry> stream() {
+        return all().stream();
     }
 
     @Override
     public boolean verifyChain() {
+        List<RestaurantAuditEntry> log = all();
         for (int i = 1; i < log.size(); i++)
             if (!log.get(i).prevHash.equals(log.get(i - 1).hash))
                 return false;
@@ -26,6 +85,52 @@ public final class InMemoryRestaurantAuditRepo implements RestaurantAuditLogRepo
 
     @Override
     public String tailHash() {
-        return log.isEmpty() ? "GENESIS" : log.get(log.size() - 1).hash;
+        return tail;
+    }
+
+    private void write(RestaurantAuditEntry entry) {
+        RestaurantAuditEntry linked = entry.chainedTo(tail);
+        int seq = size;
+        int chunk = seq >>> CHUNK_BITS;
+        RestaurantAuditEntry[][] dir = chunks;
+        if (chunk == dir.length) {
+            dir = Arrays.copyOf(dir, dir.length * 2);
+        }
+        if (dir[chunk] == null) {
+            dir[chunk] = new RestaurantAuditEntry[CHUNK_SIZE];
+        }
+        dir[chunk][seq & CHUNK_MASK] = linked;
+        index.add(seq, linked);
+        chunks = dir;
+        tail = linked.hash;
+        size = seq + 1;
+    }
+
+    private RestaurantAuditEntry get(int seq) {
+        return chunks[seq >>> CHUNK_BITS][seq & CHUNK_MASK];
+    }
+
+    /** Fixed-length view over published chunks. */
+    private static final class Snapshot extends AbstractList<RestaurantAuditEntry> implements RandomAccess {
+        private final RestaurantAuditEntry[][] chunks;
+        private final int size;
+
+        Snapshot(RestaurantAuditEntry[][] chunks, int size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @Override
+        public RestaurantAuditEntry get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
     }
 }
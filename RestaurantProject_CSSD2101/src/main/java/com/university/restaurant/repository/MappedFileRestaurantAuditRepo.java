@@ -0,0 +1,453 @@
+package com.university.restaurant.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only audit log stored in memory-mapped segment files.
+ *
+ * <p>
+ * Each segment is a pre-sized file named after the sequence number of its
+ * first entry. After an 8-byte header, records are written as
+ * {@code [payload length][CRC32C][payload]} followed by a zero terminator, and
+ * the length is written last so a torn write is never mistaken for a record.
+ * When a record does not fit, the segment is sealed and a new one is mapped.
+ * On open, segments are rescanned: the tail of the last segment is truncated
+ * at the first bad record, and a corrupt sealed segment makes
+ * {@link #verifyChain()} fail.
+ * </p>
+ *
+ * <p>
+ * A sparse in-memory index (every {@value #INDEX_INTERVAL}th record per segment)
+ * serves {@link #read(long)}, and inverted indexes rebuilt on open serve
+ * {@link #query(AuditQuery)}. {@link #forEach}, {@link #all()} and
+ * {@link #verifyChain()} decode straight from the mapped buffers rather than
+ * reading files through heap copies.
+ * </p>
+ */
+public final class MappedFileRestaurantAuditRepo implements RestaurantAuditLogRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileRestaurantAuditRepo.class);
+
+    /** When mapped pages are forced to disk. */
+    public enum FsyncPolicy {
+        /** After every append (or appendAll batch). */
+        ALWAYS,
+        /** At most once per configured interval, checked on append. */
+        INTERVAL,
+        /** Leave flushing to the operating system. */
+        OS
+    }
+
+    static final int INDEX_INTERVAL = 64;
+    private static final int MAGIC = 0x52414c31; // "RAL1"
+    private static final int HEADER = 8;
+    private static final int RECORD_HEADER = 8;
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsync;
+    private final long fsyncIntervalNanos;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final AuditIndex index = new AuditIndex();
+    private volatile String head = "GENESIS";
+    private volatile boolean corrupted = false;
+    private volatile boolean closed = false;
+    private long nextSequence = 0;
+    private long lastForce = System.nanoTime();
+
+    /**
+     * Opens (or creates) a store with 64 MiB segments, forced at most once a second.
+     */
+    public MappedFileRestaurantAuditRepo(Path directory) {
+        this(directory, 64 * 1024 * 1024, FsyncPolicy.INTERVAL, 1000);
+    }
+
+    /**
+     * @param directory           where segment files live
+     * @param segmentSize         size in bytes of each segment file
+     * @param fsync               when to force mapped pages to disk
+     * @param fsyncIntervalMillis interval used by {@link FsyncPolicy#INTERVAL}
+     */
+    public MappedFileRestaurantAuditRepo(Path directory, int segmentSize, FsyncPolicy fsync, long fsyncIntervalMillis) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("segmentSize must be at least 1024 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit segments in " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized void append(RestaurantAuditEntry entry) {
+        write(entry);
+        maybeForce();
+    }
+
+    @Override
+    public synchronized void appendAll(List<RestaurantAuditEntry> entries) {
+        for (RestaurantAuditEntry entry : entries) {
+            write(entry);
+        }
+        maybeForce();
+    }
+
+    @Override
+    public List<RestaurantAuditEntry> all() {
+        List<RestaurantAuditEntry> result = new ArrayList<>();
+        forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Lazily decodes entries segment by segment; entries appended after the
+     * stream reaches a segment's end are not included.
+     */
+    @Override
+    public Stream<RestaurantAuditEntry> stream() {
+        return segments.stream().flatMap(segment -> {
+            int end = segment.end;
+            ByteBuffer buf = segment.buffer.duplicate();
+            return Stream.iterate(HEADER, pos -> pos < end, pos -> pos + RECORD_HEADER + buf.getInt(pos))
+                    .map(pos -> decode(buf, pos));
+        });
+    }
+
+    /**
+     * Streams every stored entry in append order, decoding from the mapped segments.
+     */
+    public void forEach(Consumer<RestaurantAuditEntry> action) {
+        for (Segment segment : segments) {
+            int end = segment.end;
+            ByteBuffer buf = segment.buffer.duplicate();
+            for (int pos = HEADER; pos < end; pos += RECORD_HEADER + buf.getInt(pos)) {
+                action.accept(decode(buf, pos));
+            }
+        }
+    }
+
+    @Override
+    public boolean verifyChain() {
+        if (corrupted) return false;
+        String prev = "GENESIS";
+        for (Segment segment : segments) {
+            int end = segment.end;
+            ByteBuffer buf = segment.buffer.duplicate();
+            for (int pos = HEADER; pos < end; pos += RECORD_HEADER + buf.getInt(pos)) {
+                if (!crcMatches(buf, pos)) return false;
+                RestaurantAuditEntry e = decode(buf, pos);
+                if (!prev.equals(e.prevHash)) return false;
+                String expected = RestaurantAuditEntry.computeHash(e.userId, e.role, e.action,
+                        e.entityType, e.entityId, e.details, e.timestamp, e.prevHash);
+                if (!expected.equals(e.hash)) return false;
+                prev = e.hash;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String tailHash() {
+        return head;
+    }
+
+    /**
+     * Answers the query from the in-memory inverted indexes; the cursor is the
+     * entry's sequence number.
+     */
+    @Override
+    public synchronized AuditPage query(AuditQuery query) {
+        return index.query(query, this::read);
+    }
+
+    /**
+     * Number of entries in the log.
+     */
+    public synchronized long size() {
+        return nextSequence;
+    }
+
+    /**
+     * Reads the entry with the given zero-based sequence number using the sparse index.
+     */
+    public RestaurantAuditEntry read(long sequence) {
+        Segment segment = null;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (segments.get(i).baseSequence <= sequence) {
+                segment = segments.get(i);
+                break;
+            }
+        }
+        if (segment == null || sequence - segment.baseSequence >= segment.count) {
+            throw new IllegalArgumentException("No audit entry with sequence " + sequence);
+        }
+        int relative = (int) (sequence - segment.baseSequence);
+        ByteBuffer buf = segment.buffer.duplicate();
+        int pos = segment.sparse[relative / INDEX_INTERVAL];
+        for (int i = 0; i < relative % INDEX_INTERVAL; i++) {
+            pos += RECORD_HEADER + buf.getInt(pos);
+        }
+        return decode(buf, pos);
+    }
+
+    /**
+     * Forces outstanding writes to disk.
+     */
+    public synchronized void force() {
+        if (!segments.isEmpty()) {
+            current().buffer.force();
+        }
+        lastForce = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        force();
+        closed = true;
+        for (Segment segment : segments) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit segment {}", segment.path, e);
+            }
+        }
+    }
+
+    private void write(RestaurantAuditEntry entry) {
+        if (closed) {
+            throw new IllegalStateException("Audit store is closed");
+        }
+        byte[][] fields = {
+                bytes(entry.userId), bytes(entry.role), bytes(entry.action), bytes(entry.entityType),
+                bytes(entry.entityId), bytes(entry.details), bytes(entry.prevHash), bytes(entry.hash)
+        };
+        int payload = 12;
+        for (byte[] f : fields) {
+            payload += 4 + (f == null ? 0 : f.length);
+        }
+        int needed = RECORD_HEADER + payload + 4;
+        if (needed > segmentSize - HEADER) {
+            throw new IllegalArgumentException("Audit entry of " + payload + " bytes exceeds segment size");
+        }
+        if (segments.isEmpty() || current().end + needed > segmentSize) {
+            roll();
+        }
+
+        Segment segment = current();
+        ByteBuffer buf = segment.buffer;
+        int pos = segment.end;
+        buf.putInt(pos + RECORD_HEADER + payload, 0);
+
+        int p = pos + RECORD_HEADER;
+        buf.putLong(p, entry.timestamp.toEpochSecond(ZoneOffset.UTC));
+        buf.putInt(p + 8, entry.timestamp.getNano());
+        p += 12;
+        for (byte[] f : fields) {
+            if (f == null) {
+                buf.putInt(p, -1);
+                p += 4;
+            } else {
+                buf.putInt(p, f.length);
+                buf.put(p + 4, f);
+                p += 4 + f.length;
+            }
+        }
+        buf.putInt(pos + 4, crc(buf, pos + RECORD_HEADER, payload));
+        buf.putInt(pos, payload);
+
+        int relative = segment.count;
+        if (relative % INDEX_INTERVAL == 0) {
+            segment.addIndex(relative / INDEX_INTERVAL, pos);
+        }
+        segment.count = relative + 1;
+        segment.end = pos + RECORD_HEADER + payload;
+        index.add(nextSequence, entry);
+        nextSequence++;
+        head = entry.hash;
+    }
+
+    private void maybeForce() {
+        if (fsync == FsyncPolicy.ALWAYS
+                || (fsync == FsyncPolicy.INTERVAL && System.nanoTime() - lastForce >= fsyncIntervalNanos)) {
+            force();
+        }
+    }
+
+    private void roll() {
+        if (!segments.isEmpty()) {
+            current().buffer.force();
+        }
+        try {
+            segments.add(Segment.create(directory.resolve(fileName(nextSequence)), nextSequence, segmentSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create audit segment", e);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            boolean last = i == files.size() - 1;
+            Segment segment = Segment.open(files.get(i));
+            if (segment.baseSequence != nextSequence) {
+                log.error("Audit segment {} starts at {} but {} entries precede it", segment.path,
+                        segment.baseSequence, nextSequence);
+                corrupted = true;
+            }
+            ByteBuffer buf = segment.buffer;
+            int pos = HEADER;
+            while (pos + RECORD_HEADER <= buf.capacity()) {
+                int len = buf.getInt(pos);
+                if (len <= 0 || pos + RECORD_HEADER + len > buf.capacity() || !crcMatches(buf, pos)) {
+                    if (len != 0) {
+                        if (last) {
+                            log.warn("Truncating torn audit record at {}:{}", segment.path, pos);
+                            buf.putInt(pos, 0);
+                        } else {
+                            log.error("Corrupt audit record at {}:{}", segment.path, pos);
+                            corrupted = true;
+                        }
+                    }
+                    break;
+                }
+                if (segment.count % INDEX_INTERVAL == 0) {
+                    segment.addIndex(segment.count / INDEX_INTERVAL, pos);
+                }
+                RestaurantAuditEntry entry = decode(buf, pos);
+                index.add(segment.baseSequence + segment.count, entry);
+                segment.count++;
+                head = entry.hash;
+                pos += RECORD_HEADER + len;
+            }
+            segment.end = pos;
+            nextSequence = segment.baseSequence + segment.count;
+            segments.add(segment);
+        }
+        log.info("Opened audit store {} with {} entries in {} segment(s)", directory, nextSequence, segments.size());
+    }
+
+    private Segment current() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private static RestaurantAuditEntry decode(ByteBuffer buf, int pos) {
+        int p = pos + RECORD_HEADER;
+        LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buf.getLong(p), buf.getInt(p + 8), ZoneOffset.UTC);
+        p += 12;
+        String[] fields = new String[8];
+        for (int i = 0; i < fields.length; i++) {
+            int len = buf.getInt(p);
+            p += 4;
+            if (len >= 0) {
+                byte[] bytes = new byte[len];
+                buf.get(p, bytes);
+                fields[i] = new String(bytes, StandardCharsets.UTF_8);
+                p += len;
+            }
+        }
+        return RestaurantAuditEntry.restore(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5],
+                timestamp, fields[6], fields[7]);
+    }
+
+    private static boolean crcMatches(ByteBuffer buf, int pos) {
+        return buf.getInt(pos + 4) == crc(buf, pos + RECORD_HEADER, buf.getInt(pos));
+    }
+
+    private static int crc(ByteBuffer buf, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buf.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] bytes(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String fileName(long baseSequence) {
+        return String.format("%020d", baseSequence) + SUFFIX;
+    }
+
+    /**
+     * One mapped segment file. {@code end} and {@code count} are only written by
+     * the appending thread; readers see a consistent prefix through the volatile {@code end}.
+     */
+    private static final class Segment {
+        final Path path;
+        final long baseSequence;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        volatile int end = HEADER;
+        volatile int count = 0;
+        volatile int[] sparse = new int[16];
+
+        private Segment(Path path, long baseSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.baseSequence = baseSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long baseSequence, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, 1);
+            buffer.putInt(HEADER, 0);
+            return new Segment(path, baseSequence, channel, buffer);
+        }
+
+        static Segment open(Path path) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC) {
+                channel.close();
+                throw new IllegalStateException("Not an audit segment: " + path);
+            }
+            String name = path.getFileName().toString();
+            long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            return new Segment(path, base, channel, buffer);
+        }
+
+        void addIndex(int slot, int offset) {
+            int[] current = sparse;
+            if (slot >= current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[slot] = offset;
+            sparse = current;
+        }
+    }
+}
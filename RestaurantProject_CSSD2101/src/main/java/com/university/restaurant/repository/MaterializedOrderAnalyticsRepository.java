@@ -0,0 +1,287 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.order.OrderStatusListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incrementally maintained view of sales and revenue in front of another
+ * {@link OrderAnalyticsRepository}.
+ *
+ * <p>
+ * The view is loaded from the delegate once, then kept current from status
+ * changes reported through {@link #statusChanged}: an order entering PAID or
+ * SERVED adds its items to per-item counters, an order entering PAID adds
+ * its total, in cents, to the hour and day it was created in, and leaving
+ * those statuses takes them back out. Top sellers and revenue over whole
+ * hours or days are then answered from memory, however long the order
+ * history is. Any other query is passed to the delegate.
+ * </p>
+ *
+ * <p>
+ * A status change that is stored while the view is being rebuilt may be
+ * counted twice. {@link #check} compares the view with a full recompute from
+ * the delegate and rebuilds it when they differ; the scheduled variant runs
+ * it periodically.
+ * </p>
+ */
+public final class MaterializedOrderAnalyticsRepository implements OrderAnalyticsRepository, OrderStatusListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterializedOrderAnalyticsRepository.class);
+
+    private static final Set<OrderStatus> SOLD = EnumSet.of(OrderStatus.PAID, OrderStatus.SERVED);
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final long SECONDS_PER_DAY = 86400;
+
+    /** Snapshot of view maintenance since startup. */
+    public record Stats(long events, long rebuilds, long drifts, int items, int hours) {
+    }
+
+    /** Outcome of comparing the view with a full recompute. */
+    public record Consistency(int itemsOff, int hoursOff) {
+        public boolean consistent() {
+            return itemsOff == 0 && hoursOff == 0;
+        }
+    }
+
+    private record ItemCounter(String name, LongAdder units) {
+    }
+
+    /** Counters published together, so a rebuild replaces them all at once. */
+    private static final class View {
+        final ConcurrentHashMap<String, ItemCounter> items = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<Long, LongAdder> centsByHour = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<Long, LongAdder> centsByDay = new ConcurrentSkipListMap<>();
+
+        void addItem(String id, String name, long units) {
+            items.computeIfAbsent(id, k -> new ItemCounter(name, new LongAdder())).units().add(units);
+        }
+
+        void addRevenue(OffsetDateTime createdAt, long cents) {
+            long second = createdAt.toEpochSecond();
+            centsByHour.computeIfAbsent(Math.floorDiv(second, SECONDS_PER_HOUR), k -> new LongAdder()).add(cents);
+            centsByDay.computeIfAbsent(Math.floorDiv(second, SECONDS_PER_DAY), k -> new LongAdder()).add(cents);
+        }
+    }
+
+    private final OrderAnalyticsRepository delegate;
+    // Events share the read side; a rebuild takes the write side to swap views
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile View view;
+    private ScheduledExecutorService checker;
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder drifts = new LongAdder();
+
+    /**
+     * Loads the view from {@code delegate}.
+     */
+    public MaterializedOrderAnalyticsRepository(OrderAnalyticsRepository delegate) {
+        this.delegate = delegate;
+        rebuild();
+    }
+
+    /**
+     * As above, and runs {@link #check} every {@code checkInterval}. A zero
+     * interval disables the job.
+     */
+    public MaterializedOrderAnalyticsRepository(OrderAnalyticsRepository delegate, Duration checkInterval) {
+        this(delegate);
+        if (checkInterval.isZero() || checkInterval.isNegative()) return;
+        checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "analytics-consistency-check");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = checkInterval.toMillis();
+        checker.scheduleWithFixedDelay(() -> {
+            try {
+                check();
+            } catch (RuntimeException e) {
+                log.warn("Analytics consistency check failed", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void statusChanged(Order order, OrderStatus from, OrderStatus to) {
+        boolean wasSold = SOLD.contains(from), isSold = SOLD.contains(to);
+        boolean wasPaid = from == OrderStatus.PAID, isPaid = to == OrderStatus.PAID;
+        if (wasSold == isSold && wasPaid == isPaid) return;
+
+        lock.readLock().lock();
+        try {
+            View v = view;
+            if (wasSold != isSold) {
+                long sign = isSold ? 1 : -1;
+                for (MenuItem item : order.getItems()) {
+                    v.addItem(item.getId(), item.getName(), sign);
+                }
+            }
+            if (wasPaid != isPaid) {
+                long cents = toCents(order.calculateTotal());
+                v.addRevenue(order.getCreatedAt(), isPaid ? cents : -cents);
+            }
+            events.increment();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ItemSales> itemSales(Set<OrderStatus> statuses) {
+        if (!SOLD.equals(statuses)) return delegate.itemSales(statuses);
+        List<ItemSales> sales = new ArrayList<>();
+        view.items.forEach((id, counter) -> {
+            long units = counter.units().sum();
+            if (units != 0) sales.add(new ItemSales(id, counter.name(), units));
+        });
+        return sales;
+    }
+
+    @Override
+    public List<TimedItemSales> itemSalesSince(Set<OrderStatus> statuses, OffsetDateTime since) {
+        return delegate.itemSalesSince(statuses, since);
+    }
+
+    /**
+     * Answered from the view for PAID orders over whole days or whole hours
+     * (UTC); anything else goes to the delegate.
+     */
+    @Override
+    public double revenueBetween(OrderStatus status, OffsetDateTime from, OffsetDateTime to) {
+        if (status != OrderStatus.PAID) return delegate.revenueBetween(status, from, to);
+        if (!from.isBefore(to)) return 0.0;
+        View v = view;
+        if (alignedTo(from, SECONDS_PER_DAY) && alignedTo(to, SECONDS_PER_DAY)) {
+            return sum(v.centsByDay, from, to, SECONDS_PER_DAY) / 100.0;
+        }
+        if (alignedTo(from, SECONDS_PER_HOUR) && alignedTo(to, SECONDS_PER_HOUR)) {
+            return sum(v.centsByHour, from, to, SECONDS_PER_HOUR) / 100.0;
+        }
+        return delegate.revenueBetween(status, from, to);
+    }
+
+    @Override
+    public List<OrderTotal> orderTotals(OrderStatus status) {
+        return delegate.orderTotals(status);
+    }
+
+    /**
+     * Replaces the view with one loaded from the delegate.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            view = load();
+            rebuilds.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compares the view with a full recompute from the delegate. A mismatch
+     * is checked again with status changes held off, and if it persists the
+     * view is rebuilt.
+     *
+     * @return the differences found before any rebuild
+     */
+    public Consistency check() {
+        Consistency result = compare(view, load());
+        if (result.consistent()) return result;
+
+        lock.writeLock().lock();
+        try {
+            View fresh = load();
+            result = compare(view, fresh);
+            if (!result.consistent()) {
+                log.warn("Analytics view drifted from the order history ({} items, {} hours differ); rebuilding",
+                        result.itemsOff(), result.hoursOff());
+                drifts.increment();
+                view = fresh;
+                rebuilds.increment();
+            }
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        View v = view;
+        return new Stats(events.sum(), rebuilds.sum(), drifts.sum(), v.items.size(), v.centsByHour.size());
+    }
+
+    public void shutdown() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    private View load() {
+        View fresh = new View();
+        for (ItemSales sale : delegate.itemSales(SOLD)) {
+            fresh.addItem(sale.menuItemId(), sale.name(), sale.quantity());
+        }
+        for (OrderTotal order : delegate.orderTotals(OrderStatus.PAID)) {
+            fresh.addRevenue(order.createdAt(), toCents(order.total()));
+        }
+        return fresh;
+    }
+
+    private static Consistency compare(View actual, View expected) {
+        Set<String> ids = new HashSet<>(actual.items.keySet());
+        ids.addAll(expected.items.keySet());
+        int itemsOff = 0;
+        for (String id : ids) {
+            if (units(actual.items.get(id)) != units(expected.items.get(id))) itemsOff++;
+        }
+
+        Set<Long> hours = new HashSet<>(actual.centsByHour.keySet());
+        hours.addAll(expected.centsByHour.keySet());
+        int hoursOff = 0;
+        for (Long hour : hours) {
+            if (cents(actual.centsByHour.get(hour)) != cents(expected.centsByHour.get(hour))) hoursOff++;
+        }
+        return new Consistency(itemsOff, hoursOff);
+    }
+
+    private static long sum(ConcurrentSkipListMap<Long, LongAdder> buckets, OffsetDateTime from,
+                            OffsetDateTime to, long bucketSeconds) {
+        long total = 0;
+        for (LongAdder cents : buckets.subMap(Math.floorDiv(from.toEpochSecond(), bucketSeconds),
+                Math.floorDiv(to.toEpochSecond(), bucketSeconds)).values()) {
+            total += cents.sum();
+        }
+        return total;
+    }
+
+    private static boolean alignedTo(OffsetDateTime t, long bucketSeconds) {
+        return t.getNano() == 0 && Math.floorMod(t.toEpochSecond(), bucketSeconds) == 0;
+    }
+
+    private static long units(ItemCounter counter) {
+        return counter == null ? 0 : counter.units().sum();
+    }
+
+    private static long cents(LongAdder adder) {
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
@@ -0,0 +1,152 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.menu.DietaryType;
+import com.university.restaurant.model.menu.MenuCategory;
+import com.university.restaurant.model.menu.MenuItem;
+
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Filter for menu queries. Every criterion is optional and criteria are
+ * combined with AND. The structured criteria are visible to the repository,
+ * which can answer them from an index or push them into SQL; anything else
+ * goes in {@link Builder#where}, which is always evaluated in Java on the
+ * items the structured criteria let through.
+ */
+public final class MenuQuery {
+
+    private final MenuCategory category;
+    private final Boolean available;
+    private final DietaryType dietaryType;
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final String namePrefix;
+    private final Predicate<MenuItem> residual;
+
+    private MenuQuery(Builder b) {
+        this.category = b.category;
+        this.available = b.available;
+        this.dietaryType = b.dietaryType;
+        this.minPrice = b.minPrice;
+        this.maxPrice = b.maxPrice;
+        this.namePrefix = b.namePrefix;
+        this.residual = b.residual;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Items currently marked available, in any category. */
+    public static MenuQuery availableItems() {
+        return builder().available(true).build();
+    }
+
+    public MenuCategory getCategory() {
+        return category;
+    }
+
+    public Boolean getAvailable() {
+        return available;
+    }
+
+    public DietaryType getDietaryType() {
+        return dietaryType;
+    }
+
+    /** Inclusive lower bound on {@link MenuItem#calculatePrice()}, or null. */
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    /** Inclusive upper bound on {@link MenuItem#calculatePrice()}, or null. */
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    /** Case-insensitive prefix the item name must start with, or null. */
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    /** Predicate the repository cannot look inside, or null. */
+    public Predicate<MenuItem> getResidual() {
+        return residual;
+    }
+
+    /**
+     * Returns true if the item satisfies the structured criteria, ignoring
+     * the residual predicate.
+     */
+    public boolean matchesIndexed(MenuItem item) {
+        return (category == null || item.getCategory() == category)
+                && (available == null || item.isAvailable() == available)
+                && (dietaryType == null || item.getDietaryType() == dietaryType)
+                && (minPrice == null || item.calculatePrice() >= minPrice)
+                && (maxPrice == null || item.calculatePrice() <= maxPrice)
+                && (namePrefix == null || item.getName().regionMatches(true, 0, namePrefix, 0, namePrefix.length()));
+    }
+
+    /**
+     * Returns true if the item satisfies every criterion.
+     */
+    public boolean matches(MenuItem item) {
+        return matchesIndexed(item) && (residual == null || residual.test(item));
+    }
+
+    public static final class Builder {
+        private MenuCategory category;
+        private Boolean available;
+        private DietaryType dietaryType;
+        private Double minPrice;
+        private Double maxPrice;
+        private String namePrefix;
+        private Predicate<MenuItem> residual;
+
+        private Builder() {
+        }
+
+        public Builder category(MenuCategory category) {
+            this.category = category;
+            return this;
+        }
+
+        public Builder available(boolean available) {
+            this.available = available;
+            return this;
+        }
+
+        public Builder dietaryType(DietaryType dietaryType) {
+            this.dietaryType = dietaryType;
+            return this;
+        }
+
+        public Builder priceBetween(double min, double max) {
+            this.minPrice = min;
+            this.maxPrice = max;
+            return this;
+        }
+
+        public Builder namePrefix(String prefix) {
+            this.namePrefix = prefix.toLowerCase(Locale.ROOT);
+            return this;
+        }
+
+        /** Adds a predicate that is ANDed with any earlier one. */
+        public Builder where(Predicate<MenuItem> filter) {
+            this.residual = residual == null ? filter : residual.and(filter);
+            return this;
+        }
+
+        public MenuQuery build() {
+            if (minPrice != null && (minPrice < 0 || minPrice > maxPrice)) {
+                throw new IllegalArgumentException("price range must satisfy 0 <= min <= max");
+            }
+            if (namePrefix != null && namePrefix.isBlank()) {
+                throw new IllegalArgumentException("namePrefix must not be blank");
+            }
+            return new MenuQuery(this);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.university.restaurant.repository;
 import com.university.restaurant.model.menu.MenuCategory;
 import com.university.restaurant.model.menu.MenuItem;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -11,5 +12,20 @@ public interface MenuRepository {
     Optional<MenuItem> findById(String id);
     List<MenuItem> findByCategory(MenuCategory category);
     List<MenuItem> search(Predicate<MenuItem> filter);
+
+    /**
+     * Items matching every criterion of the query. Implementations answer
+     * the structured criteria from an index or the database where they can;
+     * this default tests each item in Java.
+     */
+    default List<MenuItem> query(MenuQuery query) {
+        return search(query::matches);
+    }
+
+    /** Items with the given ids, in no particular order; unknown ids are skipped. */
+    default List<MenuItem> findAllById(Collection<String> ids) {
+        return ids.stream().map(this::findById).flatMap(Optional::stream).toList();
+    }
+
     void save(MenuItem item);
 }
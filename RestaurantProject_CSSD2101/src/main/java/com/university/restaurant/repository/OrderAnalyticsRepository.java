@@ -0,0 +1,49 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.order.OrderStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Aggregate queries over the order history. Implementations backed by a
+ * database compute these in SQL and return only the aggregated rows.
+ */
+public interface OrderAnalyticsRepository {
+
+    /** Units sold of one menu item, under the name it was last ordered as. */
+    record ItemSales(String menuItemId, String name, long quantity) {
+    }
+
+    /** Units of one item, by name, in one order created at {@code createdAt}. */
+    record TimedItemSales(String name, OffsetDateTime createdAt, long quantity) {
+    }
+
+    /** Creation time and total of one order. */
+    record OrderTotal(OffsetDateTime createdAt, double total) {
+    }
+
+    /**
+     * Units sold per menu item across orders in any of the given statuses.
+     */
+    List<ItemSales> itemSales(Set<OrderStatus> statuses);
+
+    /**
+     * Units sold per item name and order across orders in any of the given
+     * statuses created at or after {@code since}, for replaying recent sales
+     * into time-bucketed views.
+     */
+    List<TimedItemSales> itemSalesSince(Set<OrderStatus> statuses, OffsetDateTime since);
+
+    /**
+     * Sum of order totals for orders in {@code status} created in [from, to).
+     */
+    double revenueBetween(OrderStatus status, OffsetDateTime from, OffsetDateTime to);
+
+    /**
+     * Creation time and total of every order in {@code status}, for building
+     * time-bucketed views of revenue.
+     */
+    List<OrderTotal> orderTotals(OrderStatus status);
+}
@@ -3,6 +3,7 @@ package com.university.restaurant.repository;
 import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,5 +15,13 @@ public interface OrderRepository {
 
     List<Order> findByTable(int tableNumber);
 
+    /** Orders created in [from, to), oldest first. */
+    List<Order> findCreatedBetween(OffsetDateTime from, OffsetDateTime to);
+
     void save(Order order);
+
+    /** Stores orders that have never been saved; adapters override this to insert them in one batch. */
+    default void insertAll(List<Order> orders) {
+        orders.forEach(this::save);
+    }
 }
@@ -1,23 +1,56 @@
 package com.university.restaurant.repository;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 public final class RestaurantAuditEntry {
     final String userId, role, action, entityType, entityId, details, prevHash, hash;
-    final LocalDateTime timestamp = LocalDateTime.now();
+    final LocalDateTime timestamp;
 
     public RestaurantAuditEntry(String userId, String role, String action,
                          String entityType, String entityId, String details, String prevHash) {
+        // Database timestamp columns keep microseconds; hash only what will be stored
+        this(userId, role, action, entityType, entityId, details,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), prevHash);
+    }
+
+    private RestaurantAuditEntry(String userId, String role, String action, String entityType,
+                                 String entityId, String details, LocalDateTime timestamp, String prevHash) {
+        this(userId, role, action, entityType, entityId, details, timestamp, prevHash,
+                computeHash(userId, role, action, entityType, entityId, details, timestamp, prevHash));
+    }
+
+    private RestaurantAuditEntry(String userId, String role, String action, String entityType, String entityId,
+                                 String details, LocalDateTime timestamp, String prevHash, String hash) {
         this.userId = userId;
         this.role = role;
         this.action = action;
         this.entityType = entityType;
         this.entityId = entityId;
         this.details = details;
+        this.timestamp = timestamp;
         this.prevHash = prevHash;
-        this.hash = sha256(userId + role + action + entityType + entityId + details + timestamp + prevHash);
+        this.hash = hash;
+    }
+
+    /**
+     * Rebuilds a stored entry exactly as persisted, keeping its stored hash so
+     * that verification can detect tampering.
+     */
+    public static RestaurantAuditEntry restore(String userId, String role, String action, String entityType,
+                                        String entityId, String details, LocalDateTime timestamp,
+                                        String prevHash, String hash) {
+        return new RestaurantAuditEntry(userId, role, action, entityType, entityId, details, timestamp, prevHash, hash);
+    }
+
+    /**
+     * Computes the chain hash for the given field values. Verifiers use this to
+     * recompute the hash of persisted entries. Fields are length-prefixed, so
+     * values cannot bleed across field boundaries.
+     */
+    public static String computeHash(String userId, String role, String action, String entityType,
+                                     String entityId, String details, LocalDateTime timestamp, String prevHash) {
+        return AuditHasher.hashEntry(userId, role, action, entityType, entityId, details, timestamp, prevHash);
     }
 
     public String getUserId() {
@@ -56,16 +89,17 @@ public final class RestaurantAuditEntry {
         return timestamp;
     }
 
+    /**
+     * Returns a copy of this entry linked to {@code prevHash}, keeping the original
+     * timestamp. Used by writers that sequence entries after the caller created them.
+     */
+    RestaurantAuditEntry chainedTo(String prevHash) {
+        if (prevHash.equals(this.prevHash)) return this;
+        return new RestaurantAuditEntry(userId, role, action, entityType, entityId, details, timestamp, prevHash);
+    }
+
     static String sha256(String data) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] bytes = md.digest(data.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder();
-            for (byte b : bytes) sb.append(String.format("%02x", b));
-            return sb.toString();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return AuditHasher.sha256(data);
     }
 
     @Override
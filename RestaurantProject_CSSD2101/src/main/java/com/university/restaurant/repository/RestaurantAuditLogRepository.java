@@ -1,10 +1,44 @@
 package com.university.restaurant.repository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RestaurantAuditLogRepository {
     void append(RestaurantAuditEntry entry);
     List<RestaurantAuditEntry> all();
     boolean verifyChain();
     String tailHash();
+
+    /** Appends already-chained entries in order; adapters override this to write them in one batch. */
+    default void appendAll(List<RestaurantAuditEntry> entries) {
+        entries.forEach(this::append);
+    }
+
+    /**
+     * Returns every entry lazily in append order. This default streams all();
+     * stores backed by files or a database override it to read in pages, so
+     * exporting or replaying a large log never holds all of it in memory.
+     */
+    default Stream<RestaurantAuditEntry> stream() {
+        return all().stream();
+    }
+
+    /**
+     * Returns entries matching the query in append order. The cursor is the
+     * entry's position in the log. This default scans all(); stores override
+     * it with indexed lookups.
+     */
+    default AuditPage query(AuditQuery query) {
+        List<RestaurantAuditEntry> log = all();
+        List<RestaurantAuditEntry> results = new ArrayList<>();
+        long last = -1;
+        for (int i = query.getAfter() == null ? 0 : (int) (query.getAfter() + 1); i < log.size(); i++) {
+            if (!query.matches(log.get(i))) continue;
+            if (results.size() == query.getLimit()) return new AuditPage(results, last);
+            results.add(log.get(i));
+            last = i;
+        }
+        return new AuditPage(results, null);
+    }
 }
@@ -0,0 +1,183 @@
+package com.university.restaurant.repository;
+
+import java.util.*;
+
+/**
+ * Space-Saving summary (Metwally et al.) of the most frequent keys in a
+ * stream, using at most {@code capacity} counters however many distinct
+ * keys arrive.
+ *
+ * <p>
+ * A tracked key's count never underestimates its true count and
+ * overestimates it by at most its recorded error, which is itself at most
+ * {@code total / capacity}. Every key occurring more than
+ * {@code total / capacity} times is tracked. Counters live in a min-heap,
+ * so an update costs O(log capacity). Not thread-safe.
+ * </p>
+ */
+public final class SpaceSavingSketch {
+
+    /** A tracked key; its true count lies in [count - error, count]. */
+    public record Counter(String key, long count, long error) {
+    }
+
+    private static final class Slot {
+        String key;
+        long count;
+        long error;
+        int pos;
+    }
+
+    private final int capacity;
+    private final Map<String, Slot> slots;
+    private final Slot[] heap;
+    private int size;
+    private long total;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.slots = new HashMap<>(capacity * 2);
+        this.heap = new Slot[capacity];
+    }
+
+    public void offer(String key, long count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        total += count;
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            slot.count += count;
+            siftDown(slot.pos);
+        } else if (size < capacity) {
+            slot = new Slot();
+            slot.key = key;
+            slot.count = count;
+            slot.pos = size;
+            heap[size++] = slot;
+            slots.put(key, slot);
+            siftUp(slot.pos);
+        } else {
+            // Evict the smallest counter; the newcomer inherits its count as error
+            slot = heap[0];
+            slots.remove(slot.key);
+            slot.key = key;
+            slot.error = slot.count;
+            slot.count += count;
+            slots.put(key, slot);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Upper bound on the count of {@code key}: its counter if tracked, else
+     * the smallest count an untracked key could have reached.
+     */
+    public long estimate(String key) {
+        Slot slot = slots.get(key);
+        return slot != null ? slot.count : minCount();
+    }
+
+    /** Sum of all counts offered, including merged ones. */
+    public long total() {
+        return total;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** The {@code limit} largest counters, largest first. */
+    public List<Counter> top(int limit) {
+        List<Counter> counters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            counters.add(new Counter(heap[i].key, heap[i].count, heap[i].error));
+        }
+        counters.sort(Comparator.comparingLong(Counter::count).reversed());
+        return counters.size() > limit ? List.copyOf(counters.subList(0, limit)) : counters;
+    }
+
+    /**
+     * Combines two summaries of disjoint streams into one of the same
+     * capacity. A key missing from one side is charged that side's minimum
+     * count, both as count and as error, so the bounds above still hold for
+     * the combined stream.
+     */
+    public static SpaceSavingSketch merge(SpaceSavingSketch a, SpaceSavingSketch b) {
+        if (a.capacity != b.capacity) {
+            throw new IllegalArgumentException("Cannot merge sketches of different capacity");
+        }
+        long minA = a.minCount(), minB = b.minCount();
+        Map<String, long[]> union = new HashMap<>((a.size + b.size) * 2);
+        for (int i = 0; i < a.size; i++) {
+            Slot s = a.heap[i];
+            Slot o = b.slots.get(s.key);
+            union.put(s.key, new long[]{
+                    s.count + (o != null ? o.count : minB),
+                    s.error + (o != null ? o.error : minB)});
+        }
+        for (int i = 0; i < b.size; i++) {
+            Slot s = b.heap[i];
+            if (!a.slots.containsKey(s.key)) {
+                union.put(s.key, new long[]{s.count + minA, s.error + minA});
+            }
+        }
+
+        List<Map.Entry<String, long[]>> ranked = new ArrayList<>(union.entrySet());
+        ranked.sort((x, y) -> Long.compare(y.getValue()[0], x.getValue()[0]));
+
+        SpaceSavingSketch merged = new SpaceSavingSketch(a.capacity);
+        for (int i = 0; i < Math.min(a.capacity, ranked.size()); i++) {
+            Slot slot = new Slot();
+            slot.key = ranked.get(i).getKey();
+            slot.count = ranked.get(i).getValue()[0];
+            slot.error = ranked.get(i).getValue()[1];
+            slot.pos = merged.size;
+            merged.heap[merged.size++] = slot;
+            merged.slots.put(slot.key, slot);
+            merged.siftUp(slot.pos);
+        }
+        merged.total = a.total + b.total;
+        return merged;
+    }
+
+    private long minCount() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+
+    private void siftUp(int i) {
+        Slot slot = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].count <= slot.count) break;
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(slot, i);
+    }
+
+    private void siftDown(int i) {
+        Slot slot = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) child++;
+            if (slot.count <= heap[child].count) break;
+            place(heap[child], i);
+            i = child;
+        }
+        place(slot, i);
+    }
+
+    private void place(Slot slot, int i) {
+        heap[i] = slot;
+        slot.pos = i;
+    }
+}
@@ -0,0 +1,163 @@
+package com.university.restaurant.repository;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Multi-version map backing the concurrent in-memory repositories.
+ *
+ * <p>
+ * Every key holds a chain of versions, newest first, each stamped with the
+ * commit number that wrote it. Writers are serialized and publish a write by
+ * bumping a volatile commit counter. A reader pins the current commit number
+ * and then sees, for every key, the newest version at or below it: a
+ * consistent point-in-time view, built without locks while writers keep going.
+ * </p>
+ *
+ * <p>
+ * Pinned commit numbers live in a small array of reader slots. When a writer
+ * replaces a value it drops the versions that no pinned reader can still
+ * need, so chains stay short. A reader that finds no free slot falls back to
+ * reading under the writer lock. Keys are never removed.
+ * </p>
+ */
+final class VersionedMap<K, V> {
+
+    private static final long IDLE = Long.MAX_VALUE;
+    private static final int SLOTS = 128;
+
+    /** Values are stored in this chain; older is trimmed but never reordered. */
+    private static final class Version<V> {
+        final V value;
+        final long commit;
+        volatile Version<V> older;
+
+        Version(V value, long commit, Version<V> older) {
+            this.value = value;
+            this.commit = commit;
+            this.older = older;
+        }
+    }
+
+    /**
+     * Point-in-time view handed to {@link #read}. Only valid inside the callback.
+     */
+    interface Snapshot<K, V> {
+        V get(K key);
+
+        Stream<V> values();
+    }
+
+    private final ConcurrentHashMap<K, Version<V>> chains = new ConcurrentHashMap<>();
+    private final AtomicLongArray pinned = new AtomicLongArray(SLOTS);
+    private final Object writeLock = new Object();
+    private volatile long committed = 0;
+    private volatile long floor = 0;
+
+    VersionedMap() {
+        for (int i = 0; i < SLOTS; i++) {
+            pinned.set(i, IDLE);
+        }
+    }
+
+    /**
+     * Latest committed value for the key, or null.
+     */
+    V get(K key) {
+        Version<V> head = chains.get(key);
+        return head == null ? null : head.value;
+    }
+
+    void put(K key, V value) {
+        Objects.requireNonNull(value);
+        synchronized (writeLock) {
+            long commit = committed + 1;
+            Version<V> head = new Version<>(value, commit, chains.get(key));
+            chains.put(key, head);
+            committed = commit;
+            trim(head);
+        }
+    }
+
+    /**
+     * Runs {@code query} against a snapshot of the latest commit.
+     */
+    <R> R read(Function<Snapshot<K, V>, R> query) {
+        int slot = pin();
+        if (slot < 0) {
+            synchronized (writeLock) {
+                return query.apply(view(committed));
+            }
+        }
+        try {
+            return query.apply(view(pinned.get(slot)));
+        } finally {
+            pinned.set(slot, IDLE);
+        }
+    }
+
+    /**
+     * Claims a reader slot for the current commit. The floor check after
+     * publishing the slot guarantees that no writer has trimmed versions this
+     * reader needs: a writer raises the floor before scanning the slots.
+     */
+    private int pin() {
+        int start = (int) (Thread.currentThread().getId() % SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            int slot = (start + i) % SLOTS;
+            long commit = committed;
+            if (pinned.compareAndSet(slot, IDLE, commit)) {
+                while (floor > commit) {
+                    commit = committed;
+                    pinned.set(slot, commit);
+                }
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Cuts the chain below the newest version every pinned reader can see.
+     */
+    private void trim(Version<V> head) {
+        if (head.older == null) return;
+        long oldest = committed;
+        floor = oldest;
+        for (int i = 0; i < SLOTS; i++) {
+            oldest = Math.min(oldest, pinned.get(i));
+        }
+        for (Version<V> v = head; v != null; v = v.older) {
+            if (v.commit <= oldest) {
+                v.older = null;
+                return;
+            }
+        }
+    }
+
+    private Snapshot<K, V> view(long commit) {
+        return new Snapshot<>() {
+            @Override
+            public V get(K key) {
+                return visible(chains.get(key), commit);
+            }
+
+            @Override
+            public Stream<V> values() {
+                return chains.values().stream()
+                        .map(head -> visible(head, commit))
+                        .filter(Objects::nonNull);
+            }
+        };
+    }
+
+    private static <V> V visible(Version<V> head, long commit) {
+        for (Version<V> v = head; v != null; v = v.older) {
+            if (v.commit <= commit) return v.value;
+        }
+        return null;
+    }
+}
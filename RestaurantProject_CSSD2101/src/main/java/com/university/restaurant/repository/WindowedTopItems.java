@@ -0,0 +1,273 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.order.OrderStatusListener;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Approximate top sellers over hour, day and week windows, in memory that
+ * does not grow with the number of orders.
+ *
+ * <p>
+ * Sold items are counted into one bucket per hour of order creation. Each
+ * bucket holds a {@link SpaceSavingSketch} of {@code ceil(1 / epsilon)}
+ * counters and a {@link CountMinSketch} with the same epsilon and failure
+ * probability {@code delta}. As time passes, hour buckets older than
+ * {@value #HOURS_KEPT} hours are merged into day buckets, days older than
+ * {@value #DAYS_KEPT} days into Monday-aligned week buckets, and weeks older
+ * than {@value #WEEKS_KEPT} weeks are dropped. A query merges the buckets
+ * overlapping its range, so ranges reaching into rolled-up time are rounded
+ * out to day or week boundaries.
+ * </p>
+ *
+ * <p>
+ * Each reported count is the smaller of the two sketches' estimates and is
+ * never below the true count; it exceeds it by at most the reported error,
+ * which is bounded by {@code epsilon} times the items sold in the range.
+ * Counts are only added: an order cancelled after being served stays counted.
+ * </p>
+ *
+ * <p>
+ * {@link #seed} loads the sales still inside the week retention from the
+ * order history, so the engine covers the same range after a restart as
+ * before it.
+ * </p>
+ */
+public final class WindowedTopItems implements OrderStatusListener {
+
+    static final int HOURS_KEPT = 48;
+    static final int DAYS_KEPT = 14;
+    static final int WEEKS_KEPT = 104;
+
+    private static final Set<OrderStatus> SOLD = EnumSet.of(OrderStatus.PAID, OrderStatus.SERVED);
+    private static final long HOUR = 3600;
+    private static final long DAY = 24 * HOUR;
+    private static final long WEEK = 7 * DAY;
+    // 1970-01-05 was a Monday
+    private static final long WEEK_ORIGIN = 4 * DAY;
+    // Rough heap cost of one Space-Saving counter: slot, map entry, heap reference
+    private static final long COUNTER_BYTES = 96;
+
+    /** An item's estimated sales; the true count lies in [count - maxError, count]. */
+    public record Estimate(String key, long count, long maxError) {
+    }
+
+    /** Snapshot of the engine's size. */
+    public record Stats(long lines, int hourBuckets, int dayBuckets, int weekBuckets, long sizeInBytes) {
+    }
+
+    private final class Bucket {
+        private SpaceSavingSketch heavyHitters = new SpaceSavingSketch(capacity);
+        private CountMinSketch counts = new CountMinSketch(epsilon, delta);
+
+        synchronized void offer(String key, long count) {
+            heavyHitters.offer(key, count);
+            counts.add(key, count);
+        }
+
+        synchronized void mergeFrom(Bucket other) {
+            synchronized (other) {
+                heavyHitters = SpaceSavingSketch.merge(heavyHitters, other.heavyHitters);
+                counts = CountMinSketch.merge(counts, other.counts);
+            }
+        }
+
+        long sizeInBytes() {
+            return capacity * COUNTER_BYTES + counts.sizeInBytes();
+        }
+    }
+
+    private final double epsilon;
+    private final double delta;
+    private final int capacity;
+    private final ConcurrentSkipListMap<Long, Bucket> hours = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Bucket> days = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Bucket> weeks = new ConcurrentSkipListMap<>();
+    // Offers and queries share the read side; rolling buckets up takes the write side
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong latestHour = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder lines = new LongAdder();
+
+    /**
+     * @param epsilon maximum overestimate as a fraction of the items sold in a range
+     * @param delta   probability that the Count-Min estimate exceeds that bound
+     */
+    public WindowedTopItems(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("epsilon and delta must be in (0, 1)");
+        }
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.capacity = (int) Math.ceil(1 / epsilon);
+    }
+
+    /**
+     * Counts the sales in {@code history} still inside the week retention as
+     * of {@code now}. Meant to be called once, before status changes are fed:
+     * an order sold while seeding may be counted twice.
+     */
+    public void seed(OrderAnalyticsRepository history, OffsetDateTime now) {
+        advanceTo(Math.floorDiv(now.toEpochSecond(), HOUR));
+        OffsetDateTime since = OffsetDateTime.ofInstant(Instant.ofEpochSecond(weekCutoff()), ZoneOffset.UTC);
+        for (OrderAnalyticsRepository.TimedItemSales sale : history.itemSalesSince(SOLD, since)) {
+            offer(sale.name(), sale.quantity(), sale.createdAt());
+        }
+    }
+
+    /**
+     * Counts the items of an order when it is first served or paid.
+     */
+    @Override
+    public void statusChanged(Order order, OrderStatus from, OrderStatus to) {
+        if (SOLD.contains(from) || !SOLD.contains(to)) return;
+        Map<String, Long> units = new HashMap<>();
+        for (MenuItem item : order.getItems()) {
+            units.merge(item.getName(), 1L, Long::sum);
+        }
+        units.forEach((name, count) -> offer(name, count, order.getCreatedAt()));
+    }
+
+    /**
+     * Counts {@code count} sales of {@code key} at time {@code at}. Sales
+     * older than the week retention are ignored.
+     */
+    public void offer(String key, long count, OffsetDateTime at) {
+        long second = at.toEpochSecond();
+        advanceTo(Math.floorDiv(second, HOUR));
+
+        lock.readLock().lock();
+        try {
+            ConcurrentSkipListMap<Long, Bucket> level;
+            long start;
+            if (second >= hourCutoff()) {
+                level = hours;
+                start = align(second, HOUR, 0);
+            } else if (second >= dayCutoff()) {
+                level = days;
+                start = align(second, DAY, 0);
+            } else if (second >= weekCutoff()) {
+                level = weeks;
+                start = align(second, WEEK, WEEK_ORIGIN);
+            } else {
+                return;
+            }
+            level.computeIfAbsent(start, k -> new Bucket()).offer(key, count);
+            lines.add(count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} best sellers over the last {@code periods} hours,
+     * days or weeks up to {@code now}, the current one included.
+     */
+    public List<Estimate> top(ChronoUnit window, int periods, int limit, OffsetDateTime now) {
+        if (periods < 1 || limit < 1) {
+            throw new IllegalArgumentException("periods and limit must be positive");
+        }
+        long size = switch (window) {
+            case HOURS -> HOUR;
+            case DAYS -> DAY;
+            case WEEKS -> WEEK;
+            default -> throw new IllegalArgumentException("Unsupported window: " + window);
+        };
+        long current = align(now.toEpochSecond(), size, window == ChronoUnit.WEEKS ? WEEK_ORIGIN : 0);
+        long from = current - (periods - 1) * size;
+        long to = current + size;
+
+        Bucket merged = new Bucket();
+        lock.readLock().lock();
+        try {
+            mergeOverlapping(merged, hours, HOUR, from, to);
+            mergeOverlapping(merged, days, DAY, from, to);
+            mergeOverlapping(merged, weeks, WEEK, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Estimate> estimates = new ArrayList<>();
+        for (SpaceSavingSketch.Counter c : merged.heavyHitters.top(capacity)) {
+            long count = Math.min(c.count(), merged.counts.estimate(c.key()));
+            long lowerBound = Math.max(0, c.count() - c.error());
+            estimates.add(new Estimate(c.key(), count, count - Math.min(lowerBound, count)));
+        }
+        estimates.sort(Comparator.comparingLong(Estimate::count).reversed());
+        return estimates.size() > limit ? List.copyOf(estimates.subList(0, limit)) : estimates;
+    }
+
+    public Stats stats() {
+        long bytes = 0;
+        for (Map<Long, Bucket> level : List.of(hours, days, weeks)) {
+            for (Bucket bucket : level.values()) bytes += bucket.sizeInBytes();
+        }
+        return new Stats(lines.sum(), hours.size(), days.size(), weeks.size(), bytes);
+    }
+
+    private void mergeOverlapping(Bucket into, ConcurrentSkipListMap<Long, Bucket> level,
+                                  long size, long from, long to) {
+        for (Bucket bucket : level.subMap(from - size, false, to, false).values()) {
+            into.mergeFrom(bucket);
+        }
+    }
+
+    /** Rolls buckets up a level when the newest hour seen moves forward. */
+    private void advanceTo(long hour) {
+        long seen = latestHour.get();
+        while (hour > seen) {
+            if (latestHour.compareAndSet(seen, hour)) {
+                rollUp();
+                return;
+            }
+            seen = latestHour.get();
+        }
+    }
+
+    private void rollUp() {
+        lock.writeLock().lock();
+        try {
+            rollInto(hours, hourCutoff(), days, DAY, 0);
+            rollInto(days, dayCutoff(), weeks, WEEK, WEEK_ORIGIN);
+            weeks.headMap(weekCutoff()).clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rollInto(ConcurrentSkipListMap<Long, Bucket> finer, long cutoff,
+                          ConcurrentSkipListMap<Long, Bucket> coarser, long size, long origin) {
+        Map<Long, Bucket> expired = finer.headMap(cutoff);
+        for (Map.Entry<Long, Bucket> e : expired.entrySet()) {
+            coarser.computeIfAbsent(align(e.getKey(), size, origin), k -> new Bucket()).mergeFrom(e.getValue());
+        }
+        expired.clear();
+    }
+
+    private long hourCutoff() {
+        return (latestHour.get() - HOURS_KEPT + 1) * HOUR;
+    }
+
+    private long dayCutoff() {
+        return align(hourCutoff(), DAY, 0) - (DAYS_KEPT - 1) * DAY;
+    }
+
+    private long weekCutoff() {
+        return align(dayCutoff(), WEEK, WEEK_ORIGIN) - (WEEKS_KEPT - 1) * WEEK;
+    }
+
+    private static long align(long second, long size, long origin) {
+        return Math.floorDiv(second - origin, size) * size + origin;
+    }
+}
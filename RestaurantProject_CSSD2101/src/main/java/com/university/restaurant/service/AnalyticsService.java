@@ -1,25 +1,34 @@
 package com.university.restaurant.service;
 
 import com.university.restaurant.chain.analytics.AnalyticsPermissionChain;
-import com.university.restaurant.model.menu.MenuItem;
-import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
 import com.university.restaurant.model.staff.StaffRole;
 import com.university.restaurant.port.AnalyticsServicePort;
+import com.university.restaurant.repository.InMemoryOrderAnalyticsRepo;
+import com.university.restaurant.repository.OrderAnalyticsRepository;
+import com.university.restaurant.repository.OrderAnalyticsRepository.ItemSales;
 import com.university.restaurant.repository.OrderRepository;
+import com.university.restaurant.repository.WindowedTopItems;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * <p>
  * Service implementation for analytics-related operations such as computing
  * top-selling menu items and daily revenue totals. This class sits in the
- * application/service layer and interacts with the {@link OrderRepository}
- * to retrieve order data.
+ * application/service layer and asks an {@link OrderAnalyticsRepository}
+ * for aggregates, so a database-backed store returns a few summed rows
+ * rather than the whole order history.
  * </p>
  *
  * <p>
@@ -30,19 +39,50 @@ import java.util.stream.Collectors;
  */
 public class AnalyticsService implements AnalyticsServicePort {
 
-    /** Repository for retrieving order records used in analytics. */
-    private final OrderRepository orders;
+    /** Orders counted as sold: served, whether or not paid yet. */
+    private static final Set<OrderStatus> COMPLETED = EnumSet.of(OrderStatus.PAID, OrderStatus.SERVED);
+
+    /** Repository answering the aggregate queries behind each report. */
+    private final OrderAnalyticsRepository analytics;
+
+    /** Default sketch accuracy when the engine is built from an order repository. */
+    private static final double TOP_ITEMS_EPSILON = 0.001;
+    private static final double TOP_ITEMS_DELTA = 0.01;
+
+    /** Sketch engine answering approximate top sellers over long windows. */
+    private final Supplier<WindowedTopItems> topItems;
 
     /** Permission chain enforcing which staff roles may access analytics. */
     private final AnalyticsPermissionChain permissions = new AnalyticsPermissionChain();
 
     /**
-     * Constructs the analytics service with the required order repository.
+     * Constructs the analytics service over an aggregate query repository
+     * and a top-seller sketch engine. The engine must be fed status changes
+     * separately, e.g. by the order and payment services.
+     *
+     * @param analytics repository computing sales and revenue aggregates
+     * @param topItems  engine answering approximate top sellers
+     */
+    public AnalyticsService(OrderAnalyticsRepository analytics, WindowedTopItems topItems) {
+        this.analytics = analytics;
+        this.topItems = () -> topItems;
+    }
+
+    /**
+     * Constructs the analytics service over an order repository, aggregating
+     * its orders in memory. Like the other reports, approximate top sellers
+     * are recounted from the repository on each call, into an engine seeded
+     * with its orders.
      *
      * @param orders repository used to query order data for analytics
      */
     public AnalyticsService(OrderRepository orders) {
-        this.orders = orders;
+        this.analytics = new InMemoryOrderAnalyticsRepo(orders);
+        this.topItems = () -> {
+            WindowedTopItems seeded = new WindowedTopItems(TOP_ITEMS_EPSILON, TOP_ITEMS_DELTA);
+            seeded.seed(analytics, now());
+            return seeded;
+        };
     }
 
     /**
@@ -67,16 +107,7 @@ public class AnalyticsService implements AnalyticsServicePort {
 
         permissions.check(actor, "view top-selling analytics");
 
-        // Consider only paid or served orders
-        List<Order> completed = new ArrayList<>(orders.findByStatus(OrderStatus.PAID));
-        completed.addAll(orders.findByStatus(OrderStatus.SERVED));
-
-        return completed.stream()
-                .flatMap(o -> o.getItems().stream())
-                .collect(Collectors.groupingBy(
-                        MenuItem::getName,     // group by item name
-                        Collectors.counting()  // count how many times sold
-                ));
+        return byName(analytics.itemSales(COMPLETED));
     }
 
     /**
@@ -98,11 +129,52 @@ public class AnalyticsService implements AnalyticsServicePort {
 
         LocalDate today = LocalDate.now();
 
-        // Filter only PAID orders for today's date
-        return orders.findByStatus(OrderStatus.PAID).stream()
-                .filter(o -> o.getCreatedAt().toLocalDate().equals(today))
-                .mapToDouble(Order::calculateTotal)
-                .sum();
+        // Half-open range, so an order at midnight counts once
+        return analytics.revenueBetween(OrderStatus.PAID, startOf(today), startOf(today.plusDays(1)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Answered from the sketch engine in time independent of the order
+     * history; the engine holds orders served or paid within its retention.
+     * </p>
+     */
+    @Override
+    public List<ItemEstimate> approximateTopSellingItems(StaffRole actor, ChronoUnit window, int periods, int limit) {
+
+        permissions.check(actor, "view top-selling analytics");
+
+        return topItems.get().top(window, periods, limit, now()).stream()
+                .map(e -> new ItemEstimate(e.key(), e.count(), e.maxError()))
+                .toList();
+    }
+
+    /**
+     * Current time, in the same wall-clock-at-UTC convention as order timestamps.
+     */
+    private static OffsetDateTime now() {
+        return LocalDateTime.now().atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * Merges per-item sales into per-name counts, as the port reports them.
+     */
+    private static Map<String, Long> byName(List<ItemSales> sales) {
+        return sales.stream()
+                .collect(Collectors.groupingBy(
+                        ItemSales::name,
+                        Collectors.summingLong(ItemSales::quantity)
+                ));
+    }
+
+    /**
+     * Start of a day as orders stamp it: {@link com.university.restaurant.model.order.Order}
+     * records local wall-clock time and reports it at offset UTC.
+     */
+    private static OffsetDateTime startOf(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC);
     }
 
 }
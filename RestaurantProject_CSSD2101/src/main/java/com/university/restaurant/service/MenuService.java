@@ -3,6 +3,7 @@ package com.university.restaurant.service;
 import com.university.restaurant.chain.menu.MenuPermissionChain;
 import com.university.restaurant.model.menu.MenuItem;
 import com.university.restaurant.model.staff.StaffRole;
+import com.university.restaurant.repository.MenuQuery;
 import com.university.restaurant.repository.MenuRepository;
 import com.university.restaurant.port.MenuServicePort;
 import com.university.restaurant.repository.RestaurantAuditEntry;
@@ -129,6 +130,6 @@ public class MenuService implements MenuServicePort {
      */
     @Override
     public List<MenuItem> listMenuAvailableItems() {
-        return repo.search(MenuItem::isAvailable);
+        return repo.query(MenuQuery.availableItems());
     }
 }
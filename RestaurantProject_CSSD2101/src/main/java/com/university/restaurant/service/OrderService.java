@@ -4,12 +4,14 @@ import com.university.restaurant.chain.order.OrderPermissionChain;
 import com.university.restaurant.model.menu.MenuItem;
 import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.order.OrderStatusListener;
 import com.university.restaurant.model.staff.StaffRole;
 import com.university.restaurant.port.OrderServicePort;
 import com.university.restaurant.repository.OrderRepository;
 import com.university.restaurant.repository.RestaurantAuditEntry;
 import com.university.restaurant.repository.RestaurantAuditLogRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,6 +33,7 @@ public class OrderService implements OrderServicePort {
 
     private final OrderRepository repo;
     private final RestaurantAuditLogRepository audits;
+    private final OrderStatusListener statusEvents;
     private final OrderPermissionChain permissions = new OrderPermissionChain();
 
     /**
@@ -40,8 +43,22 @@ public class OrderService implements OrderServicePort {
      * @param audits the repository used to append audit log entries
      */
     public OrderService(OrderRepository repo, RestaurantAuditLogRepository audits) {
+        this(repo, audits, (order, from, to) -> { });
+    }
+
+    /**
+     * Constructs a new {@code OrderService} that also reports every stored
+     * status change, e.g. to keep analytics views current.
+     *
+     * @param repo         the repository used to persist and retrieve orders
+     * @param audits       the repository used to append audit log entries
+     * @param statusEvents notified after a status change has been saved
+     */
+    public OrderService(OrderRepository repo, RestaurantAuditLogRepository audits,
+                        OrderStatusListener statusEvents) {
         this.repo = repo;
         this.audits = audits;
+        this.statusEvents = statusEvents;
     }
 
     /**
@@ -90,6 +107,46 @@ public class OrderService implements OrderServicePort {
         return order;
     }
 
+    /**
+     * Builds every order first, so a bad table id rejects the batch before
+     * anything is stored, then saves the orders with one
+     * {@link OrderRepository#insertAll} and their audit entries with one
+     * {@link RestaurantAuditLogRepository#appendAll}.
+     */
+    @Override
+    public List<Order> placeOrders(StaffRole actor, List<PendingOrder> pending) {
+
+        permissions.check(actor, "place an order");
+
+        List<Order> orders = new ArrayList<>(pending.size());
+        for (PendingOrder p : pending) {
+            Order order = new Order(Integer.parseInt(p.tableId()), actor.id());
+            p.items().forEach(order::addItem);
+            orders.add(order);
+        }
+
+        repo.insertAll(orders);
+
+        List<RestaurantAuditEntry> entries = new ArrayList<>(orders.size());
+        String prev = audits.tailHash();
+        for (Order order : orders) {
+            RestaurantAuditEntry entry = new RestaurantAuditEntry(
+                    actor.id(),
+                    actor.getClass().getSimpleName(),
+                    "PLACE_ORDER",
+                    "Order",
+                    order.getId().toString(),
+                    "Placed order with %d items".formatted(order.getItems().size()),
+                    prev
+            );
+            entries.add(entry);
+            prev = entry.getHash();
+        }
+        audits.appendAll(entries);
+
+        return orders;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -116,11 +173,16 @@ public class OrderService implements OrderServicePort {
                 .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
 
         OrderStatus status = OrderStatus.valueOf(newStatus.toUpperCase());
+        OrderStatus previous = order.getStatus();
 
         order.updateStatus(status);
 
         repo.save(order);
 
+        if (previous != status) {
+            statusEvents.statusChanged(order, previous, status);
+        }
+
         audits.append(new RestaurantAuditEntry(
                 actor.id(),
                 actor.getClass().getSimpleName(),
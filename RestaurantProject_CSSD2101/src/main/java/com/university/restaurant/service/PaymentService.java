@@ -3,6 +3,7 @@ package com.university.restaurant.service;
 import com.university.restaurant.chain.payment.PaymentPermissionChain;
 import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.order.OrderStatusListener;
 import com.university.restaurant.model.payment.Payment;
 import com.university.restaurant.model.payment.PaymentMethod;
 import com.university.restaurant.model.staff.StaffRole;
@@ -39,6 +40,7 @@ public class PaymentService implements PaymentServicePort {
     private final OrderRepository orders;
     private final PaymentRepository payments;
     private final RestaurantAuditLogRepository audits;
+    private final OrderStatusListener statusEvents;
     private final PaymentPermissionChain permissions = new PaymentPermissionChain();
 
     /**
@@ -52,9 +54,23 @@ public class PaymentService implements PaymentServicePort {
     public PaymentService(OrderRepository orders,
                           PaymentRepository payments,
                           RestaurantAuditLogRepository audits) {
+        this(orders, payments, audits, (order, from, to) -> { });
+    }
+
+    /**
+     * As above, and reports each order moved to PAID once it has been saved,
+     * e.g. to keep analytics views current.
+     *
+     * @param statusEvents notified after a payment's status change has been saved
+     */
+    public PaymentService(OrderRepository orders,
+                          PaymentRepository payments,
+                          RestaurantAuditLogRepository audits,
+                          OrderStatusListener statusEvents) {
         this.orders = orders;
         this.payments = payments;
         this.audits = audits;
+        this.statusEvents = statusEvents;
     }
 
     /**
@@ -100,6 +116,8 @@ public class PaymentService implements PaymentServicePort {
         Payment p = order.getPayment();
         payments.save(p);
 
+        statusEvents.statusChanged(order, OrderStatus.SERVED, OrderStatus.PAID);
+
         // 6. Audit log
         audits.append(new RestaurantAuditEntry(
                 actor.id(),
@@ -1,67 +1,79 @@
 package com.university.restaurant.service.concurrent;
 
-import com.university.restaurant.chain.analytics.AnalyticsPermissionChain;
-import com.university.restaurant.model.menu.MenuItem;
-import com.university.restaurant.model.order.Order;
-import com.university.restaurant.model.order.OrderStatus;
 import com.university.restaurant.model.staff.StaffRole;
+import com.university.restaurant.repository.OrderAnalyticsRepository;
 import com.university.restaurant.repository.OrderRepository;
+import com.university.restaurant.repository.WindowedTopItems;
+import com.university.restaurant.service.AnalyticsService;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
- * Asynchronous analytics computation service.
+ * Asynchronous analytics computation service. Runs the same aggregate
+ * queries as {@link AnalyticsService}, including its permission checks,
+ * on a background executor of the given {@link ExecutionStrategy}.
  */
 public class AsyncAnalyticsService {
 
-    private final OrderRepository orders;
-    private final AnalyticsPermissionChain permissions = new AnalyticsPermissionChain();
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    /** The figures of the analytics dashboard, computed side by side. */
+    public record Dashboard(Map<String, Long> topSellingItems, double revenueToday) {
+    }
+
+    private final AnalyticsService analytics;
+    private final ExecutorService executor;
+
+    /**
+     * @param topItems sketch engine fed with status changes, e.g. by the order and payment services
+     */
+    public AsyncAnalyticsService(OrderAnalyticsRepository analytics, WindowedTopItems topItems) {
+        this(analytics, topItems, ExecutionStrategy.configured());
+    }
+
+    public AsyncAnalyticsService(OrderAnalyticsRepository analytics, WindowedTopItems topItems,
+                                 ExecutionStrategy strategy) {
+        this.analytics = new AnalyticsService(analytics, topItems);
+        this.executor = strategy.newTaskExecutor("analytics");
+    }
 
     public AsyncAnalyticsService(OrderRepository orders) {
-        this.orders = orders;
+        this(orders, ExecutionStrategy.configured());
+    }
+
+    public AsyncAnalyticsService(OrderRepository orders, ExecutionStrategy strategy) {
+        this.analytics = new AnalyticsService(orders);
+        this.executor = strategy.newTaskExecutor("analytics");
     }
 
     /**
      * Compute top-selling items asynchronously in the background.
      */
     public CompletableFuture<Map<String, Long>> computeTopSellingAsync(StaffRole actor) {
-        return CompletableFuture.supplyAsync(() -> {
-            permissions.check(actor, "view top-selling analytics");
-
-            List<Order> completed = new ArrayList<>(orders.findByStatus(OrderStatus.PAID));
-            completed.addAll(orders.findByStatus(OrderStatus.SERVED));
-
-            return completed.stream()
-                    .flatMap(o -> o.getItems().stream())
-                    .collect(Collectors.groupingBy(
-                            MenuItem::getName,
-                            Collectors.counting()
-                    ));
-        }, executor);
+        return CompletableFuture.supplyAsync(() -> analytics.topSellingItems(actor), executor);
     }
 
     /**
      * Compute revenue asynchronously.
      */
     public CompletableFuture<Double> computeRevenueTodayAsync(StaffRole actor) {
-        return CompletableFuture.supplyAsync(() -> {
-            permissions.check(actor, "view revenue analytics");
+        return CompletableFuture.supplyAsync(() -> analytics.totalRevenueToday(actor), executor);
+    }
 
-            LocalDate today = LocalDate.now();
+    /**
+     * Computes top sellers and today's revenue side by side in a
+     * {@link TaskScope}. If either query fails, e.g. because the actor may
+     * not view analytics, the other is interrupted and the failure thrown.
+     */
+    public Dashboard dashboard(StaffRole actor) throws InterruptedException {
+        try (TaskScope scope = new TaskScope(executor)) {
+            Supplier<Map<String, Long>> topSelling = scope.fork(() -> analytics.topSellingItems(actor));
+            Supplier<Double> revenue = scope.fork(() -> analytics.totalRevenueToday(actor));
 
-            return orders.findByStatus(OrderStatus.PAID).stream()
-                    .filter(o -> o.getCreatedAt().toLocalDate().equals(today))
-                    .mapToDouble(Order::calculateTotal)
-                    .sum();
-        }, executor);
+            scope.join().throwIfFailed();
+            return new Dashboard(topSelling.get(), revenue.get());
+        }
     }
 
     public void shutdown() {
@@ -15,11 +15,16 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
- * Asynchronous OrderService using CompletableFuture.
+ * Asynchronous OrderService using CompletableFuture. Orders are placed
+ * either by chaining futures on an executor of the given
+ * {@link ExecutionStrategy} or, when built with a ring size, through an
+ * {@link OrderPipeline}. The synchronous {@link #placeOrder} runs the same
+ * steps on the caller's thread rather than blocking it on a future.
  */
 public class AsyncOrderService implements OrderServicePort {
 
@@ -30,66 +35,104 @@ public class AsyncOrderService implements OrderServicePort {
     private final OrderPermissionChain permissions = new OrderPermissionChain();
     private final ExecutorService executor;
     private final KitchenService kitchenService;
+    private final OrderPipeline pipeline;
 
     public AsyncOrderService(OrderRepository repo, RestaurantAuditLogRepository audits, 
                             KitchenService kitchenService) {
+        this(repo, audits, kitchenService, ExecutionStrategy.configured());
+    }
+
+    public AsyncOrderService(OrderRepository repo, RestaurantAuditLogRepository audits,
+                             KitchenService kitchenService, ExecutionStrategy strategy) {
         this.repo = repo;
         this.audits = audits;
         this.kitchenService = kitchenService;
-        this.executor = Executors.newCachedThreadPool();
+        this.executor = strategy.newTaskExecutor("async-order");
+        this.pipeline = null;
     }
 
     /**
-     * Place order asynchronously with kitchen notification.
+     * Places orders through an {@link OrderPipeline} with {@code ringSize}
+     * slots instead of chained futures.
      */
-    public CompletableFuture<Order> placeOrderAsync(StaffRole actor, String tableId, List<MenuItem> items) {
-        return CompletableFuture.supplyAsync(() -> {
-            permissions.check(actor, "place an order");
-
-            int tableNum = Integer.parseInt(tableId);
-            Order order = new Order(tableNum, actor.id());
-
-            for (MenuItem item : items) {
-                order.addItem(item);
-            }
+    public AsyncOrderService(OrderRepository repo, RestaurantAuditLogRepository audits,
+                             KitchenService kitchenService, int ringSize) {
+        this.repo = repo;
+        this.audits = audits;
+        this.kitchenService = kitchenService;
+        this.executor = null;
+        this.pipeline = new OrderPipeline(repo, audits, kitchenService, ringSize);
+    }
 
-            repo.save(order);
-            
-            log.info("Order {} created asynchronously", order.getId());
-            return order;
-        }, executor)
-        .thenCompose(this::notifyKitchenAsync)
-        .thenApply(order -> {
-            // Notify UI (in real app, this would use WebSocket)
-            notifyUI(order);
-            
-            // Audit
-            audits.append(new RestaurantAuditEntry(
-                    actor.id(),
-                    actor.getClass().getSimpleName(),
-                    "PLACE_ORDER",
-                    "Order",
-                    order.getId().toString(),
-                    "Placed order with %d items".formatted(items.size()),
-                    audits.tailHash()
-            ));
-            
-            return order;
-        })
+    /**
+     * Place order asynchronously with kitchen notification. If the kitchen
+     * turns the order away, it is saved as CANCELLED and the future fails
+     * with the {@link KitchenOverloadedException}.
+     */
+    public CompletableFuture<Order> placeOrderAsync(StaffRole actor, String tableId, List<MenuItem> items) {
+        if (pipeline != null) {
+            return pipeline.submit(actor, tableId, items);
+        }
+        return CompletableFuture.supplyAsync(() -> createOrder(actor, tableId, items), executor)
+        .thenApplyAsync(this::sendToKitchen, executor)
+        .thenApply(order -> recordPlaced(actor, order, items.size()))
         .exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof KitchenOverloadedException overloaded) {
+                log.warn("Order turned away by the kitchen: {}", overloaded.getMessage());
+                throw overloaded;
+            }
             log.error("Failed to place order asynchronously", ex);
             throw new RuntimeException("Order placement failed", ex);
         });
     }
 
-    private CompletableFuture<Order> notifyKitchenAsync(Order order) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (order.requiresKitchenPrep()) {
+    private Order createOrder(StaffRole actor, String tableId, List<MenuItem> items) {
+        permissions.check(actor, "place an order");
+
+        int tableNum = Integer.parseInt(tableId);
+        Order order = new Order(tableNum, actor.id());
+
+        for (MenuItem item : items) {
+            order.addItem(item);
+        }
+
+        repo.save(order);
+
+        log.info("Order {} created asynchronously", order.getId());
+        return order;
+    }
+
+    private Order sendToKitchen(Order order) {
+        if (order.requiresKitchenPrep()) {
+            try {
                 kitchenService.submitOrder(order);
-                order.updateStatus(OrderStatus.CONFIRMED);
+            } catch (KitchenOverloadedException e) {
+                order.updateStatus(OrderStatus.CANCELLED);
+                repo.save(order);
+                throw e;
             }
-            return order;
-        }, executor);
+            order.updateStatus(OrderStatus.CONFIRMED);
+        }
+        return order;
+    }
+
+    private Order recordPlaced(StaffRole actor, Order order, int itemCount) {
+        // Notify UI (in real app, this would use WebSocket)
+        notifyUI(order);
+
+        // Audit
+        audits.append(new RestaurantAuditEntry(
+                actor.id(),
+                actor.getClass().getSimpleName(),
+                "PLACE_ORDER",
+                "Order",
+                order.getId().toString(),
+                "Placed order with %d items".formatted(itemCount),
+                audits.tailHash()
+        ));
+
+        return order;
     }
 
     private void notifyUI(Order order) {
@@ -98,10 +141,25 @@ public class AsyncOrderService implements OrderServicePort {
     }
 
     // Synchronous fallback methods
+
+    /**
+     * Places an order on the caller's thread, so a blocked caller does not
+     * also hold executor threads. With a pipeline the order still goes
+     * through the ring, in sequence with the others.
+     */
     @Override
     public Order placeOrder(StaffRole actor, String tableId, List<MenuItem> items) {
+        if (pipeline == null) {
+            Order order = createOrder(actor, tableId, items);
+            return recordPlaced(actor, sendToKitchen(order), items.size());
+        }
         try {
-            return placeOrderAsync(actor, tableId, items).get();
+            return pipeline.submit(actor, tableId, items).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof KitchenOverloadedException overloaded) {
+                throw overloaded;
+            }
+            throw new RuntimeException("Failed to place order", e);
         } catch (Exception e) {
             throw new RuntimeException("Failed to place order", e);
         }
@@ -138,6 +196,10 @@ public class AsyncOrderService implements OrderServicePort {
     }
 
     public void shutdown() {
-        executor.shutdown();
+        if (pipeline != null) {
+            pipeline.shutdown();
+        } else {
+            executor.shutdown();
+        }
     }
 }
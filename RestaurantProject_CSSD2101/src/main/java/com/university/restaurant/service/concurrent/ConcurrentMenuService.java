@@ -1,6 +1,7 @@
 package com.university.restaurant.service.concurrent;
 
 import com.university.restaurant.chain.menu.MenuPermissionChain;
+import com.university.restaurant.model.menu.MenuCategory;
 import com.university.restaurant.model.menu.MenuItem;
 import com.university.restaurant.model.staff.StaffRole;
 import com.university.restaurant.port.MenuServicePort;
@@ -9,30 +10,48 @@ import com.university.restaurant.repository.RestaurantAuditEntry;
 import com.university.restaurant.repository.RestaurantAuditLogRepository;
 
 import java.util.List;
-import java.util.concurrent.locks.StampedLock;
+import java.util.Optional;
 
 /**
- * Thread-safe MenuService using StampedLock for menu updates.
+ * Thread-safe MenuService. Reads are served from an immutable
+ * {@link MenuSnapshot} published through a volatile field, so listing the
+ * available items takes no lock and no repository query. Writers are
+ * serialized, save to the repository, then build and publish a new snapshot.
+ *
+ * Availability is read from the items themselves, so inventory running out
+ * or being restocked shows at once. Items replaced in the repository by
+ * another writer reach readers after {@link #refresh()}.
  */
 public class ConcurrentMenuService implements MenuServicePort {
 
     private final MenuRepository repo;
     private final RestaurantAuditLogRepository audits;
     private final MenuPermissionChain permissions = new MenuPermissionChain();
-    private final StampedLock lock = new StampedLock();
+    private final Object writeLock = new Object();
+    private volatile MenuSnapshot snapshot = MenuSnapshot.EMPTY;
 
     public ConcurrentMenuService(MenuRepository r, RestaurantAuditLogRepository a) {
         this.repo = r;
         this.audits = a;
+        refresh();
+    }
+
+    /**
+     * Rebuilds the snapshot from the repository.
+     */
+    public void refresh() {
+        synchronized (writeLock) {
+            snapshot = MenuSnapshot.of(repo.search(item -> true));
+        }
     }
 
     @Override
     public void addMenuItem(StaffRole actor, MenuItem item) {
         permissions.check(actor, "add a menu item");
 
-        long stamp = lock.writeLock();
-        try {
+        synchronized (writeLock) {
             repo.save(item);
+            snapshot = snapshot.with(item);
 
             audits.append(new RestaurantAuditEntry(
                     actor.id(),
@@ -43,8 +62,6 @@ public class ConcurrentMenuService implements MenuServicePort {
                     "Added " + item.getName(),
                     audits.tailHash()
             ));
-        } finally {
-            lock.unlockWrite(stamp);
         }
     }
 
@@ -52,13 +69,13 @@ public class ConcurrentMenuService implements MenuServicePort {
     public void updatePrice(StaffRole actor, String itemId, double newPrice) {
         permissions.check(actor, "update menu price");
 
-        long stamp = lock.writeLock();
-        try {
+        synchronized (writeLock) {
             MenuItem oldItem = repo.findById(itemId)
                     .orElseThrow(() -> new IllegalArgumentException("Item not found: " + itemId));
 
             MenuItem updated = oldItem.copyWithPrice(newPrice);
             repo.save(updated);
+            snapshot = snapshot.with(updated);
 
             audits.append(new RestaurantAuditEntry(
                     actor.id(),
@@ -69,26 +86,19 @@ public class ConcurrentMenuService implements MenuServicePort {
                     "Updated price to $" + newPrice,
                     audits.tailHash()
             ));
-        } finally {
-            lock.unlockWrite(stamp);
         }
     }
 
     @Override
     public List<MenuItem> listMenuAvailableItems() {
-        // Optimistic read for query
-        long stamp = lock.tryOptimisticRead();
-        List<MenuItem> items = repo.search(MenuItem::isAvailable);
-        
-        if (!lock.validate(stamp)) {
-            stamp = lock.readLock();
-            try {
-                items = repo.search(MenuItem::isAvailable);
-            } finally {
-                lock.unlockRead(stamp);
-            }
-        }
-        
-        return items;
+        return snapshot.availableItems();
+    }
+
+    public Optional<MenuItem> findMenuItem(String itemId) {
+        return snapshot.find(itemId);
+    }
+
+    public List<MenuItem> listMenuItemsByCategory(MenuCategory category) {
+        return snapshot.byCategory(category);
     }
 }
@@ -0,0 +1,83 @@
+package com.university.restaurant.service.concurrent;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How the concurrent services run their tasks: on a pool of platform
+ * threads, or on a new virtual thread per task. Virtual threads make
+ * blocking cheap, so work that waits on the database or on other tasks
+ * does not need a thread of its own from the operating system.
+ *
+ * <p>
+ * The build targets Java 17, so virtual threads are reached reflectively
+ * and {@link #VIRTUAL} only works on a Java 21 or later runtime (see the
+ * {@code java21} Maven profile). The default comes from the system property
+ * {@value #PROPERTY} and is {@link #PLATFORM} when it is not set.
+ * </p>
+ */
+public enum ExecutionStrategy {
+
+    /** A cached pool of platform threads, growing with the number of blocked tasks. */
+    PLATFORM,
+
+    /** A new virtual thread per task. Needs Java 21 or later. */
+    VIRTUAL;
+
+    public static final String PROPERTY = "restaurant.execution.strategy";
+
+    /** The strategy named by {@value #PROPERTY}, or {@link #PLATFORM}. */
+    public static ExecutionStrategy configured() {
+        String name = System.getProperty(PROPERTY);
+        return name == null || name.isBlank() ? PLATFORM : valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /** Whether this runtime can use the strategy. */
+    public boolean isSupported() {
+        return this == PLATFORM || Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Creates threads named {@code name-1}, {@code name-2}, ... of this
+     * strategy's kind, e.g. for a fixed set of long-running workers.
+     */
+    public ThreadFactory threadFactory(String name) {
+        if (this == PLATFORM) {
+            AtomicLong next = new AtomicLong();
+            return task -> new Thread(task, name + "-" + next.incrementAndGet());
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> ofVirtual = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            builder = ofVirtual.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            return (ThreadFactory) ofVirtual.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    /**
+     * Creates an executor for short tasks: a cached platform pool, or a
+     * new virtual thread per task.
+     */
+    public ExecutorService newTaskExecutor(String name) {
+        if (this == PLATFORM) {
+            return Executors.newCachedThreadPool(threadFactory(name));
+        }
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory(name));
+        } catch (ReflectiveOperationException e) {
+            throw unsupported(e);
+        }
+    }
+
+    private IllegalStateException unsupported(Exception cause) {
+        return new IllegalStateException(
+                "%s execution needs Java 21 or later, running on %s".formatted(this, Runtime.version()), cause);
+    }
+}
@@ -0,0 +1,29 @@
+package com.university.restaurant.service.concurrent;
+
+/**
+ * Thrown when the kitchen turns an order away because its intake is full,
+ * either at once or after waiting out the intake deadline. The order was
+ * not queued; the caller may retry later.
+ */
+public class KitchenOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int waitingTasks;
+    private final int capacity;
+
+    public KitchenOverloadedException(String message, int waitingTasks, int capacity) {
+        super(message);
+        this.waitingTasks = waitingTasks;
+        this.capacity = capacity;
+    }
+
+    /** Item tasks waiting to start when the order was turned away. */
+    public int getWaitingTasks() {
+        return waitingTasks;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,327 @@
+package com.university.restaurant.service.concurrent;
+
+import com.university.restaurant.model.menu.Combo;
+import com.university.restaurant.model.menu.Entree;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+
+import java.util.*;
+
+/**
+ * Decides which item each cook prepares next.
+ *
+ * <p>
+ * An order becomes a ticket of one task per item, each routed to a
+ * {@link KitchenStation}. The ticket is due once its longest item could be
+ * done. Tasks with the longest prep time are queued at once; the others are
+ * held until the first of those starts and then fired so that every item
+ * finishes together, the way an expediter calls "fire" for a table.
+ * </p>
+ *
+ * <p>
+ * A cook takes the queued task of its stations with the earliest due time,
+ * the shortest prep breaking ties. A task that has waited longer than the
+ * aging limit is taken first, oldest first, so a busy station cannot keep
+ * deferring it.
+ * </p>
+ *
+ * <p>
+ * A cook may claim its next task before it is free and start it later; the
+ * fire times then follow the actual start. Times are milliseconds on the
+ * caller's clock, which lets the same scheduler run a live kitchen or a
+ * simulation. Not thread-safe: callers serialize access.
+ * </p>
+ */
+public final class KitchenScheduler {
+
+    static final int DRINK_PREP_MINUTES = 1;
+    static final int DESSERT_PREP_MINUTES = 4;
+    static final int ENTREE_PREP_MINUTES = 10;
+
+    private static final Comparator<Task> BY_DUE = Comparator
+            .comparingLong((Task t) -> t.ticket.dueAt)
+            .thenComparingLong(t -> t.prepMillis)
+            .thenComparingLong(t -> t.seq);
+    private static final Comparator<Task> BY_READY = Comparator
+            .comparingLong((Task t) -> t.readyAt)
+            .thenComparingLong(t -> t.seq);
+
+    /** One item of a ticket, to be prepared at one station. */
+    public static final class Task {
+        private final Ticket ticket;
+        private final MenuItem item;
+        private final KitchenStation station;
+        private final long prepMillis;
+        private final long seq;
+        private long readyAt;
+        private boolean claimed;
+        private boolean started;
+
+        private Task(Ticket ticket, MenuItem item, long prepMillis, long seq) {
+            this.ticket = ticket;
+            this.item = item;
+            this.station = KitchenStation.of(item);
+            this.prepMillis = prepMillis;
+            this.seq = seq;
+        }
+
+        public Order order() { return ticket.order; }
+        public MenuItem item() { return item; }
+        public KitchenStation station() { return station; }
+        public long prepMillis() { return prepMillis; }
+        public long submittedAt() { return ticket.submittedAt; }
+    }
+
+    private static final class Ticket {
+        private final Order order;
+        private final long submittedAt;
+        private final long dueAt;
+        private final long longestMillis;
+        private final List<Task> held = new ArrayList<>();
+        private int remaining;
+        private int unstarted;
+
+        private Ticket(Order order, long submittedAt, long dueAt, long longestMillis) {
+            this.order = order;
+            this.submittedAt = submittedAt;
+            this.dueAt = dueAt;
+            this.longestMillis = longestMillis;
+        }
+    }
+
+    private static final class StationQueue {
+        // The same tasks in two orders; claimed tasks are skipped lazily
+        private final PriorityQueue<Task> byDue = new PriorityQueue<>(BY_DUE);
+        private final PriorityQueue<Task> byReady = new PriorityQueue<>(BY_READY);
+        private int size;
+
+        Task peekByDue() {
+            while (!byDue.isEmpty() && byDue.peek().claimed) byDue.poll();
+            return byDue.peek();
+        }
+
+        Task peekByReady() {
+            while (!byReady.isEmpty() && byReady.peek().claimed) byReady.poll();
+            return byReady.peek();
+        }
+    }
+
+    private final long millisPerPrepMinute;
+    private final long agingLimitMillis;
+    private final Map<KitchenStation, StationQueue> stations = new EnumMap<>(KitchenStation.class);
+    private final PriorityQueue<Task> fired = new PriorityQueue<>(BY_READY);
+    // Tickets in submission order; those with every task started are dropped lazily
+    private final ArrayDeque<Ticket> open = new ArrayDeque<>();
+    private long seq;
+    private int held;
+    private int claimedNotStarted;
+
+    /**
+     * @param millisPerPrepMinute how long one minute of prep time lasts on the caller's clock
+     * @param agingLimitMillis    queued time after which a task is taken ahead of earlier-due ones
+     */
+    public KitchenScheduler(long millisPerPrepMinute, long agingLimitMillis) {
+        if (millisPerPrepMinute < 0 || agingLimitMillis <= 0) {
+            throw new IllegalArgumentException("Prep scale must not be negative and aging limit must be positive");
+        }
+        this.millisPerPrepMinute = millisPerPrepMinute;
+        this.agingLimitMillis = agingLimitMillis;
+        for (KitchenStation station : KitchenStation.values()) {
+            stations.put(station, new StationQueue());
+        }
+    }
+
+    /**
+     * Splits an order into item tasks and queues them.
+     *
+     * @return the number of tasks created; zero if the order has no items
+     */
+    public int submit(Order order, long now) {
+        List<MenuItem> items = new ArrayList<>();
+        for (MenuItem item : order.getItems()) expand(item, items);
+        if (items.isEmpty()) return 0;
+
+        long longest = 0;
+        for (MenuItem item : items) longest = Math.max(longest, prepMillis(item));
+        Ticket ticket = new Ticket(order, now, now + longest, longest);
+        for (MenuItem item : items) {
+            Task task = new Task(ticket, item, prepMillis(item), seq++);
+            ticket.remaining++;
+            ticket.unstarted++;
+            if (task.prepMillis == longest) {
+                enqueue(task, now);
+            } else {
+                ticket.held.add(task);
+                held++;
+            }
+        }
+        open.add(ticket);
+        return ticket.remaining;
+    }
+
+    /**
+     * Starts the best queued task at one of {@code cookStations}.
+     *
+     * @return the task, or {@code null} if none of those stations has work yet
+     */
+    public Task next(Set<KitchenStation> cookStations, long now) {
+        Task task = claim(cookStations, now);
+        if (task != null) start(task, now);
+        return task;
+    }
+
+    /**
+     * Takes the best queued task at one of {@code cookStations} off its
+     * queue without starting it.
+     *
+     * @return the task, or {@code null} if none of those stations has work yet
+     */
+    public Task claim(Set<KitchenStation> cookStations, long now) {
+        release(now);
+
+        Task aged = null;
+        Task best = null;
+        for (KitchenStation station : cookStations) {
+            StationQueue queue = stations.get(station);
+            Task oldest = queue.peekByReady();
+            if (oldest != null && now - oldest.readyAt >= agingLimitMillis
+                    && (aged == null || oldest.readyAt < aged.readyAt)) {
+                aged = oldest;
+            }
+            Task first = queue.peekByDue();
+            if (first != null && (best == null || BY_DUE.compare(first, best) < 0)) {
+                best = first;
+            }
+        }
+        Task task = aged != null ? aged : best;
+        if (task == null) return null;
+
+        task.claimed = true;
+        stations.get(task.station).size--;
+        claimedNotStarted++;
+        return task;
+    }
+
+    /**
+     * Starts a claimed task, firing the rest of its order if it is the
+     * first of the order's longest items to start.
+     *
+     * @return the number of tasks fired
+     */
+    public int start(Task task, long now) {
+        if (!task.claimed || task.started) {
+            throw new IllegalStateException("Task must be claimed and not yet started");
+        }
+        task.started = true;
+        task.ticket.unstarted--;
+        claimedNotStarted--;
+        return fireHeld(task.ticket, now);
+    }
+
+    /**
+     * Records that a started task is done.
+     *
+     * @return whether it was the last task of its order
+     */
+    public boolean complete(Task task) {
+        if (!task.started) {
+            throw new IllegalStateException("Task was never started");
+        }
+        return --task.ticket.remaining == 0;
+    }
+
+    /**
+     * Queues the tasks fired by {@code now} and tells when the next one
+     * fires, or {@link Long#MAX_VALUE} if none is waiting to fire.
+     */
+    public long nextFireAt(long now) {
+        release(now);
+        Task next = fired.peek();
+        return next == null ? Long.MAX_VALUE : next.readyAt;
+    }
+
+    /** Tasks not yet started, whether queued, claimed, fired or held. */
+    public int waiting() {
+        int count = held + fired.size() + claimedNotStarted;
+        for (StationQueue queue : stations.values()) count += queue.size;
+        return count;
+    }
+
+    /** Tasks queued at one station and ready to start. */
+    public int waiting(KitchenStation station) {
+        return stations.get(station).size;
+    }
+
+    /**
+     * Submission time of the oldest order with a task not yet started, or
+     * {@link Long#MAX_VALUE} if nothing is waiting. Assumes orders are
+     * submitted in time order.
+     */
+    public long oldestWaitingSince() {
+        while (!open.isEmpty() && open.peek().unstarted == 0) open.poll();
+        return open.isEmpty() ? Long.MAX_VALUE : open.peek().submittedAt;
+    }
+
+    /** Whether every item of the order, combos included, is made at the bar. */
+    public static boolean drinksOnly(Order order) {
+        List<MenuItem> items = new ArrayList<>();
+        for (MenuItem item : order.getItems()) expand(item, items);
+        if (items.isEmpty()) return false;
+        for (MenuItem item : items) {
+            if (KitchenStation.of(item) != KitchenStation.BAR) return false;
+        }
+        return true;
+    }
+
+    long prepMillis(MenuItem item) {
+        return prepMinutes(item) * millisPerPrepMinute;
+    }
+
+    /**
+     * Prep time of one item: an entree's own, otherwise a default for its
+     * category.
+     */
+    public static int prepMinutes(MenuItem item) {
+        if (item instanceof Entree e) return Math.max(0, e.getPrepTimeMinutes());
+        return switch (item.getCategory()) {
+            case DRINK -> DRINK_PREP_MINUTES;
+            case DESSERT -> DESSERT_PREP_MINUTES;
+            default -> ENTREE_PREP_MINUTES;
+        };
+    }
+
+    private static void expand(MenuItem item, List<MenuItem> into) {
+        if (item instanceof Combo combo) {
+            for (MenuItem part : combo.getItems()) expand(part, into);
+        } else {
+            into.add(item);
+        }
+    }
+
+    /** Fires a ticket's held tasks once its first longest task has started. */
+    private int fireHeld(Ticket ticket, long startedAt) {
+        int count = ticket.held.size();
+        for (Task task : ticket.held) {
+            task.readyAt = startedAt + ticket.longestMillis - task.prepMillis;
+            fired.add(task);
+        }
+        held -= count;
+        ticket.held.clear();
+        return count;
+    }
+
+    private void release(long now) {
+        while (!fired.isEmpty() && fired.peek().readyAt <= now) {
+            Task task = fired.poll();
+            enqueue(task, task.readyAt);
+        }
+    }
+
+    private void enqueue(Task task, long readyAt) {
+        task.readyAt = readyAt;
+        StationQueue queue = stations.get(task.station);
+        queue.byDue.add(task);
+        queue.byReady.add(task);
+        queue.size++;
+    }
+}
@@ -5,64 +5,267 @@ import com.university.restaurant.model.order.OrderStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 /**
- * Kitchen service managing a thread pool of workers to process orders.
- * Uses BlockingQueue for thread-safe order distribution.
+ * Kitchen service managing a thread pool of cooks. Orders are split into
+ * item tasks at the kitchen stations and scheduled by a
+ * {@link KitchenScheduler}; an order is marked READY when its last item is
+ * done.
+ *
+ * <p>
+ * Each cook has a rail, its deque in a {@link WorkStealingQueue}. When a
+ * cook starts a task it claims tasks onto its rail until
+ * {@link #RAIL_DEPTH} are waiting there. A free cook works its own rail,
+ * then steals a task its stations can prepare from a busy cook's rail,
+ * and only then asks the scheduler. Finishing one task, starting the next
+ * and topping up the rail take a single turn of the scheduler lock, so a
+ * busy cook takes it once per task. Idle cooks park until new work, a
+ * fire time or shutdown wakes them.
+ * </p>
+ *
+ * <p>
+ * Intake can be bounded by the number of item tasks waiting to start. An
+ * order arriving when the bound is reached is handled by the
+ * {@link IntakePolicy}; an order that is turned away is never queued, and
+ * the caller gets a {@link KitchenOverloadedException}.
+ * </p>
  */
 public class KitchenService {
-    
+
     private static final Logger log = LoggerFactory.getLogger(KitchenService.class);
-    
+
+    /** Real time per minute of prep, so a 15 minute entree takes 1.5 seconds. */
+    public static final long DEFAULT_MILLIS_PER_PREP_MINUTE = 100;
+    private static final long AGING_LIMIT_PREP_MINUTES = 10;
+    /**
+     * Tasks claimed ahead onto each cook's rail. Deeper rails leave more to
+     * steal, but a claimed task is no longer reordered by later arrivals.
+     */
+    static final int RAIL_DEPTH = 2;
+
+    /** What happens to an order that arrives when the intake is full. */
+    public enum IntakePolicy {
+        /** Wait up to the intake deadline for tasks to start, then reject. */
+        BLOCK,
+        /** Reject at once. */
+        REJECT,
+        /**
+         * Reject orders with food, but keep taking drinks-only orders while
+         * the bar's own queue is below the bound.
+         */
+        DEGRADE
+    }
+
+    /**
+     * Intake and wait-time gauges. Waits run from an order's submission to
+     * the start of each of its tasks.
+     *
+     * @param waitingTasks    item tasks not yet started
+     * @param queuedByStation tasks ready to start at each station
+     * @param oldestWaitMillis how long the oldest order with an unstarted task has waited
+     * @param degraded        drinks-only orders taken past the bound
+     */
+    public record Stats(IntakePolicy policy, int capacity, int waitingTasks,
+                        Map<KitchenStation, Integer> queuedByStation, long oldestWaitMillis,
+                        double meanWaitMillis, long maxWaitMillis,
+                        long admitted, long degraded, long rejected) {
+    }
+
     private final ExecutorService workerPool;
-    private final BlockingQueue<Order> orderQueue;
+    private final KitchenScheduler scheduler;
+    // Guards the scheduler
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled when a task starts and frees room in the intake
+    private final Condition room = lock.newCondition();
+    private final WorkStealingQueue<KitchenScheduler.Task> rails;
+    private final long startNanos = System.nanoTime();
     private final int numWorkers;
+    private final int capacity;
+    private final IntakePolicy policy;
+    private final Duration intakeDeadline;
     private volatile boolean shutdown = false;
 
+    // Gauges, guarded by the lock
+    private long admitted;
+    private long degraded;
+    private long rejected;
+    private long startedTasks;
+    private long totalWaitMillis;
+    private long maxWaitMillis;
+
     public KitchenService(int numWorkers) {
+        this(numWorkers, DEFAULT_MILLIS_PER_PREP_MINUTE);
+    }
+
+    /**
+     * @param numWorkers          cooks; each station gets at least one, and
+     *                            with fewer cooks than stations a cook covers several
+     * @param millisPerPrepMinute real time one minute of prep takes
+     */
+    public KitchenService(int numWorkers, long millisPerPrepMinute) {
+        this(numWorkers, millisPerPrepMinute, Integer.MAX_VALUE, IntakePolicy.REJECT, Duration.ZERO);
+    }
+
+    /**
+     * @param numWorkers          cooks; each station gets at least one, and
+     *                            with fewer cooks than stations a cook covers several
+     * @param millisPerPrepMinute real time one minute of prep takes
+     * @param capacity            item tasks that may wait to start before the policy applies
+     * @param policy              what to do with an order arriving when the intake is full
+     * @param intakeDeadline      how long {@link IntakePolicy#BLOCK} waits for room
+     */
+    public KitchenService(int numWorkers, long millisPerPrepMinute, int capacity,
+                          IntakePolicy policy, Duration intakeDeadline) {
+        this(numWorkers, millisPerPrepMinute, capacity, policy, intakeDeadline, ExecutionStrategy.configured());
+    }
+
+    /**
+     * A kitchen as above whose cooks run on platform or virtual threads.
+     *
+     * @param strategy the kind of thread each cook runs on
+     */
+    public KitchenService(int numWorkers, long millisPerPrepMinute, int capacity,
+                          IntakePolicy policy, Duration intakeDeadline, ExecutionStrategy strategy) {
+        if (numWorkers < 1) {
+            throw new IllegalArgumentException("Kitchen needs at least one worker");
+        }
+        if (capacity < 1 || intakeDeadline.isNegative()) {
+            throw new IllegalArgumentException("Intake capacity must be positive and deadline not negative");
+        }
         this.numWorkers = numWorkers;
-        this.orderQueue = new LinkedBlockingQueue<>();
-        this.workerPool = Executors.newFixedThreadPool(numWorkers);
-        
+        this.capacity = capacity;
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.intakeDeadline = intakeDeadline;
+        this.scheduler = new KitchenScheduler(millisPerPrepMinute,
+                Math.max(1, AGING_LIMIT_PREP_MINUTES * millisPerPrepMinute));
+        this.rails = new WorkStealingQueue<>(numWorkers);
+        this.workerPool = Executors.newFixedThreadPool(numWorkers, strategy.threadFactory("kitchen-cook"));
+
         // Start workers
+        List<Set<KitchenStation>> assignments = assignStations(numWorkers);
+        for (int i = 0; i < numWorkers; i++) {
+            workerPool.submit(new KitchenWorker(i, assignments.get(i)));
+        }
+
+        log.info("Kitchen service started with {} {} workers, intake {} ({})", numWorkers, strategy,
+                capacity == Integer.MAX_VALUE ? "unbounded" : capacity, policy);
+    }
+
+    /**
+     * Stations each cook works: one station per cook in station order, extra
+     * cooks going to the stations again from the grill, and cooks covering
+     * several stations when there are fewer cooks than stations.
+     */
+    static List<Set<KitchenStation>> assignStations(int numWorkers) {
+        KitchenStation[] all = KitchenStation.values();
+        List<Set<KitchenStation>> assignments = new ArrayList<>();
         for (int i = 0; i < numWorkers; i++) {
-            final int workerId = i + 1;
-            workerPool.submit(new KitchenWorker(workerId, orderQueue));
+            assignments.add(EnumSet.noneOf(KitchenStation.class));
+        }
+        for (int i = 0; i < Math.max(numWorkers, all.length); i++) {
+            assignments.get(i % numWorkers).add(all[i % all.length]);
         }
-        
-        log.info("Kitchen service started with {} workers", numWorkers);
+        return assignments;
     }
 
     /**
-     * Submit an order to the kitchen queue.
+     * Submit an order to the kitchen. An order without items is ready at once.
+     *
+     * @throws KitchenOverloadedException if the intake is full and the
+     *                                    policy turns the order away; it is not queued
      */
     public void submitOrder(Order order) {
         if (shutdown) {
             throw new IllegalStateException("Kitchen service is shut down");
         }
-        
+
+        int tasks;
+        lock.lock();
         try {
-            orderQueue.offer(order, 5, TimeUnit.SECONDS);
-            log.info("Order {} submitted to kitchen queue", order.getId());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Failed to submit order", e);
+            admit(order);
+            if (scheduler.waiting() >= capacity) {
+                degraded++;
+            }
+            tasks = scheduler.submit(order, now());
+            admitted++;
+        } finally {
+            lock.unlock();
         }
+        rails.wakeAll();
+
+        if (tasks == 0) {
+            order.updateStatus(OrderStatus.READY);
+        }
+        log.info("Order {} submitted to kitchen as {} item tasks", order.getId(), tasks);
     }
 
     /**
-     * Get current queue size.
+     * Get the number of item tasks not yet started.
      */
     public int getQueueSize() {
-        return orderQueue.size();
+        lock.lock();
+        try {
+            return scheduler.waiting();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of item tasks ready to start at one station.
+     */
+    public int getQueueSize(KitchenStation station) {
+        lock.lock();
+        try {
+            return scheduler.waiting(station);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Current intake and wait-time gauges.
+     */
+    public Stats stats() {
+        lock.lock();
+        try {
+            long now = now();
+            // Count fired tasks whose time has come as queued
+            scheduler.nextFireAt(now);
+            Map<KitchenStation, Integer> queued = new EnumMap<>(KitchenStation.class);
+            for (KitchenStation station : KitchenStation.values()) {
+                queued.put(station, scheduler.waiting(station));
+            }
+            long oldest = scheduler.oldestWaitingSince();
+            return new Stats(policy, capacity, scheduler.waiting(), queued,
+                    oldest == Long.MAX_VALUE ? 0 : now - oldest,
+                    startedTasks == 0 ? 0 : (double) totalWaitMillis / startedTasks,
+                    maxWaitMillis, admitted, degraded, rejected);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Shutdown the kitchen service gracefully.
+     * Shutdown the kitchen service gracefully. Cooks finish the tasks
+     * already submitted, idle cooks stop at once, and submitters waiting
+     * for room give up.
      */
     public void shutdown() {
         shutdown = true;
+        lock.lock();
+        try {
+            room.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        rails.wakeAll();
         workerPool.shutdown();
         try {
             if (!workerPool.awaitTermination(30, TimeUnit.SECONDS)) {
@@ -75,57 +278,190 @@ public class KitchenService {
         log.info("Kitchen service shut down");
     }
 
+    private long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns once the order fits the intake, waiting for room under
+     * {@link IntakePolicy#BLOCK}. Called with the lock held.
+     */
+    private void admit(Order order) {
+        long nanos = policy == IntakePolicy.BLOCK ? intakeDeadline.toNanos() : 0;
+        while (!hasRoom(order)) {
+            if (shutdown) {
+                throw new IllegalStateException("Kitchen service is shut down");
+            }
+            if (nanos <= 0) {
+                rejected++;
+                throw new KitchenOverloadedException(
+                        "Kitchen is full: %d item tasks waiting, limit %d".formatted(scheduler.waiting(), capacity),
+                        scheduler.waiting(), capacity);
+            }
+            try {
+                nanos = room.awaitNanos(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                nanos = 0;
+            }
+        }
+    }
+
+    private boolean hasRoom(Order order) {
+        if (order.getItems().isEmpty() || scheduler.waiting() < capacity) {
+            return true;
+        }
+        return policy == IntakePolicy.DEGRADE && KitchenScheduler.drinksOnly(order)
+                && scheduler.waiting(KitchenStation.BAR) < capacity;
+    }
+
+    /**
+     * Completes the cook's finished task, if any, and starts its next one:
+     * from its own rail, stolen from another cook's, or claimed from the
+     * scheduler. The rail is topped up in the same turn of the lock. Waits
+     * until a task is queued or fired, or returns {@code null} once the
+     * kitchen is shut down and nothing is left to start.
+     */
+    private KitchenScheduler.Task advance(int worker, Set<KitchenStation> stations, KitchenScheduler.Task done)
+            throws InterruptedException {
+        Predicate<KitchenScheduler.Task> canPrepare = task -> stations.contains(task.station());
+        while (true) {
+            long seen = rails.wakeCount();
+            KitchenScheduler.Task task = rails.poll(worker, canPrepare);
+
+            boolean last = false;
+            boolean drained = false;
+            long waitMillis = 0;
+            int fired = 0;
+            List<KitchenScheduler.Task> onDeck = List.of();
+            lock.lock();
+            try {
+                long now = now();
+                if (done != null) {
+                    last = scheduler.complete(done);
+                }
+                if (task == null) {
+                    task = scheduler.claim(stations, now);
+                }
+                if (task != null) {
+                    fired = scheduler.start(task, now);
+                    onDeck = claimAhead(worker, stations, now);
+                    long wait = now - task.submittedAt();
+                    startedTasks++;
+                    totalWaitMillis += wait;
+                    maxWaitMillis = Math.max(maxWaitMillis, wait);
+                    room.signalAll();
+                } else {
+                    drained = shutdown && scheduler.waiting() == 0;
+                    waitMillis = scheduler.nextFireAt(now) - now;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            // Pushed outside the lock, where a cook that frees up first can steal them
+            for (KitchenScheduler.Task claimed : onDeck) {
+                rails.push(worker, claimed);
+            }
+            if (!onDeck.isEmpty() || fired > 0) {
+                rails.wakeAll();
+            }
+            if (done != null) {
+                if (last) {
+                    ready(worker, done.order());
+                }
+                if (shutdown) {
+                    // Idle cooks at other stations recheck whether anything is left
+                    rails.wakeAll();
+                }
+                done = null;
+            }
+
+            if (task != null) {
+                return task;
+            }
+            if (drained) {
+                return null;
+            }
+            rails.park(worker, seen, TimeUnit.MILLISECONDS.toNanos(Math.max(1, waitMillis)));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Claims tasks until the cook's rail holds {@link #RAIL_DEPTH}. Called
+     * with the lock held.
+     */
+    private List<KitchenScheduler.Task> claimAhead(int worker, Set<KitchenStation> stations, long now) {
+        List<KitchenScheduler.Task> claimed = new ArrayList<>(RAIL_DEPTH);
+        int free = RAIL_DEPTH - rails.size(worker);
+        while (claimed.size() < free) {
+            KitchenScheduler.Task task = scheduler.claim(stations, now);
+            if (task == null) {
+                break;
+            }
+            claimed.add(task);
+        }
+        return claimed;
+    }
+
+    private void ready(int worker, Order order) {
+        try {
+            order.updateStatus(OrderStatus.READY);
+            log.info("Worker {} completed order {}", worker + 1, order.getId());
+        } catch (Exception e) {
+            log.error("Worker {} failed to complete order {}", worker + 1, order.getId(), e);
+        }
+    }
+
     /**
-     * Kitchen worker runnable that processes orders from the queue.
+     * Kitchen worker runnable that prepares item tasks at its stations.
      */
-    private static class KitchenWorker implements Runnable {
+    private class KitchenWorker implements Runnable {
+        private final int rail;
         private final int workerId;
-        private final BlockingQueue<Order> queue;
-        private static final Logger log = LoggerFactory.getLogger(KitchenWorker.class);
+        private final Set<KitchenStation> stations;
 
-        KitchenWorker(int workerId, BlockingQueue<Order> queue) {
-            this.workerId = workerId;
-            this.queue = queue;
+        KitchenWorker(int rail, Set<KitchenStation> stations) {
+            this.rail = rail;
+            this.workerId = rail + 1;
+            this.stations = stations;
         }
 
         @Override
         public void run() {
-            log.info("Kitchen worker {} started", workerId);
-            
-            while (!Thread.interrupted()) {
+            log.info("Kitchen worker {} started at {}", workerId, stations);
+
+            // A finished task is completed by the next advance, even once interrupted
+            KitchenScheduler.Task done = null;
+            while (done != null || !Thread.interrupted()) {
                 try {
-                    Order order = queue.poll(1, TimeUnit.SECONDS);
-                    if (order != null) {
-                        processOrder(order);
+                    KitchenScheduler.Task task = advance(rail, stations, done);
+                    done = null;
+                    if (task == null) {
+                        break;
                     }
+                    prepare(task);
+                    done = task;
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     log.info("Kitchen worker {} interrupted", workerId);
                     break;
                 }
             }
-            
+
             log.info("Kitchen worker {} stopped", workerId);
         }
 
-        private void processOrder(Order order) {
-            log.info("Worker {} processing order {}", workerId, order.getId());
-            
-            try {
-                // Simulate cooking time based on number of items
-                int cookingTimeMs = order.getItems().size() * 500;
-                Thread.sleep(cookingTimeMs);
-                
-                // Update order status
-                order.updateStatus(OrderStatus.READY);
-                
-                log.info("Worker {} completed order {}", workerId, order.getId());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("Worker {} interrupted while processing order {}", workerId, order.getId());
-            } catch (Exception e) {
-                log.error("Worker {} failed to process order {}", workerId, order.getId(), e);
-            }
+        private void prepare(KitchenScheduler.Task task) throws InterruptedException {
+            Order order = task.order();
+            log.debug("Worker {} preparing {} for order {} at {}",
+                    workerId, task.item().getName(), order.getId(), task.station());
+
+            // Simulate cooking time; an interrupted task leaves its order unfinished
+            Thread.sleep(task.prepMillis());
         }
     }
 }
@@ -0,0 +1,30 @@
+package com.university.restaurant.service.concurrent;
+
+import com.university.restaurant.model.menu.Entree;
+import com.university.restaurant.model.menu.MenuItem;
+
+/**
+ * Kitchen stations an item can be prepared at.
+ */
+public enum KitchenStation {
+    GRILL, COLD, DESSERT, BAR;
+
+    /** Entrees this quick, or needing no cooking, are plated at the cold station. */
+    static final int COLD_MAX_PREP_MINUTES = 5;
+
+    /**
+     * Station for one menu item: drinks go to the bar, desserts to the
+     * dessert station, and entrees to the grill unless they are quick or
+     * need no cooking. Combos are split into their items before routing.
+     */
+    public static KitchenStation of(MenuItem item) {
+        return switch (item.getCategory()) {
+            case DRINK -> BAR;
+            case DESSERT -> DESSERT;
+            case ENTREE -> !item.requiresKitchenPrep()
+                    || item instanceof Entree e && e.getPrepTimeMinutes() <= COLD_MAX_PREP_MINUTES
+                    ? COLD : GRILL;
+            case COMBO -> throw new IllegalArgumentException("Combos must be split before routing: " + item.getName());
+        };
+    }
+}
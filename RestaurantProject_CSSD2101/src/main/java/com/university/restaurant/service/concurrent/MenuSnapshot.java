@@ -0,0 +1,82 @@
+package com.university.restaurant.service.concurrent;
+
+import com.university.restaurant.model.menu.MenuCategory;
+import com.university.restaurant.model.menu.MenuItem;
+
+import java.util.*;
+
+/**
+ * Immutable view of the whole menu, published by {@link ConcurrentMenuService}
+ * through one volatile field. Items are held in an array grouped by category,
+ * with an id-to-index map. Changes build a new snapshot rather than touching
+ * this one.
+ *
+ * Only the structure is fixed: availability is read from each item when
+ * listed, since inventory flips it on the shared items in place.
+ */
+final class MenuSnapshot {
+
+    static final MenuSnapshot EMPTY = new MenuSnapshot(new MenuItem[0]);
+
+    private final MenuItem[] items;
+    private final Map<String, Integer> indexById;
+    private final int[] categoryStart;
+
+    private MenuSnapshot(MenuItem[] items) {
+        Arrays.sort(items, Comparator.comparing(MenuItem::getCategory));
+        this.items = items;
+        this.indexById = new HashMap<>(items.length * 2);
+        this.categoryStart = new int[MenuCategory.values().length + 1];
+
+        for (int i = 0; i < items.length; i++) {
+            indexById.put(items[i].getId(), i);
+            categoryStart[items[i].getCategory().ordinal() + 1]++;
+        }
+        for (int c = 1; c < categoryStart.length; c++) {
+            categoryStart[c] += categoryStart[c - 1];
+        }
+    }
+
+    static MenuSnapshot of(Collection<MenuItem> items) {
+        Map<String, MenuItem> unique = new LinkedHashMap<>();
+        items.forEach(item -> unique.put(item.getId(), item));
+        return new MenuSnapshot(unique.values().toArray(new MenuItem[0]));
+    }
+
+    /**
+     * Copy of this snapshot with {@code item} added, or replacing the item
+     * with the same id.
+     */
+    MenuSnapshot with(MenuItem item) {
+        Integer existing = indexById.get(item.getId());
+        MenuItem[] next;
+        if (existing == null) {
+            next = Arrays.copyOf(items, items.length + 1);
+            next[items.length] = item;
+        } else {
+            next = items.clone();
+            next[existing] = item;
+        }
+        return new MenuSnapshot(next);
+    }
+
+    Optional<MenuItem> find(String id) {
+        Integer i = indexById.get(id);
+        return i == null ? Optional.empty() : Optional.of(items[i]);
+    }
+
+    List<MenuItem> byCategory(MenuCategory category) {
+        int from = categoryStart[category.ordinal()];
+        int to = categoryStart[category.ordinal() + 1];
+        return List.of(Arrays.copyOfRange(items, from, to));
+    }
+
+    /** Items available now, in snapshot order. */
+    List<MenuItem> availableItems() {
+        List<MenuItem> open = new ArrayList<>(items.length);
+        for (MenuItem item : items) {
+            if (item.isAvailable()) open.add(item);
+        }
+        return Collections.unmodifiableList(open);
+    }
+}
@@ -0,0 +1,203 @@
+package com.university.restaurant.service.concurrent;
+
+import com.university.restaurant.chain.order.OrderPermissionChain;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.staff.StaffRole;
+import com.university.restaurant.repository.OrderRepository;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import com.university.restaurant.repository.RestaurantAuditLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Places orders through a {@link RingBuffer} with one thread per stage:
+ * validate, persist, kitchen, audit. Each placed order occupies a reused
+ * slot instead of a chain of futures on a thread pool, and the stages
+ * overlap, so while one order is audited the next ones are already being
+ * saved or sent to the kitchen.
+ *
+ * <p>
+ * A failure at any stage is recorded on the event; later stages skip it
+ * and the audit stage fails the order's future. A kitchen that turns the
+ * order away saves it as CANCELLED and fails the future with the
+ * {@link KitchenOverloadedException}, as {@link AsyncOrderService} does.
+ * Futures complete on the audit thread, so callbacks on them should not
+ * block.
+ * </p>
+ */
+public class OrderPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderPipeline.class);
+
+    /** One slot of the ring, filled by the caller and cleared by the last stage. */
+    private static final class OrderEvent {
+        private StaffRole actor;
+        private String tableId;
+        private List<MenuItem> items;
+        private CompletableFuture<Order> result;
+        private int tableNumber;
+        private Order order;
+        private Throwable failure;
+
+        void clear() {
+            actor = null;
+            tableId = null;
+            items = null;
+            result = null;
+            order = null;
+            failure = null;
+        }
+    }
+
+    private final OrderRepository repo;
+    private final RestaurantAuditLogRepository audits;
+    private final KitchenService kitchenService;
+    private final OrderPermissionChain permissions = new OrderPermissionChain();
+    private final RingBuffer<OrderEvent> ring;
+
+    /**
+     * @param ringSize slots in the ring, a power of two; callers wait when
+     *                 this many orders are in the pipeline
+     */
+    public OrderPipeline(OrderRepository repo, RestaurantAuditLogRepository audits,
+                         KitchenService kitchenService, int ringSize) {
+        this.repo = repo;
+        this.audits = audits;
+        this.kitchenService = kitchenService;
+        this.ring = new RingBuffer<>(ringSize, OrderEvent::new,
+                List.of(this::validate, this::persist, this::notifyKitchen, this::audit),
+                stageThreads(), OrderPipeline::failed);
+    }
+
+    /**
+     * Queues an order, waiting while the pipeline is full.
+     *
+     * @return completed once the order is saved, sent to the kitchen and audited
+     */
+    public CompletableFuture<Order> submit(StaffRole actor, String tableId, List<MenuItem> items) {
+        CompletableFuture<Order> result = new CompletableFuture<>();
+        long sequence = ring.next();
+        OrderEvent event = ring.get(sequence);
+        event.actor = actor;
+        event.tableId = tableId;
+        event.items = items;
+        event.result = result;
+        ring.publish(sequence);
+        return result;
+    }
+
+    /** Orders submitted but not yet through the audit stage. */
+    public long backlog() {
+        return ring.backlog();
+    }
+
+    /**
+     * Finishes the orders already submitted and stops the stage threads.
+     */
+    public void shutdown() {
+        try {
+            ring.close(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void validate(OrderEvent event, long sequence) {
+        try {
+            permissions.check(event.actor, "place an order");
+            event.tableNumber = Integer.parseInt(event.tableId);
+        } catch (RuntimeException e) {
+            event.failure = e;
+        }
+    }
+
+    private void persist(OrderEvent event, long sequence) {
+        if (event.failure != null) return;
+        try {
+            Order order = new Order(event.tableNumber, event.actor.id());
+            for (MenuItem item : event.items) {
+                order.addItem(item);
+            }
+            repo.save(order);
+            event.order = order;
+            log.info("Order {} created in pipeline", order.getId());
+        } catch (RuntimeException e) {
+            event.failure = e;
+        }
+    }
+
+    private void notifyKitchen(OrderEvent event, long sequence) {
+        if (event.failure != null) return;
+        Order order = event.order;
+        try {
+            if (order.requiresKitchenPrep()) {
+                try {
+                    kitchenService.submitOrder(order);
+                } catch (KitchenOverloadedException e) {
+                    order.updateStatus(OrderStatus.CANCELLED);
+                    repo.save(order);
+                    throw e;
+                }
+                order.updateStatus(OrderStatus.CONFIRMED);
+            }
+        } catch (RuntimeException e) {
+            event.failure = e;
+        }
+    }
+
+    private void audit(OrderEvent event, long sequence) {
+        CompletableFuture<Order> result = event.result;
+        try {
+            if (event.failure == null) {
+                Order order = event.order;
+                log.info("UI notified: Order {} status={}", order.getId(), order.getStatus());
+                audits.append(new RestaurantAuditEntry(
+                        event.actor.id(),
+                        event.actor.getClass().getSimpleName(),
+                        "PLACE_ORDER",
+                        "Order",
+                        order.getId().toString(),
+                        "Placed order with %d items".formatted(event.items.size()),
+                        audits.tailHash()
+                ));
+                result.complete(order);
+            } else if (event.failure instanceof KitchenOverloadedException overloaded) {
+                log.warn("Order turned away by the kitchen: {}", overloaded.getMessage());
+                result.completeExceptionally(overloaded);
+            } else {
+                log.error("Failed to place order in pipeline", event.failure);
+                result.completeExceptionally(new RuntimeException("Order placement failed", event.failure));
+            }
+        } catch (Throwable e) {
+            // The last stage: nothing behind it would fail the future
+            result.completeExceptionally(new RuntimeException("Order placement failed", e));
+        } finally {
+            event.clear();
+        }
+    }
+
+    /** Records what a stage let escape, such as an Error, so later stages skip the order. */
+    private static void failed(OrderEvent event, long sequence, Throwable failure) {
+        if (event.failure == null) {
+            event.failure = failure;
+        }
+    }
+
+    private static ThreadFactory stageThreads() {
+        String[] names = {"validate", "persist", "kitchen", "audit"};
+        AtomicInteger next = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "order-pipeline-" + names[next.getAndIncrement()]);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
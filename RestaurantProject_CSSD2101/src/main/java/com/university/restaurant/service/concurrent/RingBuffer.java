@@ -0,0 +1,284 @@
+package com.university.restaurant.service.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A fixed ring of pre-allocated events passed through a chain of stages,
+ * in the style of the LMAX Disruptor. Producers claim a sequence number,
+ * fill the event in that slot and publish it. Each stage has one consumer
+ * thread that follows the stage before it and handles every event in
+ * sequence order, so events never move between queues and a slot is
+ * reused once the last stage is past it.
+ *
+ * <p>
+ * A consumer handles everything published up to the stage ahead of it
+ * before recording its progress, so stages batch on their own under load.
+ * An idle consumer spins, then yields, then parks until the stage ahead
+ * moves. Producers wait while the ring is full, which is the pipeline's
+ * backpressure.
+ * </p>
+ *
+ * <p>
+ * Closing marks the claim counter itself, so a claim either lands before
+ * the close, and is handled, or fails. A stage that throws, even an
+ * {@link Error}, does not stop its consumer: the event is passed to the
+ * {@link FailureHandler} and goes on to the next stage.
+ * </p>
+ */
+public final class RingBuffer<E> {
+
+    private static final Logger log = LoggerFactory.getLogger(RingBuffer.class);
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    // Parked consumers are unparked on progress; the timeout is only a safety net
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Handles one event at one stage, on that stage's consumer thread. */
+    @FunctionalInterface
+    public interface Stage<E> {
+        void onEvent(E event, long sequence);
+    }
+
+    /** Told when a stage throws, on that stage's consumer thread, before the event moves on. */
+    @FunctionalInterface
+    public interface FailureHandler<E> {
+        void onFailure(E event, long sequence, Throwable failure);
+    }
+
+    // Set in the claim count by close(), so no claim can succeed once consumers may stop
+    private static final long CLOSED = 1L << 62;
+
+    private final Object[] entries;
+    private final int mask;
+    private final int indexShift;
+    // Round in which each slot was last published, so producers may publish out of order
+    private final AtomicIntegerArray published;
+    // Number of sequences claimed, with CLOSED set once the ring is closed
+    private final AtomicLong claims = new AtomicLong();
+    private final List<Consumer> consumers = new ArrayList<>();
+    private final FailureHandler<E> onFailure;
+
+    /**
+     * A ring whose stage failures are only logged.
+     *
+     * @param size          slots in the ring, a power of two
+     * @param factory       creates the event in each slot, once
+     * @param stages        the stages every event goes through, in order
+     * @param threadFactory creates one consumer thread per stage
+     */
+    public RingBuffer(int size, Supplier<E> factory, List<Stage<E>> stages, ThreadFactory threadFactory) {
+        this(size, factory, stages, threadFactory, (event, sequence, failure) -> { });
+    }
+
+    /**
+     * @param onFailure told of every stage failure, e.g. to mark the event failed for later stages
+     */
+    public RingBuffer(int size, Supplier<E> factory, List<Stage<E>> stages, ThreadFactory threadFactory,
+                      FailureHandler<E> onFailure) {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two");
+        }
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("Need at least one stage");
+        }
+        this.onFailure = onFailure;
+        this.entries = new Object[size];
+        for (int i = 0; i < size; i++) entries[i] = factory.get();
+        this.mask = size - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(size);
+        this.published = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) published.set(i, -1);
+
+        Consumer ahead = null;
+        for (Stage<E> stage : stages) {
+            ahead = new Consumer(stage, ahead);
+            consumers.add(ahead);
+        }
+        for (Consumer consumer : consumers) {
+            consumer.thread = threadFactory.newThread(consumer);
+            consumer.thread.start();
+        }
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Claims the next slot, waiting while the ring is full.
+     *
+     * @return the sequence to fill with {@link #get} and then {@link #publish}
+     * @throws IllegalStateException if the ring is closed
+     */
+    public long next() {
+        long sequence;
+        while (true) {
+            long current = claims.get();
+            if ((current & CLOSED) != 0) {
+                throw new IllegalStateException("Ring buffer is closed");
+            }
+            if (claims.compareAndSet(current, current + 1)) {
+                sequence = current;
+                break;
+            }
+        }
+        long wrapPoint = sequence - entries.length;
+        Consumer last = consumers.get(consumers.size() - 1);
+        for (int tries = 0; wrapPoint > last.sequence; tries++) {
+            pause(tries);
+        }
+        return sequence;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    /** Makes a filled slot visible to the first stage. */
+    public void publish(long sequence) {
+        published.set((int) sequence & mask, (int) (sequence >>> indexShift));
+        consumers.get(0).wake();
+    }
+
+    /** Events claimed but not yet through the last stage. */
+    public long backlog() {
+        return highestClaimed(claims.get()) - consumers.get(consumers.size() - 1).sequence;
+    }
+
+    /**
+     * Stops taking events, lets the stages finish those already claimed and
+     * waits up to {@code timeout} for the consumer threads to end.
+     */
+    public void close(long timeout, TimeUnit unit) throws InterruptedException {
+        claims.getAndUpdate(current -> current | CLOSED);
+        for (Consumer consumer : consumers) consumer.wake();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Consumer consumer : consumers) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            consumer.thread.join(Math.max(1, millis));
+        }
+    }
+
+    private static long highestClaimed(long claims) {
+        return (claims & ~CLOSED) - 1;
+    }
+
+    private boolean isClosed() {
+        return (claims.get() & CLOSED) != 0;
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    private static void pause(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    private final class Consumer implements Runnable {
+        private final Stage<E> stage;
+        private final Consumer ahead;
+        private Consumer behind;
+        private volatile long sequence = -1;
+        private volatile Thread sleeper;
+        private Thread thread;
+
+        Consumer(Stage<E> stage, Consumer ahead) {
+            this.stage = stage;
+            this.ahead = ahead;
+            if (ahead != null) ahead.behind = this;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence + 1;
+            int idle = 0;
+            while (true) {
+                long available = available(next);
+                if (available < next) {
+                    // Closed and claimed are read together, so no claim can follow this check
+                    long current = claims.get();
+                    if ((current & CLOSED) != 0 && next > highestClaimed(current)) {
+                        return;
+                    }
+                    idle = idle(next, idle);
+                    continue;
+                }
+                idle = 0;
+                for (long s = next; s <= available; s++) {
+                    handle(s);
+                }
+                sequence = available;
+                next = available + 1;
+                if (behind != null) behind.wake();
+            }
+        }
+
+        /**
+         * Runs the stage on one event. Anything it throws goes to the
+         * failure handler, so the consumer outlives it and the event still
+         * reaches the stages behind.
+         */
+        private void handle(long sequence) {
+            E event = get(sequence);
+            try {
+                stage.onEvent(event, sequence);
+            } catch (Throwable failure) {
+                log.error("Ring buffer stage failed on sequence {}", sequence, failure);
+                try {
+                    onFailure.onFailure(event, sequence, failure);
+                } catch (Throwable e) {
+                    log.error("Ring buffer failure handler failed on sequence {}", sequence, e);
+                }
+            }
+        }
+
+        /** The highest sequence from {@code next} on that this stage may handle. */
+        private long available(long next) {
+            if (ahead != null) {
+                return ahead.sequence;
+            }
+            long highest = highestClaimed(claims.get());
+            long s = next;
+            while (s <= highest && isPublished(s)) s++;
+            return s - 1;
+        }
+
+        private int idle(long next, int tries) {
+            if (tries < SPIN_TRIES + YIELD_TRIES) {
+                pause(tries);
+                return tries + 1;
+            }
+            // Announce the park before the last look, so a wake cannot slip in between
+            sleeper = Thread.currentThread();
+            if (available(next) < next && !isClosed()) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            sleeper = null;
+            return tries;
+        }
+
+        void wake() {
+            Thread parked = sleeper;
+            if (parked != null) LockSupport.unpark(parked);
+        }
+    }
+}
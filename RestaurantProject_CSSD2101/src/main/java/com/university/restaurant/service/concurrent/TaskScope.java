@@ -0,0 +1,208 @@
+package com.university.restaurant.service.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Structured fan-out: subtasks forked in a scope never outlive it. Used in
+ * a try-with-resources block, the owner forks subtasks, joins, and then
+ * reads their results. The first subtask to fail interrupts the others,
+ * and closing the scope interrupts whatever is still running and waits for
+ * it to stop.
+ *
+ * <p>
+ * This follows {@code StructuredTaskScope.ShutdownOnFailure}, which is
+ * still a preview API in Java 21, so the scope runs on any executor,
+ * e.g. one from {@link ExecutionStrategy}. It is meant for one owner
+ * thread.
+ * </p>
+ */
+public final class TaskScope implements AutoCloseable {
+
+    private final Executor executor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition settled = lock.newCondition();
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private int unfinished;
+    private Throwable failure;
+    private boolean shutdown;
+    private boolean closed;
+
+    public TaskScope(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a subtask.
+     *
+     * @return its result, readable after {@link #join()} once no subtask failed
+     */
+    public <T> Supplier<T> fork(Callable<? extends T> task) {
+        Subtask<T> subtask = new Subtask<>(task);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Scope is closed");
+            }
+            subtasks.add(subtask);
+            unfinished++;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            executor.execute(subtask);
+        } catch (RejectedExecutionException e) {
+            lock.lock();
+            try {
+                subtasks.remove(subtask);
+                unfinished--;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+        return subtask;
+    }
+
+    /**
+     * Waits until every subtask is done or one of them has failed.
+     */
+    public TaskScope join() throws InterruptedException {
+        lock.lock();
+        try {
+            while (unfinished > 0 && failure == null) {
+                settled.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * Rethrows the first failure: unchecked exceptions as they are, checked
+     * ones in a {@link CompletionException}.
+     */
+    public void throwIfFailed() {
+        lock.lock();
+        try {
+            if (failure instanceof RuntimeException e) throw e;
+            if (failure instanceof Error e) throw e;
+            if (failure != null) throw new CompletionException(failure);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Interrupts the subtasks still running and waits for every subtask to
+     * finish.
+     */
+    @Override
+    public void close() {
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            closed = true;
+            shutdownLocked();
+            while (unfinished > 0) {
+                try {
+                    settled.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void shutdownLocked() {
+        if (shutdown) return;
+        shutdown = true;
+        for (Subtask<?> subtask : subtasks) {
+            if (subtask.thread != null) subtask.thread.interrupt();
+        }
+    }
+
+    private final class Subtask<T> implements Runnable, Supplier<T> {
+        private final Callable<? extends T> task;
+        // Guarded by the scope's lock
+        private Thread thread;
+        private boolean succeeded;
+        private T result;
+
+        Subtask(Callable<? extends T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            lock.lock();
+            try {
+                if (shutdown) {
+                    // Shut down before it started; nothing to run
+                    unfinished--;
+                    settled.signalAll();
+                    return;
+                }
+                thread = Thread.currentThread();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                T value = task.call();
+                lock.lock();
+                try {
+                    result = value;
+                    succeeded = true;
+                } finally {
+                    lock.unlock();
+                }
+                finish(null);
+            } catch (Throwable t) {
+                finish(t);
+            }
+        }
+
+        private void finish(Throwable error) {
+            lock.lock();
+            try {
+                thread = null;
+                // Interrupts from the scope only arrive while the thread is set
+                Thread.interrupted();
+                if (error != null && failure == null && !shutdown) {
+                    failure = error;
+                    shutdownLocked();
+                }
+                unfinished--;
+                settled.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public T get() {
+            lock.lock();
+            try {
+                if (!succeeded) {
+                    throw new IllegalStateException("Subtask has not completed successfully");
+                }
+                return result;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.university.restaurant.service.concurrent;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * One deque per worker, in the style of a ForkJoinPool in async mode: a
+ * worker takes from the head of its own deque and, when that is empty,
+ * steals from the head of the others', so workers only meet on a deque
+ * when one of them has run dry. Idle workers park and are unparked by new
+ * work or by {@link #close()}, with no polling timeout.
+ *
+ * <p>
+ * Parking uses an event count: a worker reads {@link #wakeCount()} before
+ * looking for work and passes it to {@link #park}, which returns at once if
+ * anything was pushed or woken since, so no wake-up is lost between the
+ * look and the park. As in a ForkJoinPool, a push wakes nobody while a
+ * worker in {@link #take} is already searching, since that worker will find
+ * the item. A woken worker counts as searching from the moment it is
+ * signalled, and a worker that takes an item and leaves more behind passes
+ * the wake-up on.
+ * </p>
+ */
+public final class WorkStealingQueue<T> {
+
+    private final ConcurrentLinkedDeque<T>[] deques;
+    private final AtomicReferenceArray<Thread> parked;
+    private final AtomicLong wakeCount = new AtomicLong();
+    private final AtomicInteger searching = new AtomicInteger();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private volatile boolean closed;
+
+    public WorkStealingQueue(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Need at least one worker");
+        }
+        @SuppressWarnings("unchecked")
+        ConcurrentLinkedDeque<T>[] deques = (ConcurrentLinkedDeque<T>[]) new ConcurrentLinkedDeque<?>[workers];
+        this.deques = deques;
+        for (int i = 0; i < workers; i++) deques[i] = new ConcurrentLinkedDeque<>();
+        this.parked = new AtomicReferenceArray<>(workers);
+    }
+
+    public int workers() {
+        return deques.length;
+    }
+
+    /**
+     * Adds work from outside the pool, spreading it round-robin.
+     */
+    public void offer(T item) {
+        push(Math.floorMod(nextWorker.getAndIncrement(), deques.length), item);
+    }
+
+    /**
+     * Adds work to the tail of one worker's deque. Unless a worker is
+     * already searching, wakes that worker if it is parked, or else one
+     * idle worker that may steal it.
+     */
+    public void push(int worker, T item) {
+        if (closed) {
+            throw new IllegalStateException("Queue is closed");
+        }
+        deques[worker].addLast(item);
+        wakeCount.incrementAndGet();
+        if (searching.get() == 0) signal(worker);
+    }
+
+    /** Takes from the worker's own deque, or else steals any item. */
+    public T poll(int worker) {
+        T item = null;
+        for (int i = 0; item == null && i < deques.length; i++) {
+            item = deques[(worker + i) % deques.length].pollFirst();
+        }
+        return item;
+    }
+
+    /**
+     * Takes from the worker's own deque, or else steals the first item of
+     * another deque that {@code stealable} accepts.
+     */
+    public T poll(int worker, Predicate<? super T> stealable) {
+        T item = deques[worker].pollFirst();
+        if (item != null) return item;
+        for (int i = 1; i < deques.length; i++) {
+            item = steal(deques[(worker + i) % deques.length], stealable);
+            if (item != null) return item;
+        }
+        return null;
+    }
+
+    /**
+     * Waits for an item, returning {@code null} once the queue is closed
+     * and nothing is left for this worker.
+     */
+    public T take(int worker) throws InterruptedException {
+        boolean signalled = false;
+        while (true) {
+            long seen = wakeCount();
+            // A signalled worker was already counted by its signaller
+            if (!signalled) searching.incrementAndGet();
+            T item;
+            try {
+                item = poll(worker);
+            } finally {
+                searching.decrementAndGet();
+            }
+            if (item != null) {
+                // Leaving work behind: make sure someone else comes for it
+                if (searching.get() == 0 && hasQueued(worker)) signal(worker + 1);
+                return item;
+            }
+            if (closed) return null;
+            signalled = parkUntilWoken(worker, seen, Long.MAX_VALUE);
+            if (Thread.interrupted()) {
+                if (signalled) searching.decrementAndGet();
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    public long wakeCount() {
+        return wakeCount.get();
+    }
+
+    /**
+     * Parks the calling worker for up to {@code nanos} unless work was
+     * pushed or {@link #wakeAll()} called since {@code seenWakeCount} was read.
+     */
+    public void park(int worker, long seenWakeCount, long nanos) {
+        if (parkUntilWoken(worker, seenWakeCount, nanos)) searching.decrementAndGet();
+    }
+
+    /** Wakes every parked worker, e.g. when work arrives from another source. */
+    public void wakeAll() {
+        wakeCount.incrementAndGet();
+        for (int i = 0; i < deques.length; i++) {
+            Thread thread = parked.get(i);
+            if (thread != null) LockSupport.unpark(thread);
+        }
+    }
+
+    /** Stops accepting work and wakes every worker. Queued items can still be taken. */
+    public void close() {
+        closed = true;
+        wakeAll();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentLinkedDeque<T> deque : deques) size += deque.size();
+        return size;
+    }
+
+    /** Items on one worker's deque. */
+    public int size(int worker) {
+        return deques[worker].size();
+    }
+
+    private T steal(ConcurrentLinkedDeque<T> victim, Predicate<? super T> stealable) {
+        for (Iterator<T> it = victim.iterator(); it.hasNext(); ) {
+            T item = it.next();
+            // The owner or another thief may take it first
+            if (stealable.test(item) && victim.removeFirstOccurrence(item)) return item;
+        }
+        return null;
+    }
+
+    /**
+     * @return whether a signal woke the worker, which then already counts as searching
+     */
+    private boolean parkUntilWoken(int worker, long seenWakeCount, long nanos) {
+        Thread self = Thread.currentThread();
+        parked.set(worker, self);
+        if (wakeCount.get() == seenWakeCount && !closed) {
+            LockSupport.parkNanos(this, nanos);
+        }
+        // A signaller that claimed this worker has already cleared the slot
+        return !parked.compareAndSet(worker, self, null);
+    }
+
+    /** Wakes the given worker if parked, or else the next parked one. */
+    private void signal(int worker) {
+        for (int i = 0; i < deques.length; i++) {
+            int candidate = (worker + i) % deques.length;
+            Thread thread = parked.get(candidate);
+            if (thread != null && parked.compareAndSet(candidate, thread, null)) {
+                searching.incrementAndGet();
+                LockSupport.unpark(thread);
+                return;
+            }
+        }
+    }
+
+    private boolean hasQueued(int worker) {
+        for (int i = 0; i < deques.length; i++) {
+            if (!deques[(worker + i) % deques.length].isEmpty()) return true;
+        }
+        return false;
+    }
+}
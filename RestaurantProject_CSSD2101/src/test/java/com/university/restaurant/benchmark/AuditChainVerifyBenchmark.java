@@ -0,0 +1,164 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.infrastructure.adapter.AuditChainVerifier;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark of streaming audit chain verification against a file-backed H2
+ * audit_logs table (10M rows by default; override with -p rows=...).
+ * Setup populates the table once per trial, which takes a few minutes at 10M.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class AuditChainVerifyBenchmark {
+
+    @Param({"10000000"})
+    private int rows;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private Path dir;
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("audit-bench");
+        url = "jdbc:h2:file:" + dir.resolve("audit") + ";DB_CLOSE_DELAY=-1";
+        try (Connection c = DriverManager.getConnection(url)) {
+            c.createStatement().execute("""
+                    CREATE TABLE audit_logs (
+                        id BIGINT PRIMARY KEY, user_id VARCHAR(50), role VARCHAR(50), action VARCHAR(100),
+                        entity_type VARCHAR(50), entity_id VARCHAR(100), details VARCHAR(1000),
+                        timestamp TIMESTAMP(9), prev_hash VARCHAR(64), hash VARCHAR(64))""");
+            c.setAutoCommit(false);
+            try (PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO audit_logs VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                String prev = "GENESIS";
+                for (int i = 1; i <= rows; i++) {
+                    RestaurantAuditEntry e = new RestaurantAuditEntry("w" + (i % 20), "Waiter", "PLACE_ORDER",
+                            "Order", Integer.toString(i), "Placed order with 3 items", prev);
+                    ps.setLong(1, i);
+                    ps.setString(2, e.getUserId());
+                    ps.setString(3, e.getRole());
+                    ps.setString(4, e.getAction());
+                    ps.setString(5, e.getEntityType());
+                    ps.setString(6, e.getEntityId());
+                    ps.setString(7, e.getDetails());
+                    ps.setTimestamp(8, Timestamp.valueOf(e.getTimestamp()));
+                    ps.setString(9, e.getPrevHash());
+                    ps.setString(10, e.getHash());
+                    ps.addBatch();
+                    prev = e.getHash();
+                    if (i % 10_000 == 0) {
+                        ps.executeBatch();
+                        c.commit();
+                    }
+                }
+                ps.executeBatch();
+                c.commit();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Connection c = DriverManager.getConnection(url)) {
+            c.createStatement().execute("SHUTDOWN");
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public AuditChainVerifier.Result verifyChain() {
+        AuditChainVerifier.Result result = new AuditChainVerifier(new JdbcPageSource(url), pageSize, parallelism).verify();
+        if (!result.valid() || result.entriesChecked() != rows) {
+            throw new IllegalStateException("Unexpected result " + result);
+        }
+        return result;
+    }
+
+    /**
+     * Keyset pages over plain JDBC, one connection per call like a pooled data source.
+     */
+    private record JdbcPageSource(String url) implements AuditChainVerifier.PageSource {
+
+        @Override
+        public Long minId() {
+            return scalar("SELECT MIN(id) FROM audit_logs");
+        }
+
+        @Override
+        public Long maxId() {
+            return scalar("SELECT MAX(id) FROM audit_logs");
+        }
+
+        @Override
+        public List<AuditLogEntity> page(long afterId, long upToId, int size) {
+            try (Connection c = DriverManager.getConnection(url);
+                 PreparedStatement ps = c.prepareStatement(
+                         "SELECT * FROM audit_logs WHERE id > ? AND id <= ? ORDER BY id LIMIT ?")) {
+                ps.setLong(1, afterId);
+                ps.setLong(2, upToId);
+                ps.setInt(3, size);
+                List<AuditLogEntity> page = new ArrayList<>(size);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        AuditLogEntity row = new AuditLogEntity(rs.getString("user_id"), rs.getString("role"),
+                                rs.getString("action"), rs.getString("entity_type"), rs.getString("entity_id"),
+                                rs.getString("details"), rs.getString("prev_hash"), rs.getString("hash"));
+                        row.setId(rs.getLong("id"));
+                        row.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+                        page.add(row);
+                    }
+                }
+                return page;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Long scalar(String sql) {
+            try (Connection c = DriverManager.getConnection(url);
+                 ResultSet rs = c.createStatement().executeQuery(sql)) {
+                rs.next();
+                long value = rs.getLong(1);
+                return rs.wasNull() ? null : value;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AuditChainVerifyBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
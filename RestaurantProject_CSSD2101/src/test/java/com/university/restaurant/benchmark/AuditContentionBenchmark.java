@@ -0,0 +1,103 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import com.university.restaurant.repository.RestaurantAuditLogRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the in-memory audit log under contention: 32 threads
+ * appending, and 28 appenders alongside 4 threads taking all() views.
+ * "chunked" is InMemoryRestaurantAuditRepo; "locked-list" is a
+ * synchronized ArrayList that copies on all(), as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditContentionBenchmark {
+
+    @Param({"chunked", "locked-list"})
+    private String store;
+
+    private RestaurantAuditLogRepository repo;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        repo = store.equals("chunked") ? new InMemoryRestaurantAuditRepo() : new LockedListAuditRepo();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void append32() {
+        append();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(28)
+    public void mixedAppend() {
+        append();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public int mixedReadAll() {
+        List<RestaurantAuditEntry> all = repo.all();
+        return all.isEmpty() ? 0 : all.get(all.size() - 1).getHash().length();
+    }
+
+    private void append() {
+        repo.append(new RestaurantAuditEntry("w-1042", "Waiter", "PLACE_ORDER", "Order",
+                "3f2b8c1e-5d7a-4e9b-a1c2-7d8e9f0a1b2c", "Placed order with 3 items", repo.tailHash()));
+    }
+
+    /** Single lock around an ArrayList; all() copies. */
+    private static final class LockedListAuditRepo implements RestaurantAuditLogRepository {
+        private final List<RestaurantAuditEntry> log = new ArrayList<>();
+        private String tail = "GENESIS";
+
+        @Override
+        public synchronized void append(RestaurantAuditEntry entry) {
+            RestaurantAuditEntry linked = entry.getPrevHash().equals(tail) ? entry
+                    : new RestaurantAuditEntry(entry.getUserId(), entry.getRole(), entry.getAction(),
+                    entry.getEntityType(), entry.getEntityId(), entry.getDetails(), tail);
+            log.add(linked);
+            tail = linked.getHash();
+        }
+
+        @Override
+        public synchronized List<RestaurantAuditEntry> all() {
+            return List.copyOf(log);
+        }
+
+        @Override
+        public boolean verifyChain() {
+            return true;
+        }
+
+        @Override
+        public synchronized String tailHash() {
+            return tail;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AuditContentionBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
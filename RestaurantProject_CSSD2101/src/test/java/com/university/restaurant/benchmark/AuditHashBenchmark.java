@@ -0,0 +1,76 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the original audit entry hashing (String concatenation,
+ * MessageDigest.getInstance per call, String.format hex) with the thread-local,
+ * length-prefixed hasher behind RestaurantAuditEntry.computeHash.
+ * Run with -prof gc to compare allocation per entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditHashBenchmark {
+
+    private final String userId = "w-1042";
+    private final String role = "Waiter";
+    private final String action = "PLACE_ORDER";
+    private final String entityType = "Order";
+    private final String entityId = "3f2b8c1e-5d7a-4e9b-a1c2-7d8e9f0a1b2c";
+    private final String details = "Placed order with 3 items";
+    private final LocalDateTime timestamp = LocalDateTime.now();
+    private final String prevHash = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+
+    @Benchmark
+    public String legacyHash() throws Exception {
+        return legacySha256(userId + role + action + entityType + entityId + details + timestamp + prevHash);
+    }
+
+    @Benchmark
+    public String threadLocalHash() {
+        return RestaurantAuditEntry.computeHash(userId, role, action, entityType, entityId, details, timestamp, prevHash);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyHash4Threads() throws Exception {
+        return legacyHash();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String threadLocalHash4Threads() {
+        return threadLocalHash();
+    }
+
+    /** The hashing RestaurantAuditEntry used before the thread-local hasher. */
+    private static String legacySha256(String data) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        byte[] bytes = md.digest(data.getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AuditHashBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.repository.MappedFileRestaurantAuditRepo;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import com.university.restaurant.repository.RestaurantAuditLogRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark of audit append throughput (entries/ms, including hashing) for
+ * the in-memory list and the memory-mapped segment store under each fsync policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditStoreBenchmark {
+
+    @Param({"memory", "mapped-os", "mapped-interval"})
+    private String store;
+
+    private RestaurantAuditLogRepository repo;
+    private Path dir;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("audit-store-bench");
+        repo = switch (store) {
+            case "memory" -> new InMemoryRestaurantAuditRepo();
+            case "mapped-os" -> new MappedFileRestaurantAuditRepo(dir, 64 * 1024 * 1024,
+                    MappedFileRestaurantAuditRepo.FsyncPolicy.OS, 0);
+            default -> new MappedFileRestaurantAuditRepo(dir, 64 * 1024 * 1024,
+                    MappedFileRestaurantAuditRepo.FsyncPolicy.INTERVAL, 100);
+        };
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        if (repo instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        repo.append(new RestaurantAuditEntry("w-1042", "Waiter", "PLACE_ORDER", "Order",
+                "3f2b8c1e-5d7a-4e9b-a1c2-7d8e9f0a1b2c", "Placed order with 3 items", repo.tailHash()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AuditStoreBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
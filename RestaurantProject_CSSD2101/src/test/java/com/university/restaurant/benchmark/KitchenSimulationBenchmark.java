@@ -0,0 +1,207 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.model.menu.Dessert;
+import com.university.restaurant.model.menu.DietaryType;
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.Entree;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.service.concurrent.KitchenScheduler;
+import com.university.restaurant.service.concurrent.KitchenStation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates dinner-rush service in kitchen time and reports ticket times
+ * (order submitted to order ready). Each night runs three hours with
+ * tickets arriving at random, one every 8 minutes on average before and
+ * after a peak hour of one every 4 minutes. Parties of 1 to 4 order
+ * entrees (grill or cold), drinks and desserts; one ticket in six is
+ * drinks only. "fifo" is the previous kitchen: 12 cooks each taking the
+ * next whole order and preparing its items one after another. "stations"
+ * is KitchenScheduler with the same 12 cooks split over the stations.
+ * The score is simulator run time; ticket-time percentiles are printed at
+ * the end of each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class KitchenSimulationBenchmark {
+
+    private static final long MINUTE = 60_000;
+    private static final Map<KitchenStation, Integer> COOKS = Map.of(
+            KitchenStation.GRILL, 7, KitchenStation.COLD, 2,
+            KitchenStation.DESSERT, 1, KitchenStation.BAR, 2);
+    private static final int TOTAL_COOKS = 12;
+
+    @Param({"fifo", "stations"})
+    private String policy;
+
+    @Param({"20"})
+    private int nights;
+
+    private final List<Ticket> tickets = new ArrayList<>();
+    private Result result;
+
+    private record Ticket(Order order, long arrivalAt, boolean drinksOnly) {
+    }
+
+    private record Result(long[] ticketMillis, long[] drinksOnlyMillis, long spreadMillis) {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        for (int night = 0; night < nights; night++) {
+            // Nights are laid end to end with a quiet gap between them
+            long start = night * 6 * 60 * MINUTE;
+            long t = 0;
+            while (true) {
+                double meanGap = t >= 60 * MINUTE && t < 120 * MINUTE ? 4 : 8;
+                t += (long) (-Math.log(1 - random.nextDouble()) * meanGap * MINUTE);
+                if (t >= 180 * MINUTE) break;
+                tickets.add(ticket(random, start + t));
+            }
+        }
+    }
+
+    @Benchmark
+    public long simulate() {
+        result = policy.equals("fifo") ? fifo() : stations();
+        return result.spreadMillis();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long[] all = result.ticketMillis().clone();
+        long[] drinks = result.drinksOnlyMillis().clone();
+        Arrays.sort(all);
+        Arrays.sort(drinks);
+        System.out.printf("%n[%s] %d tickets, minutes p50=%.1f p90=%.1f p99=%.1f max=%.1f;"
+                        + " drinks-only p90=%.1f; first-to-last item spread mean=%.1f%n",
+                policy, all.length, minutes(all, 0.50), minutes(all, 0.90), minutes(all, 0.99),
+                minutes(all, 1.0), minutes(drinks, 0.90),
+                result.spreadMillis() / (double) MINUTE / all.length);
+    }
+
+    /** One cook per whole order, items prepared one after another. */
+    private Result fifo() {
+        PriorityQueue<Long> freeAt = new PriorityQueue<>();
+        for (int i = 0; i < TOTAL_COOKS; i++) freeAt.add(0L);
+        long[] times = new long[tickets.size()];
+        List<Long> drinks = new ArrayList<>();
+        long spread = 0;
+        for (int i = 0; i < tickets.size(); i++) {
+            Ticket ticket = tickets.get(i);
+            List<MenuItem> items = ticket.order().getItems();
+            long start = Math.max(ticket.arrivalAt(), freeAt.poll());
+            long done = start;
+            for (MenuItem item : items) done += KitchenScheduler.prepMinutes(item) * MINUTE;
+            freeAt.add(done);
+            times[i] = done - ticket.arrivalAt();
+            spread += done - start - KitchenScheduler.prepMinutes(items.get(0)) * MINUTE;
+            if (ticket.drinksOnly()) drinks.add(times[i]);
+        }
+        return new Result(times, drinks.stream().mapToLong(Long::longValue).toArray(), spread);
+    }
+
+    /** Discrete-event run of the station scheduler. */
+    private Result stations() {
+        KitchenScheduler scheduler = new KitchenScheduler(MINUTE, 10 * MINUTE);
+        List<Set<KitchenStation>> cooks = new ArrayList<>();
+        COOKS.forEach((station, count) -> {
+            for (int i = 0; i < count; i++) cooks.add(EnumSet.of(station));
+        });
+        boolean[] busy = new boolean[cooks.size()];
+        // Completions as {time, cook}; the task is kept per cook
+        PriorityQueue<long[]> completions = new PriorityQueue<>(Comparator.comparingLong(e -> e[0]));
+        KitchenScheduler.Task[] working = new KitchenScheduler.Task[cooks.size()];
+        Map<Order, Ticket> byOrder = new IdentityHashMap<>();
+        Map<Order, Long> firstDone = new IdentityHashMap<>();
+
+        long[] times = new long[tickets.size()];
+        List<Long> drinks = new ArrayList<>();
+        long spread = 0;
+        int next = 0;
+        int finished = 0;
+        long now = 0;
+        while (finished < tickets.size()) {
+            now = Math.min(scheduler.nextFireAt(now),
+                    next < tickets.size() ? tickets.get(next).arrivalAt() : Long.MAX_VALUE);
+            if (!completions.isEmpty()) now = Math.min(now, completions.peek()[0]);
+
+            while (!completions.isEmpty() && completions.peek()[0] <= now) {
+                int cook = (int) completions.poll()[1];
+                KitchenScheduler.Task task = working[cook];
+                busy[cook] = false;
+                Order order = task.order();
+                firstDone.putIfAbsent(order, now);
+                if (scheduler.complete(task)) {
+                    Ticket ticket = byOrder.get(order);
+                    times[finished++] = now - ticket.arrivalAt();
+                    spread += now - firstDone.get(order);
+                    if (ticket.drinksOnly()) drinks.add(now - ticket.arrivalAt());
+                }
+            }
+            while (next < tickets.size() && tickets.get(next).arrivalAt() <= now) {
+                Ticket ticket = tickets.get(next++);
+                byOrder.put(ticket.order(), ticket);
+                scheduler.submit(ticket.order(), now);
+            }
+            for (int cook = 0; cook < cooks.size(); cook++) {
+                if (busy[cook]) continue;
+                KitchenScheduler.Task task = scheduler.next(cooks.get(cook), now);
+                if (task == null) continue;
+                busy[cook] = true;
+                working[cook] = task;
+                completions.add(new long[]{now + task.prepMillis(), cook});
+            }
+        }
+        return new Result(times, drinks.stream().mapToLong(Long::longValue).toArray(), spread);
+    }
+
+    private static Ticket ticket(Random random, long arrivalAt) {
+        Order order = new Order(1 + random.nextInt(30), "w1");
+        boolean drinksOnly = random.nextInt(6) == 0;
+        int guests = 1 + random.nextInt(4);
+        for (int g = 0; g < guests; g++) {
+            if (drinksOnly || random.nextDouble() < 0.8) {
+                order.addItem(new Drink("d" + g, "Drink", "desc", 3.0, false));
+            }
+            if (drinksOnly) continue;
+            if (random.nextDouble() < 0.7) {
+                int prep = 12 + random.nextInt(9);
+                order.addItem(new Entree("g" + prep, "Grill " + prep, "desc", 20.0,
+                        DietaryType.REGULAR, List.of(), prep));
+            } else {
+                order.addItem(new Entree("c1", "Salad", "desc", 12.0, DietaryType.VEGETARIAN, List.of(), 4));
+            }
+            if (random.nextDouble() < 0.3) {
+                order.addItem(new Dessert("s1", "Cake", "desc", 7.0, DietaryType.REGULAR, List.of()));
+            }
+        }
+        return new Ticket(order, arrivalAt, drinksOnly);
+    }
+
+    private static double minutes(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / (double) MINUTE;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(KitchenSimulationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,192 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.staff.Manager;
+import com.university.restaurant.model.staff.StaffRole;
+import com.university.restaurant.port.MenuServicePort;
+import com.university.restaurant.repository.InMemoryMenuRepo;
+import com.university.restaurant.repository.MenuQuery;
+import com.university.restaurant.repository.MenuRepository;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import com.university.restaurant.repository.RestaurantAuditLogRepository;
+import com.university.restaurant.service.concurrent.ConcurrentMenuService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Benchmark of listMenuAvailableItems with 1, 8 and 32 reader threads, each
+ * group alongside one thread updating prices, over a 200-item menu.
+ * "snapshot" is ConcurrentMenuService; "stamped" is its previous StampedLock
+ * implementation, kept here as a baseline.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MenuSnapshotBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final Manager MANAGER = new Manager("m1", "Alice");
+
+    @Param({"stamped", "snapshot"})
+    private String impl;
+
+    private MenuServicePort service;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        MenuRepository repo = new InMemoryMenuRepo();
+        for (int i = 0; i < ITEMS; i++)
+            repo.save(new Drink("d-" + i, "Drink " + i, "bench", 2.5, i % 4 != 0));
+        RestaurantAuditLogRepository audits = new NoOpAuditRepo();
+        service = impl.equals("snapshot") ? new ConcurrentMenuService(repo, audits) : new StampedMenuService(repo, audits);
+    }
+
+    @Benchmark
+    @Group("readers1")
+    @GroupThreads(1)
+    public int readers1() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readers1")
+    @GroupThreads(1)
+    public void readers1Writer() {
+        write();
+    }
+
+    @Benchmark
+    @Group("readers8")
+    @GroupThreads(8)
+    public int readers8() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readers8")
+    @GroupThreads(1)
+    public void readers8Writer() {
+        write();
+    }
+
+    @Benchmark
+    @Group("readers32")
+    @GroupThreads(32)
+    public int readers32() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readers32")
+    @GroupThreads(1)
+    public void readers32Writer() {
+        write();
+    }
+
+    private int read() {
+        return service.listMenuAvailableItems().size();
+    }
+
+    private void write() {
+        service.updatePrice(MANAGER, "d-" + ThreadLocalRandom.current().nextInt(ITEMS),
+                ThreadLocalRandom.current().nextDouble(1, 20));
+    }
+
+    /** The StampedLock version of ConcurrentMenuService this benchmark replaced. */
+    private static final class StampedMenuService implements MenuServicePort {
+        private final MenuRepository repo;
+        private final RestaurantAuditLogRepository audits;
+        private final StampedLock lock = new StampedLock();
+
+        StampedMenuService(MenuRepository repo, RestaurantAuditLogRepository audits) {
+            this.repo = repo;
+            this.audits = audits;
+        }
+
+        @Override
+        public void addMenuItem(StaffRole actor, MenuItem item) {
+            long stamp = lock.writeLock();
+            try {
+                repo.save(item);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public void updatePrice(StaffRole actor, String itemId, double newPrice) {
+            long stamp = lock.writeLock();
+            try {
+                MenuItem oldItem = repo.findById(itemId).orElseThrow();
+                repo.save(oldItem.copyWithPrice(newPrice));
+                audits.append(new RestaurantAuditEntry(actor.id(), "Manager", "UPDATE_PRICE", "MenuItem",
+                        itemId, "Updated price to $" + newPrice, audits.tailHash()));
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public List<MenuItem> listMenuAvailableItems() {
+            long stamp = lock.tryOptimisticRead();
+            List<MenuItem> items;
+            try {
+                items = repo.query(MenuQuery.availableItems());
+            } catch (RuntimeException e) {
+                // HashMap iterated during a write; fall through to the read lock
+                items = null;
+            }
+            if (items == null || !lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    items = repo.query(MenuQuery.availableItems());
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return items;
+        }
+    }
+
+    /** Keeps the audit log out of the measurement. */
+    private static final class NoOpAuditRepo implements RestaurantAuditLogRepository {
+        @Override
+        public void append(RestaurantAuditEntry entry) {
+        }
+
+        @Override
+        public List<RestaurantAuditEntry> all() {
+            return List.of();
+        }
+
+        @Override
+        public boolean verifyChain() {
+            return true;
+        }
+
+        @Override
+        public String tailHash() {
+            return "GENESIS";
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MenuSnapshotBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.model.menu.DietaryType;
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.Entree;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.staff.Waiter;
+import com.university.restaurant.repository.ConcurrentOrderRepo;
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.service.concurrent.AsyncOrderService;
+import com.university.restaurant.service.concurrent.KitchenService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end order placement through AsyncOrderService: "futures" chains
+ * supplyAsync hops on a cached thread pool, "ringBuffer" runs the
+ * validate, persist, kitchen and audit stages of an OrderPipeline. Each
+ * invocation places a burst of orders (an entree and a drink, so the
+ * kitchen stage submits work) and waits for all of them; the kitchen cooks
+ * in no time so only placement is measured. The score is orders per
+ * second; p50/p99/max submit-to-complete latency is printed at the end of
+ * each iteration. Service logging is turned down to WARN for the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class OrderPipelineBenchmark {
+
+    private static final int BURST = 512;
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    @Param({"futures", "ringBuffer"})
+    private String impl;
+
+    @Param({"1024"})
+    private int ringSize;
+
+    private final Waiter waiter = new Waiter("w1", "Bob");
+    private final List<MenuItem> items = List.of(
+            new Entree("e1", "Steak", "desc", 24.99, DietaryType.REGULAR, List.of("beef"), 15),
+            new Drink("d1", "Coke", "desc", 2.99, false));
+
+    private KitchenService kitchen;
+    private AsyncOrderService service;
+    private final CompletableFuture<?>[] burst = new CompletableFuture<?>[BURST];
+    private final long[] submittedAt = new long[BURST];
+    private final long[] completedAt = new long[BURST];
+    private final long[] latencies = new long[MAX_SAMPLES];
+    private int samples;
+
+    @Setup(Level.Trial)
+    public void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.university.restaurant"))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        kitchen = new KitchenService(4, 0);
+        ConcurrentOrderRepo repo = new ConcurrentOrderRepo();
+        InMemoryRestaurantAuditRepo audits = new InMemoryRestaurantAuditRepo();
+        service = impl.equals("futures")
+                ? new AsyncOrderService(repo, audits, kitchen)
+                : new AsyncOrderService(repo, audits, kitchen, ringSize);
+        samples = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void placeOrders() throws Exception {
+        for (int i = 0; i < BURST; i++) {
+            int slot = i;
+            submittedAt[i] = System.nanoTime();
+            CompletableFuture<Order> placed = service.placeOrderAsync(waiter, String.valueOf(i % 30 + 1), items);
+            burst[i] = placed.whenComplete((order, e) -> completedAt[slot] = System.nanoTime());
+        }
+        for (int i = 0; i < BURST; i++) {
+            burst[i].get();
+            if (samples < MAX_SAMPLES) latencies[samples++] = completedAt[i] - submittedAt[i];
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        service.shutdown();
+        kitchen.shutdown();
+        long[] sorted = Arrays.copyOf(latencies, samples);
+        Arrays.sort(sorted);
+        System.out.printf("%n[%s] %d orders, latency us p50=%.1f p99=%.1f max=%.1f%n",
+                impl, samples, micros(sorted, 0.50), micros(sorted, 0.99), micros(sorted, 1.0));
+    }
+
+    private static double micros(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(OrderPipelineBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
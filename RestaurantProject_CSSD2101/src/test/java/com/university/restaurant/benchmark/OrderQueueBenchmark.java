@@ -1,16 +1,32 @@
 package com.university.restaurant.benchmark;
 
+import com.university.restaurant.model.menu.Drink;
 import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.order.OrderStatusListener;
+import com.university.restaurant.service.concurrent.ExecutionStrategy;
+import com.university.restaurant.service.concurrent.KitchenService;
+import com.university.restaurant.service.concurrent.WorkStealingQueue;
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.concurrent.*;
 
 /**
- * Benchmark for order queue throughput.
+ * Benchmark for order queue throughput. The group benchmarks pit producer
+ * threads against consumer threads on one queue. workerPool pushes batches
+ * of orders through a pool of 4, 16 or 64 workers doing a little work per
+ * order. Workers either poll one shared LinkedBlockingQueue with a timeout,
+ * as the kitchen used to, or use per-worker deques with stealing.
+ * kitchen pushes the same batches through KitchenService itself, as
+ * drinks-only orders with no prep time, so the score is the cost of
+ * scheduling: the scheduler lock, the rails and the wake-ups.
  */
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.Throughput)
@@ -76,6 +92,129 @@ public class OrderQueueBenchmark {
         return linkedTransferQueue.poll(1, TimeUnit.MILLISECONDS);
     }
 
+    private static final int BATCH = 1000;
+
+    @State(Scope.Benchmark)
+    public static class WorkerPool {
+
+        @Param({"4", "16", "64"})
+        private int workers;
+
+        @Param({"linkedBlocking", "workStealing"})
+        private String queue;
+
+        private BlockingQueue<Order> shared;
+        private WorkStealingQueue<Order> stealing;
+        private ExecutorService threads;
+        private volatile boolean running;
+        private volatile CountDownLatch done;
+        private final Order[] orders = new Order[BATCH];
+
+        @Setup(Level.Trial)
+        public void start() {
+            for (int i = 0; i < BATCH; i++) orders[i] = new Order(i % 30 + 1, "waiter-1");
+            shared = new LinkedBlockingQueue<>();
+            stealing = new WorkStealingQueue<>(workers);
+            running = true;
+            threads = Executors.newFixedThreadPool(workers);
+            for (int i = 0; i < workers; i++) {
+                final int worker = i;
+                threads.submit(queue.equals("workStealing") ? () -> steal(worker) : this::pollShared);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws InterruptedException {
+            running = false;
+            stealing.close();
+            threads.shutdown();
+            threads.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        void runBatch() throws InterruptedException {
+            done = new CountDownLatch(BATCH);
+            for (Order order : orders) {
+                if (queue.equals("workStealing")) stealing.offer(order);
+                else shared.offer(order);
+            }
+            done.await();
+        }
+
+        private void pollShared() {
+            try {
+                while (running) {
+                    Order order = shared.poll(1, TimeUnit.SECONDS);
+                    if (order != null) process();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void steal(int worker) {
+            try {
+                while (stealing.take(worker) != null) process();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void process() {
+            Blackhole.consumeCPU(200);
+            done.countDown();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void workerPool(WorkerPool pool) throws InterruptedException {
+        pool.runBatch();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Kitchen {
+
+        @Param({"4", "16", "64"})
+        private int cooks;
+
+        private final Drink drink = new Drink("d1", "Water", "still", 1.0, false);
+        private KitchenService kitchen;
+        private volatile CountDownLatch done;
+        private final OrderStatusListener countReady = (order, from, to) -> {
+            if (to == OrderStatus.READY) done.countDown();
+        };
+
+        @Setup(Level.Trial)
+        public void start() {
+            ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.university.restaurant"))
+                    .setLevel(ch.qos.logback.classic.Level.WARN);
+            kitchen = new KitchenService(cooks, 0, Integer.MAX_VALUE, KitchenService.IntakePolicy.REJECT,
+                    Duration.ZERO, ExecutionStrategy.PLATFORM);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            kitchen.shutdown();
+        }
+
+        void runBatch() throws InterruptedException {
+            done = new CountDownLatch(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                Order order = new Order(i % 30 + 1, "waiter-1");
+                order.addItem(drink);
+                order.addStatusListener(countReady);
+                kitchen.submitOrder(order);
+            }
+            done.await();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void kitchen(Kitchen kitchen) throws InterruptedException {
+        kitchen.runBatch();
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(OrderQueueBenchmark.class.getSimpleName())
@@ -0,0 +1,125 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.MenuCategory;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.repository.ConcurrentMenuRepo;
+import com.university.restaurant.repository.InMemoryMenuRepo;
+import com.university.restaurant.repository.MenuRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+/**
+ * Benchmark of menu searches running alongside price updates: 60 readers
+ * and 4 writers over a 200-item menu. "stamped" is InMemoryMenuRepo behind
+ * the StampedLock pattern ConcurrentMenuService uses; "mvcc" is
+ * ConcurrentMenuRepo with no outer lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotRepoBenchmark {
+
+    private static final int ITEMS = 200;
+
+    @Param({"stamped", "mvcc"})
+    private String store;
+
+    private MenuRepository repo;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        repo = store.equals("mvcc") ? new ConcurrentMenuRepo() : new StampedMenuRepo(new InMemoryMenuRepo());
+        for (int i = 0; i < ITEMS; i++)
+            repo.save(new Drink("d-" + i, "Drink " + i, "bench", 2.5, false));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(60)
+    public int search() {
+        return repo.search(MenuItem::isAvailable).size();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public void updatePrice() {
+        String id = "d-" + ThreadLocalRandom.current().nextInt(ITEMS);
+        MenuItem item = repo.findById(id).orElseThrow();
+        repo.save(item.copyWithPrice(item.calculatePrice() + 0.01));
+    }
+
+    /** Optimistic reads with a read-lock retry, writes under the write lock. */
+    private static final class StampedMenuRepo implements MenuRepository {
+        private final MenuRepository delegate;
+        private final StampedLock lock = new StampedLock();
+
+        StampedMenuRepo(MenuRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Optional<MenuItem> findById(String id) {
+            long stamp = lock.readLock();
+            try {
+                return delegate.findById(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public List<MenuItem> findByCategory(MenuCategory category) {
+            return search(item -> item.getCategory() == category);
+        }
+
+        @Override
+        public List<MenuItem> search(Predicate<MenuItem> filter) {
+            long stamp = lock.tryOptimisticRead();
+            try {
+                List<MenuItem> items = delegate.search(filter);
+                if (lock.validate(stamp)) return items;
+            } catch (RuntimeException e) {
+                // HashMap iterated during a write; retry under the read lock
+            }
+            stamp = lock.readLock();
+            try {
+                return delegate.search(filter);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public void save(MenuItem item) {
+            long stamp = lock.writeLock();
+            try {
+                delegate.save(item);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SnapshotRepoBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
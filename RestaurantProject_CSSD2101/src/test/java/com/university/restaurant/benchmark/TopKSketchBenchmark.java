@@ -0,0 +1,122 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.repository.WindowedTopItems;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams order lines spread over 26 weeks into the top-seller engine and
+ * reports the heap retained afterwards. Keys follow a Zipf distribution over
+ * {@code distinct} items (menu items with their modifiers) and are built per
+ * line, as they would be when parsed from an order. "exact" keeps one HashMap
+ * counter per key and no windows at all; "sketch" is WindowedTopItems at
+ * epsilon 0.001, whose size is capped by its bucket retention whatever the
+ * volume or key count. Each run is a single shot; the retained heap is
+ * printed at the end of the iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class TopKSketchBenchmark {
+
+    private static final int SAMPLES = 1 << 24;
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 1, 6, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final long SPAN_SECONDS = ChronoUnit.WEEKS.getDuration().getSeconds() * 26;
+
+    @Param({"exact", "sketch"})
+    private String engine;
+
+    @Param({"1000000", "100000000"})
+    private long lines;
+
+    @Param({"100000", "10000000"})
+    private int distinct;
+
+    private int[] samples;
+    private long baselineBytes;
+
+    private Map<String, long[]> exact;
+    private WindowedTopItems sketch;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        samples = zipfSamples(distinct);
+        exact = new HashMap<>();
+        sketch = new WindowedTopItems(0.001, 0.01);
+        baselineBytes = usedHeap();
+    }
+
+    @Benchmark
+    public int stream() {
+        long step = Math.max(1, SPAN_SECONDS / lines);
+        long second = START.toEpochSecond();
+        OffsetDateTime at = START;
+        boolean useSketch = engine.equals("sketch");
+        for (long n = 0; n < lines; n++) {
+            // Lines share a timestamp in runs of 1024 to keep clock conversion off the hot path
+            if (n % 1024 == 0) at = OffsetDateTime.ofInstant(Instant.ofEpochSecond(second + n * step), ZoneOffset.UTC);
+            String key = "item-" + samples[(int) (n & (SAMPLES - 1))];
+            if (useSketch) {
+                sketch.offer(key, 1, at);
+            } else {
+                exact.computeIfAbsent(key, k -> new long[1])[0]++;
+            }
+        }
+        return useSketch ? sketch.top(ChronoUnit.WEEKS, 26, 10, at).size() : exact.size();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long retained = usedHeap() - baselineBytes;
+        String detail = engine.equals("sketch")
+                ? sketch.stats().toString()
+                : "distinct keys=" + exact.size();
+        System.out.printf("%n[%s, %,d lines, %,d items] retained heap: %,d KB; %s%n",
+                engine, lines, distinct, retained / 1024, detail);
+        exact = null;
+        sketch = null;
+    }
+
+    /** Item indexes where index i is drawn with weight 1 / (i + 1). */
+    private static int[] zipfSamples(int distinct) {
+        double[] cdf = new double[distinct];
+        double acc = 0;
+        for (int i = 0; i < distinct; i++) cdf[i] = acc += 1.0 / (i + 1);
+        Random random = new Random(42);
+        int[] samples = new int[SAMPLES];
+        for (int n = 0; n < SAMPLES; n++) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble() * acc);
+            samples[n] = i >= 0 ? i : Math.min(-i - 1, distinct - 1);
+        }
+        return samples;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TopKSketchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+}
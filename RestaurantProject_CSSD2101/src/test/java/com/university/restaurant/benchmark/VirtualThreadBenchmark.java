@@ -0,0 +1,165 @@
+package com.university.restaurant.benchmark;
+
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.staff.Waiter;
+import com.university.restaurant.repository.ConcurrentOrderRepo;
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.repository.OrderRepository;
+import com.university.restaurant.service.concurrent.AsyncOrderService;
+import com.university.restaurant.service.concurrent.ExecutionStrategy;
+import com.university.restaurant.service.concurrent.KitchenService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10,000 concurrent requests each place an order through AsyncOrderService
+ * while the order repository takes 10 ms per call, standing in for a
+ * JDBC round trip. Requests run on threads of the same strategy as the
+ * service, like a web server's request threads. "sync" calls placeOrder,
+ * which runs on the request thread; "async" calls placeOrderAsync and
+ * blocks on the future, as placeOrder used to, so each request also holds
+ * a service thread. The score is the time for all requests;
+ * orders per second and the peak number of platform threads (virtual
+ * threads are not counted, their carriers are) are printed at the end of
+ * each iteration. VIRTUAL needs Java 21; main() skips it on older runtimes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class VirtualThreadBenchmark {
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ExecutionStrategy strategy;
+
+    @Param({"sync", "async"})
+    private String call;
+
+    @Param({"10000"})
+    private int requests;
+
+    @Param({"10"})
+    private long jdbcMillis;
+
+    private final Waiter waiter = new Waiter("w1", "Bob");
+    private final List<MenuItem> items = List.of(new Drink("d1", "Coke", "desc", 2.99, false));
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private KitchenService kitchen;
+    private AsyncOrderService service;
+    private ExecutorService requestThreads;
+    private long elapsedNanos;
+
+    /** Delegates to an in-memory repository after a fixed delay per call. */
+    private static final class SlowOrderRepo implements OrderRepository {
+        private final OrderRepository delegate = new ConcurrentOrderRepo();
+        private final long millis;
+
+        SlowOrderRepo(long millis) {
+            this.millis = millis;
+        }
+
+        private void roundTrip() {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override public Optional<Order> findById(UUID id) { roundTrip(); return delegate.findById(id); }
+        @Override public List<Order> findByStatus(OrderStatus s) { roundTrip(); return delegate.findByStatus(s); }
+        @Override public List<Order> findByTable(int table) { roundTrip(); return delegate.findByTable(table); }
+        @Override public List<Order> findCreatedBetween(OffsetDateTime from, OffsetDateTime to) {
+            roundTrip();
+            return delegate.findCreatedBetween(from, to);
+        }
+        @Override public void save(Order order) { roundTrip(); delegate.save(order); }
+    }
+
+    @Setup(Level.Trial)
+    public void quietLogging() {
+        if (!strategy.isSupported()) {
+            throw new IllegalStateException(strategy + " needs Java 21 or later");
+        }
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.university.restaurant"))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Drinks need no kitchen prep, so the kitchen stays idle
+        kitchen = new KitchenService(1, 0, Integer.MAX_VALUE, KitchenService.IntakePolicy.REJECT,
+                Duration.ZERO, strategy);
+        service = new AsyncOrderService(new SlowOrderRepo(jdbcMillis), new InMemoryRestaurantAuditRepo(),
+                kitchen, strategy);
+        requestThreads = strategy.newTaskExecutor("request");
+        threads.resetPeakThreadCount();
+    }
+
+    @Benchmark
+    public void concurrentRequests() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            String table = String.valueOf(i % 30 + 1);
+            requestThreads.execute(() -> {
+                try {
+                    if (call.equals("sync")) {
+                        service.placeOrder(waiter, table, items);
+                    } else {
+                        service.placeOrderAsync(waiter, table, items).join();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        int peak = threads.getPeakThreadCount();
+        requestThreads.shutdown();
+        requestThreads.awaitTermination(30, TimeUnit.SECONDS);
+        service.shutdown();
+        kitchen.shutdown();
+        System.out.printf("%n[%s/%s] %d requests, %.0f orders/s, peak platform threads %d%n",
+                strategy, call, requests, requests / (elapsedNanos / 1e9), peak);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String[] strategies = Arrays.stream(ExecutionStrategy.values())
+                .filter(ExecutionStrategy::isSupported)
+                .map(Enum::name)
+                .toArray(String[]::new);
+        Options opt = new OptionsBuilder()
+                .include(VirtualThreadBenchmark.class.getSimpleName())
+                .param("strategy", strategies)
+                .build();
+        new Runner(opt).run();
+    }
+}
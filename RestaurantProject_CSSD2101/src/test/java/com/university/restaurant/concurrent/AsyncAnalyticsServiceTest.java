@@ -4,8 +4,10 @@ import com.university.restaurant.model.menu.Drink;
 import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
 import com.university.restaurant.model.staff.Manager;
+import com.university.restaurant.model.staff.Waiter;
 import com.university.restaurant.repository.InMemoryOrderRepo;
 import com.university.restaurant.service.concurrent.AsyncAnalyticsService;
+import com.university.restaurant.service.concurrent.ExecutionStrategy;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import java.util.Map;
 import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Tests for AsyncAnalyticsService.
@@ -84,6 +87,33 @@ class AsyncAnalyticsServiceTest {
         assertNotNull(revenue.get());
     }
 
+    @Test
+    void dashboard_shouldComputeBothFigures() throws InterruptedException {
+        AsyncAnalyticsService.Dashboard dashboard = service.dashboard(manager);
+
+        assertEquals(2L, dashboard.topSellingItems().get("Coke"));
+        assertEquals(9.97, dashboard.revenueToday(), 0.01);
+    }
+
+    @Test
+    void dashboard_onVirtualThreads_shouldComputeBothFigures() throws InterruptedException {
+        assumeTrue(ExecutionStrategy.VIRTUAL.isSupported(), "virtual threads need Java 21");
+        AsyncAnalyticsService virtual = new AsyncAnalyticsService(orderRepo, ExecutionStrategy.VIRTUAL);
+        try {
+            AsyncAnalyticsService.Dashboard dashboard = virtual.dashboard(manager);
+
+            assertEquals(2L, dashboard.topSellingItems().get("Coke"));
+            assertEquals(9.97, dashboard.revenueToday(), 0.01);
+        } finally {
+            virtual.shutdown();
+        }
+    }
+
+    @Test
+    void dashboard_withoutPermission_shouldThrow() {
+        assertThrows(SecurityException.class, () -> service.dashboard(new Waiter("w1", "Bob")));
+    }
+
     @Test
     void asyncAnalytics_shouldNotBlockMainThread() {
         long startTime = System.currentTimeMillis();
@@ -0,0 +1,104 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.model.menu.*;
+import com.university.restaurant.model.staff.Manager;
+import com.university.restaurant.repository.InMemoryMenuRepo;
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.service.concurrent.ConcurrentMenuService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the snapshot-published concurrent menu service.
+ */
+class ConcurrentMenuServiceTest {
+
+    private final InMemoryMenuRepo repo = new InMemoryMenuRepo();
+    private final Manager manager = new Manager("m1", "Alice");
+
+    @Test
+    void writes_shouldPublishANewSnapshot() {
+        Drink cola = new Drink("d1", "Cola", "fizzy", 2.5, false);
+        repo.save(cola);
+        ConcurrentMenuService service = new ConcurrentMenuService(repo, new InMemoryRestaurantAuditRepo());
+        List<MenuItem> before = service.listMenuAvailableItems();
+
+        service.addMenuItem(manager, new Entree("e1", "Burger", "beef", 14.0, DietaryType.REGULAR, List.of("beef"), 12));
+        service.updatePrice(manager, "d1", 3.0);
+
+        assertEquals(1, before.size());
+        assertEquals(2, service.listMenuAvailableItems().size());
+        assertEquals(3.0, service.findMenuItem("d1").orElseThrow().calculatePrice());
+        assertEquals(List.of("e1"), service.listMenuItemsByCategory(MenuCategory.ENTREE).stream()
+                .map(MenuItem::getId).toList());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(cola));
+    }
+
+    @Test
+    void availabilityChangedElsewhere_shouldShowWithoutRefresh() {
+        Drink cola = new Drink("d1", "Cola", "fizzy", 2.5, false);
+        repo.save(cola);
+        ConcurrentMenuService service = new ConcurrentMenuService(repo, new InMemoryRestaurantAuditRepo());
+
+        // As inventory does when an item sells out, then is restocked
+        cola.setAvailable(false);
+        repo.save(cola);
+        assertTrue(service.listMenuAvailableItems().isEmpty());
+
+        cola.setAvailable(true);
+        repo.save(cola);
+        assertEquals(List.of(cola), service.listMenuAvailableItems());
+    }
+
+    @Test
+    void refresh_shouldPickUpItemsReplacedElsewhere() {
+        repo.save(new Drink("d1", "Cola", "fizzy", 2.5, false));
+        ConcurrentMenuService service = new ConcurrentMenuService(repo, new InMemoryRestaurantAuditRepo());
+
+        Drink repriced = new Drink("d1", "Cola", "fizzy", 3.0, false);
+        repo.save(repriced);
+        service.refresh();
+
+        assertSame(repriced, service.findMenuItem("d1").orElseThrow());
+    }
+
+    @Test
+    void readers_shouldNeverSeeAPartialSnapshot() throws Exception {
+        ConcurrentMenuService service = new ConcurrentMenuService(repo, new InMemoryRestaurantAuditRepo());
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 500; i++)
+                service.addMenuItem(manager, new Drink("d" + i, "Drink " + i, "desc", 2.0, false));
+            done.set(true);
+            return null;
+        });
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < 7; r++) {
+            readers.add(executor.submit(() -> {
+                int last = 0;
+                while (!done.get()) {
+                    List<MenuItem> items = service.listMenuAvailableItems();
+                    assertTrue(items.size() >= last);
+                    for (int i = 0; i < items.size(); i++)
+                        assertEquals("d" + i, items.get(i).getId());
+                    last = items.size();
+                }
+                return null;
+            }));
+        }
+
+        writer.get(30, TimeUnit.SECONDS);
+        for (Future<?> f : readers)
+            f.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertEquals(500, service.listMenuAvailableItems().size());
+    }
+}
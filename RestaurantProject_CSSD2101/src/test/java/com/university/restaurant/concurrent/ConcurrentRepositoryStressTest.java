@@ -0,0 +1,138 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.reservation.Customer;
+import com.university.restaurant.model.reservation.Reservation;
+import com.university.restaurant.model.reservation.ReservationStatus;
+import com.university.restaurant.repository.ConcurrentMenuRepo;
+import com.university.restaurant.repository.ConcurrentOrderRepo;
+import com.university.restaurant.repository.ConcurrentReservationRepo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for the snapshot-based concurrent repositories: 64 threads
+ * mixing writes with searches, status and active lookups.
+ */
+class ConcurrentRepositoryStressTest {
+
+    private static final int THREADS = 64;
+    private static final int WRITERS = 16;
+    private static final int PER_WRITER = 500;
+    private static final int PER_READER = 50;
+
+    @Test
+    void menuSearch_shouldSeeEachWritersItemsAsAPrefix() throws Exception {
+        ConcurrentMenuRepo menu = new ConcurrentMenuRepo();
+
+        run((thread, i) -> {
+            if (thread < WRITERS) {
+                menu.save(new Drink("d-" + thread + "-" + i, "Drink " + i, "stress", 2.5, false));
+                return;
+            }
+            // A writer saves its items in order, so a snapshot holding item i
+            // must also hold every earlier item from that writer
+            int[] seen = new int[WRITERS];
+            int[] highest = new int[WRITERS];
+            for (MenuItem item : menu.search(MenuItem::isAvailable)) {
+                String[] parts = item.getId().split("-");
+                int writer = Integer.parseInt(parts[1]);
+                seen[writer]++;
+                highest[writer] = Math.max(highest[writer], Integer.parseInt(parts[2]) + 1);
+            }
+            for (int w = 0; w < WRITERS; w++)
+                assertEquals(highest[w], seen[w], "gap in writer " + w);
+        });
+
+        assertEquals(WRITERS * PER_WRITER, menu.search(item -> true).size());
+    }
+
+    @Test
+    void orderLookups_shouldNotFailWhileOrdersAreSavedAndUpdated() throws Exception {
+        ConcurrentOrderRepo orders = new ConcurrentOrderRepo();
+        OffsetDateTime start = OffsetDateTime.now().minusMinutes(1);
+
+        run((thread, i) -> {
+            if (thread < WRITERS) {
+                Order order = new Order(thread, "w" + thread);
+                orders.save(order);
+                order.updateStatus(OrderStatus.CONFIRMED);
+                return;
+            }
+            for (Order o : orders.findByStatus(OrderStatus.CONFIRMED))
+                assertNotNull(o.getId());
+            orders.findByStatus(OrderStatus.PENDING);
+            for (Order o : orders.findByTable(thread % WRITERS))
+                assertEquals(thread % WRITERS, o.getTableNumber());
+            orders.findCreatedBetween(start, OffsetDateTime.now().plusMinutes(1));
+        });
+
+        assertEquals(WRITERS * PER_WRITER, orders.findByStatus(OrderStatus.CONFIRMED).size());
+        assertTrue(orders.findByStatus(OrderStatus.PENDING).isEmpty());
+        assertEquals(PER_WRITER, orders.findByTable(3).size());
+        assertEquals(WRITERS * PER_WRITER,
+                orders.findCreatedBetween(start, OffsetDateTime.now().plusMinutes(1)).size());
+    }
+
+    @Test
+    void reservationLookups_shouldNotFailWhileReservationsAreSaved() throws Exception {
+        ConcurrentReservationRepo reservations = new ConcurrentReservationRepo();
+        LocalDateTime time = LocalDate.now().plusDays(1).atTime(19, 0);
+        Customer customer = new Customer("Stress", "555-0100", "stress@example.com");
+
+        run((thread, i) -> {
+            if (thread < WRITERS) {
+                Reservation r = new Reservation(customer, time, 2);
+                if (i % 2 == 0) r.updateStatus(ReservationStatus.CANCELLED);
+                reservations.save(r);
+                return;
+            }
+            for (Reservation r : reservations.findActive())
+                assertTrue(r.isActive());
+            reservations.findByDate(time.toLocalDate());
+        });
+
+        assertEquals(WRITERS * PER_WRITER / 2, reservations.findActive().size());
+        assertEquals(WRITERS * PER_WRITER, reservations.findByDate(time.toLocalDate()).size());
+    }
+
+    private interface Step {
+        void run(int thread, int i);
+    }
+
+    /**
+     * Runs {@code step} on THREADS threads, PER_WRITER times for the first
+     * WRITERS threads and PER_READER times for the rest, and rethrows any failure.
+     */
+    private static void run(Step step) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                int steps = thread < WRITERS ? PER_WRITER : PER_READER;
+                for (int i = 0; i < steps; i++)
+                    step.run(thread, i);
+                return null;
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        for (Future<?> f : futures)
+            f.get();
+    }
+}
@@ -0,0 +1,188 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.repository.GroupCommitAuditLogRepository;
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import com.university.restaurant.repository.RestaurantAuditLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the group-commit audit writer.
+ */
+class GroupCommitAuditLogTest {
+
+    private GroupCommitAuditLogRepository audits;
+
+    @AfterEach
+    void tearDown() {
+        if (audits != null) {
+            audits.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentAppends_shouldProduceSingleUnbrokenChain() throws Exception {
+        audits = new GroupCommitAuditLogRepository(new InMemoryRestaurantAuditRepo(), 64);
+
+        int threads = 16;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    // Every caller reads the same stale head; the sequencer must re-link
+                    audits.append(entry("t" + thread + "-" + i, audits.tailHash()));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<RestaurantAuditEntry> all = audits.all();
+        assertEquals(threads * perThread, all.size());
+        assertTrue(audits.verifyChain());
+        assertEquals("GENESIS", all.get(0).getPrevHash());
+        assertEquals(all.get(all.size() - 1).getHash(), audits.tailHash());
+
+        GroupCommitAuditLogRepository.Stats stats = audits.stats();
+        assertEquals(threads * perThread, stats.entries());
+        assertTrue(stats.maxBatchSize() <= 64);
+    }
+
+    @Test
+    void appendAsync_shouldCompleteWithChainedEntry() throws Exception {
+        audits = new GroupCommitAuditLogRepository(new InMemoryRestaurantAuditRepo(), 16);
+
+        RestaurantAuditEntry first = audits.appendAsync(entry("a", "stale")).get(5, TimeUnit.SECONDS);
+        RestaurantAuditEntry second = audits.appendAsync(entry("b", "stale")).get(5, TimeUnit.SECONDS);
+
+        assertEquals("GENESIS", first.getPrevHash());
+        assertEquals(first.getHash(), second.getPrevHash());
+    }
+
+    @Test
+    void failedBatch_shouldCompleteExceptionallyAndKeepHead() {
+        audits = new GroupCommitAuditLogRepository(new FailingRepo(), 16);
+
+        CompletableFuture<RestaurantAuditEntry> result = audits.appendAsync(entry("x", "GENESIS"));
+
+        assertThrows(CompletionException.class, result::join);
+        assertEquals("GENESIS", audits.tailHash());
+        assertEquals(1, audits.stats().failedBatches());
+    }
+
+    @Test
+    void append_shouldWaitForItsBatchAndRethrowFailure() {
+        audits = new GroupCommitAuditLogRepository(new FailingRepo(), 16);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> audits.append(entry("x", "GENESIS")));
+        assertEquals("database unavailable", e.getCause().getMessage());
+    }
+
+    @Test
+    void batchFailingWithAnError_shouldFailItsEntriesAndKeepWriting() {
+        InMemoryRestaurantAuditRepo store = new InMemoryRestaurantAuditRepo();
+        audits = new GroupCommitAuditLogRepository(new ErrorOnceRepo(store), 16);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> audits.append(entry("x", "GENESIS")));
+        assertInstanceOf(AssertionError.class, e.getCause());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> audits.append(entry("y", "GENESIS")));
+        assertEquals(1, store.all().size());
+        assertEquals(1, audits.stats().failedBatches());
+    }
+
+    @Test
+    void readsAfterShutdown_shouldNotWaitForTheStoppedSequencer() {
+        audits = new GroupCommitAuditLogRepository(new InMemoryRestaurantAuditRepo(), 16);
+        audits.append(entry("a", "GENESIS"));
+        audits.shutdown();
+
+        List<RestaurantAuditEntry> all = assertTimeoutPreemptively(Duration.ofSeconds(5), audits::all);
+        assertEquals(1, all.size());
+        assertTrue(assertTimeoutPreemptively(Duration.ofSeconds(5), audits::verifyChain));
+    }
+
+    @Test
+    void appendAfterShutdown_shouldThrow() {
+        audits = new GroupCommitAuditLogRepository(new InMemoryRestaurantAuditRepo(), 16);
+        audits.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> audits.append(entry("late", "GENESIS")));
+    }
+
+    private static RestaurantAuditEntry entry(String id, String prevHash) {
+        return new RestaurantAuditEntry("m1", "Manager", "TEST", "Order", id, "details", prevHash);
+    }
+
+    /** Throws an Error on its first batch, then stores entries. */
+    private static final class ErrorOnceRepo implements RestaurantAuditLogRepository {
+        private final RestaurantAuditLogRepository store;
+        private boolean failed;
+
+        ErrorOnceRepo(RestaurantAuditLogRepository store) {
+            this.store = store;
+        }
+
+        @Override
+        public void append(RestaurantAuditEntry entry) {
+            if (!failed) {
+                failed = true;
+                throw new AssertionError("driver bug");
+            }
+            store.append(entry);
+        }
+
+        @Override
+        public List<RestaurantAuditEntry> all() {
+            return store.all();
+        }
+
+        @Override
+        public boolean verifyChain() {
+            return store.verifyChain();
+        }
+
+        @Override
+        public String tailHash() {
+            return store.tailHash();
+        }
+    }
+
+    private static final class FailingRepo implements RestaurantAuditLogRepository {
+        @Override
+        public void append(RestaurantAuditEntry entry) {
+            throw new IllegalStateException("database unavailable");
+        }
+
+        @Override
+        public List<RestaurantAuditEntry> all() {
+            return List.of();
+        }
+
+        @Override
+        public boolean verifyChain() {
+            return true;
+        }
+
+        @Override
+        public String tailHash() {
+            return "GENESIS";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the thread-safe in-memory audit log.
+ */
+class InMemoryAuditLogConcurrencyTest {
+
+    @Test
+    void concurrentAppends_shouldKeepEveryEntryInOneChain() throws Exception {
+        InMemoryRestaurantAuditRepo audits = new InMemoryRestaurantAuditRepo();
+        int threads = 32;
+        int perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    // The head read here is usually stale by the time append runs
+                    audits.append(entry("t" + thread + "-" + i, audits.tailHash()));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<RestaurantAuditEntry> all = audits.all();
+        assertEquals(threads * perThread, all.size());
+        assertTrue(audits.verifyChain());
+        assertEquals("GENESIS", all.get(0).getPrevHash());
+        assertEquals(all.get(all.size() - 1).getHash(), audits.tailHash());
+        Set<String> ids = new HashSet<>();
+        all.forEach(e -> ids.add(e.getEntityId()));
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void readersDuringAppends_shouldAlwaysSeeAValidPrefix() throws Exception {
+        InMemoryRestaurantAuditRepo audits = new InMemoryRestaurantAuditRepo();
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        for (int t = 0; t < 4; t++) {
+            final int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    audits.append(entry("t" + thread + "-" + i, audits.tailHash()));
+                }
+                return null;
+            });
+        }
+        Future<Integer> reader = executor.submit(() -> {
+            int checks = 0;
+            while (!done.get()) {
+                List<RestaurantAuditEntry> view = audits.all();
+                for (int i = 1; i < view.size(); i++) {
+                    assertNotNull(view.get(i));
+                    assertEquals(view.get(i - 1).getHash(), view.get(i).getPrevHash());
+                }
+                checks++;
+            }
+            return checks;
+        });
+        executor.shutdown();
+        while (audits.all().size() < 20000) {
+            Thread.sleep(5);
+        }
+        done.set(true);
+
+        assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void all_shouldBeAFixedReadOnlyView() {
+        InMemoryRestaurantAuditRepo audits = new InMemoryRestaurantAuditRepo();
+        for (int i = 0; i < 3000; i++) {
+            audits.append(entry("e" + i, audits.tailHash()));
+        }
+
+        List<RestaurantAuditEntry> view = audits.all();
+        audits.append(entry("late", audits.tailHash()));
+
+        assertEquals(3000, view.size());
+        assertEquals("e2999", view.get(2999).getEntityId());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(3000));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(view.get(0)));
+        assertEquals(3001, audits.stream().count());
+    }
+
+    private static RestaurantAuditEntry entry(String id, String prevHash) {
+        return new RestaurantAuditEntry("w1", "Waiter", "PLACE_ORDER", "Order", id, "details", prevHash);
+    }
+}
@@ -0,0 +1,143 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.model.menu.Dessert;
+import com.university.restaurant.model.menu.DietaryType;
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.Entree;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.service.concurrent.KitchenScheduler;
+import com.university.restaurant.service.concurrent.KitchenScheduler.Task;
+import com.university.restaurant.service.concurrent.KitchenStation;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the kitchen scheduler, on a clock where a prep minute is one second.
+ */
+class KitchenSchedulerTest {
+
+    private static final long MINUTE = 1000;
+    private static final Set<KitchenStation> GRILL = EnumSet.of(KitchenStation.GRILL);
+
+    private final KitchenScheduler scheduler = new KitchenScheduler(MINUTE, 5 * MINUTE);
+
+    @Test
+    void submit_shouldRouteItemsToStations() {
+        Order order = order(entree("Steak", 15), entree("Salad", 4), dessert(), drink());
+
+        assertEquals(4, scheduler.submit(order, 0));
+
+        assertEquals(KitchenStation.GRILL, KitchenStation.of(entree("Steak", 15)));
+        assertEquals(KitchenStation.COLD, KitchenStation.of(entree("Salad", 4)));
+        assertEquals(KitchenStation.DESSERT, KitchenStation.of(dessert()));
+        assertEquals(KitchenStation.BAR, KitchenStation.of(drink()));
+        // Only the longest item is queued until it starts
+        assertEquals(1, scheduler.waiting(KitchenStation.GRILL));
+        assertEquals(0, scheduler.waiting(KitchenStation.BAR));
+        assertEquals(4, scheduler.waiting());
+        assertEquals(0, scheduler.submit(new Order(2, "w1"), 0));
+    }
+
+    @Test
+    void fire_shouldFinishAllItemsOfAnOrderTogether() {
+        scheduler.submit(order(entree("Steak", 15), entree("Salad", 4), dessert(), drink()), 0);
+        Set<KitchenStation> others = EnumSet.complementOf(EnumSet.of(KitchenStation.GRILL));
+
+        assertNull(scheduler.next(others, 0));
+        Task steak = scheduler.next(GRILL, 2 * MINUTE);
+        long done = 2 * MINUTE + steak.prepMillis();
+
+        // Salad and cake take 4 minutes, so they fire 11 minutes into the steak
+        assertEquals(13 * MINUTE, scheduler.nextFireAt(2 * MINUTE));
+        assertNull(scheduler.next(others, 13 * MINUTE - 1));
+        for (KitchenStation station : others) {
+            long now = station == KitchenStation.BAR ? 16 * MINUTE : 13 * MINUTE;
+            Task task = scheduler.next(EnumSet.of(station), now);
+            assertEquals(done, now + task.prepMillis(), task.item().getName());
+            assertFalse(scheduler.complete(task));
+        }
+        assertTrue(scheduler.complete(steak));
+        assertEquals(0, scheduler.waiting());
+    }
+
+    @Test
+    void next_shouldTakeEarliestDueThenShortestPrep() {
+        Order large = order(entree("Roast", 20));
+        Order quick = order(entree("Burger", 8));
+        Order sameDue = order(entree("Ribs", 12));
+        Order shorter = order(entree("Chicken", 10));
+        scheduler.submit(large, 0);
+        scheduler.submit(sameDue, 0);
+        scheduler.submit(quick, MINUTE);
+        scheduler.submit(shorter, 2 * MINUTE);
+
+        assertSame(quick, scheduler.next(GRILL, 3 * MINUTE).order());
+        // Ribs and Chicken are both due at 12 minutes; the shorter prep goes first
+        assertSame(shorter, scheduler.next(GRILL, 3 * MINUTE).order());
+        assertSame(sameDue, scheduler.next(GRILL, 3 * MINUTE).order());
+        assertSame(large, scheduler.next(GRILL, 3 * MINUTE).order());
+    }
+
+    @Test
+    void next_shouldTakeAgedTasksAhead() {
+        Order slow = order(entree("Brisket", 30));
+        scheduler.submit(slow, 0);
+        scheduler.submit(order(entree("Burger", 6)), MINUTE);
+        assertNotSame(slow, scheduler.next(GRILL, 2 * MINUTE).order());
+
+        scheduler.submit(order(entree("Burger", 6)), 5 * MINUTE);
+        assertSame(slow, scheduler.next(GRILL, 6 * MINUTE).order());
+    }
+
+    @Test
+    void complete_shouldReportTheLastTaskOfAnOrder() {
+        scheduler.submit(order(entree("Steak", 15), entree("Steak", 15)), 0);
+
+        Task first = scheduler.next(GRILL, 0);
+        Task second = scheduler.next(GRILL, 0);
+
+        assertFalse(scheduler.complete(first));
+        assertTrue(scheduler.complete(second));
+        assertNull(scheduler.next(GRILL, 0));
+    }
+
+    @Test
+    void oldestWaitingSince_shouldTrackTheOldestOrderNotFullyStarted() {
+        assertEquals(Long.MAX_VALUE, scheduler.oldestWaitingSince());
+        scheduler.submit(order(entree("Steak", 15), drink()), 0);
+        scheduler.submit(order(entree("Roast", 20)), 2 * MINUTE);
+
+        Task steak = scheduler.next(GRILL, 3 * MINUTE);
+        assertEquals(0, steak.submittedAt());
+        // The drink is held until fired, so the first order still waits
+        assertEquals(0, scheduler.oldestWaitingSince());
+        scheduler.next(EnumSet.of(KitchenStation.BAR), 17 * MINUTE);
+        assertEquals(2 * MINUTE, scheduler.oldestWaitingSince());
+        assertTrue(KitchenScheduler.drinksOnly(order(drink(), drink())));
+        assertFalse(KitchenScheduler.drinksOnly(order(drink(), dessert())));
+    }
+
+    private static Order order(MenuItem... items) {
+        Order order = new Order(1, "w1");
+        for (MenuItem item : items) order.addItem(item);
+        return order;
+    }
+
+    private static Entree entree(String name, int prepMinutes) {
+        return new Entree("e-" + name, name, "desc", 15.0, DietaryType.REGULAR, List.of(), prepMinutes);
+    }
+
+    private static Dessert dessert() {
+        return new Dessert("s1", "Cake", "desc", 6.0, DietaryType.REGULAR, List.of());
+    }
+
+    private static Drink drink() {
+        return new Drink("d1", "Coke", "desc", 2.99, false);
+    }
+}
@@ -1,12 +1,24 @@
 package com.university.restaurant.concurrent;
 
+import com.university.restaurant.model.menu.DietaryType;
 import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.Entree;
+import com.university.restaurant.model.menu.MenuItem;
 import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.staff.Waiter;
+import com.university.restaurant.repository.InMemoryOrderRepo;
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.service.concurrent.AsyncOrderService;
+import com.university.restaurant.service.concurrent.KitchenOverloadedException;
 import com.university.restaurant.service.concurrent.KitchenService;
+import com.university.restaurant.service.concurrent.KitchenService.IntakePolicy;
+import com.university.restaurant.service.concurrent.KitchenStation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.*;
 
 import static org.awaitility.Awaitility.*;
@@ -73,6 +85,23 @@ class KitchenServiceTest {
         }
     }
 
+    @Test
+    void mixedOrder_shouldBeReadyWhenItsLastItemIsDone() {
+        kitchenService = new KitchenService(4, 20);
+
+        Order order = new Order(1, "w1");
+        order.addItem(new Entree("e1", "Steak", "desc", 24.99, DietaryType.REGULAR, List.of("beef"), 15));
+        order.addItem(new Drink("d1", "Coke", "desc", 2.99, false));
+
+        kitchenService.submitOrder(order);
+
+        // The drink is held until near the end of the steak's 300ms
+        assertEquals(0, kitchenService.getQueueSize(KitchenStation.BAR));
+        await().atMost(5, TimeUnit.SECONDS)
+               .until(() -> order.getStatus() == OrderStatus.READY);
+        assertEquals(0, kitchenService.getQueueSize());
+    }
+
     @Test
     void queueSize_shouldReflectPendingOrders() throws InterruptedException {
         kitchenService = new KitchenService(1); // Single worker for controlled testing
@@ -102,6 +131,86 @@ class KitchenServiceTest {
         });
     }
 
+    @Test
+    void shutdown_whenIdle_shouldReturnWithoutWaitingForATimeout() {
+        kitchenService = new KitchenService(8);
+
+        long start = System.nanoTime();
+        kitchenService.shutdown();
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void rejectPolicy_shouldTurnAwayOrdersBeyondCapacity() {
+        kitchenService = new KitchenService(1, 20, 1, IntakePolicy.REJECT, Duration.ZERO);
+        Order first = steakOrder(1);
+        kitchenService.submitOrder(first);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> kitchenService.stats().waitingTasks() == 0);
+
+        // The cook is busy with the first steak for 300ms
+        Order second = steakOrder(2);
+        kitchenService.submitOrder(second);
+        assertThrows(KitchenOverloadedException.class, () -> kitchenService.submitOrder(steakOrder(3)));
+
+        KitchenService.Stats stats = kitchenService.stats();
+        assertEquals(2, stats.admitted());
+        assertEquals(1, stats.rejected());
+        assertEquals(1, stats.waitingTasks());
+        await().atMost(5, TimeUnit.SECONDS).until(() -> second.getStatus() == OrderStatus.READY);
+    }
+
+    @Test
+    void blockPolicy_shouldWaitForRoomUntilTheDeadline() {
+        kitchenService = new KitchenService(1, 20, 1, IntakePolicy.BLOCK, Duration.ofSeconds(5));
+        kitchenService.submitOrder(steakOrder(1));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> kitchenService.stats().waitingTasks() == 0);
+        kitchenService.submitOrder(steakOrder(2));
+
+        // Admitted once the second steak starts, about 300ms later
+        long start = System.nanoTime();
+        Order third = steakOrder(3);
+        kitchenService.submitOrder(third);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> third.getStatus() == OrderStatus.READY);
+        KitchenService.Stats stats = kitchenService.stats();
+        assertEquals(0, stats.rejected());
+        assertEquals(0, stats.oldestWaitMillis());
+        assertTrue(stats.maxWaitMillis() >= 100);
+        assertTrue(stats.meanWaitMillis() > 0);
+    }
+
+    @Test
+    void blockPolicy_shouldRejectOnceTheDeadlinePasses() {
+        kitchenService = new KitchenService(1, 20, 1, IntakePolicy.BLOCK, Duration.ofMillis(50));
+        kitchenService.submitOrder(steakOrder(1));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> kitchenService.stats().waitingTasks() == 0);
+        kitchenService.submitOrder(steakOrder(2));
+
+        assertThrows(KitchenOverloadedException.class, () -> kitchenService.submitOrder(steakOrder(3)));
+        assertEquals(1, kitchenService.stats().rejected());
+    }
+
+    @Test
+    void degradePolicy_shouldKeepTakingDrinksOnlyOrders() {
+        kitchenService = new KitchenService(1, 20, 1, IntakePolicy.DEGRADE, Duration.ZERO);
+        kitchenService.submitOrder(steakOrder(1));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> kitchenService.stats().waitingTasks() == 0);
+        kitchenService.submitOrder(steakOrder(2));
+
+        Order drinks = new Order(3, "w1");
+        drinks.addItem(new Drink("d1", "Coke", "desc", 2.99, false));
+        kitchenService.submitOrder(drinks);
+        assertThrows(KitchenOverloadedException.class, () -> kitchenService.submitOrder(steakOrder(4)));
+
+        KitchenService.Stats stats = kitchenService.stats();
+        assertEquals(1, stats.degraded());
+        assertEquals(1, stats.rejected());
+        assertEquals(1, stats.queuedByStation().get(KitchenStation.BAR));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> drinks.getStatus() == OrderStatus.READY);
+    }
+
     @Test
     void highLoad_shouldHandleGracefully() {
         kitchenService = new KitchenService(10);
@@ -132,4 +241,30 @@ class KitchenServiceTest {
 
         submitter.shutdown();
     }
+
+    @Test
+    void asyncOrderService_whenKitchenIsFull_shouldThrowOverloadedAndCancelTheOrder() {
+        kitchenService = new KitchenService(1, 20, 1, IntakePolicy.REJECT, Duration.ZERO);
+        InMemoryOrderRepo repo = new InMemoryOrderRepo();
+        AsyncOrderService orders = new AsyncOrderService(repo, new InMemoryRestaurantAuditRepo(), kitchenService);
+        Waiter waiter = new Waiter("w1", "Bob");
+        List<MenuItem> items = List.of(
+                new Entree("e1", "Steak", "desc", 24.99, DietaryType.REGULAR, List.of("beef"), 15),
+                new Entree("e2", "Ribs", "desc", 22.99, DietaryType.REGULAR, List.of("pork"), 15));
+        try {
+            // Both items of the first order wait or start, filling the intake
+            orders.placeOrder(waiter, "1", items);
+
+            assertThrows(KitchenOverloadedException.class, () -> orders.placeOrder(waiter, "2", items));
+            assertEquals(1, repo.findByStatus(OrderStatus.CANCELLED).size());
+        } finally {
+            orders.shutdown();
+        }
+    }
+
+    private static Order steakOrder(int table) {
+        Order order = new Order(table, "w1");
+        order.addItem(new Entree("e1", "Steak", "desc", 24.99, DietaryType.REGULAR, List.of("beef"), 15));
+        return order;
+    }
 }
@@ -0,0 +1,132 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.model.menu.DietaryType;
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.Entree;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.staff.Chef;
+import com.university.restaurant.model.staff.Waiter;
+import com.university.restaurant.repository.InMemoryOrderRepo;
+import com.university.restaurant.repository.InMemoryRestaurantAuditRepo;
+import com.university.restaurant.service.concurrent.KitchenOverloadedException;
+import com.university.restaurant.service.concurrent.KitchenService;
+import com.university.restaurant.service.concurrent.KitchenService.IntakePolicy;
+import com.university.restaurant.service.concurrent.OrderPipeline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for placing orders through the ring-buffer pipeline.
+ */
+class OrderPipelineTest {
+
+    private final InMemoryOrderRepo repo = new InMemoryOrderRepo();
+    private final InMemoryRestaurantAuditRepo audits = new InMemoryRestaurantAuditRepo();
+    private final Waiter waiter = new Waiter("w1", "Bob");
+    private KitchenService kitchenService;
+    private OrderPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+        kitchenService.shutdown();
+    }
+
+    @Test
+    void submit_shouldSaveConfirmAndAuditTheOrder() throws Exception {
+        kitchenService = new KitchenService(2, 0);
+        pipeline = new OrderPipeline(repo, audits, kitchenService, 16);
+
+        Order order = pipeline.submit(waiter, "5", List.of(steak(), drink())).get(5, TimeUnit.SECONDS);
+
+        assertEquals(5, order.getTableNumber());
+        assertTrue(repo.findById(order.getId()).isPresent());
+        assertNotEquals(OrderStatus.PENDING, order.getStatus());
+        assertEquals(1, audits.all().size());
+        assertEquals("PLACE_ORDER", audits.all().get(0).getAction());
+    }
+
+    @Test
+    void submit_manyOrdersThroughASmallRing_shouldAllComplete() throws Exception {
+        kitchenService = new KitchenService(2, 0);
+        pipeline = new OrderPipeline(repo, audits, kitchenService, 8);
+
+        List<CompletableFuture<Order>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(pipeline.submit(waiter, String.valueOf(i % 30 + 1), List.of(drink())));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        assertEquals(200, audits.all().size());
+        // Futures complete inside the audit stage, just before it records its progress
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pipeline.backlog() == 0);
+    }
+
+    @Test
+    void submit_invalidOrder_shouldFailOnlyThatOrder() throws Exception {
+        kitchenService = new KitchenService(2, 0);
+        pipeline = new OrderPipeline(repo, audits, kitchenService, 16);
+
+        CompletableFuture<Order> forbidden = pipeline.submit(new Chef("c1", "Gordon"), "5", List.of(drink()));
+        CompletableFuture<Order> badTable = pipeline.submit(waiter, "invalid", List.of(drink()));
+        CompletableFuture<Order> fine = pipeline.submit(waiter, "6", List.of(drink()));
+
+        ExecutionException denied = assertThrows(ExecutionException.class, () -> forbidden.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SecurityException.class, denied.getCause().getCause());
+        assertThrows(ExecutionException.class, () -> badTable.get(5, TimeUnit.SECONDS));
+        assertEquals(6, fine.get(5, TimeUnit.SECONDS).getTableNumber());
+        assertEquals(1, audits.all().size());
+    }
+
+    @Test
+    void submit_whenKitchenIsFull_shouldFailWithOverloadedAndCancel() throws Exception {
+        kitchenService = new KitchenService(1, 20, 1, IntakePolicy.REJECT, Duration.ZERO);
+        pipeline = new OrderPipeline(repo, audits, kitchenService, 16);
+        List<MenuItem> steaks = List.of(steak(), steak());
+
+        pipeline.submit(waiter, "1", steaks).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Order> turnedAway = pipeline.submit(waiter, "2", steaks);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> turnedAway.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(KitchenOverloadedException.class, e.getCause());
+        assertEquals(1, repo.findByStatus(OrderStatus.CANCELLED).size());
+    }
+
+    @Test
+    void submit_whenAStageThrowsAnError_shouldFailThatOrderAndKeepGoing() throws Exception {
+        kitchenService = new KitchenService(2, 0) {
+            @Override
+            public void submitOrder(Order order) {
+                if (order.getTableNumber() == 13) throw new AssertionError("ticket printer jammed");
+                super.submitOrder(order);
+            }
+        };
+        pipeline = new OrderPipeline(repo, audits, kitchenService, 16);
+
+        CompletableFuture<Order> jammed = pipeline.submit(waiter, "13", List.of(steak()));
+        CompletableFuture<Order> fine = pipeline.submit(waiter, "6", List.of(steak()));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> jammed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, e.getCause().getCause());
+        assertEquals(6, fine.get(5, TimeUnit.SECONDS).getTableNumber());
+        assertEquals(1, audits.all().size());
+    }
+
+    private static Drink drink() {
+        return new Drink("d1", "Coke", "desc", 2.99, false);
+    }
+
+    private static Entree steak() {
+        return new Entree("e1", "Steak", "desc", 24.99, DietaryType.REGULAR, List.of("beef"), 15);
+    }
+}
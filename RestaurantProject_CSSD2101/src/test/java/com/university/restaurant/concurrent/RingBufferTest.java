@@ -0,0 +1,178 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.service.concurrent.RingBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the ring buffer and its chain of stages.
+ */
+class RingBufferTest {
+
+    /** A reusable slot recording what each stage saw. */
+    private static final class Slot {
+        long value;
+        long doubled;
+    }
+
+    private RingBuffer<Slot> ring;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (ring != null) {
+            ring.close(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void constructor_shouldRequireAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RingBuffer<>(6, Slot::new, List.of((s, seq) -> { }), Thread::new));
+    }
+
+    @Test
+    void stages_shouldSeeEveryEventInOrderAfterTheStageAhead() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+        ring = new RingBuffer<>(8, Slot::new, List.of(
+                (slot, seq) -> slot.doubled = slot.value * 2,
+                (slot, seq) -> {
+                    seen.add(slot.doubled);
+                    done.countDown();
+                }), Thread::new);
+
+        // 100 events through 8 slots: producers wait for the last stage to free a slot
+        for (long i = 0; i < 100; i++) {
+            long seq = ring.next();
+            ring.get(seq).value = i;
+            ring.publish(seq);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(2L * i, seen.get(i));
+        }
+    }
+
+    @Test
+    void concurrentProducers_shouldDeliverEveryEventOnce() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        ConcurrentHashMap<Long, Boolean> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(producers * perProducer);
+        ring = new RingBuffer<>(64, Slot::new, List.of(
+                (slot, seq) -> { },
+                (slot, seq) -> {
+                    if (seen.put(slot.value, Boolean.TRUE) == null) done.countDown();
+                }), Thread::new);
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                final long base = (long) p * perProducer;
+                pool.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        long seq = ring.next();
+                        ring.get(seq).value = base + i;
+                        ring.publish(seq);
+                    }
+                });
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(producers * perProducer, seen.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void close_shouldFinishClaimedEventsAndRefuseNewOnes() throws Exception {
+        List<Long> seen = new CopyOnWriteArrayList<>();
+        ring = new RingBuffer<>(16, Slot::new, List.of((slot, seq) -> seen.add(slot.value)), Thread::new);
+        for (long i = 0; i < 10; i++) {
+            long seq = ring.next();
+            ring.get(seq).value = i;
+            ring.publish(seq);
+        }
+
+        ring.close(5, TimeUnit.SECONDS);
+
+        assertEquals(10, seen.size());
+        assertEquals(0, ring.backlog());
+        assertThrows(IllegalStateException.class, ring::next);
+    }
+
+    @Test
+    void close_racingProducers_shouldHandleEveryClaimThatSucceeds() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 50; round++) {
+                AtomicInteger handled = new AtomicInteger();
+                AtomicInteger claimed = new AtomicInteger();
+                RingBuffer<Slot> racing = new RingBuffer<>(1024, Slot::new,
+                        List.of((slot, seq) -> handled.incrementAndGet()), Thread::new);
+                CountDownLatch started = new CountDownLatch(4);
+                List<Future<?>> producers = new ArrayList<>();
+                for (int p = 0; p < 4; p++) {
+                    producers.add(pool.submit(() -> {
+                        started.countDown();
+                        try {
+                            while (true) {
+                                long seq = racing.next();
+                                claimed.incrementAndGet();
+                                racing.publish(seq);
+                            }
+                        } catch (IllegalStateException closed) {
+                            // Refused after the close, as it should be
+                        }
+                    }));
+                }
+                started.await();
+
+                racing.close(5, TimeUnit.SECONDS);
+                for (Future<?> producer : producers) producer.get(5, TimeUnit.SECONDS);
+
+                assertEquals(claimed.get(), handled.get(), "round " + round);
+                assertEquals(0, racing.backlog());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void stageThrowingAnError_shouldFailTheEventAndKeepConsuming() throws Exception {
+        List<Long> failed = new CopyOnWriteArrayList<>();
+        List<Long> reachedNextStage = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        ring = new RingBuffer<>(8, Slot::new, List.of(
+                (slot, seq) -> {
+                    if (slot.value == 1) throw new AssertionError("boom");
+                },
+                (slot, seq) -> {
+                    reachedNextStage.add(slot.value);
+                    done.countDown();
+                }), Thread::new,
+                (slot, seq, failure) -> {
+                    if (failure instanceof AssertionError) failed.add(slot.value);
+                });
+
+        for (long i = 0; i < 3; i++) {
+            long seq = ring.next();
+            ring.get(seq).value = i;
+            ring.publish(seq);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L), failed);
+        assertEquals(List.of(0L, 1L, 2L), reachedNextStage);
+    }
+}
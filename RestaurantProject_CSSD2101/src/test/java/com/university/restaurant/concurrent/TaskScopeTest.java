@@ -0,0 +1,96 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.service.concurrent.ExecutionStrategy;
+import com.university.restaurant.service.concurrent.TaskScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the structured fan-out scope and the execution strategies.
+ */
+class TaskScopeTest {
+
+    private final ExecutorService executor = ExecutionStrategy.PLATFORM.newTaskExecutor("scope-test");
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_shouldMakeEveryResultAvailable() throws Exception {
+        try (TaskScope scope = new TaskScope(executor)) {
+            Supplier<Integer> a = scope.fork(() -> 20);
+            Supplier<Integer> b = scope.fork(() -> {
+                Thread.sleep(50);
+                return 22;
+            });
+
+            scope.join().throwIfFailed();
+
+            assertEquals(42, a.get() + b.get());
+        }
+    }
+
+    @Test
+    void failure_shouldInterruptSiblingsAndBeRethrown() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Supplier<String> slow;
+        try (TaskScope scope = new TaskScope(executor)) {
+            slow = scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw e;
+                }
+                return "late";
+            });
+            started.await();
+            scope.fork(() -> {
+                throw new SecurityException("denied");
+            });
+
+            long start = System.nanoTime();
+            scope.join();
+            assertThrows(SecurityException.class, scope::throwIfFailed);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        }
+        // Closing waited for the interrupted sibling to stop
+        assertTrue(interrupted.get());
+        assertThrows(IllegalStateException.class, slow::get);
+    }
+
+    @Test
+    void close_shouldRefuseNewSubtasks() {
+        TaskScope scope = new TaskScope(executor);
+        scope.close();
+
+        assertThrows(IllegalStateException.class, () -> scope.fork(() -> 1));
+    }
+
+    @Test
+    void executionStrategy_shouldNameThreadsOrRequireJava21() throws Exception {
+        Future<String> name = executor.submit(() -> Thread.currentThread().getName());
+        assertTrue(name.get(5, TimeUnit.SECONDS).startsWith("scope-test-"));
+
+        if (ExecutionStrategy.VIRTUAL.isSupported()) {
+            ExecutorService virtual = ExecutionStrategy.VIRTUAL.newTaskExecutor("v");
+            try {
+                assertEquals("v-1", virtual.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS));
+            } finally {
+                virtual.shutdown();
+            }
+        } else {
+            assertThrows(IllegalStateException.class, () -> ExecutionStrategy.VIRTUAL.newTaskExecutor("v"));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.university.restaurant.concurrent;
+
+import com.university.restaurant.service.concurrent.WorkStealingQueue;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-worker deques with work stealing.
+ */
+class WorkStealingQueueTest {
+
+    @Test
+    void poll_shouldTakeOwnWorkInOrderBeforeStealing() {
+        WorkStealingQueue<String> queue = new WorkStealingQueue<>(2);
+        queue.push(0, "a");
+        queue.push(1, "c");
+        queue.push(0, "b");
+
+        assertEquals("a", queue.poll(0));
+        assertEquals("b", queue.poll(0));
+        assertEquals("c", queue.poll(0));
+        assertNull(queue.poll(1));
+    }
+
+    @Test
+    void poll_shouldOnlyStealAcceptedItems() {
+        WorkStealingQueue<String> queue = new WorkStealingQueue<>(2);
+        queue.push(1, "grill");
+        queue.push(1, "bar");
+
+        assertEquals("bar", queue.poll(0, "bar"::equals));
+        assertNull(queue.poll(0, "bar"::equals));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void take_shouldWakeWhenWorkArrives() throws Exception {
+        WorkStealingQueue<String> queue = new WorkStealingQueue<>(2);
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> taken = worker.submit(() -> queue.take(1));
+            Thread.sleep(50);
+            assertFalse(taken.isDone());
+
+            queue.push(0, "order");
+
+            assertEquals("order", taken.get(1, TimeUnit.SECONDS));
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    @Test
+    void close_shouldReleaseIdleWorkersAtOnce() throws Exception {
+        WorkStealingQueue<String> queue = new WorkStealingQueue<>(4);
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] taken = new Future<?>[4];
+            for (int i = 0; i < 4; i++) {
+                final int worker = i;
+                taken[i] = workers.submit(() -> queue.take(worker));
+            }
+            Thread.sleep(50);
+
+            queue.close();
+
+            for (Future<?> f : taken) assertNull(f.get(1, TimeUnit.SECONDS));
+            assertThrows(IllegalStateException.class, () -> queue.offer("late"));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentProducersAndThieves_shouldDeliverEveryItemOnce() throws Exception {
+        int workers = 4;
+        int perProducer = 10_000;
+        WorkStealingQueue<Integer> queue = new WorkStealingQueue<>(workers);
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch consumed = new CountDownLatch(2 * perProducer);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers + 2);
+        try {
+            for (int w = 0; w < workers; w++) {
+                final int worker = w;
+                pool.submit(() -> {
+                    Integer item;
+                    while ((item = queue.take(worker)) != null) {
+                        if (!seen.add(item)) duplicates.incrementAndGet();
+                        consumed.countDown();
+                    }
+                    return null;
+                });
+            }
+            for (int p = 0; p < 2; p++) {
+                final int base = p * perProducer;
+                pool.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) queue.offer(base + i);
+                });
+            }
+
+            assertTrue(consumed.await(10, TimeUnit.SECONDS));
+            assertEquals(0, duplicates.get());
+            assertEquals(2 * perProducer, seen.size());
+        } finally {
+            queue.close();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+}
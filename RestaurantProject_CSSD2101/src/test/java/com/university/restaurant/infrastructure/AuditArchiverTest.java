@@ -0,0 +1,244 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.AuditArchiveFile;
+import com.university.restaurant.infrastructure.adapter.AuditArchiver;
+import com.university.restaurant.infrastructure.adapter.AuditCheckpointer;
+import com.university.restaurant.infrastructure.adapter.AuditLogJpaAdapter;
+import com.university.restaurant.infrastructure.entity.AuditCheckpointEntity;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.infrastructure.jpa.AuditCheckpointJpaRepository;
+import com.university.restaurant.infrastructure.jpa.AuditLogJpaRepository;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditArchiverTest {
+
+    @Mock
+    private AuditLogJpaRepository logRepo;
+
+    @Mock
+    private AuditCheckpointJpaRepository checkpointRepo;
+
+    @TempDir
+    Path dir;
+
+    private final List<AuditLogEntity> rows = new ArrayList<>();
+    private final List<AuditCheckpointEntity> checkpoints = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(logRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    long after = inv.getArgument(0);
+                    long upTo = inv.getArgument(1);
+                    Pageable page = inv.getArgument(2);
+                    return rows.stream()
+                            .filter(r -> r.getId() > after && r.getId() <= upTo)
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+        lenient().when(logRepo.findMinId()).thenAnswer(inv -> rows.isEmpty() ? null : rows.get(0).getId());
+        lenient().when(logRepo.findMaxId()).thenAnswer(inv -> rows.isEmpty() ? null : rows.get(rows.size() - 1).getId());
+        lenient().when(logRepo.findMostRecent()).thenAnswer(inv -> rows.isEmpty() ? null : rows.get(rows.size() - 1));
+        lenient().doAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            rows.removeIf(r -> ids.contains(r.getId()));
+            return null;
+        }).when(logRepo).deleteAllByIdInBatch(anyCollection());
+
+        lenient().when(checkpointRepo.save(any(AuditCheckpointEntity.class))).thenAnswer(inv -> {
+            AuditCheckpointEntity cp = inv.getArgument(0);
+            if (cp.getId() == null) {
+                cp.setId((long) checkpoints.size() + 1);
+                checkpoints.add(cp);
+            }
+            return cp;
+        });
+        lenient().when(checkpointRepo.findById(anyLong())).thenAnswer(inv -> {
+            long id = inv.getArgument(0);
+            return checkpoints.stream().filter(cp -> cp.getId() == id).findFirst();
+        });
+        lenient().when(checkpointRepo.findTopByOrderByLastEntryIdDesc()).thenAnswer(inv ->
+                checkpoints.stream().max(Comparator.comparing(AuditCheckpointEntity::getLastEntryId)));
+        lenient().when(checkpointRepo.findByArchiveFileIsNullOrderByLastEntryIdAsc()).thenAnswer(inv ->
+                checkpoints.stream().filter(cp -> cp.getArchiveFile() == null).toList());
+        lenient().when(checkpointRepo.findByArchiveFileIsNotNullOrderByLastEntryIdAsc()).thenAnswer(inv ->
+                checkpoints.stream().filter(cp -> cp.getArchiveFile() != null).toList());
+    }
+
+    @Test
+    void archive_shouldMoveSealedRangesButKeepTheHeadRangeHot() {
+        appendRows(250);
+        new AuditCheckpointer(logRepo, checkpointRepo, 100).checkpoint();
+        AuditArchiver archiver = new AuditArchiver(logRepo, checkpointRepo, dir, Duration.ZERO);
+
+        assertEquals(2, archiver.archive());
+
+        assertEquals(50, rows.size());
+        assertEquals(201L, rows.get(0).getId());
+        assertNull(checkpoints.get(2).getArchiveFile());
+        assertEquals(0, archiver.archive());
+    }
+
+    @Test
+    void archive_withinRetention_shouldKeepRows() {
+        appendRows(250);
+        new AuditCheckpointer(logRepo, checkpointRepo, 100).checkpoint();
+
+        assertEquals(0, new AuditArchiver(logRepo, checkpointRepo, dir, Duration.ofDays(1)).archive());
+        assertEquals(250, rows.size());
+    }
+
+    @Test
+    void restore_shouldReturnVerifiedEntries() {
+        appendRows(250);
+        List<String> originalHashes = rows.subList(100, 200).stream().map(AuditLogEntity::getHash).toList();
+        new AuditCheckpointer(logRepo, checkpointRepo, 100).checkpoint();
+        AuditArchiver archiver = new AuditArchiver(logRepo, checkpointRepo, dir, Duration.ZERO);
+        archiver.archive();
+
+        List<RestaurantAuditEntry> restored = archiver.restore(2);
+
+        assertEquals(originalHashes, restored.stream().map(RestaurantAuditEntry::getHash).toList());
+        assertEquals("101", restored.get(0).getEntityId());
+        assertThrows(IllegalArgumentException.class, () -> archiver.restore(3));
+    }
+
+    @Test
+    void restore_ofEmptyArchive_shouldFailClearly() throws Exception {
+        appendRows(250);
+        new AuditCheckpointer(logRepo, checkpointRepo, 100).checkpoint();
+        AuditArchiver archiver = new AuditArchiver(logRepo, checkpointRepo, dir, Duration.ZERO);
+        archiver.archive();
+        // Same header layout as AuditArchiveFile, but a range of zero entries
+        Path file = dir.resolve(checkpoints.get(0).getArchiveFile());
+        try (OutputStream out = Files.newOutputStream(file);
+             DataOutputStream head = new DataOutputStream(out)) {
+            head.writeInt(0x41554441);
+            head.writeShort(1);
+            head.writeLong(1);
+            head.writeLong(100);
+            head.writeInt(0);
+            head.writeUTF("GENESIS");
+            head.writeUTF(checkpoints.get(0).getLastHash());
+            head.writeUTF(checkpoints.get(0).getMerkleRoot());
+            head.flush();
+            DataOutputStream body = new DataOutputStream(new GZIPOutputStream(out));
+            for (int dictionary = 0; dictionary < 4; dictionary++) {
+                body.writeInt(0);
+            }
+            body.close();
+        }
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> archiver.restore(1));
+        assertTrue(e.getMessage().contains("holds no entries"));
+    }
+
+    @Test
+    void verifyChain_shouldBridgeFromArchiveToHotTable() throws Exception {
+        appendRows(250);
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 100);
+        checkpointer.checkpoint();
+        AuditArchiver archiver = new AuditArchiver(logRepo, checkpointRepo, dir, Duration.ZERO);
+        archiver.archive();
+        AuditLogJpaAdapter adapter = new AuditLogJpaAdapter(logRepo, checkpointer, archiver);
+
+        assertTrue(adapter.verifyChain());
+
+        Files.delete(dir.resolve(checkpoints.get(0).getArchiveFile()));
+        assertFalse(adapter.verifyChain());
+    }
+
+    @Test
+    void stream_shouldReadArchivedRangesThenHotTable() {
+        appendRows(250);
+        List<String> hashes = rows.stream().map(AuditLogEntity::getHash).toList();
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 100);
+        checkpointer.checkpoint();
+        AuditArchiver archiver = new AuditArchiver(logRepo, checkpointRepo, dir, Duration.ZERO);
+        archiver.archive();
+        AuditLogJpaAdapter adapter = new AuditLogJpaAdapter(logRepo, checkpointer, archiver);
+
+        assertEquals(50, rows.size());
+        assertEquals(hashes, adapter.stream(16).map(RestaurantAuditEntry::getHash).toList());
+        assertEquals(250, adapter.all().size());
+    }
+
+    @Test
+    void proveInclusion_ofArchivedEntry_shouldReadTheArchive() {
+        appendRows(250);
+        String hash = rows.get(41).getHash();
+        AuditArchiver archiver = new AuditArchiver(logRepo, checkpointRepo, dir, Duration.ZERO);
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 100, 0L, archiver);
+        checkpointer.checkpoint();
+        archiver.archive();
+        when(checkpointRepo.findFirstByFirstEntryIdLessThanEqualAndLastEntryIdGreaterThanEqual(42L, 42L))
+                .thenReturn(Optional.of(checkpoints.get(0)));
+
+        AuditCheckpointer.InclusionProof proof = checkpointer.proveInclusion(42);
+
+        assertTrue(rows.stream().noneMatch(r -> r.getId() == 42));
+        assertEquals(hash, proof.entryHash());
+        assertTrue(proof.verify());
+    }
+
+    @Test
+    void archiveFile_shouldRoundTripNullsAndTimestamps() throws Exception {
+        appendRows(3);
+        rows.get(1).setEntityType(null);
+        rows.get(1).setEntityId(null);
+        Path file = dir.resolve("range.audit");
+
+        AuditArchiveFile.write(file, rows, "root");
+
+        AuditArchiveFile.Header header = AuditArchiveFile.readHeader(file);
+        assertEquals(1L, header.firstEntryId());
+        assertEquals(3, header.entryCount());
+        assertEquals("GENESIS", header.prevHash());
+        List<AuditLogEntity> read = AuditArchiveFile.read(file);
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i).getTimestamp(), read.get(i).getTimestamp());
+            assertEquals(rows.get(i).getPrevHash(), read.get(i).getPrevHash());
+            assertEquals(rows.get(i).getEntityType(), read.get(i).getEntityType());
+            assertEquals(rows.get(i).getEntityId(), read.get(i).getEntityId());
+        }
+    }
+
+    private void appendRows(int count) {
+        String prev = rows.isEmpty() ? "GENESIS" : rows.get(rows.size() - 1).getHash();
+        for (int i = 0; i < count; i++) {
+            long id = rows.size() + 1;
+            RestaurantAuditEntry e = new RestaurantAuditEntry("m1", "Manager", "TEST", "Order",
+                    String.valueOf(id), "details", prev);
+            AuditLogEntity row = new AuditLogEntity(e.getUserId(), e.getRole(), e.getAction(),
+                    e.getEntityType(), e.getEntityId(), e.getDetails(), e.getPrevHash(), e.getHash());
+            row.setId(id);
+            row.setTimestamp(e.getTimestamp());
+            rows.add(row);
+            prev = e.getHash();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.AuditChainVerifier;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditChainVerifierTest {
+
+    @Test
+    void verify_validChain_shouldCheckEveryRow() {
+        List<AuditLogEntity> rows = chain(1000);
+
+        AuditChainVerifier.Result result = new AuditChainVerifier(source(rows), 7, 4).verify();
+
+        assertTrue(result.valid());
+        assertEquals(1000, result.entriesChecked());
+        assertNull(result.firstBrokenId());
+    }
+
+    @Test
+    void verifyAfter_checkpoint_shouldOnlyCheckNewerRows() {
+        List<AuditLogEntity> rows = chain(1000);
+        rows.get(10).setDetails("tampered before the checkpoint");
+
+        AuditChainVerifier.Result result = new AuditChainVerifier(source(rows), 50, 4)
+                .verifyAfter(600, rows.get(599).getHash());
+
+        assertTrue(result.valid());
+        assertEquals(400, result.entriesChecked());
+    }
+
+    @Test
+    void verify_emptyTable_shouldBeValid() {
+        AuditChainVerifier.Result result = new AuditChainVerifier(source(List.of()), 10, 2).verify();
+
+        assertTrue(result.valid());
+        assertEquals(0, result.entriesChecked());
+    }
+
+    @Test
+    void verify_tamperedDetails_shouldReportFirstBrokenRow() {
+        List<AuditLogEntity> rows = chain(1000);
+        rows.get(499).setDetails("tampered");
+        rows.get(799).setDetails("tampered");
+
+        AuditChainVerifier.Result result = new AuditChainVerifier(source(rows), 16, 4).verify();
+
+        assertFalse(result.valid());
+        assertEquals(500L, result.firstBrokenId());
+    }
+
+    @Test
+    void verify_brokenLinkOnSegmentBoundary_shouldBeDetected() {
+        List<AuditLogEntity> rows = chain(64);
+        // 64 rows in 4 * 4 segments puts a boundary after every 4th row
+        AuditLogEntity row = rows.get(8);
+        row.setPrevHash("forged");
+        row.setHash(RestaurantAuditEntry.computeHash(row.getUserId(), row.getRole(), row.getAction(),
+                row.getEntityType(), row.getEntityId(), row.getDetails(), row.getTimestamp(), "forged"));
+
+        AuditChainVerifier.Result result = new AuditChainVerifier(source(rows), 3, 4).verify();
+
+        assertFalse(result.valid());
+        assertEquals(9L, result.firstBrokenId());
+    }
+
+    private static List<AuditLogEntity> chain(int size) {
+        List<AuditLogEntity> rows = new ArrayList<>(size);
+        String prev = "GENESIS";
+        for (int i = 1; i <= size; i++) {
+            RestaurantAuditEntry entry = new RestaurantAuditEntry("m1", "Manager", "TEST", "Order",
+                    String.valueOf(i), "details " + i, prev);
+            AuditLogEntity row = new AuditLogEntity(entry.getUserId(), entry.getRole(), entry.getAction(),
+                    entry.getEntityType(), entry.getEntityId(), entry.getDetails(), entry.getPrevHash(), entry.getHash());
+            row.setId((long) i);
+            row.setTimestamp(entry.getTimestamp());
+            rows.add(row);
+            prev = entry.getHash();
+        }
+        return rows;
+    }
+
+    private static AuditChainVerifier.PageSource source(List<AuditLogEntity> rows) {
+        return new AuditChainVerifier.PageSource() {
+            @Override
+            public Long minId() {
+                return rows.isEmpty() ? null : rows.get(0).getId();
+            }
+
+            @Override
+            public Long maxId() {
+                return rows.isEmpty() ? null : rows.get(rows.size() - 1).getId();
+            }
+
+            @Override
+            public List<AuditLogEntity> page(long afterId, long upToId, int size) {
+                return rows.stream()
+                        .filter(r -> r.getId() > afterId && r.getId() <= upToId)
+                        .limit(size)
+                        .toList();
+            }
+        };
+    }
+}
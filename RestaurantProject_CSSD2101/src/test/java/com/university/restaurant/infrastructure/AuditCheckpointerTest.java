@@ -0,0 +1,154 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.AuditCheckpointer;
+import com.university.restaurant.infrastructure.entity.AuditCheckpointEntity;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.infrastructure.jpa.AuditCheckpointJpaRepository;
+import com.university.restaurant.infrastructure.jpa.AuditLogJpaRepository;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditCheckpointerTest {
+
+    @Mock
+    private AuditLogJpaRepository logRepo;
+
+    @Mock
+    private AuditCheckpointJpaRepository checkpointRepo;
+
+    private final List<AuditLogEntity> rows = new ArrayList<>();
+    private final List<AuditCheckpointEntity> checkpoints = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(logRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    long after = inv.getArgument(0);
+                    long upTo = inv.getArgument(1);
+                    Pageable page = inv.getArgument(2);
+                    return rows.stream()
+                            .filter(r -> r.getId() > after && r.getId() <= upTo)
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+        lenient().when(checkpointRepo.save(any(AuditCheckpointEntity.class))).thenAnswer(inv -> {
+            AuditCheckpointEntity cp = inv.getArgument(0);
+            cp.setId((long) checkpoints.size() + 1);
+            checkpoints.add(cp);
+            return cp;
+        });
+        lenient().when(checkpointRepo.findTopByOrderByLastEntryIdDesc()).thenAnswer(inv ->
+                checkpoints.stream().max(Comparator.comparing(AuditCheckpointEntity::getLastEntryId)));
+        lenient().when(checkpointRepo.findFirstByFirstEntryIdLessThanEqualAndLastEntryIdGreaterThanEqual(anyLong(), anyLong()))
+                .thenAnswer(inv -> {
+                    long id = inv.getArgument(0);
+                    return checkpoints.stream()
+                            .filter(cp -> cp.getFirstEntryId() <= id && cp.getLastEntryId() >= id)
+                            .findFirst();
+                });
+    }
+
+    @Test
+    void checkpoint_shouldSealNewEntriesInBlocks() {
+        appendRows(250);
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 100);
+
+        assertEquals(3, checkpointer.checkpoint());
+        assertEquals(250L, checkpointer.latest().orElseThrow().getLastEntryId());
+
+        appendRows(20);
+        assertEquals(1, checkpointer.checkpoint());
+        assertEquals(251L, checkpoints.get(3).getFirstEntryId());
+        assertEquals(0, checkpointer.checkpoint());
+    }
+
+    @Test
+    void proveInclusion_shouldProduceVerifiableLogSizedProof() {
+        appendRows(128);
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 64);
+        checkpointer.checkpoint();
+
+        AuditCheckpointer.InclusionProof proof = checkpointer.proveInclusion(100);
+
+        assertTrue(proof.verify());
+        assertEquals(2L, proof.checkpointId());
+        assertEquals(6, proof.path().size());
+    }
+
+    @Test
+    void proveInclusion_afterTampering_shouldThrow() {
+        appendRows(10);
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 64);
+        checkpointer.checkpoint();
+        rows.get(3).setHash(RestaurantAuditEntry.computeHash("x", "x", "x", "x", "x", "x", rows.get(3).getTimestamp(), "x"));
+
+        assertThrows(IllegalStateException.class, () -> checkpointer.proveInclusion(4));
+    }
+
+    @Test
+    void checkpoint_overBrokenChain_shouldSealUpToTheBreakAndRefuse() {
+        appendRows(10);
+        rows.get(5).setDetails("tampered");
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 64);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, checkpointer::checkpoint);
+        assertTrue(e.getMessage().endsWith("id 6"));
+        assertEquals(1, checkpoints.size());
+        assertEquals(5L, checkpoints.get(0).getLastEntryId());
+        assertThrows(IllegalStateException.class, checkpointer::checkpoint);
+        assertEquals(1, checkpoints.size());
+    }
+
+    @Test
+    void checkpoint_withStartAfterId_shouldSkipLegacyRows() {
+        appendRows(10);
+        // Rows 1-4 were hashed differently and no longer verify
+        rows.subList(0, 4).forEach(r -> r.setDetails("legacy format"));
+        when(logRepo.findFirstByIdLessThanEqualOrderByIdDesc(4L)).thenReturn(Optional.of(rows.get(3)));
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 64, 4L, null);
+
+        assertEquals(1, checkpointer.checkpoint());
+
+        assertEquals(5L, checkpoints.get(0).getFirstEntryId());
+        assertEquals(10L, checkpoints.get(0).getLastEntryId());
+        assertThrows(IllegalArgumentException.class, () -> checkpointer.proveInclusion(2));
+        assertTrue(checkpointer.proveInclusion(7).verify());
+    }
+
+    @Test
+    void proveInclusion_unsealedEntry_shouldThrow() {
+        AuditCheckpointer checkpointer = new AuditCheckpointer(logRepo, checkpointRepo, 64);
+
+        assertThrows(IllegalArgumentException.class, () -> checkpointer.proveInclusion(1));
+    }
+
+    private void appendRows(int count) {
+        String prev = rows.isEmpty() ? "GENESIS" : rows.get(rows.size() - 1).getHash();
+        for (int i = 0; i < count; i++) {
+            long id = rows.size() + 1;
+            RestaurantAuditEntry e = new RestaurantAuditEntry("m1", "Manager", "TEST", "Order",
+                    String.valueOf(id), "details", prev);
+            AuditLogEntity row = new AuditLogEntity(e.getUserId(), e.getRole(), e.getAction(),
+                    e.getEntityType(), e.getEntityId(), e.getDetails(), e.getPrevHash(), e.getHash());
+            row.setId(id);
+            row.setTimestamp(e.getTimestamp());
+            rows.add(row);
+            prev = e.getHash();
+        }
+    }
+}
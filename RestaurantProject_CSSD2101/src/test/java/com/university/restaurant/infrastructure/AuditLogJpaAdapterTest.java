@@ -0,0 +1,140 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.AuditLogJpaAdapter;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.infrastructure.jpa.AuditLogJpaRepository;
+import com.university.restaurant.repository.AuditPage;
+import com.university.restaurant.repository.AuditQuery;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogJpaAdapterTest {
+
+    @Mock
+    private AuditLogJpaRepository jpaRepo;
+
+    @Test
+    void tailHash_shouldBeServedFromCacheAfterStartup() {
+        when(jpaRepo.findMostRecent()).thenReturn(null);
+        AuditLogJpaAdapter adapter = new AuditLogJpaAdapter(jpaRepo);
+
+        RestaurantAuditEntry entry = entry(adapter.tailHash());
+        adapter.append(entry);
+
+        assertEquals(entry.getHash(), adapter.tailHash());
+        verify(jpaRepo, times(1)).findMostRecent();
+        verify(jpaRepo).save(any(AuditLogEntity.class));
+    }
+
+    @Test
+    void appendAll_shouldAdvanceHeadToLastEntry() {
+        when(jpaRepo.findMostRecent()).thenReturn(null);
+        AuditLogJpaAdapter adapter = new AuditLogJpaAdapter(jpaRepo);
+
+        RestaurantAuditEntry first = entry("GENESIS");
+        RestaurantAuditEntry second = entry(first.getHash());
+        adapter.appendAll(List.of(first, second));
+
+        assertEquals(second.getHash(), adapter.tailHash());
+        assertEquals(0, adapter.divergenceCount());
+        verify(jpaRepo).saveAll(anyList());
+    }
+
+    @Test
+    void query_shouldFetchOneExtraRowAndUseItsPredecessorIdAsCursor() {
+        when(jpaRepo.findMostRecent()).thenReturn(null);
+        AuditLogJpaAdapter adapter = new AuditLogJpaAdapter(jpaRepo);
+        List<AuditLogEntity> rows = new ArrayList<>();
+        String prev = "GENESIS";
+        for (long id = 11; id <= 14; id++) {
+            RestaurantAuditEntry e = entry(prev);
+            AuditLogEntity row = new AuditLogEntity(e.getUserId(), e.getRole(), e.getAction(), e.getEntityType(),
+                    e.getEntityId(), e.getDetails(), e.getPrevHash(), e.getHash());
+            row.setId(id);
+            row.setTimestamp(e.getTimestamp());
+            rows.add(row);
+            prev = e.getHash();
+        }
+        doReturn(rows).when(jpaRepo).findBy(ArgumentMatchers.<Specification<AuditLogEntity>>any(), any());
+
+        AuditPage page = adapter.query(AuditQuery.builder().actor("m1").after(10L).limit(3).build());
+
+        assertEquals(3, page.entries().size());
+        assertEquals(13L, page.nextCursor());
+        assertEquals(rows.get(0).getHash(), page.entries().get(0).getHash());
+    }
+
+    @Test
+    void stream_shouldFetchLazilyInKeysetPages() {
+        when(jpaRepo.findMostRecent()).thenReturn(null);
+        AuditLogJpaAdapter adapter = new AuditLogJpaAdapter(jpaRepo);
+        List<AuditLogEntity> rows = new ArrayList<>();
+        String prev = "GENESIS";
+        for (long id = 1; id <= 7; id++) {
+            RestaurantAuditEntry e = entry(prev);
+            AuditLogEntity row = new AuditLogEntity(e.getUserId(), e.getRole(), e.getAction(), e.getEntityType(),
+                    e.getEntityId(), e.getDetails(), e.getPrevHash(), e.getHash());
+            row.setId(id);
+            row.setTimestamp(e.getTimestamp());
+            rows.add(row);
+            prev = e.getHash();
+        }
+        when(jpaRepo.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    long after = inv.getArgument(0);
+                    Pageable page = inv.getArgument(2);
+                    return rows.stream().filter(r -> r.getId() > after).limit(page.getPageSize()).toList();
+                });
+
+        assertEquals(rows.get(0).getHash(), adapter.stream(3).findFirst().orElseThrow().getHash());
+        verify(jpaRepo, times(1)).findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(anyLong(), anyLong(), any(Pageable.class));
+
+        List<RestaurantAuditEntry> all = adapter.stream(3).toList();
+        assertEquals(rows.stream().map(AuditLogEntity::getHash).toList(),
+                all.stream().map(RestaurantAuditEntry::getHash).toList());
+        assertEquals(rows.get(6).getTimestamp(), all.get(6).getTimestamp());
+        verify(jpaRepo, times(4)).findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(anyLong(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void validateTailHash_shouldDetectForeignWriterAndResync() {
+        AuditLogEntity foreign = new AuditLogEntity("x", "Manager", "TEST", "Order", "1", "d", "GENESIS", "abc");
+        when(jpaRepo.findMostRecent()).thenReturn(null, foreign);
+        AuditLogJpaAdapter adapter = new AuditLogJpaAdapter(jpaRepo);
+
+        assertFalse(adapter.validateTailHash());
+        assertEquals("abc", adapter.tailHash());
+        assertEquals(1, adapter.divergenceCount());
+    }
+
+    @Test
+    void append_withStalePrevHash_shouldBeCountedAsDivergence() {
+        when(jpaRepo.findMostRecent()).thenReturn(null);
+        AuditLogJpaAdapter adapter = new AuditLogJpaAdapter(jpaRepo);
+
+        adapter.append(entry("GENESIS"));
+        adapter.append(entry("GENESIS"));
+
+        assertEquals(1, adapter.divergenceCount());
+    }
+
+    private static RestaurantAuditEntry entry(String prevHash) {
+        return new RestaurantAuditEntry("m1", "Manager", "TEST", "Order", "1", "details", prevHash);
+    }
+}
@@ -0,0 +1,72 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.AuditChainVerifier;
+import com.university.restaurant.infrastructure.adapter.AuditLogJpaAdapter;
+import com.university.restaurant.infrastructure.config.SequenceAligner;
+import com.university.restaurant.infrastructure.entity.AuditLogEntity;
+import com.university.restaurant.infrastructure.jpa.AuditLogJpaRepository;
+import com.university.restaurant.repository.RestaurantAuditEntry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Audit log persistence against a real (H2) database. Every repository call
+ * commits on its own, so rows are read back the way other threads and later
+ * requests see them.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditLogPersistenceTest {
+
+    @Autowired
+    private AuditLogJpaRepository jpaRepo;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void verifyChain_shouldAcceptAChainReadBackFromTheDatabase() {
+        AuditLogJpaAdapter writer = new AuditLogJpaAdapter(jpaRepo);
+        for (int i = 0; i < 3; i++) {
+            writer.append(new RestaurantAuditEntry("m1", "Manager", "UPDATE", "MenuItem", "e" + i,
+                    "price changed", writer.tailHash()));
+        }
+
+        AuditChainVerifier.Result result = new AuditLogJpaAdapter(jpaRepo).verifyChainReport();
+
+        assertTrue(result.valid(), () -> "broken at " + result.firstBrokenId() + ": " + result.reason());
+        assertEquals(3, result.entriesChecked());
+    }
+
+    @Test
+    void alignPastMaxId_shouldMoveSequenceBeyondIdentityIds() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // A row written while ids were still IDENTITY-generated
+        jdbc.update(
+                "INSERT INTO audit_logs (id, user_id, role, action, timestamp, hash) VALUES (5000, 'm1', 'Manager', 'LEGACY', CURRENT_TIMESTAMP, 'h')");
+        SequenceAligner sequences = new SequenceAligner(dataSource, emf);
+
+        assertTrue(sequences.alignPastMaxId("audit_logs_seq", "audit_logs", AuditLogEntity.ID_ALLOCATION_SIZE));
+        // Hibernate may still hold ids from an earlier test, so read the sequence itself
+        long next = jdbc.queryForObject("SELECT NEXT VALUE FOR audit_logs_seq", Long.class);
+
+        assertTrue(next > 5000 + AuditLogEntity.ID_ALLOCATION_SIZE);
+        assertFalse(sequences.alignPastMaxId("audit_logs_seq", "audit_logs", AuditLogEntity.ID_ALLOCATION_SIZE));
+    }
+}
@@ -0,0 +1,138 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.CachingMenuRepository;
+import com.university.restaurant.infrastructure.adapter.MenuEntityLoader;
+import com.university.restaurant.infrastructure.adapter.mapper.MenuItemMapper;
+import com.university.restaurant.infrastructure.dto.DTOMapper;
+import com.university.restaurant.infrastructure.entity.ComboEntity;
+import com.university.restaurant.infrastructure.jpa.MenuJpaRepository;
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.MenuCategory;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.repository.MenuQuery;
+import com.university.restaurant.repository.MenuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingMenuRepositoryTest {
+
+    @Mock
+    private MenuRepository delegate;
+
+    private CachingMenuRepository cache;
+    private final Drink cola = new Drink("d1", "Cola", "fizzy", 2.5, false);
+
+    @BeforeEach
+    void setUp() {
+        cache = new CachingMenuRepository(delegate, new DTOMapper());
+    }
+
+    @Test
+    void findById_shouldLoadOnceAndServeItemAndDtoFromCache() {
+        when(delegate.findById("d1")).thenReturn(Optional.of(cola));
+
+        assertSame(cola, cache.findById("d1").orElseThrow());
+        assertSame(cola, cache.findById("d1").orElseThrow());
+        assertEquals(2.5, cache.findDtoById("d1").orElseThrow().getPrice());
+
+        verify(delegate, times(1)).findById("d1");
+        CachingMenuRepository.Stats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void save_shouldInvalidateSoTheNextReadSeesTheNewPrice() {
+        MenuItem repriced = cola.copyWithPrice(3.0);
+        when(delegate.findById("d1")).thenReturn(Optional.of(cola)).thenReturn(Optional.of(repriced));
+        cache.findById("d1");
+
+        cache.save(repriced);
+
+        assertEquals(3.0, cache.findDtoById("d1").orElseThrow().getPrice());
+        assertEquals(1, cache.version());
+        assertEquals(1, cache.stats().invalidations());
+        verify(delegate).save(repriced);
+    }
+
+    @Test
+    void loadRacingAWrite_shouldNotBeServedAfterwards() {
+        when(delegate.findById("d1")).thenAnswer(inv -> {
+            cache.invalidate();
+            return Optional.of(cola);
+        }).thenReturn(Optional.of(cola));
+
+        cache.findById("d1");
+        cache.findById("d1");
+
+        verify(delegate, times(2)).findById("d1");
+    }
+
+    @Test
+    void findAllById_shouldLoadOnlyUncachedIdsInOneCall() {
+        Drink tea = new Drink("d2", "Tea", "hot", 2.0, false);
+        when(delegate.findById("d1")).thenReturn(Optional.of(cola));
+        when(delegate.findAllById(List.of("d2", "x"))).thenReturn(List.of(tea));
+        cache.findById("d1");
+
+        List<MenuItem> items = cache.findAllById(List.of("d1", "d2", "x"));
+
+        assertEquals(List.of(cola, tea), items);
+        assertEquals(List.of(cola, tea), cache.findAllById(List.of("d1", "d2", "x")));
+        verify(delegate).findAllById(List.of("d2", "x"));
+        verify(delegate).findAllById(List.of("x"));
+    }
+
+    @Test
+    void unknownIds_shouldNotBeCached() {
+        when(delegate.findById(any())).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(cache.findById("missing-" + i).isEmpty());
+        }
+        assertTrue(cache.findById("missing-0").isEmpty());
+
+        verify(delegate, times(2)).findById("missing-0");
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void combos_shouldBeServedAsDtosThroughTheEntityLoader() {
+        MenuJpaRepository jpaRepo = mock(MenuJpaRepository.class);
+        ComboEntity combo = new ComboEntity("c1", "Lunch", "deal", 10.0, "d1,e1");
+        when(jpaRepo.findById("c1")).thenReturn(Optional.of(combo));
+        when(jpaRepo.findByAvailableTrue()).thenReturn(List.of(combo));
+        cache = new CachingMenuRepository(delegate,
+                new MenuEntityLoader(jpaRepo, new MenuItemMapper(), new DTOMapper()));
+
+        assertEquals(MenuCategory.COMBO, cache.findDtoById("c1").orElseThrow().getCategory());
+        assertThrows(UnsupportedOperationException.class, () -> cache.findById("c1"));
+        assertEquals(1, cache.availableDtos().size());
+        assertTrue(cache.query(MenuQuery.availableItems()).isEmpty());
+    }
+
+    @Test
+    void availableListing_shouldBeCachedUntilAvailabilityChanges() {
+        when(delegate.query(any())).thenReturn(List.of(cola)).thenReturn(List.of());
+
+        assertEquals(List.of(cola), cache.query(MenuQuery.availableItems()));
+        assertEquals(1, cache.availableDtos().size());
+
+        cola.setAvailable(false);
+        cache.save(cola);
+
+        assertTrue(cache.availableDtos().isEmpty());
+        verify(delegate, times(2)).query(any());
+    }
+}
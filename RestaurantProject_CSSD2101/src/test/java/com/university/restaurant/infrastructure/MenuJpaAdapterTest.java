@@ -0,0 +1,44 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.MenuJpaAdapter;
+import com.university.restaurant.infrastructure.adapter.mapper.MenuItemMapper;
+import com.university.restaurant.infrastructure.entity.DrinkEntity;
+import com.university.restaurant.infrastructure.entity.MenuItemEntity;
+import com.university.restaurant.infrastructure.jpa.MenuJpaRepository;
+import com.university.restaurant.model.menu.MenuItem;
+import com.university.restaurant.repository.MenuQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuJpaAdapterTest {
+
+    @Mock
+    private MenuJpaRepository jpaRepo;
+
+    @Test
+    void query_shouldPushCriteriaIntoOneSpecificationQuery() {
+        DrinkEntity cola = new DrinkEntity("d1", "Cola", "fizzy", 2.5, false);
+        DrinkEntity beer = new DrinkEntity("d2", "Blonde Ale", "draught", 6.0, true);
+        when(jpaRepo.findAll(ArgumentMatchers.<Specification<MenuItemEntity>>any())).thenReturn(List.of(cola, beer));
+        MenuJpaAdapter adapter = new MenuJpaAdapter(jpaRepo, new MenuItemMapper());
+
+        List<MenuItem> items = adapter.query(MenuQuery.builder()
+                .available(true)
+                .where(item -> item.calculatePrice() < 5)
+                .build());
+
+        assertEquals(List.of("d1"), items.stream().map(MenuItem::getId).toList());
+        verify(jpaRepo).findAll(ArgumentMatchers.<Specification<MenuItemEntity>>any());
+        verify(jpaRepo, never()).findAll();
+    }
+}
@@ -0,0 +1,123 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.OrderAnalyticsJpaAdapter;
+import com.university.restaurant.infrastructure.adapter.OrderJpaAdapter;
+import com.university.restaurant.infrastructure.adapter.mapper.OrderMapper;
+import com.university.restaurant.infrastructure.adapter.mapper.PaymentMapper;
+import com.university.restaurant.infrastructure.jpa.OrderJpaRepository;
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.staff.Manager;
+import com.university.restaurant.repository.OrderAnalyticsRepository.ItemSales;
+import com.university.restaurant.repository.OrderAnalyticsRepository.TimedItemSales;
+import com.university.restaurant.repository.WindowedTopItems;
+import com.university.restaurant.service.AnalyticsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderAnalyticsJpaAdapterTest {
+
+    @Autowired
+    private OrderJpaRepository jpaRepo;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private OrderAnalyticsJpaAdapter analytics;
+    private Statistics stats;
+
+    private final Drink coke = new Drink("d1", "Coke", "desc", 2.99, false);
+    private final Drink sprite = new Drink("d2", "Sprite", "desc", 3.99, false);
+
+    @BeforeEach
+    void setUp() {
+        OrderJpaAdapter orders = new OrderJpaAdapter(jpaRepo, new OrderMapper(new PaymentMapper()));
+        analytics = new OrderAnalyticsJpaAdapter(jpaRepo);
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+
+        orders.save(order(OrderStatus.PAID, coke, coke));
+        orders.save(order(OrderStatus.SERVED, coke, sprite));
+        orders.save(order(OrderStatus.PENDING, sprite));
+        em.flush();
+        em.clear();
+        stats.clear();
+    }
+
+    @Test
+    void itemSales_shouldGroupByMenuItemInOneStatement() {
+        List<ItemSales> sales = analytics.itemSales(EnumSet.of(OrderStatus.PAID, OrderStatus.SERVED));
+
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(2, sales.size());
+        assertTrue(sales.contains(new ItemSales("d1", "Coke", 3)));
+        assertTrue(sales.contains(new ItemSales("d2", "Sprite", 1)));
+    }
+
+    @Test
+    void revenueBetween_shouldSumOnlyTheHalfOpenRange() {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        assertEquals(5.98, analytics.revenueBetween(OrderStatus.PAID, now.minusDays(1), now.plusDays(1)), 1e-9);
+        assertEquals(0.0, analytics.revenueBetween(OrderStatus.PAID, now.plusDays(1), now.plusDays(2)), 1e-9);
+        assertEquals(2, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void itemSalesSince_shouldGroupByOrderAndNameInOneStatement() {
+        OffsetDateTime now = OffsetDateTime.now();
+        EnumSet<OrderStatus> sold = EnumSet.of(OrderStatus.PAID, OrderStatus.SERVED);
+
+        List<TimedItemSales> sales = analytics.itemSalesSince(sold, now.minusDays(1));
+
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(3, sales.size());
+        assertEquals(3, sales.stream().filter(s -> s.name().equals("Coke")).mapToLong(TimedItemSales::quantity).sum());
+        assertEquals(1, sales.stream().filter(s -> s.name().equals("Sprite")).mapToLong(TimedItemSales::quantity).sum());
+        assertTrue(analytics.itemSalesSince(sold, now.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void topItems_shouldBeSeededFromStoredOrders() {
+        WindowedTopItems topItems = new WindowedTopItems(0.01, 0.01);
+        OffsetDateTime now = OffsetDateTime.now();
+
+        topItems.seed(analytics, now);
+
+        List<WindowedTopItems.Estimate> top = topItems.top(ChronoUnit.DAYS, 1, 10, now);
+        assertEquals(List.of(new WindowedTopItems.Estimate("Coke", 3, 0), new WindowedTopItems.Estimate("Sprite", 1, 0)), top);
+    }
+
+    @Test
+    void analyticsService_shouldReportFromTheAggregates() {
+        Map<String, Long> top = new AnalyticsService(analytics, new WindowedTopItems(0.01, 0.01)).topSellingItems(new Manager("m1", "Alice"));
+
+        assertEquals(Map.of("Coke", 3L, "Sprite", 1L), top);
+    }
+
+    private static Order order(OrderStatus status, Drink... drinks) {
+        Order order = new Order(1, "w1");
+        for (Drink drink : drinks) order.addItem(drink);
+        order.updateStatus(status);
+        return order;
+    }
+}
@@ -0,0 +1,98 @@
+package com.university.restaurant.infrastructure;
+
+import com.university.restaurant.infrastructure.adapter.OrderJpaAdapter;
+import com.university.restaurant.infrastructure.adapter.mapper.OrderMapper;
+import com.university.restaurant.infrastructure.adapter.mapper.PaymentMapper;
+import com.university.restaurant.infrastructure.jpa.OrderJpaRepository;
+import com.university.restaurant.model.menu.DietaryType;
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.menu.Entree;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.payment.PaymentMethod;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderJpaAdapterTest {
+
+    @Autowired
+    private OrderJpaRepository jpaRepo;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private OrderJpaAdapter adapter;
+    private Statistics stats;
+
+    private final Entree burger = new Entree("e1", "Burger", "beef", 14.0, DietaryType.REGULAR, List.of("beef"), 12);
+    private final Drink cola = new Drink("d1", "Cola", "fizzy", 2.5, false);
+
+    @BeforeEach
+    void setUp() {
+        adapter = new OrderJpaAdapter(jpaRepo, new OrderMapper(new PaymentMapper()));
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findByStatus_shouldLoadOrdersItemsAndPaymentsInOneStatement() {
+        for (int table = 1; table <= 20; table++) {
+            adapter.save(order(table));
+        }
+        em.flush();
+        em.clear();
+        stats.clear();
+
+        List<Order> served = adapter.findByStatus(OrderStatus.SERVED);
+
+        assertEquals(20, served.size());
+        assertTrue(served.stream().allMatch(o -> o.getItems().size() == 2));
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_shouldRestoreTheSavedOrder() {
+        Order order = order(4);
+        order.processPayment(PaymentMethod.CREDIT_CARD);
+        adapter.save(order);
+        em.flush();
+        em.clear();
+
+        Order restored = adapter.findById(order.getId()).orElseThrow();
+
+        assertEquals(order.getId(), restored.getId());
+        assertEquals(4, restored.getTableNumber());
+        assertEquals("W1", restored.getAssignedWaiterId());
+        assertEquals(OrderStatus.PAID, restored.getStatus());
+        assertEquals(order.getCreatedAt().truncatedTo(ChronoUnit.MILLIS),
+                restored.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
+        assertEquals(16.5, restored.calculateTotal(), 1e-9);
+        assertTrue(restored.requiresKitchenPrep());
+        assertEquals(order.getPayment().getTransactionId(), restored.getPayment().getTransactionId());
+        assertEquals(PaymentMethod.CREDIT_CARD, restored.getPayment().getMethod());
+        assertEquals(List.of(order.getId()), adapter.findByTable(4).stream().map(Order::getId).toList());
+    }
+
+    private Order order(int table) {
+        Order order = new Order(table, "W1");
+        order.addItem(burger);
+        order.addItem(cola);
+        order.updateStatus(OrderStatus.SERVED);
+        return order;
+    }
+}
@@ -0,0 +1,76 @@
+package com.university.restaurant.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditHasherTest {
+
+    private static final LocalDateTime TS = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456000);
+
+    @Test
+    void sha256_shouldMatchMessageDigest_forAsciiAndUnicode() throws Exception {
+        for (String s : List.of("", "abc", "café crème", "日本語", "emoji 🍔 burger", "lone \uD800 surrogate")) {
+            byte[] expected = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            assertEquals(HexFormat.of().formatHex(expected), AuditHasher.sha256(s), s);
+        }
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", AuditHasher.sha256("abc"));
+    }
+
+    @Test
+    void hashEntry_shouldSeparateFieldBoundaries() {
+        String a = AuditHasher.hashEntry("ab", "c", "A", "T", "1", "d", TS, "GENESIS");
+        String b = AuditHasher.hashEntry("a", "bc", "A", "T", "1", "d", TS, "GENESIS");
+
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    void hashEntry_shouldDistinguishNullFromLiteralNull() {
+        String a = AuditHasher.hashEntry("u", "r", "A", null, "1", "d", TS, "GENESIS");
+        String b = AuditHasher.hashEntry("u", "r", "A", "null", "1", "d", TS, "GENESIS");
+
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    void hashEntry_shouldDependOnTimestampPrecision() {
+        String a = AuditHasher.hashEntry("u", "r", "A", "T", "1", "d", TS, "GENESIS");
+        String b = AuditHasher.hashEntry("u", "r", "A", "T", "1", "d", TS.plusNanos(1000), "GENESIS");
+
+        assertNotEquals(a, b);
+        assertEquals(64, a.length());
+    }
+
+    @Test
+    void hashEntry_shouldIgnoreSubMicrosecondDigits() {
+        String stored = AuditHasher.hashEntry("u", "r", "A", "T", "1", "d", TS, "GENESIS");
+        String inMemory = AuditHasher.hashEntry("u", "r", "A", "T", "1", "d", TS.plusNanos(999), "GENESIS");
+
+        assertEquals(stored, inMemory);
+    }
+
+    @Test
+    void hashEntry_shouldBeDeterministicAcrossThreads() throws Exception {
+        String details = "x".repeat(2000) + "é";
+        String expected = AuditHasher.hashEntry("u", "r", "A", "T", "1", details, TS, "GENESIS");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = executor.invokeAll(Collections.nCopies(64,
+                    () -> AuditHasher.hashEntry("u", "r", "A", "T", "1", details, TS, "GENESIS")));
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.university.restaurant.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditMerkleTreeTest {
+
+    @Test
+    void proof_shouldVerifyForEveryLeaf_includingOddSizedTrees() {
+        for (int size : new int[]{1, 2, 3, 7, 8, 33}) {
+            List<String> hashes = hashes(size);
+            String root = AuditMerkleTree.root(hashes);
+            for (int i = 0; i < size; i++) {
+                List<AuditMerkleTree.Step> path = AuditMerkleTree.proof(hashes, i);
+                assertTrue(AuditMerkleTree.verify(hashes.get(i), path, root), "size " + size + " index " + i);
+            }
+        }
+    }
+
+    @Test
+    void proof_shouldBeLogarithmicInSize() {
+        List<String> hashes = hashes(1024);
+
+        assertEquals(10, AuditMerkleTree.proof(hashes, 517).size());
+    }
+
+    @Test
+    void verify_shouldRejectWrongLeafOrRoot() {
+        List<String> hashes = hashes(16);
+        String root = AuditMerkleTree.root(hashes);
+        List<AuditMerkleTree.Step> path = AuditMerkleTree.proof(hashes, 5);
+
+        assertFalse(AuditMerkleTree.verify(hashes.get(6), path, root));
+        assertFalse(AuditMerkleTree.verify(hashes.get(5), path, AuditMerkleTree.root(hashes(15))));
+    }
+
+    @Test
+    void root_shouldChangeWhenAnyEntryChanges() {
+        List<String> hashes = hashes(9);
+        String root = AuditMerkleTree.root(hashes);
+        hashes.set(8, RestaurantAuditEntry.sha256("tampered"));
+
+        assertNotEquals(root, AuditMerkleTree.root(hashes));
+    }
+
+    @Test
+    void root_withNoEntries_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> AuditMerkleTree.root(List.of()));
+    }
+
+    private static List<String> hashes(int size) {
+        List<String> hashes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hashes.add(RestaurantAuditEntry.sha256("entry " + i));
+        }
+        return hashes;
+    }
+}
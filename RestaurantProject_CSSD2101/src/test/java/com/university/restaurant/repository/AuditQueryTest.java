@@ -0,0 +1,126 @@
+package com.university.restaurant.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditQueryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void query_byActorAndAction_shouldReturnOnlyMatchesInOrder() {
+        InMemoryRestaurantAuditRepo repo = new InMemoryRestaurantAuditRepo();
+        fill(repo, 300);
+
+        AuditPage page = repo.query(AuditQuery.builder().actor("w1").action("PLACE_ORDER").build());
+
+        assertNull(page.nextCursor());
+        assertEquals(50, page.entries().size());
+        page.entries().forEach(e -> {
+            assertEquals("w1", e.getUserId());
+            assertEquals("PLACE_ORDER", e.getAction());
+        });
+        assertEquals(bruteForce(repo.all(), AuditQuery.builder().actor("w1").action("PLACE_ORDER").build()),
+                page.entries());
+    }
+
+    @Test
+    void query_byEntity_shouldReturnEntityHistory() {
+        InMemoryRestaurantAuditRepo repo = new InMemoryRestaurantAuditRepo();
+        fill(repo, 300);
+
+        AuditPage page = repo.query(AuditQuery.builder().entity("Order", "7").build());
+
+        assertEquals(List.of("7", "7", "7"), page.entries().stream().map(RestaurantAuditEntry::getEntityId).toList());
+    }
+
+    @Test
+    void query_timeRange_shouldBeHalfOpen() {
+        InMemoryRestaurantAuditRepo repo = new InMemoryRestaurantAuditRepo();
+        fill(repo, 300);
+
+        AuditPage page = repo.query(AuditQuery.builder()
+                .between(START.plusSeconds(100), START.plusSeconds(110)).build());
+
+        assertEquals(10, page.entries().size());
+        assertEquals(START.plusSeconds(100), page.entries().get(0).getTimestamp());
+        assertEquals(START.plusSeconds(109), page.entries().get(9).getTimestamp());
+    }
+
+    @Test
+    void query_cursor_shouldPageThroughAllMatchesOnce() {
+        InMemoryRestaurantAuditRepo repo = new InMemoryRestaurantAuditRepo();
+        fill(repo, 300);
+
+        List<RestaurantAuditEntry> seen = pageAll(repo, AuditQuery.builder().entityType("Order").limit(7));
+
+        assertEquals(bruteForce(repo.all(), AuditQuery.builder().entityType("Order").limit(1000).build()), seen);
+    }
+
+    @Test
+    void query_mappedStore_shouldMatchAfterReopen() throws Exception {
+        List<String> expected;
+        try (MappedFileRestaurantAuditRepo store = new MappedFileRestaurantAuditRepo(
+                dir, 16 * 1024, MappedFileRestaurantAuditRepo.FsyncPolicy.OS, 0)) {
+            fill(store, 300);
+            expected = hashes(pageAll(store, AuditQuery.builder().actor("c1").limit(9)));
+            assertEquals(100, expected.size());
+        }
+        try (MappedFileRestaurantAuditRepo reopened = new MappedFileRestaurantAuditRepo(
+                dir, 16 * 1024, MappedFileRestaurantAuditRepo.FsyncPolicy.OS, 0)) {
+            assertEquals(expected, hashes(pageAll(reopened, AuditQuery.builder().actor("c1").limit(9))));
+        }
+    }
+
+    @Test
+    void build_limitOutOfRange_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> AuditQuery.builder().limit(0).build());
+        assertThrows(IllegalArgumentException.class,
+                () -> AuditQuery.builder().limit(AuditQuery.MAX_LIMIT + 1).build());
+    }
+
+    private static List<RestaurantAuditEntry> pageAll(RestaurantAuditLogRepository repo, AuditQuery.Builder builder) {
+        List<RestaurantAuditEntry> seen = new ArrayList<>();
+        Long cursor = null;
+        do {
+            AuditPage page = repo.query(builder.after(cursor).build());
+            seen.addAll(page.entries());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static List<String> hashes(List<RestaurantAuditEntry> entries) {
+        return entries.stream().map(RestaurantAuditEntry::getHash).toList();
+    }
+
+    private static List<RestaurantAuditEntry> bruteForce(List<RestaurantAuditEntry> log, AuditQuery query) {
+        return log.stream().filter(query::matches).toList();
+    }
+
+    /** Rotates three actors, two actions and one entry per second; every 100 entries reuse the entity ids. */
+    private static void fill(RestaurantAuditLogRepository repo, int count) {
+        String[][] actors = {{"w1", "Waiter"}, {"c1", "Chef"}, {"m1", "Manager"}};
+        String prev = repo.tailHash();
+        for (int i = 0; i < count; i++) {
+            String[] actor = actors[i % 3];
+            String action = i % 2 == 0 ? "PLACE_ORDER" : "UPDATE_STATUS";
+            String type = i % 5 == 4 ? "MenuItem" : "Order";
+            String id = String.valueOf(i % 100);
+            LocalDateTime ts = START.plusSeconds(i);
+            String hash = RestaurantAuditEntry.computeHash(actor[0], actor[1], action, type, id, "#" + i, ts, prev);
+            repo.append(RestaurantAuditEntry.restore(actor[0], actor[1], action, type, id, "#" + i, ts, prev, hash));
+            prev = hash;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.university.restaurant.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterSketchTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void spaceSaving_shouldBoundEveryTrackedCount() {
+        Map<String, Long> truth = new HashMap<>();
+        SpaceSavingSketch sketch = new SpaceSavingSketch(100);
+        feed(new Random(1), 200_000, truth, sketch, null);
+
+        for (SpaceSavingSketch.Counter c : sketch.top(100)) {
+            long actual = truth.getOrDefault(c.key(), 0L);
+            assertTrue(c.count() >= actual, c.toString());
+            assertTrue(c.count() - c.error() <= actual, c.toString());
+            assertTrue(c.error() <= sketch.total() / 100, c.toString());
+        }
+        assertEquals(100, sketch.size());
+    }
+
+    @Test
+    void spaceSaving_shouldFindTheHeaviestKeys() {
+        Map<String, Long> truth = new HashMap<>();
+        SpaceSavingSketch sketch = new SpaceSavingSketch(200);
+        feed(new Random(2), 200_000, truth, sketch, null);
+
+        List<String> top = sketch.top(5).stream().map(SpaceSavingSketch.Counter::key).toList();
+        assertEquals(List.of("k0", "k1", "k2", "k3", "k4"), top);
+    }
+
+    @Test
+    void merge_shouldKeepTheBoundsOfTheCombinedStream() {
+        Map<String, Long> truth = new HashMap<>();
+        SpaceSavingSketch a = new SpaceSavingSketch(100);
+        SpaceSavingSketch b = new SpaceSavingSketch(100);
+        feed(new Random(3), 100_000, truth, a, null);
+        feed(new Random(4), 100_000, truth, b, null);
+
+        SpaceSavingSketch merged = SpaceSavingSketch.merge(a, b);
+
+        assertEquals(200_000, merged.total());
+        assertEquals("k0", merged.top(1).get(0).key());
+        for (SpaceSavingSketch.Counter c : merged.top(100)) {
+            long actual = truth.getOrDefault(c.key(), 0L);
+            assertTrue(c.count() >= actual && c.count() - c.error() <= actual, c.toString());
+        }
+    }
+
+    @Test
+    void countMin_shouldOverestimateWithinEpsilonOfTheTotal() {
+        Map<String, Long> truth = new HashMap<>();
+        CountMinSketch a = new CountMinSketch(0.001, 0.01);
+        CountMinSketch b = new CountMinSketch(0.001, 0.01);
+        feed(new Random(5), 100_000, truth, null, a);
+        feed(new Random(6), 100_000, truth, null, b);
+
+        CountMinSketch merged = CountMinSketch.merge(a, b);
+
+        int outside = 0;
+        for (Map.Entry<String, Long> e : truth.entrySet()) {
+            long estimate = merged.estimate(e.getKey());
+            assertTrue(estimate >= e.getValue());
+            if (estimate - e.getValue() > 0.001 * merged.total()) outside++;
+        }
+        assertTrue(outside <= 0.01 * truth.size(), outside + " keys outside the bound");
+    }
+
+    @Test
+    void constructors_shouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSavingSketch(0));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(0.01, 1));
+    }
+
+    /** Zipf-like stream: key i appears with weight 1 / (i + 1). */
+    static void feed(Random random, int lines, Map<String, Long> truth,
+                     SpaceSavingSketch sketch, CountMinSketch counts) {
+        double[] cdf = new double[KEYS];
+        double acc = 0;
+        for (int i = 0; i < KEYS; i++) cdf[i] = acc += 1.0 / (i + 1);
+        for (int n = 0; n < lines; n++) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble() * acc);
+            String key = "k" + (i >= 0 ? i : Math.min(-i - 1, KEYS - 1));
+            truth.merge(key, 1L, Long::sum);
+            if (sketch != null) sketch.offer(key, 1);
+            if (counts != null) counts.add(key, 1);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryOrderRepoTest {
+
+    private final InMemoryOrderRepo repo = new InMemoryOrderRepo();
+
+    @Test
+    void findByStatus_shouldFollowInPlaceStatusUpdates() {
+        Order a = new Order(1, "w1");
+        Order b = new Order(2, "w1");
+        repo.save(a);
+        repo.save(b);
+
+        a.updateStatus(OrderStatus.CONFIRMED);
+
+        assertEquals(List.of(b), repo.findByStatus(OrderStatus.PENDING));
+        assertEquals(List.of(a), repo.findByStatus(OrderStatus.CONFIRMED));
+        assertTrue(repo.findByStatus(OrderStatus.PAID).isEmpty());
+    }
+
+    @Test
+    void save_sameInstanceTwice_shouldNotDuplicate() {
+        Order a = new Order(4, "w1");
+        repo.save(a);
+        a.updateStatus(OrderStatus.READY);
+        repo.save(a);
+
+        assertEquals(List.of(a), repo.findByStatus(OrderStatus.READY));
+        assertEquals(List.of(a), repo.findByTable(4));
+    }
+
+    @Test
+    void findByTable_shouldOnlyReturnThatTable() {
+        Order a = new Order(3, "w1");
+        Order b = new Order(3, "w2");
+        Order c = new Order(5, "w1");
+        repo.save(a);
+        repo.save(b);
+        repo.save(c);
+
+        assertEquals(List.of(a, b), repo.findByTable(3));
+        assertEquals(List.of(c), repo.findByTable(5));
+        assertTrue(repo.findByTable(9).isEmpty());
+    }
+
+    @Test
+    void findCreatedBetween_shouldBeHalfOpenAndOrdered() {
+        Order a = new Order(1, "w1");
+        repo.save(a);
+        Order b = new Order(2, "w1");
+        repo.save(b);
+
+        assertEquals(List.of(a, b), repo.findCreatedBetween(a.getCreatedAt(), b.getCreatedAt().plusNanos(1)));
+        assertFalse(repo.findCreatedBetween(a.getCreatedAt(), b.getCreatedAt()).contains(b));
+        assertTrue(repo.findCreatedBetween(b.getCreatedAt().plus(Duration.ofDays(1)),
+                b.getCreatedAt().plus(Duration.ofDays(2))).isEmpty());
+    }
+}
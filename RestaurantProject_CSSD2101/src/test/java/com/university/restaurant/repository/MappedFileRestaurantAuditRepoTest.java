@@ -0,0 +1,153 @@
+package com.university.restaurant.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileRestaurantAuditRepoTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void append_shouldRollSegmentsAndReopenWithSameChain() throws Exception {
+        String tail;
+        try (MappedFileRestaurantAuditRepo store = open()) {
+            appendEntries(store, 500);
+            tail = store.tailHash();
+            assertTrue(store.verifyChain());
+        }
+        assertTrue(segmentFiles().size() > 1, "expected rollover");
+
+        try (MappedFileRestaurantAuditRepo reopened = open()) {
+            assertEquals(500, reopened.size());
+            assertEquals(tail, reopened.tailHash());
+            assertTrue(reopened.verifyChain());
+
+            appendEntries(reopened, 10);
+            assertEquals(510, reopened.all().size());
+            assertTrue(reopened.verifyChain());
+        }
+    }
+
+    @Test
+    void read_shouldUseSparseIndexAcrossSegments() {
+        try (MappedFileRestaurantAuditRepo store = open()) {
+            appendEntries(store, 300);
+
+            List<RestaurantAuditEntry> all = store.all();
+            for (long seq : new long[]{0, 1, 63, 64, 65, 150, 299}) {
+                assertEquals(all.get((int) seq).getHash(), store.read(seq).getHash());
+                assertEquals("entity-" + seq, store.read(seq).getEntityId());
+            }
+            assertThrows(IllegalArgumentException.class, () -> store.read(300));
+        }
+    }
+
+    @Test
+    void stream_shouldMatchAllAcrossSegments() {
+        try (MappedFileRestaurantAuditRepo store = open()) {
+            appendEntries(store, 300);
+
+            assertEquals(store.all().stream().map(RestaurantAuditEntry::getHash).toList(),
+                    store.stream().map(RestaurantAuditEntry::getHash).toList());
+            assertEquals("entity-5", store.stream().skip(5).findFirst().orElseThrow().getEntityId());
+        }
+    }
+
+    @Test
+    void entries_shouldRoundTripUnicodeNullsAndTimestamp() {
+        try (MappedFileRestaurantAuditRepo store = open()) {
+            RestaurantAuditEntry entry = new RestaurantAuditEntry("m1", "Manager", "NOTE", null, "1",
+                    "crème brûlée 🍮", store.tailHash());
+            store.append(entry);
+
+            RestaurantAuditEntry read = store.read(0);
+            assertNull(read.getEntityType());
+            assertEquals("crème brûlée 🍮", read.getDetails());
+            assertEquals(entry.getTimestamp(), read.getTimestamp());
+            assertEquals(entry.getHash(), read.getHash());
+        }
+    }
+
+    @Test
+    void tornTailRecord_shouldBeTruncatedOnReopen() throws Exception {
+        try (MappedFileRestaurantAuditRepo store = open()) {
+            appendEntries(store, 5);
+        }
+        Path segment = segmentFiles().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // Damage the payload of the last record so its CRC no longer matches
+            long lastRecordPayload = findLastRecordPayload(file);
+            file.seek(lastRecordPayload + 20);
+            file.write(0x7f);
+        }
+
+        try (MappedFileRestaurantAuditRepo reopened = open()) {
+            assertEquals(4, reopened.size());
+            assertTrue(reopened.verifyChain());
+            appendEntries(reopened, 1);
+            assertTrue(reopened.verifyChain());
+        }
+    }
+
+    @Test
+    void tamperedSealedSegment_shouldFailVerification() throws Exception {
+        try (MappedFileRestaurantAuditRepo store = open()) {
+            appendEntries(store, 200);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(8 + 8 + 40);
+            file.write(0x7f);
+        }
+
+        try (MappedFileRestaurantAuditRepo reopened = open()) {
+            assertFalse(reopened.verifyChain());
+        }
+    }
+
+    @Test
+    void appendAfterClose_shouldThrow() {
+        MappedFileRestaurantAuditRepo store = open();
+        store.close();
+
+        assertThrows(IllegalStateException.class, () -> appendEntries(store, 1));
+    }
+
+    private MappedFileRestaurantAuditRepo open() {
+        return new MappedFileRestaurantAuditRepo(dir, 16 * 1024, MappedFileRestaurantAuditRepo.FsyncPolicy.ALWAYS, 0);
+    }
+
+    private static void appendEntries(MappedFileRestaurantAuditRepo store, int count) {
+        long start = store.size();
+        for (int i = 0; i < count; i++) {
+            store.append(new RestaurantAuditEntry("w1", "Waiter", "PLACE_ORDER", "Order",
+                    "entity-" + (start + i), "Placed order with 2 items", store.tailHash()));
+        }
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static long findLastRecordPayload(RandomAccessFile file) throws Exception {
+        long pos = 8;
+        long last = pos;
+        while (true) {
+            file.seek(pos);
+            int len = file.readInt();
+            if (len <= 0) return last + 8;
+            last = pos;
+            pos += 8 + len;
+        }
+    }
+}
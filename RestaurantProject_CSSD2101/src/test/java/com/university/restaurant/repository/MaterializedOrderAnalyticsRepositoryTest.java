@@ -0,0 +1,114 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.payment.PaymentMethod;
+import com.university.restaurant.repository.OrderAnalyticsRepository.ItemSales;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaterializedOrderAnalyticsRepositoryTest {
+
+    private static final EnumSet<OrderStatus> SOLD = EnumSet.of(OrderStatus.PAID, OrderStatus.SERVED);
+
+    private final InMemoryOrderRepo orders = new InMemoryOrderRepo();
+    private final InMemoryOrderAnalyticsRepo recompute = new InMemoryOrderAnalyticsRepo(orders);
+    private final Drink coke = new Drink("d1", "Coke", "desc", 2.99, false);
+    private final Drink sprite = new Drink("d2", "Sprite", "desc", 3.99, false);
+
+    private OffsetDateTime today;
+
+    @BeforeEach
+    void setUp() {
+        today = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    @Test
+    void construction_shouldLoadTheExistingHistory() {
+        paid(coke, coke);
+        served(sprite);
+
+        MaterializedOrderAnalyticsRepository view = new MaterializedOrderAnalyticsRepository(recompute);
+
+        assertSameSales(recompute.itemSales(SOLD), view.itemSales(SOLD));
+        assertEquals(5.98, view.revenueBetween(OrderStatus.PAID, today.minusDays(1), today.plusDays(2)), 1e-9);
+        assertTrue(view.check().consistent());
+    }
+
+    @Test
+    void statusChanges_shouldKeepTheViewEqualToARecompute() {
+        MaterializedOrderAnalyticsRepository view = new MaterializedOrderAnalyticsRepository(recompute);
+
+        Order order = new Order(1, "w1");
+        order.addItem(coke);
+        order.addItem(sprite);
+        orders.save(order);
+        order.addStatusListener(view);
+
+        order.updateStatus(OrderStatus.SERVED);
+        assertSameSales(List.of(new ItemSales("d1", "Coke", 1), new ItemSales("d2", "Sprite", 1)), view.itemSales(SOLD));
+        assertEquals(0.0, view.revenueBetween(OrderStatus.PAID, today, today.plusDays(2)), 1e-9);
+
+        order.processPayment(PaymentMethod.CASH);
+        assertEquals(6.98, view.revenueBetween(OrderStatus.PAID, today.minusDays(1), today.plusDays(2)), 1e-9);
+        assertTrue(view.check().consistent());
+
+        order.updateStatus(OrderStatus.CANCELLED);
+        assertTrue(view.itemSales(SOLD).isEmpty());
+        assertEquals(0.0, view.revenueBetween(OrderStatus.PAID, today.minusDays(1), today.plusDays(2)), 1e-9);
+        assertEquals(3, view.stats().events());
+    }
+
+    @Test
+    void revenueBetween_unalignedRange_shouldGoToTheDelegate() {
+        Order order = paid(coke);
+        MaterializedOrderAnalyticsRepository view = new MaterializedOrderAnalyticsRepository(recompute);
+
+        OffsetDateTime created = order.getCreatedAt();
+        assertEquals(2.99, view.revenueBetween(OrderStatus.PAID, created.minusSeconds(1), created.plusSeconds(1)), 1e-9);
+        assertEquals(0.0, view.revenueBetween(OrderStatus.PAID, created.plusSeconds(1), created.plusSeconds(2)), 1e-9);
+    }
+
+    @Test
+    void check_shouldRebuildAViewThatDrifted() {
+        MaterializedOrderAnalyticsRepository view = new MaterializedOrderAnalyticsRepository(recompute);
+        paid(sprite);
+
+        MaterializedOrderAnalyticsRepository.Consistency drift = view.check();
+
+        assertFalse(drift.consistent());
+        assertEquals(1, drift.itemsOff());
+        assertEquals(1, drift.hoursOff());
+        assertEquals(1, view.stats().drifts());
+        assertTrue(view.check().consistent());
+        assertEquals(3.99, view.revenueBetween(OrderStatus.PAID, today.minusDays(1), today.plusDays(2)), 1e-9);
+    }
+
+    private Order paid(Drink... drinks) {
+        Order order = served(drinks);
+        order.processPayment(PaymentMethod.CASH);
+        return order;
+    }
+
+    private Order served(Drink... drinks) {
+        Order order = new Order(1, "w1");
+        for (Drink drink : drinks) order.addItem(drink);
+        order.updateStatus(OrderStatus.SERVED);
+        orders.save(order);
+        return order;
+    }
+
+    private static void assertSameSales(List<ItemSales> expected, List<ItemSales> actual) {
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+}
@@ -0,0 +1,78 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.menu.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuQueryTest {
+
+    private final InMemoryMenuRepo repo = new InMemoryMenuRepo();
+    private final Entree burger = new Entree("e1", "Burger", "beef", 14.0, DietaryType.REGULAR, List.of("beef"), 12);
+    private final Entree salad = new Entree("e2", "Buddha Bowl", "greens", 11.0, DietaryType.VEGAN, List.of("kale"), 8);
+    private final Drink cola = new Drink("d1", "Cola", "fizzy", 2.5, false);
+    private final Drink beer = new Drink("d2", "Blonde Ale", "draught", 6.0, true);
+
+    @BeforeEach
+    void setUp() {
+        List.of(burger, salad, cola, beer).forEach(repo::save);
+    }
+
+    @Test
+    void availableItems_shouldFollowInPlaceAvailabilityChanges() {
+        cola.setAvailable(false);
+
+        assertEquals(List.of(beer, burger, salad), sorted(repo.query(MenuQuery.availableItems())));
+    }
+
+    @Test
+    void query_shouldCombineCriteriaWithAnd() {
+        MenuQuery vegan = MenuQuery.builder().category(MenuCategory.ENTREE).dietaryType(DietaryType.VEGAN).build();
+        MenuQuery cheapDrinks = MenuQuery.builder().category(MenuCategory.DRINK).priceBetween(0, 5).build();
+
+        assertEquals(List.of(salad), repo.query(vegan));
+        assertEquals(List.of(cola), repo.query(cheapDrinks));
+    }
+
+    @Test
+    void namePrefix_shouldBeCaseInsensitive() {
+        MenuQuery query = MenuQuery.builder().namePrefix("bU").build();
+
+        assertEquals(List.of(burger, salad), sorted(repo.query(query)));
+    }
+
+    @Test
+    void residualPredicate_shouldApplyAfterIndexedCriteria() {
+        MenuQuery query = MenuQuery.builder()
+                .category(MenuCategory.DRINK)
+                .where(item -> ((Drink) item).requiresAgeVerification())
+                .build();
+
+        assertEquals(List.of(beer), repo.query(query));
+        assertFalse(query.matchesIndexed(burger));
+        assertTrue(query.matchesIndexed(cola));
+        assertFalse(query.matches(cola));
+    }
+
+    @Test
+    void save_replacingAnItem_shouldReindexItsPrice() {
+        repo.save(cola.copyWithPrice(9.0));
+
+        MenuQuery cheap = MenuQuery.builder().priceBetween(0, 5).build();
+        assertTrue(repo.query(cheap).isEmpty());
+        assertEquals(1, repo.query(MenuQuery.builder().priceBetween(8, 10).build()).size());
+    }
+
+    @Test
+    void build_shouldRejectInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> MenuQuery.builder().priceBetween(5, 1).build());
+        assertThrows(IllegalArgumentException.class, () -> MenuQuery.builder().namePrefix(" ").build());
+    }
+
+    private static List<MenuItem> sorted(List<MenuItem> items) {
+        return items.stream().sorted((a, b) -> a.getId().compareTo(b.getId())).toList();
+    }
+}
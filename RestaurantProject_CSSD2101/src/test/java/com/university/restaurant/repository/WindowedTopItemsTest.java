@@ -0,0 +1,134 @@
+package com.university.restaurant.repository;
+
+import com.university.restaurant.model.menu.Drink;
+import com.university.restaurant.model.order.Order;
+import com.university.restaurant.model.order.OrderStatus;
+import com.university.restaurant.model.payment.PaymentMethod;
+import com.university.restaurant.repository.OrderAnalyticsRepository.TimedItemSales;
+import com.university.restaurant.repository.WindowedTopItems.Estimate;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedTopItemsTest {
+
+    // A Wednesday
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 12, 15, 30, 0, 0, ZoneOffset.UTC);
+
+    private final WindowedTopItems topItems = new WindowedTopItems(0.01, 0.01);
+
+    @Test
+    void top_shouldOnlyCountTheRequestedWindows() {
+        topItems.offer("Coke", 5, NOW.minusMinutes(10));
+        topItems.offer("Sprite", 3, NOW.minusHours(1));
+        topItems.offer("Beer", 9, NOW.minusDays(3));
+
+        assertEquals(List.of(new Estimate("Coke", 5, 0)), topItems.top(ChronoUnit.HOURS, 1, 10, NOW));
+        assertEquals(List.of("Coke", "Sprite"), keys(topItems.top(ChronoUnit.HOURS, 2, 10, NOW)));
+        assertEquals(List.of("Beer", "Coke", "Sprite"), keys(topItems.top(ChronoUnit.DAYS, 7, 10, NOW)));
+        assertEquals(List.of("Beer"), keys(topItems.top(ChronoUnit.DAYS, 7, 1, NOW)));
+    }
+
+    @Test
+    void oldHours_shouldRollUpIntoDaysAndWeeks() {
+        for (int h = 0; h < 24 * 60; h++) {
+            topItems.offer("Coke", 1, NOW.minusHours(h));
+        }
+
+        WindowedTopItems.Stats stats = topItems.stats();
+        assertEquals(24 * 60, stats.lines());
+        assertEquals(WindowedTopItems.HOURS_KEPT, stats.hourBuckets());
+        assertTrue(stats.dayBuckets() <= WindowedTopItems.DAYS_KEPT + 1, stats.toString());
+        assertTrue(stats.weekBuckets() <= 10, stats.toString());
+
+        // Nothing is lost by rolling up, and hour windows stay exact
+        assertEquals(24 * 60, topItems.top(ChronoUnit.WEEKS, 10, 1, NOW).get(0).count());
+        assertEquals(6, topItems.top(ChronoUnit.HOURS, 6, 1, NOW).get(0).count());
+    }
+
+    @Test
+    void memory_shouldNotGrowWithDistinctItems() {
+        topItems.offer("warm-up", 1, NOW);
+        long before = topItems.stats().sizeInBytes();
+        for (int i = 0; i < 50_000; i++) {
+            topItems.offer("item-" + i, 1, NOW);
+        }
+        topItems.offer("Coke", 10_000, NOW);
+
+        assertEquals(before, topItems.stats().sizeInBytes());
+        Estimate top = topItems.top(ChronoUnit.HOURS, 1, 1, NOW).get(0);
+        assertEquals("Coke", top.key());
+        assertTrue(top.count() >= 10_000 && top.count() - top.maxError() <= 10_000, top.toString());
+        assertTrue(top.maxError() <= 0.01 * topItems.stats().lines(), top.toString());
+    }
+
+    @Test
+    void statusChanged_shouldCountOrdersOnceWhenFirstSold() {
+        Order order = new Order(1, "w1");
+        order.addItem(new Drink("d1", "Coke", "desc", 2.99, false));
+        order.addItem(new Drink("d1", "Coke", "desc", 2.99, false));
+        order.addStatusListener(topItems);
+
+        order.updateStatus(OrderStatus.SERVED);
+        order.processPayment(PaymentMethod.CASH);
+
+        OffsetDateTime now = order.getCreatedAt();
+        assertEquals(List.of(new Estimate("Coke", 2, 0)), topItems.top(ChronoUnit.DAYS, 1, 5, now));
+    }
+
+    @Test
+    void seed_shouldLoadSalesInsideTheWeekRetention() {
+        List<TimedItemSales> history = List.of(
+                new TimedItemSales("Coke", NOW.minusMinutes(10), 2),
+                new TimedItemSales("Beer", NOW.minusDays(3), 4),
+                new TimedItemSales("Wine", NOW.minusWeeks(WindowedTopItems.WEEKS_KEPT + 4), 50));
+        OffsetDateTime[] asked = new OffsetDateTime[1];
+
+        topItems.seed(new OrderAnalyticsRepository() {
+            @Override
+            public List<TimedItemSales> itemSalesSince(Set<OrderStatus> statuses, OffsetDateTime since) {
+                assertEquals(Set.of(OrderStatus.PAID, OrderStatus.SERVED), statuses);
+                asked[0] = since;
+                return history.stream().filter(s -> !s.createdAt().isBefore(since)).toList();
+            }
+
+            @Override
+            public List<ItemSales> itemSales(Set<OrderStatus> statuses) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public double revenueBetween(OrderStatus status, OffsetDateTime from, OffsetDateTime to) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public List<OrderTotal> orderTotals(OrderStatus status) {
+                throw new AssertionError();
+            }
+        }, NOW);
+
+        // Days and weeks are kept back from the hour cutoff, so retention reaches a little past WEEKS_KEPT weeks
+        assertTrue(asked[0].isBefore(NOW.minusWeeks(WindowedTopItems.WEEKS_KEPT)), asked[0].toString());
+        assertTrue(asked[0].isAfter(NOW.minusWeeks(WindowedTopItems.WEEKS_KEPT + 4)), asked[0].toString());
+        assertEquals(List.of(new Estimate("Coke", 2, 0)), topItems.top(ChronoUnit.HOURS, 1, 10, NOW));
+        assertEquals(List.of("Beer", "Coke"), keys(topItems.top(ChronoUnit.WEEKS, WindowedTopItems.WEEKS_KEPT, 10, NOW)));
+        assertEquals(6, topItems.stats().lines());
+    }
+
+    @Test
+    void top_shouldRejectUnsupportedWindows() {
+        assertThrows(IllegalArgumentException.class, () -> topItems.top(ChronoUnit.MONTHS, 1, 5, NOW));
+        assertThrows(IllegalArgumentException.class, () -> topItems.top(ChronoUnit.DAYS, 0, 5, NOW));
+    }
+
+    private static List<String> keys(List<Estimate> estimates) {
+        return estimates.stream().map(Estimate::key).toList();
+    }
+}
@@ -5,13 +5,17 @@ import com.university.restaurant.model.order.Order;
 import com.university.restaurant.model.order.OrderStatus;
 import com.university.restaurant.model.staff.Manager;
 import com.university.restaurant.model.staff.Waiter;
+import com.university.restaurant.port.AnalyticsServicePort.ItemEstimate;
+import com.university.restaurant.repository.InMemoryOrderAnalyticsRepo;
 import com.university.restaurant.repository.OrderRepository;
+import com.university.restaurant.repository.WindowedTopItems;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 
@@ -96,4 +100,41 @@ class AnalyticsServiceTest {
             service.totalRevenueToday(waiter);
         });
     }
+
+    @Test
+    void approximateTopSellingItems_overOrderRepository_shouldCountStoredOrders() {
+        Order order1 = new Order(1, "w1");
+        order1.addItem(new Drink("d1", "Coke", "desc", 2.99, false));
+        order1.addItem(new Drink("d1", "Coke", "desc", 2.99, false));
+        order1.updateStatus(OrderStatus.PAID);
+
+        Order order2 = new Order(2, "w1");
+        order2.addItem(new Drink("d2", "Sprite", "desc", 2.99, false));
+        order2.updateStatus(OrderStatus.SERVED);
+
+        when(orderRepo.findByStatus(OrderStatus.PAID)).thenReturn(List.of(order1));
+        when(orderRepo.findByStatus(OrderStatus.SERVED)).thenReturn(List.of(order2));
+
+        List<ItemEstimate> top = service.approximateTopSellingItems(manager, ChronoUnit.DAYS, 7, 10);
+
+        assertEquals(2, top.size());
+        assertEquals("Coke", top.get(0).itemName());
+        assertEquals(2, top.get(0).count());
+        assertEquals(1, top.get(1).count());
+    }
+
+    @Test
+    void approximateTopSellingItems_shouldCountOrdersTheEngineIsFed() {
+        WindowedTopItems topItems = new WindowedTopItems(0.01, 0.01);
+        service = new AnalyticsService(new InMemoryOrderAnalyticsRepo(orderRepo), topItems);
+        Order order = new Order(1, "w1");
+        order.addItem(new Drink("d1", "Coke", "desc", 2.99, false));
+        order.addStatusListener(topItems);
+
+        order.updateStatus(OrderStatus.SERVED);
+
+        List<ItemEstimate> top = service.approximateTopSellingItems(manager, ChronoUnit.DAYS, 7, 10);
+        assertEquals(1, top.size());
+        assertEquals(1, top.get(0).count());
+    }
 }
@@ -93,7 +93,7 @@ class MenuServiceTest {
         MenuItem item2 = new Drink("d2", "Sprite", "desc", 2.99, false);
         item2.setAvailable(false);
 
-        when(menuRepo.search(any())).thenReturn(List.of(item1));
+        when(menuRepo.query(any())).thenReturn(List.of(item1));
 
         List<MenuItem> available = service.listMenuAvailableItems();
 
@@ -7,11 +7,15 @@ import com.university.restaurant.model.order.OrderStatus;
 import com.university.restaurant.model.staff.Manager;
 import com.university.restaurant.model.staff.Waiter;
 import com.university.restaurant.model.staff.Chef;
+import com.university.restaurant.port.OrderServicePort;
 import com.university.restaurant.repository.OrderRepository;
+import com.university.restaurant.repository.RestaurantAuditEntry;
 import com.university.restaurant.repository.RestaurantAuditLogRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -32,6 +36,9 @@ class OrderServiceTest {
     @Mock
     private RestaurantAuditLogRepository auditRepo;
 
+    @Captor
+    private ArgumentCaptor<List<RestaurantAuditEntry>> entries;
+
     private OrderService service;
     private Manager manager;
     private Waiter waiter;
@@ -148,4 +155,29 @@ class OrderServiceTest {
             service.getOrder(randomId.toString());
         });
     }
+
+    @Test
+    void placeOrders_shouldInsertAndAuditTheBatchOnce() {
+        MenuItem coke = new Drink("d1", "Coke", "Soft drink", 2.99, false);
+        List<OrderServicePort.PendingOrder> pending = List.of(
+                new OrderServicePort.PendingOrder("5", List.of(coke)),
+                new OrderServicePort.PendingOrder("7", List.of(coke, coke)));
+
+        List<Order> orders = service.placeOrders(waiter, pending);
+
+        assertEquals(List.of(5, 7), orders.stream().map(Order::getTableNumber).toList());
+        verify(orderRepo).insertAll(orders);
+        verify(orderRepo, never()).save(any());
+        verify(auditRepo).appendAll(entries.capture());
+        assertEquals(2, entries.getValue().size());
+        assertEquals("GENESIS", entries.getValue().get(0).getPrevHash());
+        assertEquals(entries.getValue().get(0).getHash(), entries.getValue().get(1).getPrevHash());
+
+        // A bad table id anywhere in a batch rejects all of it
+        List<OrderServicePort.PendingOrder> bad = List.of(
+                new OrderServicePort.PendingOrder("5", List.of(coke)),
+                new OrderServicePort.PendingOrder("not-a-table", List.of(coke)));
+        assertThrows(NumberFormatException.class, () -> service.placeOrders(waiter, bad));
+        verify(orderRepo, times(1)).insertAll(any());
+    }
 }